@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+#
+# Builds the fast-start layout in target/faststart:
+#   1. packages the jar with Spring AOT bean definitions (-Pfaststart)
+#   2. extracts it, since a CDS archive needs a stable classpath of plain jars
+#   3. runs a training start that exits right after context refresh and dumps
+#      every loaded class into an AppCDS archive (application.jsa)
+#
+# The training run starts the application for real, so the database from
+# application.yml must be reachable. It also records the schema stamp, so the
+# first production start can already skip validation.
+#
+# Start the result with:
+#   cd target/faststart && java -XX:SharedArchiveFile=application.jsa \
+#       -Dspring.aot.enabled=true -Dspring.profiles.active=faststart \
+#       -jar management-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=target/faststart
+
+sh ./mvnw -B -q -Pfaststart -DskipTests package
+JAR=$(ls target/management-*.jar | grep -v original | head -n 1)
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+
+cd "$OUT"
+java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=faststart \
+    -Dspring.context.exit=onRefresh \
+    -jar "$(basename "$JAR")"
+
+echo "Fast-start layout ready in $OUT"
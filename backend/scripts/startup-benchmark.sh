@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Measures time from JVM launch to the first successful POST /api/v1/auth/login.
+#
+# Usage: LOGIN_EMAIL=admin@hospital.local LOGIN_PASSWORD=secret \
+#            scripts/startup-benchmark.sh [baseline|faststart|both] [runs]
+#
+#   baseline   plain fat jar from target/, default profile
+#   faststart  target/faststart from build-faststart.sh (AOT + AppCDS + faststart profile)
+#
+# The account must exist and be active. Each successful login creates a
+# session, so older sessions of that account get evicted by the session cap.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MODE=${1:-both}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+: "${LOGIN_EMAIL:?set LOGIN_EMAIL}"
+: "${LOGIN_PASSWORD:?set LOGIN_PASSWORD}"
+
+URL="http://localhost:$PORT/api/v1/auth/login"
+BODY="{\"email\":\"$LOGIN_EMAIL\",\"password\":\"$LOGIN_PASSWORD\"}"
+
+# Prints milliseconds until the first 200 from the login endpoint.
+measure() {
+    local dir=$1; shift
+    local start end pid status
+    start=$(date +%s%N)
+    (cd "$dir" && exec java "$@" --server.port="$PORT" > /dev/null 2>&1) &
+    pid=$!
+
+    status=000
+    while [ "$status" != 200 ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before login succeeded" >&2
+            return 1
+        fi
+        status=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$URL" \
+            -H 'Content-Type: application/json' -d "$BODY" || true)
+        [ "$status" = 200 ] || sleep 0.05
+    done
+    end=$(date +%s%N)
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+run() {
+    local name=$1; shift
+    local total=0 ms
+    for i in $(seq 1 "$RUNS"); do
+        ms=$(measure "$@")
+        echo "$name run $i: ${ms} ms"
+        total=$((total + ms))
+    done
+    echo "$name mean: $((total / RUNS)) ms"
+}
+
+JAR=$(ls target/management-*.jar | grep -v original | head -n 1)
+
+if [ "$MODE" = baseline ] || [ "$MODE" = both ]; then
+    run baseline . -jar "$JAR"
+fi
+
+if [ "$MODE" = faststart ] || [ "$MODE" = both ]; then
+    [ -f target/faststart/application.jsa ] || { echo "run scripts/build-faststart.sh first" >&2; exit 1; }
+    run faststart target/faststart \
+        -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=faststart \
+        -jar "$(basename "$JAR")"
+fi
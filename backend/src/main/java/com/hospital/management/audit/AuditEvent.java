@@ -0,0 +1,38 @@
+package com.hospital.management.audit;
+
+import com.hospital.management.constants.AuditEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable audit record held in the in-memory buffer until the
+ * {@link AuditWriter} persists it.
+ * <p>
+ * Deliberately not a JPA entity — audit rows are append-only and written
+ * through JDBC batches, so there is nothing to gain from a persistence context.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+
+    private final AuditEventType type;
+
+    /** The user the event is about, if known. */
+    private final UUID userId;
+
+    /** Email or other identifier supplied by the caller (e.g. on a failed login). */
+    private final String principal;
+
+    /** The authenticated caller that triggered the event, if any. */
+    private final String actor;
+
+    private final String ipAddress;
+
+    private final String detail;
+
+    private final Instant occurredAt;
+}
@@ -0,0 +1,42 @@
+package com.hospital.management.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for the audit trail configuration ({@code app.audit.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+    /**
+     * What to do with a new event when the in-memory buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the event and count it as dropped. Never slows the caller. */
+        DROP,
+        /** Wait for the writer to free a slot. No loss, but auth calls stall. */
+        BLOCK,
+        /** Append the event to a local file that the writer replays later. */
+        SPILL
+    }
+
+    /** Capacity of the in-memory ring buffer. */
+    private int bufferCapacity = 8192;
+
+    /** Maximum number of rows per JDBC batch insert. */
+    private int batchSize = 256;
+
+    /** How long the writer waits for more events before flushing a partial batch. */
+    private long flushIntervalMs = 500;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    /** Local file used by {@link OverflowPolicy#SPILL} and for failed batches. */
+    private String spillFile = "audit-spill.log";
+}
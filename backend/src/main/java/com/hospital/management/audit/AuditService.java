@@ -0,0 +1,195 @@
+package com.hospital.management.audit;
+
+import com.hospital.management.constants.AuditEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for recording security audit events.
+ * <p>
+ * Events are placed into a bounded in-memory ring buffer and persisted
+ * asynchronously by {@link AuditWriter}, so the login, refresh and logout
+ * paths never wait on an audit insert. When the buffer is full the configured
+ * {@link AuditProperties.OverflowPolicy} decides between dropping, blocking
+ * or spilling to a local file.
+ * </p>
+ * <p>
+ * Events that report a successful change use
+ * {@link #recordAfterCommit}, so a transaction that rolls back leaves no
+ * trace of a change that never happened. Failures are recorded with
+ * {@link #record} because the transaction reporting them usually rolls back.
+ * </p>
+ * <p>
+ * Exposes {@code audit.buffer.size}, {@code audit.buffer.lag},
+ * {@code audit.events.dropped} and {@code audit.events.spilled} metrics.
+ * </p>
+ */
+@Service
+public class AuditService {
+
+    // Column widths of audit_events: a longer value would fail the whole batch insert
+    private static final int PRINCIPAL_LENGTH = 255;
+    private static final int ACTOR_LENGTH = 255;
+    private static final int IP_ADDRESS_LENGTH = 50;
+    private static final int DETAIL_LENGTH = 500;
+
+    private final AuditProperties properties;
+    private final AuditSpillFile spillFile;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+
+    public AuditService(AuditProperties properties, AuditSpillFile spillFile, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.spillFile = spillFile;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+
+        Gauge.builder("audit.buffer.size", buffer, Collection::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.lag", this, AuditService::lagSeconds)
+                .description("Age in seconds of the oldest unwritten audit event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+                .description("Audit events lost because the buffer was full")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("audit.events.spilled")
+                .description("Audit events diverted to the local spill file")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an audit event without waiting for it to be persisted.
+     * Values longer than their column are truncated.
+     *
+     * @param type      the event type
+     * @param userId    the user the event concerns, or null if unknown
+     * @param principal the identifier supplied by the caller (e.g. login email)
+     * @param ipAddress the caller's IP address, or null
+     * @param detail    optional free-text detail
+     */
+    public void record(AuditEventType type, UUID userId, String principal, String ipAddress, String detail) {
+        enqueue(event(type, userId, principal, ipAddress, detail));
+    }
+
+    /**
+     * Records an audit event once the current transaction commits, and
+     * drops it if the transaction rolls back. Without an active transaction
+     * the event is recorded immediately. The actor and timestamp are taken
+     * now, not at commit.
+     *
+     * @param type      the event type
+     * @param userId    the user the event concerns, or null if unknown
+     * @param principal the identifier supplied by the caller (e.g. login email)
+     * @param ipAddress the caller's IP address, or null
+     * @param detail    optional free-text detail
+     */
+    public void recordAfterCommit(AuditEventType type, UUID userId, String principal, String ipAddress,
+            String detail) {
+        AuditEvent event = event(type, userId, principal, ipAddress, detail);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private AuditEvent event(AuditEventType type, UUID userId, String principal, String ipAddress, String detail) {
+        return new AuditEvent(type, userId, truncate(principal, PRINCIPAL_LENGTH),
+                truncate(currentActor(), ACTOR_LENGTH), truncate(ipAddress, IP_ADDRESS_LENGTH),
+                truncate(detail, DETAIL_LENGTH), Instant.now());
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    buffer.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCounter.increment();
+                }
+            }
+            case SPILL -> {
+                if (spillFile.append(List.of(event))) {
+                    spilledCounter.increment();
+                } else {
+                    droppedCounter.increment();
+                }
+            }
+            default -> droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxEvents} buffered events into {@code sink}.
+     */
+    int drainTo(Collection<AuditEvent> sink, int maxEvents) {
+        return buffer.drainTo(sink, maxEvents);
+    }
+
+    /**
+     * Waits up to {@code timeout} for the next buffered event.
+     */
+    AuditEvent poll(Duration timeout) throws InterruptedException {
+        return buffer.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    boolean isIdle() {
+        return buffer.isEmpty();
+    }
+
+    /**
+     * Counts events that were lost by the writer (e.g. a failed batch that
+     * could not be spilled either).
+     */
+    void markDropped(int count) {
+        droppedCounter.increment(count);
+    }
+
+    void markSpilled(int count) {
+        spilledCounter.increment(count);
+    }
+
+    private double lagSeconds() {
+        AuditEvent oldest = buffer.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Duration.between(oldest.getOccurredAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
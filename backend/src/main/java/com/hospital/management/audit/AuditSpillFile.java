@@ -0,0 +1,211 @@
+package com.hospital.management.audit;
+
+import com.hospital.management.constants.AuditEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local overflow file for audit events that could not be buffered or written.
+ * <p>
+ * One event per line, tab-separated. The {@link AuditWriter} replays the file
+ * whenever the in-memory buffer is idle, so events survive both buffer
+ * saturation and a temporarily unavailable database.
+ * </p>
+ * <p>
+ * Events the database refuses outright are moved to a separate
+ * {@code .rejected} file, which is never replayed, so one bad row cannot
+ * block the replay of the rest.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AuditSpillFile {
+
+    private static final String EMPTY = "";
+
+    private final Path path;
+    private final Path replayPath;
+    private final Path quarantinePath;
+    private BufferedWriter writer;
+
+    public AuditSpillFile(AuditProperties properties) {
+        this.path = Paths.get(properties.getSpillFile());
+        this.replayPath = Paths.get(properties.getSpillFile() + ".replay");
+        this.quarantinePath = Paths.get(properties.getSpillFile() + ".rejected");
+    }
+
+    /**
+     * Appends events to the spill file.
+     *
+     * @param events the events to persist locally
+     * @return true if the events were written, false on I/O failure
+     */
+    public synchronized boolean append(List<AuditEvent> events) {
+        try {
+            if (writer == null) {
+                createParentDirectories(path);
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (AuditEvent event : events) {
+                writer.write(toLine(event));
+                writer.newLine();
+            }
+            writer.flush();
+            return true;
+        } catch (IOException e) {
+            log.error("Unable to spill {} audit events to [{}]", events.size(), path, e);
+            closeQuietly();
+            return false;
+        }
+    }
+
+    /**
+     * Sets aside events the database rejected, for manual inspection.
+     *
+     * @param events the rejected events
+     * @return true if the events were written, false on I/O failure
+     */
+    public synchronized boolean quarantine(List<AuditEvent> events) {
+        try {
+            createParentDirectories(quarantinePath);
+            try (BufferedWriter quarantine = Files.newBufferedWriter(quarantinePath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent event : events) {
+                    quarantine.write(toLine(event));
+                    quarantine.newLine();
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("Unable to quarantine {} audit events to [{}]", events.size(), quarantinePath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether any spilled events are waiting to be replayed.
+     */
+    public synchronized boolean hasPending() {
+        try {
+            return Files.exists(replayPath) || (Files.exists(path) && Files.size(path) > 0);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Moves the spill file aside and reads back its events.
+     * <p>
+     * The caller must invoke {@link #completeReplay()} once the events are
+     * safely persisted; until then a crash leaves them in the replay file.
+     * </p>
+     *
+     * @return the spilled events, possibly empty
+     */
+    public synchronized List<AuditEvent> beginReplay() {
+        List<AuditEvent> events = new ArrayList<>();
+        try {
+            if (!Files.exists(replayPath)) {
+                closeQuietly();
+                if (!Files.exists(path)) {
+                    return events;
+                }
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    AuditEvent event = fromLine(line);
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to read audit spill file [{}]", replayPath, e);
+        }
+        return events;
+    }
+
+    /**
+     * Deletes the replay file after its events were persisted.
+     */
+    public synchronized void completeReplay() {
+        try {
+            Files.deleteIfExists(replayPath);
+        } catch (IOException e) {
+            log.error("Unable to delete audit replay file [{}]", replayPath, e);
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // Nothing left to do with a broken writer
+            }
+            writer = null;
+        }
+    }
+
+    private static void createParentDirectories(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private static String toLine(AuditEvent event) {
+        return String.join("\t",
+                event.getType().name(),
+                event.getUserId() == null ? EMPTY : event.getUserId().toString(),
+                clean(event.getPrincipal()),
+                clean(event.getActor()),
+                clean(event.getIpAddress()),
+                clean(event.getDetail()),
+                event.getOccurredAt().toString());
+    }
+
+    private static AuditEvent fromLine(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 7) {
+            log.warn("Skipping malformed audit spill line");
+            return null;
+        }
+        return new AuditEvent(
+                AuditEventType.valueOf(fields[0]),
+                fields[1].isEmpty() ? null : UUID.fromString(fields[1]),
+                emptyToNull(fields[2]),
+                emptyToNull(fields[3]),
+                emptyToNull(fields[4]),
+                emptyToNull(fields[5]),
+                Instant.parse(fields[6]));
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return EMPTY;
+        }
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
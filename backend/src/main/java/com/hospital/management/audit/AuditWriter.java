@@ -0,0 +1,229 @@
+package com.hospital.management.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background writer that drains the audit buffer into JDBC batch inserts.
+ * <p>
+ * A single daemon thread group-commits whatever has accumulated — up to
+ * {@code app.audit.batch-size} rows, or whatever arrived within
+ * {@code app.audit.flush-interval-ms} — so insert cost is amortised across
+ * many auth calls. A batch that fails to insert is retried row by row: rows
+ * the database rejects are quarantined, and if the database is unavailable
+ * the rest are spilled to the local file rather than lost. Spilled events
+ * are replayed while the buffer is idle.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events " +
+            "(event_type, user_id, principal, actor, ip_address, detail, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final AuditService auditService;
+    private final AuditSpillFile spillFile;
+    private final AuditProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter writtenCounter;
+    private final Counter failedBatchCounter;
+    private final Counter quarantinedCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AuditWriter(AuditService auditService,
+            AuditSpillFile spillFile,
+            AuditProperties properties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.auditService = auditService;
+        this.spillFile = spillFile;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writtenCounter = Counter.builder("audit.events.written")
+                .description("Audit events persisted to the database")
+                .register(meterRegistry);
+        this.failedBatchCounter = Counter.builder("audit.batches.failed")
+                .description("Audit batch inserts that failed")
+                .register(meterRegistry);
+        this.quarantinedCounter = Counter.builder("audit.events.quarantined")
+                .description("Audit events the database rejected, set aside in the quarantine file")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.batch.duration")
+                .description("Time taken to insert one audit batch")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the writer after flushing everything still in the buffer.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration flushInterval = Duration.ofMillis(properties.getFlushIntervalMs());
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+
+        while (running) {
+            try {
+                AuditEvent first = auditService.poll(flushInterval);
+                if (first != null) {
+                    batch.add(first);
+                    auditService.drainTo(batch, properties.getBatchSize() - 1);
+                    writeOrSpill(batch);
+                    batch.clear();
+                } else if (spillFile.hasPending()) {
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by stop() — fall through to the final flush
+            } catch (RuntimeException e) {
+                log.error("Audit writer iteration failed", e);
+                batch.clear();
+            }
+        }
+
+        // Final flush so a graceful shutdown loses nothing
+        while (auditService.drainTo(batch, properties.getBatchSize()) > 0) {
+            writeOrSpill(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeOrSpill(List<AuditEvent> batch) {
+        List<AuditEvent> unwritten = write(batch);
+        if (unwritten.isEmpty()) {
+            return;
+        }
+        if (spillFile.append(unwritten)) {
+            auditService.markSpilled(unwritten.size());
+        } else {
+            auditService.markDropped(unwritten.size());
+        }
+    }
+
+    private void replaySpill() {
+        // Only replay while live traffic is quiet, so the spill never delays fresh events
+        if (!auditService.isIdle()) {
+            return;
+        }
+        List<AuditEvent> spilled = spillFile.beginReplay();
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < spilled.size(); from += batchSize) {
+            if (!write(spilled.subList(from, Math.min(from + batchSize, spilled.size()))).isEmpty()) {
+                // Leave the replay file in place and retry on the next idle cycle.
+                // Already-inserted batches are replayed again, so delivery is at-least-once.
+                return;
+            }
+        }
+        spillFile.completeReplay();
+        if (!spilled.isEmpty()) {
+            log.info("Replayed {} spilled audit events", spilled.size());
+        }
+    }
+
+    /**
+     * Inserts the events as one batch. If the batch fails, inserts them one
+     * by one: rows the database refuses are quarantined, and at the first
+     * failure that is not about the row itself the rest are handed back.
+     *
+     * @return the events left unwritten because the database is unavailable
+     */
+    List<AuditEvent> write(List<AuditEvent> events) {
+        if (insertBatch(events)) {
+            return List.of();
+        }
+        for (int i = 0; i < events.size(); i++) {
+            AuditEvent event = events.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event));
+                writtenCounter.increment();
+            } catch (DataAccessException e) {
+                if (!(e instanceof DataIntegrityViolationException)) {
+                    // Not about this row's values: the database is unreachable or misconfigured
+                    return events.subList(i, events.size());
+                }
+                log.error("Audit event rejected by the database, quarantined [type={}]", event.getType(), e);
+                quarantinedCounter.increment();
+                if (!spillFile.quarantine(List.of(event))) {
+                    auditService.markDropped(1);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    private boolean insertBatch(List<AuditEvent> events) {
+        long start = System.nanoTime();
+        try {
+            // One transaction, so a failed batch leaves no rows behind to be duplicated by the retry
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), AuditWriter::bind));
+            writtenCounter.increment(events.size());
+            return true;
+        } catch (DataAccessException e) {
+            failedBatchCounter.increment();
+            log.error("Failed to write {} audit events", events.size(), e);
+            return false;
+        } finally {
+            batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        ps.setString(1, event.getType().name());
+        ps.setString(2, event.getUserId() == null ? null : event.getUserId().toString());
+        ps.setString(3, event.getPrincipal());
+        ps.setString(4, event.getActor());
+        ps.setString(5, event.getIpAddress());
+        ps.setString(6, event.getDetail());
+        ps.setTimestamp(7, Timestamp.from(event.getOccurredAt()));
+    }
+
+}
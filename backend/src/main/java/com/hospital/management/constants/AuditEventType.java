@@ -0,0 +1,18 @@
+package com.hospital.management.constants;
+
+/**
+ * Security-relevant events captured by the audit trail.
+ */
+public enum AuditEventType {
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED,
+    ACCOUNT_LOCKED,
+    TOKEN_REFRESHED,
+    LOGOUT,
+    SESSION_REVOKED,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DEACTIVATED,
+    USERS_REASSIGNED,
+    DATA_EXPORTED
+}
@@ -0,0 +1,9 @@
+package com.hospital.management.constants;
+
+/**
+ * What a reminder is about.
+ */
+public enum ReminderKind {
+    APPOINTMENT,
+    MEDICATION
+}
@@ -0,0 +1,14 @@
+package com.hospital.management.constants;
+
+/**
+ * Delivery state of a reminder.
+ */
+public enum ReminderStatus {
+    /** Waiting to be claimed by a node. */
+    PENDING,
+    /** Held in a node's timing wheel until it fires. */
+    CLAIMED,
+    DELIVERED,
+    /** Delivery failed on every attempt. */
+    FAILED
+}
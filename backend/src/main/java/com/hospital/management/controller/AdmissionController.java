@@ -0,0 +1,115 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.admission.AdmissionResponse;
+import com.hospital.management.model.dto.admission.AdmitPatientRequest;
+import com.hospital.management.model.dto.admission.TransferPatientRequest;
+import com.hospital.management.service.AdmissionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for patient admissions, transfers and discharges.
+ * <p>
+ * Every authenticated staff member may look up an admission; admitting,
+ * discharging and transferring patients change clinical records and are
+ * limited to doctors, nurses and admins. Every movement updates live bed
+ * occupancy (see {@link OccupancyController}).
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/admissions")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final AdmissionService admissionService;
+
+    /**
+     * Admits a patient to a department.
+     *
+     * @param request the patient and department
+     * @return 201 with the admission, or 400 if the department is missing or
+     *         inactive, or the patient is already admitted
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE')")
+    public ResponseEntity<AdmissionResponse> admit(@Valid @RequestBody AdmitPatientRequest request) {
+        AdmissionResponse response;
+        try {
+            response = admissionService.admit(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent admission of the same patient won the race to the open-stay unique index
+            return ResponseEntity.badRequest().build();
+        }
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(response);
+    }
+
+    /**
+     * Returns a single admission.
+     *
+     * @param id the admission UUID
+     * @return 200 with the admission, or 404
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<AdmissionResponse> getAdmission(@PathVariable UUID id) {
+        return admissionService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Discharges a patient.
+     *
+     * @param id the admission UUID
+     * @return 200 with the discharged admission, 404 if it does not exist, or
+     *         400 if it is already discharged
+     */
+    @PostMapping("/{id}/discharge")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE')")
+    public ResponseEntity<AdmissionResponse> discharge(@PathVariable UUID id) {
+        try {
+            return admissionService.discharge(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Transfers a patient to another department.
+     *
+     * @param id      the admission UUID
+     * @param request the receiving department and bed
+     * @return 200 with the transferred admission, 404 if it does not exist, or
+     *         400 if it is discharged or the department is invalid
+     */
+    @PostMapping("/{id}/transfer")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE')")
+    public ResponseEntity<AdmissionResponse> transfer(@PathVariable UUID id,
+            @Valid @RequestBody TransferPatientRequest request) {
+        try {
+            return admissionService.transfer(id, request)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
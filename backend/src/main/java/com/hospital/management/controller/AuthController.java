@@ -7,12 +7,12 @@ import com.hospital.management.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import com.hospital.management.security.AuthenticatedUser;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.UUID;
-
 /**
  * REST controller exposing authentication endpoints.
  * <p>
@@ -64,12 +64,15 @@ public class AuthController {
     /**
      * Revokes all refresh tokens for the authenticated user.
      *
-     * @param userId injected from the validated JWT by Spring Security
-     * @return 204 No Content
+     * @param caller injected from the validated JWT by Spring Security
+     * @return 204 No Content, or 401 without a valid access token
      */
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(@AuthenticationPrincipal UUID userId) {
-        authService.logout(userId);
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser caller) {
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        authService.logout(caller.getUserId());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.department.DepartmentNodeResponse;
+import com.hospital.management.model.dto.department.DepartmentResponse;
+import com.hospital.management.model.dto.department.DepartmentStaffCountResponse;
+import com.hospital.management.model.dto.department.DepartmentSummaryResponse;
+import com.hospital.management.model.dto.department.MoveDepartmentRequest;
+import com.hospital.management.service.DepartmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller exposing read access to departments and their hierarchy.
+ * <p>
+ * Every response carries a strong ETag derived from the department version
+ * counter. A request whose {@code If-None-Match} matches is answered with
+ * 304 Not Modified before any query runs or any JSON is written, so clients
+ * can poll the department list cheaply.
+ * </p>
+ * <p>
+ * The version counter is per node, so the ETag also embeds a time bucket:
+ * in a multi-node deployment a write made on another node is picked up
+ * within {@link #ETAG_REFRESH_MS} at most.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/departments")
+@RequiredArgsConstructor
+public class DepartmentController {
+
+    /** Upper bound on how long a node can serve a 304 for data changed elsewhere. */
+    private static final long ETAG_REFRESH_MS = 30_000;
+
+    /** Distinguishes ETags across restarts, when the version counter starts over. */
+    private static final String INSTANCE = Long.toHexString(System.currentTimeMillis());
+
+    private final DepartmentService departmentService;
+
+    /**
+     * Lists active departments ordered by name.
+     *
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with the departments, or 304 if the caller's copy is current
+     */
+    @GetMapping
+    public ResponseEntity<List<DepartmentResponse>> listDepartments(WebRequest webRequest) {
+        String etag = etag("all");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ok(departmentService.listActive());
+    }
+
+    /**
+     * Searches departments by name or description.
+     *
+     * @param q          the search term
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with up to 50 matches, or 304 if the caller's copy is current
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<DepartmentResponse>> searchDepartments(@RequestParam String q,
+            WebRequest webRequest) {
+        String etag = etag("q" + Integer.toHexString(q.hashCode()));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ok(departmentService.search(q));
+    }
+
+    /**
+     * Returns the hierarchy of active departments.
+     *
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with the top-level departments and their nested children,
+     *         or 304 if the caller's copy is current
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<DepartmentNodeResponse>> getTree(WebRequest webRequest) {
+        String etag = etag("tree");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ok(departmentService.tree());
+    }
+
+    /**
+     * Lists a department's ancestors, top-level first.
+     *
+     * @param id         the department UUID
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with the ancestors, 304 if the caller's copy is current, or 404
+     */
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<DepartmentSummaryResponse>> getAncestors(@PathVariable UUID id,
+            WebRequest webRequest) {
+        String etag = etag("a" + id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return departmentService.ancestors(id)
+                .map(DepartmentController::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lists every department nested under a department, nearest first.
+     *
+     * @param id         the department UUID
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with the descendants, 304 if the caller's copy is current, or 404
+     */
+    @GetMapping("/{id}/descendants")
+    public ResponseEntity<List<DepartmentSummaryResponse>> getDescendants(@PathVariable UUID id,
+            WebRequest webRequest) {
+        String etag = etag("d" + id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return departmentService.descendants(id)
+                .map(DepartmentController::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Counts a department's staff, directly and including nested departments.
+     * Staff counts change with user writes, so this response has no ETag.
+     *
+     * @param id the department UUID
+     * @return 200 with the counts, or 404
+     */
+    @GetMapping("/{id}/staff-count")
+    public ResponseEntity<DepartmentStaffCountResponse> getStaffCount(@PathVariable UUID id) {
+        return departmentService.staffCount(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Moves a department, with everything nested under it, beneath another
+     * department or to the top level.
+     *
+     * @param id      the department to move
+     * @param request the new parent
+     * @return 200 with the moved department, 404 if it does not exist, or 400
+     *         if the parent does not exist or is inside the moved subtree
+     */
+    @PutMapping("/{id}/parent")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DepartmentResponse> moveDepartment(@PathVariable UUID id,
+            @RequestBody MoveDepartmentRequest request) {
+        try {
+            return departmentService.move(id, request.getParentId())
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Returns a single department.
+     *
+     * @param id         the department UUID
+     * @param webRequest used to evaluate {@code If-None-Match}
+     * @return 200 with the department, 304 if the caller's copy is current, or 404
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<DepartmentResponse> getDepartment(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = etag(id.toString());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return departmentService.findById(id)
+                .map(DepartmentController::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Builds the ETag for a representation. The version is read before the
+     * query runs, so a concurrent write can only make the tag older than the
+     * data — causing one extra 200 later, never a stale 304.
+     */
+    private String etag(String representation) {
+        return "\"" + INSTANCE
+                + "-" + departmentService.currentVersion()
+                + "-" + (System.currentTimeMillis() / ETAG_REFRESH_MS)
+                + "-" + representation + "\"";
+    }
+
+    /**
+     * The ETag header itself is already set by {@link WebRequest#checkNotModified(String)}.
+     */
+    private static <T> ResponseEntity<T> ok(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.events.ChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Server-Sent Events feed of entity changes, so clients can react to writes
+ * instead of polling.
+ * <p>
+ * Requires a valid access token in the {@code Authorization} header, like
+ * every other endpoint. Events only name what changed; clients refetch it.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final ChangeFeed changeFeed;
+
+    /**
+     * Streams {@code change} events with a JSON body of {@code type},
+     * {@code id} and {@code change} (CREATED, UPDATED or DELETED). Event ids
+     * increase per node but are shared by all entity types, so a stream
+     * filtered by {@code types} skips numbers. An open stream never drops
+     * events: a client that falls behind is disconnected, and should refetch
+     * what it shows after reconnecting.
+     *
+     * @param types entity types to receive (e.g. {@code department,user}); all if omitted
+     * @return the event stream, or 503 if this node already serves the maximum number of streams
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Set<String> types) {
+        return changeFeed.subscribe(types)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
@@ -0,0 +1,106 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.export.ExportFormat;
+import com.hospital.management.security.AuthenticatedUser;
+import com.hospital.management.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for streaming roster exports (ADMIN only).
+ * <p>
+ * Responses are written with {@link StreamingResponseBody}: the request
+ * thread is released immediately and rows are streamed from the database as
+ * they are read. Output is gzip-compressed when the client accepts it.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Exports all users.
+     *
+     * @param format  {@code csv} (default) or {@code ndjson}
+     * @param admin   injected from the validated JWT by Spring Security
+     * @return 200 with the streamed export, or 400 for an unknown format
+     */
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal AuthenticatedUser admin) {
+        return stream("users", format, acceptEncoding,
+                (exportFormat, out) -> exportService.exportUsers(exportFormat, out, admin.getUserId()));
+    }
+
+    /**
+     * Exports all departments.
+     *
+     * @param format  {@code csv} (default) or {@code ndjson}
+     * @param admin   injected from the validated JWT by Spring Security
+     * @return 200 with the streamed export, or 400 for an unknown format
+     */
+    @GetMapping("/departments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDepartments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal AuthenticatedUser admin) {
+        return stream("departments", format, acceptEncoding,
+                (exportFormat, out) -> exportService.exportDepartments(exportFormat, out, admin.getUserId()));
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(ExportFormat format, OutputStream out) throws IOException;
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String dataset, String formatParam,
+            String acceptEncoding, ExportWriter writer) {
+        ExportFormat format;
+        try {
+            format = ExportFormat.fromParameter(formatParam);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String filename = dataset + "-" + LocalDate.now() + "." + format.extension();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 16 * 1024);
+                writer.write(format, compressed);
+                compressed.finish();
+            } else {
+                writer.write(format, out);
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.lab.LabIngestionResponse;
+import com.hospital.management.security.AuthenticatedUser;
+import com.hospital.management.service.LabResultService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for lab result uploads (ADMIN only).
+ * <p>
+ * The request body is read as a stream and never buffered whole, so a
+ * bundle may be far larger than the heap allows. Don't send an
+ * {@code Idempotency-Key} with large uploads: that filter buffers the body
+ * and rejects anything over its size limit.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/lab-results")
+@RequiredArgsConstructor
+public class LabResultController {
+
+    private static final String FHIR_JSON = "application/fhir+json";
+
+    private final LabResultService labResultService;
+
+    /**
+     * Ingests a FHIR R4 {@code Bundle} of lab {@code Observation}s.
+     * Invalid entries are rejected individually; the rest are stored.
+     *
+     * @param body  the bundle, streamed
+     * @param admin injected from the validated JWT by Spring Security
+     * @return 200 with the counts, or 400 with the counts so far if the
+     *         bundle was malformed or the upload cut short
+     */
+    @PostMapping(value = "/ingest", consumes = {MediaType.APPLICATION_JSON_VALUE, FHIR_JSON})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LabIngestionResponse> ingest(InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser admin) {
+        LabIngestionResponse response = labResultService.ingest(body, admin.getUserId());
+        return response.isComplete()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+}
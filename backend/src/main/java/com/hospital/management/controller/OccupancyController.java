@@ -0,0 +1,77 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.occupancy.OccupancyResponse;
+import com.hospital.management.service.OccupancyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller exposing live bed occupancy.
+ * <p>
+ * Reads are served from in-memory counters, so dashboards can poll them
+ * freely; the stream endpoint pushes changes instead. Counts for
+ * admissions made on another node may lag by up to
+ * {@code app.occupancy.reconcile-interval-ms}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/occupancy")
+@RequiredArgsConstructor
+public class OccupancyController {
+
+    private final OccupancyService occupancyService;
+
+    /**
+     * Lists the occupancy of every active department, each followed by the
+     * departments nested under it.
+     *
+     * @return 200 with the occupancy
+     */
+    @GetMapping
+    public ResponseEntity<List<OccupancyResponse>> listOccupancy() {
+        return ResponseEntity.ok(occupancyService.all());
+    }
+
+    /**
+     * Returns the occupancy of one department.
+     *
+     * @param departmentId the department UUID
+     * @return 200 with the occupancy, or 404
+     */
+    @GetMapping("/{departmentId}")
+    public ResponseEntity<OccupancyResponse> getOccupancy(@PathVariable UUID departmentId) {
+        return occupancyService.forDepartment(departmentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams occupancy changes as Server-Sent Events named {@code occupancy}.
+     * The first event lists every department in scope; later events list
+     * only departments whose count changed, with their new count and the
+     * change since the previous event.
+     *
+     * @param departmentId  only this department and those nested under it
+     * @param minIntervalMs minimum gap between events; changes in between are coalesced
+     * @return the event stream, 404 if the department does not exist, or 503
+     *         if this node already serves the maximum number of streams
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) UUID departmentId,
+            @RequestParam(defaultValue = "0") long minIntervalMs) {
+        try {
+            return occupancyService.subscribe(departmentId, minIntervalMs)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.reminder.CreateReminderRequest;
+import com.hospital.management.model.dto.reminder.ReminderResponse;
+import com.hospital.management.service.ReminderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for appointment and medication reminders.
+ * <p>
+ * Appointment reminders may be scheduled and read by every staff role,
+ * including receptionists, who book the appointments. Medication reminders
+ * carry clinical detail and are limited to doctors, nurses and admins.
+ * Reminders are delivered by
+ * {@link com.hospital.management.reminder.ReminderDispatcher}; the
+ * response of {@code GET} shows the delivery state.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/reminders")
+@RequiredArgsConstructor
+public class ReminderController {
+
+    private static final String APPOINTMENT = "T(com.hospital.management.constants.ReminderKind).APPOINTMENT";
+
+    private final ReminderService reminderService;
+
+    /**
+     * Schedules a reminder.
+     *
+     * @param request what to send, to whom and when
+     * @return 201 with the pending reminder, or 403 if the caller's role may not schedule this kind
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE') or (hasRole('RECEPTIONIST') and "
+            + APPOINTMENT + " == #request.kind)")
+    public ResponseEntity<ReminderResponse> create(@Valid @RequestBody CreateReminderRequest request) {
+        ReminderResponse response = reminderService.create(request);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+
+        return ResponseEntity.created(location).body(response);
+    }
+
+    /**
+     * Returns a single reminder.
+     *
+     * @param id the reminder UUID
+     * @return 200 with the reminder, 404, or 403 if the caller's role may not read this kind
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
+    @PostAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE') or returnObject.body == null or "
+            + APPOINTMENT + " == returnObject.body.kind")
+    public ResponseEntity<ReminderResponse> getReminder(@PathVariable UUID id) {
+        return reminderService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
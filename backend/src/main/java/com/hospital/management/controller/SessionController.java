@@ -0,0 +1,53 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dto.auth.SessionResponse;
+import com.hospital.management.service.SessionService;
+import lombok.RequiredArgsConstructor;
+import com.hospital.management.security.AuthenticatedUser;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller letting the authenticated user manage their own sessions.
+ * <p>
+ * Admin access to other users' sessions lives in {@link UserController}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/sessions")
+@RequiredArgsConstructor
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    /**
+     * Lists the caller's active sessions, newest first.
+     *
+     * @param caller injected from the validated JWT by Spring Security
+     * @return 200 with the active sessions
+     */
+    @GetMapping
+    public ResponseEntity<List<SessionResponse>> listSessions(@AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(sessionService.listActiveSessions(caller.getUserId()));
+    }
+
+    /**
+     * Revokes one of the caller's sessions (e.g. "sign out that device").
+     *
+     * @param caller    injected from the validated JWT by Spring Security
+     * @param sessionId the session to revoke
+     * @return 204 No Content, or 404 if the caller has no such active session
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> revokeSession(@AuthenticationPrincipal AuthenticatedUser caller,
+            @PathVariable UUID sessionId) {
+        if (!sessionService.revokeSession(caller.getUserId(), sessionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.constants.Role;
+import com.hospital.management.directory.StaffDirectory;
+import com.hospital.management.model.dto.staff.StaffSearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for the staff directory.
+ * <p>
+ * Open to any authenticated user: clinicians look colleagues up by name,
+ * email or phone while typing. Results come from an in-memory index and
+ * only include active accounts.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/staff")
+@RequiredArgsConstructor
+public class StaffController {
+
+    private final StaffDirectory staffDirectory;
+
+    /**
+     * Type-ahead search over active staff.
+     *
+     * @param q            the text typed so far, e.g. {@code "jo smi"}
+     * @param role         optional role filter
+     * @param departmentId optional department filter
+     * @param limit        maximum number of results (capped server-side)
+     * @return 200 with the matches, best first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<StaffSearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(staffDirectory.search(q, role, departmentId, limit));
+    }
+}
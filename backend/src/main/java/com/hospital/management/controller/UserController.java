@@ -1,7 +1,15 @@
 package com.hospital.management.controller;
 
+import com.hospital.management.constants.Role;
 import com.hospital.management.model.dto.auth.CreateUserRequest;
+import com.hospital.management.model.dto.auth.SessionResponse;
+import com.hospital.management.model.dto.auth.UpdateUserRequest;
+import com.hospital.management.model.dto.auth.UserPageResponse;
 import com.hospital.management.model.dto.auth.UserResponse;
+import com.hospital.management.model.dto.staff.StaffReassignmentRequest;
+import com.hospital.management.model.dto.staff.StaffReassignmentResponse;
+import com.hospital.management.service.SessionService;
+import com.hospital.management.service.StaffReassignmentService;
 import com.hospital.management.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * REST controller for user management operations.
@@ -26,6 +36,36 @@ import java.net.URI;
 public class UserController {
 
     private final UserService userService;
+    private final SessionService sessionService;
+    private final StaffReassignmentService staffReassignmentService;
+
+    /**
+     * Lists users ordered by last name, first name, optionally filtered.
+     * <p>
+     * Pagination is cursor-based: pass the returned {@code nextCursor} as
+     * {@code cursor} to fetch the following page.
+     * </p>
+     *
+     * @param role         only users with this role
+     * @param departmentId only users in this department
+     * @param isActive     only active (or only deactivated) users
+     * @param cursor       position returned by the previous page
+     * @param limit        page size, at most {@value UserService#MAX_PAGE_SIZE}
+     * @return 200 with {@link UserPageResponse}, or 400 if the cursor is invalid
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserPageResponse> listUsers(@RequestParam(required = false) Role role,
+                                                      @RequestParam(required = false) UUID departmentId,
+                                                      @RequestParam(required = false) Boolean isActive,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(userService.listUsers(role, departmentId, isActive, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     /**
      * Creates a new user account.
@@ -50,4 +90,94 @@ public class UserController {
 
         return ResponseEntity.created(location).body(response);
     }
+
+    /**
+     * Updates a user's profile. Omitted fields are left unchanged.
+     *
+     * @param userId  the user to update
+     * @param request the fields to change
+     * @return 200 with the updated {@link UserResponse}, or 404 if not found
+     */
+    @PatchMapping("/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserResponse> updateUser(@PathVariable UUID userId,
+                                                   @Valid @RequestBody UpdateUserRequest request) {
+        return userService.updateUser(userId, request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deactivates a user and revokes all of their sessions.
+     *
+     * @param userId the user to deactivate
+     * @return 200 with the deactivated {@link UserResponse}, or 404 if not found
+     */
+    @PostMapping("/{userId}/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserResponse> deactivateUser(@PathVariable UUID userId) {
+        return userService.deactivateUser(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Moves many users to another department and revokes all of their
+     * sessions, selected by ID list or by current department.
+     *
+     * @param request the users to move and the target department
+     * @return 200 with the affected-row counts, or 400 if the target department
+     *         does not exist or equals the source
+     */
+    @PostMapping("/department-reassignments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StaffReassignmentResponse> reassignDepartment(
+            @Valid @RequestBody StaffReassignmentRequest request) {
+        try {
+            return ResponseEntity.ok(staffReassignmentService.reassign(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Lists a user's active sessions, newest first.
+     *
+     * @param userId the user whose sessions to list
+     * @return 200 with the active sessions
+     */
+    @GetMapping("/{userId}/sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SessionResponse>> listSessions(@PathVariable UUID userId) {
+        return ResponseEntity.ok(sessionService.listActiveSessions(userId));
+    }
+
+    /**
+     * Revokes one of a user's sessions.
+     *
+     * @param userId    the owner of the session
+     * @param sessionId the session to revoke
+     * @return 204 No Content, or 404 if the user has no such active session
+     */
+    @DeleteMapping("/{userId}/sessions/{sessionId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeSession(@PathVariable UUID userId, @PathVariable UUID sessionId) {
+        if (!sessionService.revokeSession(userId, sessionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes all of a user's sessions (forced logout on every device).
+     *
+     * @param userId the user to sign out
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{userId}/sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeAllSessions(@PathVariable UUID userId) {
+        sessionService.revokeAllSessions(userId);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
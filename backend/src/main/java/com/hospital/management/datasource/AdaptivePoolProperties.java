@@ -0,0 +1,38 @@
+package com.hospital.management.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for adaptive connection-pool sizing
+ * ({@code app.datasource.pool.adaptive.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.pool.adaptive")
+@Getter
+@Setter
+public class AdaptivePoolProperties {
+
+    /** Let {@link AdaptivePoolSizer} resize pools at runtime. Off by default. */
+    private boolean enabled = false;
+
+    /** The pool never shrinks below this many connections. */
+    private int minSize = 5;
+
+    /** The pool never grows beyond this many connections — keep below the server's limit. */
+    private int maxSize = 50;
+
+    /** Connections added or removed per adjustment. */
+    private int step = 2;
+
+    /** Mean acquire time (milliseconds) above which the pool grows. */
+    private double targetAcquireMs = 10;
+
+    /** Fraction of idle connections above which a pool with fast acquires shrinks. */
+    private double shrinkIdleRatio = 0.5;
+
+    /** How often pools are evaluated, in milliseconds. */
+    private long evaluationIntervalMs = 10_000;
+}
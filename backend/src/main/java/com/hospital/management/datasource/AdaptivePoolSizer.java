@@ -0,0 +1,103 @@
+package com.hospital.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grows or shrinks HikariCP pools based on measured connection-acquire wait.
+ * <p>
+ * Every evaluation interval, each pool's mean acquire time since the last
+ * evaluation is read from the {@code hikaricp.connections.acquire} timer:
+ * <ul>
+ * <li>threads waiting, or mean acquire above target — grow by one step</li>
+ * <li>mean acquire well below target and many idle connections — shrink by
+ * one step</li>
+ * </ul>
+ * Sizes always stay within {@code min-size}..{@code max-size}. Growing only
+ * helps when the pool is the bottleneck; if acquire is fast but requests are
+ * slow, the time is going to the queries themselves.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.pool.adaptive", name = "enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private final AdaptivePoolProperties properties;
+    private final ObjectProvider<HikariDataSource> dataSources;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, long[]> lastSamples = new ConcurrentHashMap<>();
+
+    public AdaptivePoolSizer(AdaptivePoolProperties properties,
+            ObjectProvider<HikariDataSource> dataSources,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSources = dataSources;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.pool.adaptive.evaluation-interval-ms:10000}")
+    public void evaluate() {
+        dataSources.orderedStream().forEach(this::evaluate);
+    }
+
+    private void evaluate(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return; // Pool not started yet
+        }
+
+        String name = dataSource.getPoolName();
+        int current = dataSource.getMaximumPoolSize();
+        double meanAcquireMs = meanAcquireMsSinceLastSample(name);
+        int waiting = pool.getThreadsAwaitingConnection();
+        int idle = pool.getIdleConnections();
+
+        int target = current;
+        if (waiting > 0 || meanAcquireMs > properties.getTargetAcquireMs()) {
+            target = Math.min(properties.getMaxSize(), current + properties.getStep());
+        } else if (meanAcquireMs < properties.getTargetAcquireMs() / 4
+                && idle > current * properties.getShrinkIdleRatio()) {
+            target = Math.max(properties.getMinSize(), current - properties.getStep());
+        }
+
+        if (target != current) {
+            if (dataSource.getMinimumIdle() > target) {
+                dataSource.setMinimumIdle(target);
+            }
+            dataSource.setMaximumPoolSize(target);
+            log.info("Resized pool [{}] {} -> {} (mean acquire {} ms, {} waiting, {} idle)",
+                    name, current, target, String.format("%.2f", meanAcquireMs), waiting, idle);
+        }
+    }
+
+    /**
+     * Mean acquire time over the last interval, derived from the deltas of the
+     * cumulative timer count and total time.
+     */
+    private double meanAcquireMsSinceLastSample(String poolName) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (timer == null) {
+            return 0;
+        }
+
+        long count = timer.count();
+        long totalNanos = (long) timer.totalTime(TimeUnit.NANOSECONDS);
+        long[] previous = lastSamples.put(poolName, new long[] {count, totalNanos});
+        if (previous == null || count <= previous[0]) {
+            return 0;
+        }
+        return (totalNanos - previous[1]) / (double) (count - previous[0]) / 1_000_000.0;
+    }
+}
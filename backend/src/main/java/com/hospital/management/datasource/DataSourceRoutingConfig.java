@@ -0,0 +1,134 @@
+package com.hospital.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Routes read-only transactions to a replica pool and everything else to the
+ * primary.
+ * <p>
+ * Active only with {@code app.datasource.routing.enabled=true}; otherwise Spring
+ * Boot's single auto-configured datasource is used unchanged. The primary pool
+ * is still configured through {@code spring.datasource.*}, the replica through
+ * {@code app.datasource.replica.*}.
+ * </p>
+ * <p>
+ * Routing relies on {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched at the first statement, after Spring has marked
+ * the transaction read-only, and a read-only connection is taken from the
+ * replica. Callers who committed a write within the read-your-writes window
+ * are kept on the primary (see {@link ReadYourWritesTracker}).
+ * </p>
+ * <p>
+ * Two local H2 databases can stand in for primary and replica, e.g.
+ * {@code spring.datasource.url=jdbc:h2:mem:primary} and
+ * {@code app.datasource.replica.jdbc-url=jdbc:h2:mem:replica}.
+ * </p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Read-write pool, built exactly as Spring Boot would build its default one.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Read-only pool pointing at the replica.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The datasource used by JPA, Flyway and JDBC templates.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            ReadYourWritesTracker readYourWritesTracker) {
+        log.info("Read-replica routing enabled");
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(
+                new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+        proxy.setReadOnlyDataSource(
+                new ReadYourWritesDataSource(replicaDataSource, primaryDataSource, readYourWritesTracker));
+        return proxy;
+    }
+
+    /**
+     * Primary-side wrapper: a connection fetched for a read-write transaction
+     * marks the caller as a recent writer once that transaction commits.
+     */
+    static class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWritesTracker tracker;
+
+        WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+            super(primary);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                tracker.trackCurrentTransaction();
+            }
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * Replica-side wrapper: serves read-only connections from the replica,
+     * unless the caller wrote recently.
+     */
+    static class ReadYourWritesDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+        private final ReadYourWritesTracker tracker;
+
+        ReadYourWritesDataSource(DataSource replica, DataSource primary, ReadYourWritesTracker tracker) {
+            super(replica);
+            this.primary = primary;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (tracker.currentCallerWroteRecently()) {
+                return primary.getConnection();
+            }
+            return super.getConnection();
+        }
+    }
+}
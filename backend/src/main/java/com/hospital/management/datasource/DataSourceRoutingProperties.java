@@ -0,0 +1,31 @@
+package com.hospital.management.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for read-replica routing ({@code app.datasource.routing.*}).
+ * <p>
+ * The replica pool itself is configured under {@code app.datasource.replica.*}
+ * using HikariCP property names ({@code jdbc-url}, {@code username},
+ * {@code password}, {@code maximum-pool-size}, ...).
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    /** Send read-only transactions to the replica pool. Off by default. */
+    private boolean enabled = false;
+
+    /**
+     * After a caller commits a write, their read-only transactions stay on the
+     * primary for this long (milliseconds) so they never read behind their own
+     * write while the replica catches up.
+     */
+    private long readYourWritesWindowMs = 5_000;
+}
@@ -0,0 +1,80 @@
+package com.hospital.management.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which callers committed a write recently.
+ * <p>
+ * The API is stateless, so the "session" is the authenticated principal.
+ * Anonymous callers are not tracked; the only anonymous endpoints are the
+ * auth flows, which run in read-write transactions on the primary anyway.
+ * </p>
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final DataSourceRoutingProperties properties;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns whether the current caller committed a write within the
+     * read-your-writes window.
+     */
+    public boolean currentCallerWroteRecently() {
+        String key = currentSessionKey();
+        if (key == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(key);
+        return writtenAt != null
+                && System.currentTimeMillis() - writtenAt < properties.getReadYourWritesWindowMs();
+    }
+
+    /**
+     * Marks the current caller as having written, once the surrounding
+     * read-write transaction commits.
+     */
+    public void trackCurrentTransaction() {
+        String key = currentSessionKey();
+        if (key == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteAt.put(key, System.currentTimeMillis());
+            }
+        });
+    }
+
+    /**
+     * Drops entries whose window has passed, keeping the map proportional to
+     * the number of recent writers.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - properties.getReadYourWritesWindowMs();
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private static String currentSessionKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,105 @@
+package com.hospital.management.datasource;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exports the state of mssql-jdbc's prepared-statement cache for each
+ * HikariCP pool.
+ * <p>
+ * The cache lives in each physical connection and the driver keeps no hit
+ * or miss counters, so this samples what it does report. Every interval one
+ * idle connection per pool is borrowed and read:
+ * <ul>
+ * <li>{@code jdbc.statement.cache.entries} — statement handles cached on the
+ * sampled connection</li>
+ * <li>{@code jdbc.statement.cache.capacity} — the configured per-connection
+ * size, 0 if pooling is disabled</li>
+ * <li>{@code jdbc.statement.cache.discarded} — handles evicted from the cache
+ * and waiting to be unprepared on the server</li>
+ * </ul>
+ * Entries pinned at capacity while discarded keeps climbing mean the
+ * workload prepares more distinct statements than the cache holds. A pool
+ * with no idle connection is skipped that round rather than made to wait,
+ * and a pool whose driver is not mssql-jdbc (e.g. H2 in tests) is not
+ * sampled again.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StatementCacheMetrics {
+
+    private final ObjectProvider<HikariDataSource> dataSources;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+    private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+
+    public StatementCacheMetrics(ObjectProvider<HikariDataSource> dataSources, MeterRegistry meterRegistry) {
+        this.dataSources = dataSources;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.statement-cache.sample-interval-ms:30000}")
+    public void sample() {
+        dataSources.orderedStream().forEach(this::sample);
+    }
+
+    private void sample(HikariDataSource dataSource) {
+        String name = dataSource.getPoolName();
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null || unsupported.contains(name) || pool.getIdleConnections() == 0) {
+            return; // Not started, not SQL Server, or busy
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(ISQLServerConnection.class)) {
+                unsupported.add(name);
+                return;
+            }
+            ISQLServerConnection driver = connection.unwrap(ISQLServerConnection.class);
+            Sample sample = samples.computeIfAbsent(name, this::register);
+            sample.entries = driver.getStatementHandleCacheEntryCount();
+            sample.capacity = driver.isStatementPoolingEnabled() ? driver.getStatementPoolingCacheSize() : 0;
+            sample.discarded = driver.getDiscardedServerPreparedStatementCount();
+        } catch (SQLException e) {
+            log.debug("Could not sample the statement cache of pool [{}]", name, e);
+        }
+    }
+
+    private Sample register(String poolName) {
+        Sample sample = new Sample();
+        Gauge.builder("jdbc.statement.cache.entries", sample, s -> s.entries)
+                .description("Prepared-statement handles cached on a sampled connection")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("jdbc.statement.cache.capacity", sample, s -> s.capacity)
+                .description("Per-connection prepared-statement cache size, 0 if disabled")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("jdbc.statement.cache.discarded", sample, s -> s.discarded)
+                .description("Evicted statement handles awaiting unprepare on a sampled connection")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        return sample;
+    }
+
+    /** The latest reading for one pool. */
+    private static final class Sample {
+        volatile int entries;
+        volatile int capacity;
+        volatile int discarded;
+    }
+}
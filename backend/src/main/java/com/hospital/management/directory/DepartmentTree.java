@@ -0,0 +1,118 @@
+package com.hospital.management.directory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the department hierarchy.
+ * <p>
+ * Built from one row per department, so a snapshot costs a single query
+ * however deep the tree is. Lookups walk parent and child links in memory.
+ * </p>
+ */
+public final class DepartmentTree {
+
+    /**
+     * A department and the departments directly under it, ordered by name.
+     */
+    public record Node(UUID id, UUID parentId, String name, boolean active, List<Node> children) {
+    }
+
+    /** One department's position, as loaded from the database. */
+    record Row(UUID id, UUID parentId, String name, boolean active) {
+    }
+
+    private final Map<UUID, Node> nodes;
+    private final List<Node> roots;
+
+    private DepartmentTree(Map<UUID, Node> nodes, List<Node> roots) {
+        this.nodes = nodes;
+        this.roots = roots;
+    }
+
+    /**
+     * Builds a tree from departments given in name order. A department whose
+     * parent is missing from {@code rows} is treated as a root.
+     */
+    static DepartmentTree build(List<Row> rows) {
+        Map<UUID, List<Node>> childrenOf = new HashMap<>();
+        Map<UUID, Node> nodes = new HashMap<>(rows.size() * 2);
+        for (Row row : rows) {
+            List<Node> children = childrenOf.computeIfAbsent(row.id(), id -> new ArrayList<>());
+            nodes.put(row.id(), new Node(row.id(), row.parentId(), row.name(), row.active(),
+                    Collections.unmodifiableList(children)));
+        }
+
+        List<Node> roots = new ArrayList<>();
+        for (Row row : rows) { // Name order carries over into every child list
+            Node node = nodes.get(row.id());
+            if (row.parentId() != null && nodes.containsKey(row.parentId())) {
+                childrenOf.get(row.parentId()).add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return new DepartmentTree(nodes, Collections.unmodifiableList(roots));
+    }
+
+    /**
+     * Returns the top-level departments, ordered by name.
+     */
+    public List<Node> roots() {
+        return roots;
+    }
+
+    /**
+     * Returns a department, or null if it is not in the tree.
+     */
+    public Node get(UUID id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * Returns a department's ancestors, top-level first, or an empty list for
+     * a top-level or unknown department.
+     */
+    public List<Node> ancestors(UUID id) {
+        List<Node> path = new ArrayList<>();
+        Node node = nodes.get(id);
+        while (node != null && node.parentId() != null && (node = nodes.get(node.parentId())) != null) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns every department under {@code id}, nearest first.
+     */
+    public List<Node> descendants(UUID id) {
+        Node root = nodes.get(id);
+        if (root == null) {
+            return List.of();
+        }
+        List<Node> result = new ArrayList<>(root.children());
+        for (int i = 0; i < result.size(); i++) {
+            result.addAll(result.get(i).children());
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether {@code id} is {@code ancestorId} or nested under it.
+     */
+    public boolean isInSubtree(UUID id, UUID ancestorId) {
+        Node node = nodes.get(id);
+        while (node != null) {
+            if (node.id().equals(ancestorId)) {
+                return true;
+            }
+            node = node.parentId() == null ? null : nodes.get(node.parentId());
+        }
+        return false;
+    }
+}
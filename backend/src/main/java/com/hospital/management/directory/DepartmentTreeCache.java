@@ -0,0 +1,75 @@
+package com.hospital.management.directory;
+
+import com.hospital.management.model.dao.DepartmentDao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves the department hierarchy from memory.
+ * <p>
+ * The cached {@link DepartmentTree} is tagged with the department version
+ * it was loaded at ({@link DepartmentDao#currentVersion()}); when a write on
+ * this node bumps the version, the next read reloads it. The version is per
+ * node, so the tree is also reloaded after {@link #MAX_AGE_MS} to pick up
+ * moves made on other nodes.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentTreeCache {
+
+    /** Upper bound on how long a write made on another node can go unseen. */
+    static final long MAX_AGE_MS = 30_000;
+
+    private static final int ID = DepartmentDao.TREE_COLUMNS.indexOf("id");
+    private static final int PARENT_ID = DepartmentDao.TREE_COLUMNS.indexOf("parent_id");
+    private static final int NAME = DepartmentDao.TREE_COLUMNS.indexOf("name");
+    private static final int IS_ACTIVE = DepartmentDao.TREE_COLUMNS.indexOf("is_active");
+
+    private record Snapshot(DepartmentTree tree, long version, long loadedAt) {
+    }
+
+    private final DepartmentDao departmentDao;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the current tree, reloading it first if it may be stale.
+     */
+    public DepartmentTree get() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.tree();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current.tree();
+            }
+            // Read the version before the rows: a concurrent write then leaves
+            // the snapshot tagged older than its data, never newer
+            long version = departmentDao.currentVersion();
+            List<DepartmentTree.Row> rows = new ArrayList<>();
+            for (Object[] row : departmentDao.findTreeRows()) {
+                rows.add(new DepartmentTree.Row((UUID) row[ID], (UUID) row[PARENT_ID], (String) row[NAME],
+                        Boolean.TRUE.equals(row[IS_ACTIVE])));
+            }
+            current = new Snapshot(DepartmentTree.build(rows), version, System.currentTimeMillis());
+            snapshot = current;
+            log.debug("Department tree loaded [departments={}, version={}]", rows.size(), version);
+            return current.tree();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.version() == departmentDao.currentVersion()
+                && System.currentTimeMillis() - current.loadedAt() < MAX_AGE_MS;
+    }
+}
@@ -0,0 +1,190 @@
+package com.hospital.management.directory;
+
+import com.hospital.management.constants.Role;
+import com.hospital.management.model.dao.UserDao;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import com.hospital.management.model.domain.User;
+import com.hospital.management.model.dto.staff.StaffSearchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Staff directory search, served from an in-memory {@link StaffIndex}.
+ * <p>
+ * The index is loaded once the application is ready, by streaming the user
+ * table, and then kept current from {@link EntityChangeEvent}s: each user
+ * create, update or deactivation is applied after its transaction commits,
+ * so a search never returns uncommitted data and never touches the
+ * database. Writes made by other application nodes are not seen as events;
+ * a periodic rebuild picks them up.
+ * </p>
+ * <p>
+ * A rebuild fills a fresh index off to the side while searches keep using
+ * the current one. Changes that arrive meanwhile are applied to both, so
+ * none is lost when the new index is swapped in.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaffDirectory {
+
+    private static final int ID = UserDao.EXPORT_COLUMNS.indexOf("id");
+    private static final int EMAIL = UserDao.EXPORT_COLUMNS.indexOf("email");
+    private static final int FIRST_NAME = UserDao.EXPORT_COLUMNS.indexOf("first_name");
+    private static final int LAST_NAME = UserDao.EXPORT_COLUMNS.indexOf("last_name");
+    private static final int ROLE = UserDao.EXPORT_COLUMNS.indexOf("role");
+    private static final int DEPARTMENT_ID = UserDao.EXPORT_COLUMNS.indexOf("department_id");
+    private static final int PHONE = UserDao.EXPORT_COLUMNS.indexOf("phone");
+    private static final int IS_ACTIVE = UserDao.EXPORT_COLUMNS.indexOf("is_active");
+
+    private final UserDao userDao;
+    private final StaffDirectoryProperties properties;
+
+    private volatile StaffIndex index = new StaffIndex();
+
+    /** Guards the index swap and {@link #changesDuringRebuild}. */
+    private final Object rebuildLock = new Object();
+
+    /** Changes to replay onto the index being built; null when no rebuild is running. */
+    private List<Consumer<StaffIndex>> changesDuringRebuild;
+
+    /**
+     * Searches active staff by name, email or phone prefix.
+     *
+     * @param query        free text; every term must prefix-match one of the user's words
+     * @param role         optional role filter
+     * @param departmentId optional department filter
+     * @param limit        requested number of results, capped at the configured maximum
+     * @return matches, exact word matches first
+     */
+    public List<StaffSearchResult> search(String query, Role role, UUID departmentId, int limit) {
+        int capped = Math.min(limit, properties.getMaxResults());
+        return index.search(query, role, departmentId, capped).stream()
+                .map(StaffDirectory::toResult)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.staff-directory.rebuild-interval-ms:300000}",
+            fixedDelayString = "${app.staff-directory.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Applies a committed user write to the index. Inactive users are removed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(EntityChangeEvent<User> event) {
+        User user = event.getEntity();
+        UUID id = user.getId();
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED || !Boolean.TRUE.equals(user.getIsActive())) {
+            apply(target -> target.remove(id));
+        } else {
+            StaffIndex.Entry entry = new StaffIndex.Entry(id, user.getFirstName(), user.getLastName(),
+                    user.getEmail(), user.getPhone(), user.getRole(), user.getDepartmentId());
+            apply(target -> target.put(entry));
+        }
+    }
+
+    /**
+     * Reloads the given users from the database and applies them to the
+     * index. Used after bulk updates, which publish no per-user change events.
+     *
+     * @param ids the users to reload; users no longer active or present are removed
+     */
+    public void refresh(Collection<UUID> ids) {
+        Set<UUID> missing = new HashSet<>(ids);
+        for (Object[] row : userDao.findExportRowsByIds(ids)) {
+            UUID id = (UUID) row[ID];
+            missing.remove(id);
+            if (Boolean.TRUE.equals(row[IS_ACTIVE])) {
+                StaffIndex.Entry entry = toEntry(row);
+                apply(target -> target.put(entry));
+            } else {
+                apply(target -> target.remove(id));
+            }
+        }
+        missing.forEach(id -> apply(target -> target.remove(id)));
+    }
+
+    /**
+     * Reloads every active user into a new index and swaps it in.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            if (changesDuringRebuild != null) {
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        StaffIndex fresh = new StaffIndex();
+        long started = System.nanoTime();
+        try {
+            userDao.forEachExportRow(row -> {
+                if (Boolean.TRUE.equals(row[IS_ACTIVE])) {
+                    fresh.put(toEntry(row));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Staff directory rebuild failed, keeping the current index", e);
+            synchronized (rebuildLock) {
+                changesDuringRebuild = null;
+            }
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            changesDuringRebuild = null;
+            index = fresh;
+        }
+        log.info("Staff directory rebuilt [users={}, took={}ms]",
+                fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void apply(Consumer<StaffIndex> change) {
+        synchronized (rebuildLock) {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static StaffIndex.Entry toEntry(Object[] row) {
+        return new StaffIndex.Entry((UUID) row[ID], (String) row[FIRST_NAME], (String) row[LAST_NAME],
+                (String) row[EMAIL], (String) row[PHONE], (Role) row[ROLE], (UUID) row[DEPARTMENT_ID]);
+    }
+
+    private static StaffSearchResult toResult(StaffIndex.Entry entry) {
+        return StaffSearchResult.builder()
+                .id(entry.id())
+                .firstName(entry.firstName())
+                .lastName(entry.lastName())
+                .email(entry.email())
+                .phone(entry.phone())
+                .role(entry.role())
+                .departmentId(entry.departmentId())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hospital.management.directory;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for the staff directory search ({@code app.staff-directory.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.staff-directory")
+@Getter
+@Setter
+public class StaffDirectoryProperties {
+
+    /**
+     * How often the index is rebuilt from the database. Local writes are
+     * applied immediately; the rebuild picks up writes made on other nodes.
+     */
+    private long rebuildIntervalMs = 300_000;
+
+    /** Upper bound on the {@code limit} a caller may request. */
+    private int maxResults = 50;
+}
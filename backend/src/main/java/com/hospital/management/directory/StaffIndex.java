@@ -0,0 +1,483 @@
+package com.hospital.management.directory;
+
+import com.hospital.management.constants.Role;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over active staff, for type-ahead search.
+ * <p>
+ * Every searchable word of a user — first and last name parts, the email
+ * address and its local-part pieces, the phone digits without country or
+ * trunk prefix — is normalized
+ * (lower case, accents stripped) and stored in a radix trie: a trie whose
+ * single-child chains are collapsed into one edge, so memory grows with the
+ * number of distinct words rather than their total length. A prefix lookup
+ * walks at most one edge per character of the query, then enumerates the
+ * subtree depth first; exact word matches come out first, then longer words
+ * in alphabetical order, and enumeration stops as soon as {@code limit}
+ * results pass the filters.
+ * </p>
+ * <p>
+ * Reads share a read lock; single-user updates take the write lock for the
+ * few trie nodes they touch. Instances are built in bulk by
+ * {@link StaffDirectory} and then updated incrementally.
+ * </p>
+ */
+class StaffIndex {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAME_SEPARATORS = Pattern.compile("[\\s\\-'’.]+");
+    private static final Pattern EMAIL_SEPARATORS = Pattern.compile("[._\\-+]+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[0-9+()\\-.\\s]*[0-9][0-9+()\\-.\\s]*");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern LEADING_ZEROS = Pattern.compile("^0+");
+
+    /** Shortest phone digit suffix indexed; shorter ones would match most numbers. */
+    private static final int MIN_PHONE_SUFFIX = 4;
+
+    /**
+     * A user as held by the index.
+     */
+    record Entry(UUID id, String firstName, String lastName, String email, String phone, Role role,
+                 UUID departmentId) {
+
+        /** Normalized words under which the user can be found. */
+        Set<String> tokens() {
+            Set<String> tokens = new LinkedHashSet<>();
+            addWords(tokens, firstName, NAME_SEPARATORS);
+            addWords(tokens, lastName, NAME_SEPARATORS);
+            if (email != null) {
+                String normalized = normalize(email);
+                tokens.add(normalized);
+                int at = normalized.indexOf('@');
+                addWords(tokens, at < 0 ? normalized : normalized.substring(0, at), EMAIL_SEPARATORS);
+            }
+            if (phone != null) {
+                // Every suffix from a non-zero digit, so "082 555..." finds "+27 82 555..."
+                String digits = NON_DIGITS.matcher(phone).replaceAll("");
+                for (int i = 0; i <= digits.length() - MIN_PHONE_SUFFIX; i++) {
+                    if (digits.charAt(i) != '0') {
+                        tokens.add(digits.substring(i));
+                    }
+                }
+            }
+            return tokens;
+        }
+
+        private static void addWords(Set<String> tokens, String value, Pattern separators) {
+            if (value == null) {
+                return;
+            }
+            for (String word : separators.split(normalize(value))) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /** Characters on the edge from the parent; empty for the root. */
+        String label;
+        /** Children, sorted by the first character of their label. */
+        Node[] children = NO_CHILDREN;
+        /** Users having a word that ends exactly here; null when none. */
+        Set<UUID> ids;
+        /** Number of (word, user) pairs in this subtree, to pick the smallest subtree to scan. */
+        int postings;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int insertionPoint, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertionPoint);
+            grown[insertionPoint] = child;
+            System.arraycopy(children, insertionPoint, grown, insertionPoint + 1, children.length - insertionPoint);
+            children = grown;
+        }
+
+        void removeChild(int index) {
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        boolean isEmpty() {
+            return ids == null && children.length == 0;
+        }
+    }
+
+    /** An entry with its words, computed once when it is indexed. */
+    private record Indexed(Entry entry, Set<String> tokens) {
+    }
+
+    private final Node root = new Node("");
+    private final Map<UUID, Indexed> entries = new HashMap<>();
+    private final Map<UUID, Set<UUID>> membersByDepartment = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or replaces a user's entry.
+     */
+    void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Indexed indexed = new Indexed(entry, entry.tokens());
+            Indexed previous = entries.put(entry.id(), indexed);
+            if (previous != null) {
+                unlink(previous);
+            }
+            if (entry.departmentId() != null) {
+                membersByDepartment.computeIfAbsent(entry.departmentId(), d -> new HashSet<>()).add(entry.id());
+            }
+            for (String token : indexed.tokens()) {
+                insertToken(token, entry.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user, if present.
+     */
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = entries.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(Indexed indexed) {
+        UUID id = indexed.entry().id();
+        for (String token : indexed.tokens()) {
+            removeToken(token, id);
+        }
+        UUID departmentId = indexed.entry().departmentId();
+        if (departmentId != null) {
+            Set<UUID> members = membersByDepartment.get(departmentId);
+            members.remove(id);
+            if (members.isEmpty()) {
+                membersByDepartment.remove(departmentId);
+            }
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds users matching every whitespace-separated term of the query as a
+     * word prefix, optionally restricted to a role and department.
+     *
+     * @param query        free text, e.g. {@code "jo smi"} or {@code "0825"}
+     * @param role         required role, or null for any
+     * @param departmentId required department, or null for any
+     * @param limit        maximum number of results
+     * @return matches, best first
+     */
+    List<Entry> search(String query, Role role, UUID departmentId, int limit) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Enumerate the most selective term's subtree; check the other terms per candidate
+            String anchor = null;
+            Node start = null;
+            for (String term : terms) {
+                Node node = find(term);
+                if (node == null) {
+                    return List.of();
+                }
+                if (start == null || node.postings < start.postings) {
+                    anchor = term;
+                    start = node;
+                }
+            }
+            if (departmentId != null) {
+                Set<UUID> members = membersByDepartment.get(departmentId);
+                if (members == null) {
+                    return List.of();
+                }
+                if (members.size() < start.postings) {
+                    return searchMembers(members, terms, anchor, role, limit);
+                }
+            }
+            List<Entry> results = new ArrayList<>(Math.min(limit, 16));
+            Set<UUID> seen = new HashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                if (node.ids != null) {
+                    for (UUID id : node.ids) {
+                        if (!seen.add(id)) {
+                            continue;
+                        }
+                        Indexed indexed = entries.get(id);
+                        if (matches(indexed, terms, anchor, role, departmentId)) {
+                            results.add(indexed.entry());
+                            if (results.size() == limit) {
+                                return results;
+                            }
+                        }
+                    }
+                }
+                for (int i = node.children.length - 1; i >= 0; i--) {
+                    stack.push(node.children[i]);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans a department's members directly, for when the department is
+     * smaller than the trie subtree. Sorted to match trie order: by the
+     * first word the anchor term matches.
+     */
+    private List<Entry> searchMembers(Set<UUID> members, List<String> terms, String anchor, Role role, int limit) {
+        List<Indexed> matched = new ArrayList<>();
+        for (UUID id : members) {
+            Indexed indexed = entries.get(id);
+            if (matches(indexed, terms, null, role, null)) {
+                matched.add(indexed);
+            }
+        }
+        Map<Indexed, String> sortKeys = new HashMap<>();
+        for (Indexed indexed : matched) {
+            String first = null;
+            for (String token : indexed.tokens()) {
+                if (token.startsWith(anchor) && (first == null || token.compareTo(first) < 0)) {
+                    first = token;
+                }
+            }
+            sortKeys.put(indexed, first);
+        }
+        matched.sort(Comparator.comparing(sortKeys::get));
+        return matched.stream().limit(limit).map(Indexed::entry).toList();
+    }
+
+    private static boolean matches(Indexed indexed, List<String> terms, String anchor, Role role,
+                                   UUID departmentId) {
+        Entry entry = indexed.entry();
+        if (role != null && role != entry.role()) {
+            return false;
+        }
+        if (departmentId != null && !departmentId.equals(entry.departmentId())) {
+            return false;
+        }
+        if (terms.size() == 1 && anchor != null) {
+            return true;
+        }
+        Set<String> tokens = indexed.tokens();
+        for (String term : terms) {
+            if (term == anchor) {
+                continue;
+            }
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the node whose subtree holds every word starting with
+     * {@code prefix}, or null if there is none. The prefix may end part-way
+     * along an edge.
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int remaining = prefix.length() - i;
+            if (remaining <= child.label.length()) {
+                return child.label.regionMatches(0, prefix, i, remaining) ? child : null;
+            }
+            if (!prefix.regionMatches(i, child.label, 0, child.label.length())) {
+                return null;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        return node;
+    }
+
+    private void insertToken(String token, UUID id) {
+        Node node = root;
+        List<Node> path = new ArrayList<>();
+        int i = 0;
+        while (i < token.length()) {
+            path.add(node);
+            int index = node.childIndex(token.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(token.substring(i));
+                node.insertChild(-(index + 1), leaf);
+                node = leaf;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, token, i);
+            if (common < child.label.length()) {
+                // Split the edge where the new word diverges
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[] {child};
+                split.postings = child.postings;
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.ids == null) {
+            node.ids = new HashSet<>(2);
+        }
+        if (node.ids.add(id)) {
+            node.postings++;
+            path.forEach(n -> n.postings++);
+        }
+    }
+
+    private void removeToken(String token, UUID id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (i < token.length()) {
+            path.add(node);
+            int index = node.childIndex(token.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            if (!token.regionMatches(i, child.label, 0, child.label.length())) {
+                return;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        if (node.ids == null || !node.ids.remove(id)) {
+            return;
+        }
+        if (node.ids.isEmpty()) {
+            node.ids = null;
+        }
+        node.postings--;
+        path.forEach(n -> n.postings--);
+
+        // Prune now-empty nodes, then re-collapse single-child chains
+        for (int p = path.size() - 1; p >= 0 && node.isEmpty(); p--) {
+            Node parent = path.get(p);
+            parent.removeChild(parent.childIndex(node.label.charAt(0)));
+            node = parent;
+        }
+        if (node != root && node.ids == null && node.children.length == 1) {
+            Node only = node.children[0];
+            node.label = node.label + only.label;
+            node.children = only.children;
+            node.ids = only.ids;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String token, int offset) {
+        int max = Math.min(label.length(), token.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == token.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    static List<String> queryTerms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String trimmed = query.strip();
+        if (PHONE_QUERY.matcher(trimmed).matches()) {
+            String digits = LEADING_ZEROS.matcher(NON_DIGITS.matcher(trimmed).replaceAll("")).replaceAll("");
+            return digits.isEmpty() ? List.of() : List.of(digits);
+        }
+        List<String> terms = new ArrayList<>();
+        for (String part : trimmed.split("\\s+")) {
+            String normalized = normalize(part);
+            // Emails are indexed whole; anything else splits like a name
+            String[] words = normalized.indexOf('@') >= 0
+                    ? new String[] {normalized}
+                    : NAME_SEPARATORS.split(normalized);
+            terms.addAll(Arrays.stream(words).filter(w -> !w.isEmpty()).toList());
+        }
+        return terms;
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return ACCENTS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,306 @@
+package com.hospital.management.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.model.dao.base.EntityBulkChangeEvent;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import com.hospital.management.model.domain.base.BaseEntity;
+import com.hospital.management.model.dto.event.ChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Fans committed entity changes out to clients over Server-Sent Events.
+ * <p>
+ * Each {@link EntityChangeEvent} is serialized once into an SSE frame and
+ * offered to every subscriber's bounded buffer; publishing never waits on
+ * a socket. A small pool of sender threads drains a buffer whenever it
+ * becomes non-empty, writing everything queued in one flush. A subscriber
+ * whose buffer overflows is disconnected rather than slowing the others
+ * down, so a stream either delivers every event it matches or ends; a
+ * client refetches after reconnecting. Event ids come from one counter per
+ * node across all entity types, so they increase but are not contiguous
+ * on a filtered stream. A bulk statement's {@link EntityBulkChangeEvent}
+ * becomes one event per affected entity, buffered together as one entry.
+ * </p>
+ * <p>
+ * An idle stream holds no thread, only its emitter and an empty buffer, so
+ * a node can keep thousands open. Events carry the entity type, id and
+ * kind of change, never entity fields.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ChangeFeed implements SmartLifecycle {
+
+    static final String EVENT_NAME = "change";
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    /** One open stream. */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        /** Entity types the client watches; null for all. */
+        final Set<String> types;
+        final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        /** Set while a sender task is scheduled or running for this subscriber. */
+        final AtomicBoolean draining = new AtomicBoolean();
+        /** Set on eviction; the next sender task completes the stream instead of writing. */
+        volatile boolean evicted;
+
+        Subscriber(SseEmitter emitter, Set<String> types) {
+            this.emitter = emitter;
+            this.types = types;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        }
+    }
+
+    private final ChangeFeedProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Set<String> publishedTypes;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter evictedCounter;
+
+    private volatile ExecutorService senders;
+
+    public ChangeFeed(ChangeFeedProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.publishedTypes = properties.getEntityTypes().stream()
+                .map(ChangeFeed::typeName)
+                .collect(Collectors.toUnmodifiableSet());
+        this.publishedCounter = Counter.builder("events.published")
+                .description("Entity changes published on the change feed")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("events.subscribers.evicted")
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("events.subscribers", subscribers, Set::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of change events.
+     *
+     * @param types entity types to receive, case-insensitive; null or empty for all
+     * @return the stream, or empty if this node already serves the maximum number of streams
+     */
+    public Optional<SseEmitter> subscribe(Set<String> types) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = createEmitter();
+        Set<String> scope = types == null || types.isEmpty() ? null
+                : types.stream().map(ChangeFeed::typeName).collect(Collectors.toUnmodifiableSet());
+        Subscriber subscriber = new Subscriber(emitter, scope);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Publishes a committed entity change to every interested subscriber.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangeEvent<?> event) {
+        if (event.getEntity() instanceof BaseEntity entity) {
+            publish(typeName(event.getEntityClass().getSimpleName()), List.of(entity.getId()), event.getChangeType());
+        }
+    }
+
+    /**
+     * Publishes a committed bulk change as one event per affected entity.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitiesChanged(EntityBulkChangeEvent event) {
+        publish(typeName(event.getEntityClass().getSimpleName()), event.getIds(), event.getChangeType());
+    }
+
+    /**
+     * Sends a comment to every stream, so intermediaries keep idle
+     * connections open and dropped clients are noticed.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, HEARTBEAT);
+        }
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Closes every open stream and stops the sender threads.
+     */
+    @Override
+    public void stop() {
+        ExecutorService current = senders;
+        senders = null;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        if (current != null) {
+            current.shutdownNow();
+            try {
+                current.awaitTermination(Duration.ofSeconds(5).toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return senders != null;
+    }
+
+    private void publish(String type, List<UUID> ids, EntityChangeEvent.ChangeType change) {
+        if (!publishedTypes.contains(type) || subscribers.isEmpty() || ids.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = new LinkedHashSet<>();
+        try {
+            for (UUID id : ids) {
+                frame.addAll(frame(type, id, change));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change event [type={}]", type, e);
+            return;
+        }
+        publishedCounter.increment(ids.size());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.types == null || subscriber.types.contains(type)) {
+                offer(subscriber, frame);
+            }
+        }
+    }
+
+    /**
+     * Creates the emitter for a new stream.
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getStreamTimeoutMs());
+    }
+
+    private void offer(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.buffer.offer(frame)) {
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        ExecutorService current = senders;
+        if (current != null && subscriber.draining.compareAndSet(false, true)) {
+            current.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Writes everything buffered for a subscriber, or completes the stream
+     * once it has been evicted. Runs on a sender thread, at most one at a
+     * time per subscriber.
+     */
+    private void drain(Subscriber subscriber) {
+        if (subscriber.evicted) {
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+            return;
+        }
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.buffer.poll()) != null) {
+                batch.addAll(frame);
+            }
+            if (!batch.isEmpty()) {
+                subscriber.emitter.send(batch);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame offered, or an eviction, after the last poll but before the flag was cleared would otherwise wait
+        if (!subscriber.buffer.isEmpty() || subscriber.evicted) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Drops a subscriber that fell behind. Completing its emitter waits for
+     * any write in progress, so that is left to a sender thread: the next
+     * drain, or the one still writing once its write returns.
+     */
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evictedCounter.increment();
+            subscriber.evicted = true;
+            scheduleDrain(subscriber);
+            log.debug("Change feed subscriber evicted, buffer full [size={}]", properties.getBufferSize());
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String type, UUID id,
+            EntityChangeEvent.ChangeType change) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(ChangeNotification.builder()
+                .type(type)
+                .id(id)
+                .change(change)
+                .build());
+        return SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(EVENT_NAME)
+                .data(json)
+                .build();
+    }
+
+    private static String typeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hospital.management.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Typed binding for the change feed ({@code app.events.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.events")
+@Getter
+@Setter
+public class ChangeFeedProperties {
+
+    /** Entity types published on the feed, by simple class name. */
+    private List<String> entityTypes = List.of("Department", "User", "Admission");
+
+    /**
+     * Events buffered per subscriber. A subscriber whose buffer is full is
+     * too slow to keep up and is disconnected.
+     */
+    private int bufferSize = 64;
+
+    /** Upper bound on concurrently open streams per node. */
+    private int maxSubscribers = 5_000;
+
+    /** Threads writing buffered events to subscribers. */
+    private int senderThreads = 4;
+
+    /** A comment line is sent to every stream this often, to keep proxies from closing idle connections. */
+    private long heartbeatIntervalMs = 25_000;
+
+    /** Streams are closed after this long; clients reconnect. */
+    private long streamTimeoutMs = 1_800_000;
+}
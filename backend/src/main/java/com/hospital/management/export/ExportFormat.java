@@ -0,0 +1,53 @@
+package com.hospital.management.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Output formats for streaming exports.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a {@code format} request parameter, case-insensitively.
+     *
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Opens a row writer in this format over the given stream.
+     *
+     * @param out     destination; not closed by the writer
+     * @param columns column names, in row order
+     */
+    public RowWriter open(OutputStream out, List<String> columns) throws IOException {
+        return switch (this) {
+            case CSV -> new RowWriter.Csv(out, columns);
+            case NDJSON -> new RowWriter.Ndjson(out, columns);
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.hospital.management.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows straight to an output stream, one at a time.
+ * <p>
+ * Rows are arrays of plain column values as read from the database. Nothing
+ * is accumulated: each row is encoded into a fixed-size buffer and flushed
+ * through as the buffer fills, so memory does not depend on the row count.
+ * </p>
+ */
+public abstract class RowWriter implements AutoCloseable {
+
+    private long rowCount;
+
+    /**
+     * Writes one row.
+     *
+     * @throws UncheckedIOException if the client went away or the stream failed;
+     *                              unchecked so it can escape a row callback
+     */
+    public void write(Object[] row) {
+        try {
+            writeRow(row);
+            rowCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    protected abstract void writeRow(Object[] row) throws IOException;
+
+    /**
+     * Flushes buffered output. The underlying stream is left open.
+     */
+    @Override
+    public abstract void close() throws IOException;
+
+    /**
+     * RFC 4180 CSV with a header line.
+     * <p>
+     * Cells starting with {@code = + - @} are prefixed with a quote so
+     * spreadsheet applications do not evaluate them as formulas.
+     * </p>
+     */
+    static class Csv extends RowWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        protected void writeRow(Object[] row) throws IOException {
+            writeLine(row);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeCell(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(String value) throws IOException {
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    static class Ndjson extends RowWriter {
+
+        private static final JsonFactory JSON = JsonFactory.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        Ndjson(OutputStream out, List<String> columns) throws IOException {
+            this.generator = JSON.createGenerator(out);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            this.columns = columns.toArray(String[]::new);
+        }
+
+        @Override
+        protected void writeRow(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                Object value = row[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Boolean b) {
+                    generator.writeBoolean(b);
+                } else if (value instanceof Number n) {
+                    generator.writeNumber(n.toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close(); // Flushes; the target stays open
+        }
+    }
+}
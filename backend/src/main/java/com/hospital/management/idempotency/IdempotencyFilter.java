@@ -0,0 +1,263 @@
+package com.hospital.management.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Makes retried writes safe: a request carrying an {@code Idempotency-Key}
+ * header runs once, and repeats of it get the saved response back.
+ * <p>
+ * Keys are scoped to the caller (the authenticated user, or anonymous on the
+ * auth endpoints), so two clients cannot see each other's responses. The
+ * request is fingerprinted by method, path, query and body; reusing a key
+ * for a different request is rejected with 422, and a repeat that arrives
+ * while the first is still running gets 409. Replays carry the original
+ * status, {@code Content-Type}, {@code Location} and body, plus
+ * {@code Idempotent-Replayed: true}.
+ * </p>
+ * <p>
+ * Successes and client errors are saved; 5xx responses, exceptions, and the
+ * statuses a retry can legitimately change (401, 403, 408, 409, 423, 429)
+ * release the key instead, so the retry runs. Runs after the security
+ * filter chain, so only requests that passed authorization are recorded.
+ * </p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private enum Result { EXECUTED, REPLAYED, IN_PROGRESS, MISMATCH, REJECTED }
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final Map<Result, Counter> counters = new EnumMap<>(Result.class);
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        for (Result result : Result.values()) {
+            counters.put(result, Counter.builder("idempotency.requests")
+                    .description("Requests sent with an Idempotency-Key, by outcome")
+                    .tag("outcome", result.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || request.getHeader(HEADER) == null
+                || !properties.getMethods().contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!StringUtils.hasText(key) || key.length() > properties.getMaxKeyLength()) {
+            reject(response, HttpStatus.BAD_REQUEST, Result.REJECTED);
+            return;
+        }
+        byte[] body = readBody(request);
+        if (body == null) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, Result.REJECTED);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        boolean persistent = properties.isPersistent()
+                && properties.getMemoryOnlyPaths().stream().noneMatch(path::startsWith);
+        String keyHash = sha256(new byte[0], callerName(), key);
+        String fingerprint = sha256(body, request.getMethod(), path, String.valueOf(request.getQueryString()));
+
+        IdempotencyStore.Claim claim = store.begin(keyHash, fingerprint, persistent);
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> reject(response, HttpStatus.CONFLICT, Result.IN_PROGRESS);
+            case MISMATCH -> reject(response, HttpStatus.UNPROCESSABLE_ENTITY, Result.MISMATCH);
+            case STARTED -> execute(new CachedBodyRequest(request, body), response, filterChain,
+                    keyHash, fingerprint, persistent);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+            String keyHash, String fingerprint, boolean persistent) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean saved = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (!request.isAsyncStarted() && isReplayable(wrapper.getStatus())
+                    && wrapper.getContentSize() <= properties.getMaxResponseBytes()) {
+                store.complete(keyHash, fingerprint, new IdempotencyStore.SavedResponse(wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentAsByteArray()), persistent);
+                saved = true;
+            }
+        } finally {
+            if (!saved) {
+                store.release(keyHash, fingerprint, persistent);
+            }
+        }
+        counters.get(Result.EXECUTED).increment();
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.SavedResponse saved) throws IOException {
+        counters.get(Result.REPLAYED).increment();
+        response.setStatus(saved.status());
+        if (saved.contentType() != null) {
+            response.setContentType(saved.contentType());
+        }
+        if (saved.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, saved.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = saved.body() == null ? new byte[0] : saved.body();
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Result result) {
+        counters.get(result).increment();
+        response.setStatus(status.value());
+    }
+
+    private static boolean isReplayable(int status) {
+        if (status >= 200 && status < 300) {
+            return true;
+        }
+        return status >= 400 && status < 500
+                && status != 401 && status != 403 && status != 408
+                && status != 409 && status != 423 && status != 429;
+    }
+
+    /**
+     * Reads the whole request body, or returns null if it exceeds the
+     * configured limit.
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        int limit = properties.getMaxRequestBytes();
+        if (request.getContentLengthLong() > limit) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(limit + 1);
+        return body.length > limit ? null : body;
+    }
+
+    private static String callerName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "";
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Hashes NUL-separated strings followed by raw bytes, as lowercase hex.
+     */
+    private static String sha256(byte[] tail, String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(tail));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Serves the already-read body to the handler. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
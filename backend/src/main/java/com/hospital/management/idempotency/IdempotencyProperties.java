@@ -0,0 +1,66 @@
+package com.hospital.management.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed binding for {@code Idempotency-Key} handling ({@code app.idempotency.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /** Honours the {@code Idempotency-Key} header. Off means the header is ignored. */
+    private boolean enabled = true;
+
+    /** HTTP methods the header applies to; other methods are already safe to repeat. */
+    private List<String> methods = new ArrayList<>(List.of("POST", "PATCH"));
+
+    /** How long a saved response is replayed for. */
+    private long ttlMs = 24 * 60 * 60 * 1000L;
+
+    /** Keys held in memory on each node; least recently used beyond this are dropped. */
+    private int maxEntries = 10_000;
+
+    /**
+     * Total size of the responses held in memory on each node; least
+     * recently used keys beyond this are dropped. Without it the entry limit
+     * alone would allow {@code maxEntries × maxResponseBytes} (2.5 GB).
+     */
+    private long maxMemoryBytes = 32 * 1024 * 1024L;
+
+    /** Largest request body accepted with a key; larger requests are rejected with 413. */
+    private int maxRequestBytes = 64 * 1024;
+
+    /** Largest response saved for replay; larger responses are sent but not saved. */
+    private int maxResponseBytes = 256 * 1024;
+
+    /** Longest accepted key. */
+    private int maxKeyLength = 255;
+
+    /**
+     * How long a request may stay in progress before a retry with the same
+     * key may run it again, on the assumption that the first node died.
+     */
+    private long pendingTimeoutMs = 60_000;
+
+    /**
+     * Saves keys in the {@code idempotency_keys} table as well, so retries
+     * that reach another node are replayed. Off keeps keys on the node that
+     * served the first request.
+     */
+    private boolean persistent = true;
+
+    /**
+     * Path prefixes whose responses are kept in memory only. Login and refresh
+     * responses carry tokens, which must not be written to the database.
+     */
+    private List<String> memoryOnlyPaths = new ArrayList<>(List.of("/api/v1/auth/"));
+}
@@ -0,0 +1,301 @@
+package com.hospital.management.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers requests made with an {@code Idempotency-Key} and the responses
+ * they produced.
+ * <p>
+ * Each node keeps recent keys in an LRU map with a TTL, which answers a
+ * retry that comes back to the same node without touching the database.
+ * The map is bounded by entry count and by the total size of the saved
+ * bodies ({@code app.idempotency.max-memory-bytes}); an evicted key is still
+ * in the database unless it was memory-only.
+ * Unless the request is memory-only, the key is also claimed in
+ * {@code idempotency_keys} by inserting a pending row; the primary key
+ * decides which node runs the request, and the row later carries the
+ * response for retries that land elsewhere. If the database cannot be
+ * reached the request runs with the local claim only.
+ * </p>
+ * <p>
+ * A pending claim older than {@code app.idempotency.pending-timeout-ms} is
+ * taken to belong to a node that died mid-request and may be claimed again.
+ * </p>
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    /** Result of {@link #begin}. */
+    public enum Outcome {
+        /** The caller holds the key and should run the request. */
+        STARTED,
+        /** The request already completed; replay {@link Claim#response()}. */
+        REPLAY,
+        /** The same request is running elsewhere. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    /** A response saved for replay. */
+    public record SavedResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, SavedResponse response) {
+
+        static final Claim STARTED = new Claim(Outcome.STARTED, null);
+        static final Claim IN_PROGRESS = new Claim(Outcome.IN_PROGRESS, null);
+        static final Claim MISMATCH = new Claim(Outcome.MISMATCH, null);
+
+        static Claim replay(SavedResponse response) {
+            return new Claim(Outcome.REPLAY, response);
+        }
+    }
+
+    private record Entry(String fingerprint, SavedResponse response, long startedAt, long expiresAt) {
+
+        /** Rough heap footprint: the saved body plus the key, hashes and objects around it. */
+        long weight() {
+            return ENTRY_OVERHEAD_BYTES + (response == null || response.body() == null ? 0 : response.body().length);
+        }
+    }
+
+    private record Row(String fingerprint, SavedResponse response, Timestamp createdAt, Timestamp expiresAt) {
+    }
+
+    private static final String INSERT_PENDING_SQL = "INSERT INTO idempotency_keys " +
+            "(key_hash, request_fingerprint, created_at, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_SQL = "SELECT request_fingerprint, response_status, content_type, " +
+            "location, response_body, created_at, expires_at FROM idempotency_keys WHERE key_hash = ?";
+
+    private static final String TAKE_OVER_SQL = "UPDATE idempotency_keys " +
+            "SET request_fingerprint = ?, response_status = NULL, content_type = NULL, location = NULL, " +
+            "response_body = NULL, created_at = ?, expires_at = ? WHERE key_hash = ? AND created_at = ?";
+
+    private static final String COMPLETE_SQL = "UPDATE idempotency_keys " +
+            "SET response_status = ?, content_type = ?, location = ?, response_body = ?, expires_at = ? " +
+            "WHERE key_hash = ? AND request_fingerprint = ? AND response_status IS NULL";
+
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_keys " +
+            "WHERE key_hash = ? AND request_fingerprint = ? AND response_status IS NULL";
+
+    private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> {
+        int status = rs.getInt("response_status");
+        SavedResponse response = rs.wasNull() ? null : new SavedResponse(status,
+                rs.getString("content_type"), rs.getString("location"), rs.getBytes("response_body"));
+        return new Row(rs.getString("request_fingerprint"), response,
+                rs.getTimestamp("created_at"), rs.getTimestamp("expires_at"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProperties properties;
+    /** Keys in access order, eldest first. Guarded by itself, as is {@link #recentBytes}. */
+    private final Map<String, Entry> recent = new LinkedHashMap<>(16, 0.75f, true);
+    private long recentBytes;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Claims a key for a request, or reports why the request must not run.
+     *
+     * @param keyHash     hash of the caller and key
+     * @param fingerprint hash of the request
+     * @param persistent  whether the key is shared with other nodes through the database
+     */
+    public Claim begin(String keyHash, String fingerprint, boolean persistent) {
+        long now = System.currentTimeMillis();
+        Entry pending = new Entry(fingerprint, null, now, now + properties.getTtlMs());
+        synchronized (recent) {
+            Entry entry = recent.get(keyHash);
+            if (entry != null && entry.expiresAt() > now) {
+                if (!entry.fingerprint().equals(fingerprint)) {
+                    return Claim.MISMATCH;
+                }
+                if (entry.response() != null) {
+                    return Claim.replay(entry.response());
+                }
+                if (now - entry.startedAt() < properties.getPendingTimeoutMs()) {
+                    return Claim.IN_PROGRESS;
+                }
+            }
+            remember(keyHash, pending);
+        }
+        if (!persistent) {
+            return Claim.STARTED;
+        }
+
+        Claim claim;
+        try {
+            claim = claimRow(keyHash, fingerprint, now);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency key table unavailable, holding the key on this node only", e);
+            return Claim.STARTED;
+        }
+        if (claim.outcome() != Outcome.STARTED) {
+            synchronized (recent) {
+                if (claim.outcome() == Outcome.REPLAY) {
+                    remember(keyHash, new Entry(fingerprint, claim.response(), now, pending.expiresAt()));
+                } else if (recent.get(keyHash) == pending) {
+                    forget(keyHash);
+                }
+            }
+        }
+        return claim;
+    }
+
+    /**
+     * Saves the response of a request started with {@link #begin} so
+     * retries replay it.
+     */
+    public void complete(String keyHash, String fingerprint, SavedResponse response, boolean persistent) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + properties.getTtlMs();
+        synchronized (recent) {
+            remember(keyHash, new Entry(fingerprint, response, now, expiresAt));
+        }
+        if (!persistent) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(COMPLETE_SQL, response.status(), response.contentType(), response.location(),
+                    response.body(), new Timestamp(expiresAt), keyHash, fingerprint);
+        } catch (DataAccessException e) {
+            log.warn("Could not save idempotent response; retries on other nodes will run again", e);
+        }
+    }
+
+    /**
+     * Gives up a key whose request failed, so a retry runs it again.
+     */
+    public void release(String keyHash, String fingerprint, boolean persistent) {
+        synchronized (recent) {
+            Entry entry = recent.get(keyHash);
+            if (entry != null && entry.response() == null && entry.fingerprint().equals(fingerprint)) {
+                forget(keyHash);
+            }
+        }
+        if (!persistent) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(RELEASE_SQL, keyHash, fingerprint);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key; retries wait for the pending timeout", e);
+        }
+    }
+
+    /**
+     * Deletes expired keys from the database.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Drops expired keys from this node's map, so it holds only live ones
+     * between accesses.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (recent) {
+            Iterator<Entry> entries = recent.values().iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (entry.expiresAt() <= now) {
+                    recentBytes -= entry.weight();
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Total weight of the keys held in memory, for tests and diagnostics.
+     */
+    long memoryBytes() {
+        synchronized (recent) {
+            return recentBytes;
+        }
+    }
+
+    /**
+     * Puts an entry, then drops least recently used ones until the map is
+     * within both the entry and the byte limit. Called holding {@link #recent}.
+     */
+    private void remember(String keyHash, Entry entry) {
+        Entry previous = recent.put(keyHash, entry);
+        recentBytes += entry.weight() - (previous == null ? 0 : previous.weight());
+        Iterator<Entry> eldest = recent.values().iterator();
+        while (recent.size() > properties.getMaxEntries() || recentBytes > properties.getMaxMemoryBytes()) {
+            Entry evicted = eldest.next();
+            if (evicted == entry) {
+                // The new entry alone exceeds the limit; keep it rather than nothing
+                break;
+            }
+            recentBytes -= evicted.weight();
+            eldest.remove();
+        }
+    }
+
+    /** Removes a key. Called holding {@link #recent}. */
+    private void forget(String keyHash) {
+        Entry removed = recent.remove(keyHash);
+        if (removed != null) {
+            recentBytes -= removed.weight();
+        }
+    }
+
+    private Claim claimRow(String keyHash, String fingerprint, long now) {
+        Timestamp createdAt = new Timestamp(now);
+        Timestamp expiresAt = new Timestamp(now + properties.getTtlMs());
+        try {
+            jdbcTemplate.update(INSERT_PENDING_SQL, keyHash, fingerprint, createdAt, expiresAt);
+            return Claim.STARTED;
+        } catch (DuplicateKeyException e) {
+            // Claimed before; decide from the existing row
+        }
+
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, keyHash);
+        if (rows.isEmpty()) {
+            // Released or purged since the insert failed; the retry's retry will claim it
+            return Claim.IN_PROGRESS;
+        }
+        Row row = rows.get(0);
+        boolean expired = row.expiresAt().getTime() <= now;
+        boolean abandoned = row.response() == null
+                && now - row.createdAt().getTime() >= properties.getPendingTimeoutMs();
+        if (expired || abandoned) {
+            int updated = jdbcTemplate.update(TAKE_OVER_SQL, fingerprint, createdAt, expiresAt,
+                    keyHash, row.createdAt());
+            return updated == 1 ? Claim.STARTED : Claim.IN_PROGRESS;
+        }
+        if (!row.fingerprint().equals(fingerprint)) {
+            return Claim.MISMATCH;
+        }
+        return row.response() != null ? Claim.replay(row.response()) : Claim.IN_PROGRESS;
+    }
+}
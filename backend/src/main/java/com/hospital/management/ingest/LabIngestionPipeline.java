@@ -0,0 +1,387 @@
+package com.hospital.management.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.model.dto.lab.LabIngestionError;
+import com.hospital.management.model.dto.lab.LabIngestionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams FHIR {@code Bundle} uploads of lab {@code Observation}s into
+ * {@code lab_results}.
+ * <p>
+ * The upload is read with Jackson's streaming parser on the request thread,
+ * one bundle entry at a time, so memory holds the entries in flight rather
+ * than the bundle. Each entry is handed to a worker pool shared by all
+ * uploads, which validates and maps it ({@link ObservationMapper}) and adds
+ * it to the upload's batch; the worker that fills a batch inserts it with
+ * one JDBC batch in its own transaction.
+ * </p>
+ * <p>
+ * Backpressure is two-fold: an upload may have at most
+ * {@code max-in-flight-per-upload} entries read but not yet written, and
+ * when the pool's queue is full the request thread processes entries
+ * itself. Either way the request thread stops reading, the socket buffer
+ * fills and the sender is slowed by TCP flow control.
+ * </p>
+ * <p>
+ * Once the pipeline is stopped, an upload still being read ends at its next
+ * entry, reported as cut short.
+ * </p>
+ * <p>
+ * Batches commit independently: if the upload is cut short, the batches
+ * already written stay and the response says how far it got. Throughput is
+ * the rate of {@code lab.ingest.records{outcome=stored}}; the error rate is
+ * the rejected share of that counter.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LabIngestionPipeline implements SmartLifecycle {
+
+    private static final String BUNDLE = "Bundle";
+
+    private static final String SHUTTING_DOWN = "Lab ingestion is shutting down";
+
+    private static final String INSERT_SQL = "INSERT INTO lab_results " +
+            "(ingestion_id, source_id, patient_reference, code_system, code, display, status, " +
+            "value_numeric, value_text, unit, effective_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** A mapped entry waiting for its batch. */
+    private record Mapped(int entry, LabResultRow row) {
+    }
+
+    /** State of one upload, shared by the request thread and the workers processing its entries. */
+    private final class Upload {
+        final UUID id = UUID.randomUUID();
+        final Semaphore inFlight = new Semaphore(properties.getMaxInFlightPerUpload());
+        final AtomicInteger stored = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final Queue<LabIngestionError> errors = new ConcurrentLinkedQueue<>();
+        final AtomicInteger reportedErrors = new AtomicInteger();
+        /** Guarded by itself. */
+        List<Mapped> batch = new ArrayList<>(properties.getBatchSize());
+        int received;
+
+        void reject(int entry, String resourceId, String message) {
+            rejected.incrementAndGet();
+            rejectedCounter.increment();
+            if (reportedErrors.incrementAndGet() <= properties.getMaxReportedErrors()) {
+                errors.add(LabIngestionError.builder().entry(entry).resourceId(resourceId).message(message).build());
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LabIngestionProperties properties;
+    private final Counter storedCounter;
+    private final Counter rejectedCounter;
+    private final Counter skippedCounter;
+    private final Timer batchTimer;
+    private final Timer completeUploadTimer;
+    private final Timer abortedUploadTimer;
+
+    private volatile ThreadPoolExecutor workers;
+
+    public LabIngestionPipeline(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, LabIngestionProperties properties,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.storedCounter = recordCounter(meterRegistry, "stored");
+        this.rejectedCounter = recordCounter(meterRegistry, "rejected");
+        this.skippedCounter = recordCounter(meterRegistry, "skipped");
+        this.batchTimer = Timer.builder("lab.ingest.batch")
+                .description("Lab result batch inserts, one transaction each")
+                .register(meterRegistry);
+        this.completeUploadTimer = uploadTimer(meterRegistry, "complete");
+        this.abortedUploadTimer = uploadTimer(meterRegistry, "aborted");
+        Gauge.builder("lab.ingest.queue", this, pipeline -> {
+                    ThreadPoolExecutor current = pipeline.workers;
+                    return current == null ? 0 : current.getQueue().size();
+                })
+                .description("Lab result entries waiting for an ingestion worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads a FHIR Bundle from the stream and stores its Observations.
+     * Returns once every entry read has been stored or rejected.
+     *
+     * @param in the upload; read to the end of the bundle, not closed
+     * @return what was stored and rejected
+     */
+    public LabIngestionResponse ingest(InputStream in) {
+        ThreadPoolExecutor pool = workers;
+        if (pool == null) {
+            throw new IllegalStateException("Lab ingestion is not running");
+        }
+        long start = System.nanoTime();
+        Upload upload = new Upload();
+        String failure = null;
+        try {
+            readBundle(in, upload, pool);
+        } catch (JsonProcessingException e) {
+            failure = "Malformed JSON: " + e.getOriginalMessage();
+        } catch (IOException | IllegalArgumentException | RejectedExecutionException e) {
+            failure = e.getMessage();
+        } finally {
+            // Wait for the entries already handed out, then write the last partial batch
+            upload.inFlight.acquireUninterruptibly(properties.getMaxInFlightPerUpload());
+            upload.inFlight.release(properties.getMaxInFlightPerUpload());
+            List<Mapped> rest;
+            synchronized (upload) {
+                rest = upload.batch;
+                upload.batch = List.of();
+            }
+            write(upload, rest);
+        }
+
+        if (failure != null) {
+            log.warn("Lab upload cut short after {} entries [ingestion={}]: {}", upload.received, upload.id, failure);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        (failure == null ? completeUploadTimer : abortedUploadTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Lab upload processed [ingestion={}, received={}, stored={}, skipped={}, rejected={}, ms={}]",
+                upload.id, upload.received, upload.stored.get(), upload.skipped.get(), upload.rejected.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return LabIngestionResponse.builder()
+                .ingestionId(upload.id)
+                .complete(failure == null)
+                .failure(failure)
+                .received(upload.received)
+                .stored(upload.stored.get())
+                .skipped(upload.skipped.get())
+                .rejected(upload.rejected.get())
+                .errors(List.copyOf(upload.errors))
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .build();
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lab-ingest-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    // Refused rather than dropped, so the entry's permit is released and the upload ends
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException(SHUTTING_DOWN);
+                    }
+                    // A full queue makes the uploading thread do the work, which pauses its reading
+                    runnable.run();
+                });
+    }
+
+    /**
+     * Stops accepting uploads and lets queued entries finish.
+     */
+    @Override
+    public void stop() {
+        ThreadPoolExecutor current = workers;
+        workers = null;
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(Duration.ofSeconds(30).toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return workers != null;
+    }
+
+    /**
+     * Walks the bundle's top-level fields, materialising one {@code entry}
+     * element at a time and skipping everything else unread. An entry that
+     * is not an object is rejected and reading goes on; a bundle or entry
+     * array that is not closed fails the upload.
+     */
+    private void readBundle(InputStream in, Upload upload, ThreadPoolExecutor pool) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Upload is not a JSON object");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("resourceType".equals(field)) {
+                    if (!BUNDLE.equals(parser.getText())) {
+                        throw new IllegalArgumentException("resourceType must be Bundle");
+                    }
+                } else if ("entry".equals(field)) {
+                    if (value != JsonToken.START_ARRAY) {
+                        throw new IllegalArgumentException("entry must be an array");
+                    }
+                    readEntries(parser, upload, pool);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new IllegalArgumentException("Bundle is not closed");
+            }
+        }
+    }
+
+    private void readEntries(JsonParser parser, Upload upload, ThreadPoolExecutor pool) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalArgumentException("entry array is not closed");
+            }
+            if (workers != pool) {
+                throw new RejectedExecutionException(SHUTTING_DOWN);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                JsonNode entry = parser.readValueAsTree();
+                // Counted once handed over, so an entry refused at shutdown is not reported as received
+                submit(upload, upload.received, entry, pool);
+                upload.received++;
+            } else {
+                parser.skipChildren();
+                upload.reject(upload.received++, null, "Entry is not a JSON object");
+            }
+        }
+    }
+
+    private void submit(Upload upload, int index, JsonNode entry, ThreadPoolExecutor pool) {
+        upload.inFlight.acquireUninterruptibly();
+        try {
+            pool.execute(() -> {
+                try {
+                    process(upload, index, entry);
+                } finally {
+                    upload.inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            upload.inFlight.release();
+            throw e;
+        }
+    }
+
+    private void process(Upload upload, int index, JsonNode entry) {
+        JsonNode resource = entry.path("resource");
+        if (!ObservationMapper.RESOURCE_TYPE.equals(resource.path("resourceType").asText())) {
+            upload.skipped.incrementAndGet();
+            skippedCounter.increment();
+            return;
+        }
+        LabResultRow row;
+        try {
+            row = ObservationMapper.map(resource);
+        } catch (IllegalArgumentException e) {
+            upload.reject(index, resource.path("id").asText(null), e.getMessage());
+            return;
+        }
+
+        List<Mapped> full = null;
+        synchronized (upload) {
+            upload.batch.add(new Mapped(index, row));
+            if (upload.batch.size() >= properties.getBatchSize()) {
+                full = upload.batch;
+                upload.batch = new ArrayList<>(properties.getBatchSize());
+            }
+        }
+        if (full != null) {
+            write(upload, full);
+        }
+    }
+
+    private void write(Upload upload, List<Mapped> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, mapped) -> {
+                        LabResultRow row = mapped.row();
+                        ps.setString(1, upload.id.toString());
+                        ps.setString(2, row.sourceId());
+                        ps.setString(3, row.patientReference());
+                        ps.setString(4, row.codeSystem());
+                        ps.setString(5, row.code());
+                        ps.setString(6, row.display());
+                        ps.setString(7, row.status());
+                        if (row.valueNumeric() == null) {
+                            ps.setNull(8, Types.DECIMAL);
+                        } else {
+                            ps.setBigDecimal(8, row.valueNumeric());
+                        }
+                        ps.setString(9, row.valueText());
+                        ps.setString(10, row.unit());
+                        ps.setTimestamp(11, Timestamp.valueOf(row.effectiveAt()));
+                    }));
+            upload.stored.addAndGet(batch.size());
+            storedCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} lab results [ingestion={}]", batch.size(), upload.id, e);
+            for (Mapped mapped : batch) {
+                upload.reject(mapped.entry(), mapped.row().sourceId(), "Could not be stored");
+            }
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("lab.ingest.records")
+                .description("Lab result bundle entries processed, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("lab.ingest.upload")
+                .description("Lab result uploads, from first byte read to last row written")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital.management.ingest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for lab result ingestion ({@code app.lab-ingest.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.lab-ingest")
+@Getter
+@Setter
+public class LabIngestionProperties {
+
+    /** Threads validating, mapping and writing records, shared by all uploads. */
+    private int workerThreads = 4;
+
+    /**
+     * Records waiting for a worker across all uploads. When the queue is
+     * full, the uploading request thread processes records itself, which
+     * slows its reading of the upload.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * Records of one upload parsed but not yet written. Reading the upload
+     * pauses at this limit until writes catch up.
+     */
+    private int maxInFlightPerUpload = 2000;
+
+    /** Rows per JDBC batch insert; each batch commits in its own transaction. */
+    private int batchSize = 500;
+
+    /** Rejected records described in the response; the rest are only counted. */
+    private int maxReportedErrors = 100;
+}
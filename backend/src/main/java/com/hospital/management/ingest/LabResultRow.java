@@ -0,0 +1,11 @@
+package com.hospital.management.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One validated lab result, ready to insert into {@code lab_results}.
+ */
+record LabResultRow(String sourceId, String patientReference, String codeSystem, String code, String display,
+        String status, BigDecimal valueNumeric, String valueText, String unit, LocalDateTime effectiveAt) {
+}
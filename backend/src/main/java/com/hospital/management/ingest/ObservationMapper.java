@@ -0,0 +1,159 @@
+package com.hospital.management.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Validates a FHIR R4 {@code Observation} resource and maps it to a
+ * {@link LabResultRow}.
+ * <p>
+ * Requires a status, a coded test, a patient subject and an effective time;
+ * the value may be a quantity, a string, a code, an integer or a boolean, or
+ * absent. Invalid resources are rejected with {@link IllegalArgumentException}
+ * whose message is reported back to the uploader.
+ * </p>
+ */
+final class ObservationMapper {
+
+    static final String RESOURCE_TYPE = "Observation";
+
+    private static final Set<String> STATUSES = Set.of("registered", "preliminary", "final", "amended",
+            "corrected", "cancelled", "entered-in-error", "unknown");
+
+    private static final String PATIENT_PREFIX = "Patient/";
+    private static final BigDecimal MAX_NUMERIC = new BigDecimal("1e13");
+
+    private ObservationMapper() {
+    }
+
+    static LabResultRow map(JsonNode observation) {
+        String status = text(observation, "status");
+        if (status == null || !STATUSES.contains(status)) {
+            throw new IllegalArgumentException("status is missing or not an Observation status");
+        }
+
+        JsonNode coding = observation.path("code").path("coding").path(0);
+        String code = text(coding, "code");
+        if (code == null) {
+            throw new IllegalArgumentException("code.coding[0].code is required");
+        }
+        String display = text(coding, "display");
+        if (display == null) {
+            display = text(observation.path("code"), "text");
+        }
+
+        String subject = text(observation.path("subject"), "reference");
+        if (subject == null || !subject.startsWith(PATIENT_PREFIX) || subject.length() == PATIENT_PREFIX.length()) {
+            throw new IllegalArgumentException("subject.reference must be a Patient reference");
+        }
+
+        return new LabResultRow(
+                limit(text(observation, "id"), 64, "id"),
+                limit(subject.substring(PATIENT_PREFIX.length()), 64, "subject.reference"),
+                limit(text(coding, "system"), 255, "code.coding[0].system"),
+                limit(code, 64, "code.coding[0].code"),
+                truncate(display, 255),
+                status,
+                numericValue(observation),
+                truncate(textValue(observation), 1000),
+                limit(unit(observation), 32, "valueQuantity.unit"),
+                effectiveAt(observation));
+    }
+
+    private static BigDecimal numericValue(JsonNode observation) {
+        JsonNode value = observation.path("valueQuantity").path("value");
+        if (value.isMissingNode() || value.isNull()) {
+            return null;
+        }
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException("valueQuantity.value must be a number");
+        }
+        // Parsed from the literal so 5.1 stays 5.1 rather than its nearest double
+        BigDecimal number = new BigDecimal(value.asText());
+        if (number.abs().compareTo(MAX_NUMERIC) >= 0) {
+            throw new IllegalArgumentException("valueQuantity.value is out of range");
+        }
+        return number;
+    }
+
+    private static String textValue(JsonNode observation) {
+        String value = text(observation, "valueString");
+        if (value != null) {
+            return value;
+        }
+        JsonNode concept = observation.path("valueCodeableConcept");
+        if (!concept.isMissingNode()) {
+            JsonNode conceptCoding = concept.path("coding").path(0);
+            value = text(conceptCoding, "display");
+            if (value == null) {
+                value = text(concept, "text");
+            }
+            return value != null ? value : text(conceptCoding, "code");
+        }
+        for (String field : new String[] {"valueInteger", "valueBoolean"}) {
+            JsonNode scalar = observation.get(field);
+            if (scalar != null && scalar.isValueNode()) {
+                return scalar.asText();
+            }
+        }
+        return null;
+    }
+
+    private static String unit(JsonNode observation) {
+        JsonNode quantity = observation.path("valueQuantity");
+        String unit = text(quantity, "unit");
+        return unit != null ? unit : text(quantity, "code");
+    }
+
+    private static LocalDateTime effectiveAt(JsonNode observation) {
+        String value = text(observation, "effectiveDateTime");
+        if (value == null) {
+            value = text(observation, "effectiveInstant");
+        }
+        if (value == null) {
+            value = text(observation.path("effectivePeriod"), "start");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    "effectiveDateTime, effectiveInstant or effectivePeriod.start is required");
+        }
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            if (value.endsWith("Z") || value.lastIndexOf('+') > 10 || value.lastIndexOf('-') > 10) {
+                return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("effective time is not a valid date-time: " + value);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isValueNode() || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String limit(String value, int maxLength, String field) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.model.dao.base.AbstractBaseDao;
+import com.hospital.management.model.domain.Admission;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Data Access Object interface for {@link Admission} entities.
+ */
+public interface AdmissionDao extends AbstractBaseDao<Admission, UUID> {
+
+    /**
+     * Checks whether a patient has an admission that has not been discharged.
+     */
+    boolean existsOpenForPatient(String patientReference);
+
+    /**
+     * Counts open admissions per department with one grouped query.
+     * Departments with no open admissions are absent from the map.
+     */
+    Map<UUID, Long> countOpenByDepartment();
+
+    /**
+     * Discharges an admission if it is still open. Returns false if it was
+     * already discharged, so of two concurrent discharges only one succeeds.
+     */
+    boolean discharge(UUID admissionId, LocalDateTime dischargedAt);
+
+    /**
+     * Moves an open admission from one department to another. Returns false
+     * if the admission is no longer open in {@code fromDepartmentId}.
+     */
+    boolean transfer(UUID admissionId, UUID fromDepartmentId, UUID toDepartmentId, String bedLabel);
+}
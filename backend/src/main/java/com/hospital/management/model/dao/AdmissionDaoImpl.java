@@ -0,0 +1,123 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.model.dao.base.AbstractBaseDaoImpl;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import com.hospital.management.model.domain.Admission;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link AdmissionDao} for accessing {@link Admission}
+ * entities.
+ */
+@Repository
+public class AdmissionDaoImpl extends AbstractBaseDaoImpl<Admission, UUID> implements AdmissionDao {
+
+    @Override
+    protected void defineNamedQueries() {
+        registerNamedQuery("countOpenForPatient",
+                "SELECT COUNT(a) FROM Admission a " +
+                        "WHERE a.patientReference = :patientReference AND a.dischargedAt IS NULL");
+        registerNamedQuery("countOpenByDepartment",
+                "SELECT a.departmentId, COUNT(a) FROM Admission a " +
+                        "WHERE a.dischargedAt IS NULL GROUP BY a.departmentId");
+
+        // Conditional updates: the WHERE clause re-checks the state the caller
+        // read, so a stay is discharged or moved exactly once
+        registerNamedQuery("discharge",
+                "UPDATE Admission a SET a.dischargedAt = :dischargedAt, a.updatedAt = :dischargedAt " +
+                        "WHERE a.id = :id AND a.dischargedAt IS NULL");
+        registerNamedQuery("transfer",
+                "UPDATE Admission a SET a.departmentId = :to, a.bedLabel = :bedLabel, a.updatedAt = :now " +
+                        "WHERE a.id = :id AND a.departmentId = :from AND a.dischargedAt IS NULL");
+    }
+
+    /**
+     * Checks for an open admission of a patient.
+     *
+     * @param patientReference the patient identifier
+     * @return true if the patient is currently admitted
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsOpenForPatient(String patientReference) {
+        return namedQuery("countOpenForPatient", Long.class)
+                .setParameter("patientReference", patientReference)
+                .getSingleResult() > 0;
+    }
+
+    /**
+     * Counts open admissions per department.
+     *
+     * @return department id to number of occupied beds
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> countOpenByDepartment() {
+        List<Object[]> rows = namedQuery("countOpenByDepartment", Object[].class).getResultList();
+        Map<UUID, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Discharges an open admission with one conditional update.
+     *
+     * @param admissionId  the admission
+     * @param dischargedAt the discharge time
+     * @return true if this call discharged it
+     */
+    @Override
+    @Transactional
+    public boolean discharge(UUID admissionId, LocalDateTime dischargedAt) {
+        boolean discharged = namedStatement("discharge")
+                .setParameter("dischargedAt", dischargedAt)
+                .setParameter("id", admissionId)
+                .executeUpdate() > 0;
+        if (discharged) {
+            publishUpdated(admissionId);
+        }
+        return discharged;
+    }
+
+    /**
+     * Transfers an open admission with one conditional update.
+     *
+     * @param admissionId      the admission
+     * @param fromDepartmentId the department the caller read it in
+     * @param toDepartmentId   the receiving department
+     * @param bedLabel         the bed in the receiving department, may be null
+     * @return true if this call moved it
+     */
+    @Override
+    @Transactional
+    public boolean transfer(UUID admissionId, UUID fromDepartmentId, UUID toDepartmentId, String bedLabel) {
+        boolean transferred = namedStatement("transfer")
+                .setParameter("to", toDepartmentId)
+                .setParameter("bedLabel", bedLabel)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", admissionId)
+                .setParameter("from", fromDepartmentId)
+                .executeUpdate() > 0;
+        if (transferred) {
+            publishUpdated(admissionId);
+        }
+        return transferred;
+    }
+
+    /**
+     * Publishes an update for a row changed by a conditional statement. The
+     * reference is not loaded; listeners of admission events only need the id.
+     */
+    private void publishUpdated(UUID admissionId) {
+        publish(entityManager.getReference(Admission.class, admissionId), EntityChangeEvent.ChangeType.UPDATED);
+    }
+}
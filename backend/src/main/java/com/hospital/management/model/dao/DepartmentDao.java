@@ -6,6 +6,7 @@ import com.hospital.management.model.dao.base.AbstractBaseDao;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface DepartmentDao extends AbstractBaseDao<Department, UUID> {
 
@@ -48,4 +49,75 @@ public interface DepartmentDao extends AbstractBaseDao<Department, UUID> {
      * Search departments by name or description
      */
     List<Department> search(String query);
-}
\ No newline at end of file
+
+    /**
+     * Finds a department's ancestors, from the top-level department down to
+     * its direct parent. Excludes the department itself.
+     */
+    List<Department> findAncestors(UUID departmentId);
+
+    /**
+     * Finds every department nested under a department, at any depth,
+     * ordered by depth then name. Excludes the department itself.
+     */
+    List<Department> findDescendants(UUID departmentId);
+
+    /**
+     * Counts staff in a department and all departments nested under it.
+     */
+    long countStaffInSubtree(UUID departmentId);
+
+    /**
+     * Checks whether {@code departmentId} is {@code ancestorId} or nested
+     * under it.
+     */
+    boolean isInSubtree(UUID departmentId, UUID ancestorId);
+
+    /**
+     * Moves a department, with everything nested under it, beneath a new
+     * parent, or to the top level if {@code newParentId} is null. Both
+     * departments must exist and the new parent must not be inside the moved
+     * subtree (see {@link #isInSubtree(UUID, UUID)}).
+     */
+    void move(UUID departmentId, UUID newParentId);
+
+    /**
+     * Takes the hierarchy lock until the current transaction ends, so no
+     * other move or nested insert can change the closure in between. Call
+     * it before reading the hierarchy to validate a change.
+     */
+    void lockHierarchy();
+
+    /**
+     * Column names of the rows returned by {@link #findTreeRows()}, in order.
+     */
+    List<String> TREE_COLUMNS = List.of("id", "parent_id", "name", "is_active");
+
+    /**
+     * Returns every department's position in the hierarchy as plain column
+     * values, ordered by name, without loading entities.
+     *
+     * @return one row per department, columns as in {@link #TREE_COLUMNS}
+     */
+    List<Object[]> findTreeRows();
+
+    /**
+     * Monotonic counter bumped whenever a department is saved, updated or
+     * deleted through this DAO — used to derive ETags without querying.
+     */
+    long currentVersion();
+
+    /**
+     * Column names of the rows passed to {@link #forEachExportRow(Consumer)}, in order.
+     */
+    List<String> EXPORT_COLUMNS = List.of(
+            "id", "name", "description", "is_active", "created_at", "updated_at");
+
+    /**
+     * Streams every department as a row of plain column values, ordered by
+     * name, without loading entities.
+     *
+     * @param rowHandler receives each row, columns as in {@link #EXPORT_COLUMNS}
+     */
+    void forEachExportRow(Consumer<Object[]> rowHandler);
+}
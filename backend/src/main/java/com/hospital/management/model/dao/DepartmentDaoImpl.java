@@ -1,16 +1,22 @@
 package com.hospital.management.model.dao;
 
 import com.hospital.management.model.domain.Department;
+import com.hospital.management.model.domain.DepartmentClosure;
 import com.hospital.management.model.dao.base.AbstractBaseDaoImpl;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
 import jakarta.persistence.NoResultException;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link DepartmentDao} for accessing {@link Department}
@@ -21,10 +27,99 @@ import java.util.UUID;
  * active departments,
  * counting staff members, and handling business rules for deletion and saving.
  * </p>
+ * <p>
+ * The hierarchy is stored twice: {@code parentId} on each department, and
+ * the {@link DepartmentClosure} table holding every ancestor/descendant pair.
+ * The closure is maintained here, with set-based statements, when a
+ * department is created or moved, so ancestry and subtree queries are a
+ * single indexed join at any depth. Changes to the closure take a one-row
+ * lock first (see {@link #lockHierarchy()}), so concurrent moves can't
+ * combine into a cycle.
+ * </p>
+ * <p>
+ * Every write bumps an in-memory version counter once its transaction
+ * completes, so readers can tell cheaply whether the department table may
+ * have changed (see {@link #currentVersion()}).
+ * </p>
  */
 @Repository
 public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> implements DepartmentDao {
 
+    private static final String LOCK_HIERARCHY_SQL =
+            "UPDATE department_hierarchy_lock SET locked_at = CURRENT_TIMESTAMP WHERE id = 1";
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    protected void defineNamedQueries() {
+        registerNamedQuery("findByName",
+                "SELECT d FROM Department d WHERE d.name = :name");
+        registerNamedQuery("findByNameContaining",
+                "SELECT d FROM Department d WHERE LOWER(d.name) LIKE :pattern ORDER BY d.name");
+        registerNamedQuery("countByName",
+                "SELECT COUNT(d) FROM Department d WHERE d.name = :name");
+        registerNamedQuery("findAllActive",
+                "SELECT d FROM Department d WHERE d.isActive = true ORDER BY d.name");
+        registerNamedQuery("findWithNoStaff",
+                "SELECT d FROM Department d " +
+                        "WHERE NOT EXISTS (SELECT u FROM User u WHERE u.departmentId = d.id) " +
+                        "ORDER BY d.name");
+        registerNamedQuery("countStaff",
+                "SELECT COUNT(u) FROM User u WHERE u.departmentId = :deptId");
+        registerNamedQuery("findByIds",
+                "SELECT d FROM Department d WHERE d.id IN :ids ORDER BY d.name");
+        registerNamedQuery("search",
+                "SELECT d FROM Department d " +
+                        "WHERE LOWER(d.name) LIKE :pattern OR LOWER(d.description) LIKE :pattern " +
+                        "ORDER BY d.name");
+        registerNamedQuery("findAncestors",
+                "SELECT d FROM DepartmentClosure c JOIN Department d ON d.id = c.ancestorId " +
+                        "WHERE c.descendantId = :id AND c.depth > 0 ORDER BY c.depth DESC");
+        registerNamedQuery("findDescendants",
+                "SELECT d FROM DepartmentClosure c JOIN Department d ON d.id = c.descendantId " +
+                        "WHERE c.ancestorId = :id AND c.depth > 0 ORDER BY c.depth, d.name");
+        registerNamedQuery("countStaffInSubtree",
+                "SELECT COUNT(u) FROM DepartmentClosure c JOIN User u ON u.departmentId = c.descendantId " +
+                        "WHERE c.ancestorId = :id");
+        registerNamedQuery("countClosure",
+                "SELECT COUNT(c) FROM DepartmentClosure c " +
+                        "WHERE c.ancestorId = :ancestorId AND c.descendantId = :descendantId");
+        registerNamedQuery("countActiveChildren",
+                "SELECT COUNT(d) FROM Department d WHERE d.parentId = :id AND d.isActive = true");
+        registerNamedQuery("countChildren",
+                "SELECT COUNT(d) FROM Department d WHERE d.parentId = :id");
+        registerNamedQuery("treeRows",
+                "SELECT d.id, d.parentId, d.name, d.isActive FROM Department d ORDER BY d.name");
+
+        // Closure maintenance. A new department gets its self row plus one row per
+        // ancestor of its parent; a move deletes the paths from outside the subtree
+        // into it and re-adds them through the new parent.
+        registerNamedQuery("insertSelfPath",
+                "INSERT INTO DepartmentClosure (ancestorId, descendantId, depth) " +
+                        "SELECT d.id, d.id, 0 FROM Department d WHERE d.id = :id");
+        registerNamedQuery("insertAncestorPaths",
+                "INSERT INTO DepartmentClosure (ancestorId, descendantId, depth) " +
+                        "SELECT c.ancestorId, d.id, c.depth + 1 FROM DepartmentClosure c, Department d " +
+                        "WHERE c.descendantId = :parentId AND d.id = :id");
+        registerNamedQuery("detachSubtree",
+                "DELETE FROM DepartmentClosure c " +
+                        "WHERE c.descendantId IN (SELECT s.descendantId FROM DepartmentClosure s WHERE s.ancestorId = :id) " +
+                        "AND c.ancestorId NOT IN (SELECT s.descendantId FROM DepartmentClosure s WHERE s.ancestorId = :id)");
+        registerNamedQuery("attachSubtree",
+                "INSERT INTO DepartmentClosure (ancestorId, descendantId, depth) " +
+                        "SELECT sup.ancestorId, sub.descendantId, sup.depth + sub.depth + 1 " +
+                        "FROM DepartmentClosure sup, DepartmentClosure sub " +
+                        "WHERE sup.descendantId = :parentId AND sub.ancestorId = :id");
+        registerNamedQuery("setParent",
+                "UPDATE Department d SET d.parentId = :parentId, d.updatedAt = :now WHERE d.id = :id");
+        registerNamedQuery("deletePaths",
+                "DELETE FROM DepartmentClosure c WHERE c.ancestorId = :id OR c.descendantId = :id");
+
+        registerNamedQuery("exportRows",
+                "SELECT d.id, d.name, d.description, d.isActive, d.createdAt, d.updatedAt " +
+                        "FROM Department d ORDER BY d.name");
+    }
+
     /**
      * Finds a department by its exact name.
      *
@@ -33,17 +128,12 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      *         empty
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Department> findByName(String name) {
         try {
-            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-            CriteriaQuery<Department> criteria = builder.createQuery(Department.class);
-            Root<Department> departmentRoot = criteria.from(Department.class);
-
-            criteria.select(departmentRoot)
-                    .where(builder.equal(departmentRoot.get("name"), name));
-
-            TypedQuery<Department> query = entityManager.createQuery(criteria);
-            Department department = query.getSingleResult();
+            Department department = namedQuery("findByName", Department.class)
+                    .setParameter("name", name)
+                    .getSingleResult();
 
             return Optional.ofNullable(department);
         } catch (NoResultException e) {
@@ -58,18 +148,11 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return a list of matching {@link Department} entities
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Department> findByNameContaining(String name) {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Department> criteria = builder.createQuery(Department.class);
-        Root<Department> departmentRoot = criteria.from(Department.class);
-
-        criteria.select(departmentRoot)
-                .where(builder.like(builder.lower(departmentRoot.get("name")),
-                        "%" + name.toLowerCase() + "%"))
-                .orderBy(builder.asc(departmentRoot.get("name")));
-
-        TypedQuery<Department> query = entityManager.createQuery(criteria);
-        return query.getResultList();
+        return namedQuery("findByNameContaining", Department.class)
+                .setParameter("pattern", "%" + name.toLowerCase() + "%")
+                .getResultList();
     }
 
     /**
@@ -79,16 +162,11 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return true if a department with the name exists, false otherwise
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countCriteria = builder.createQuery(Long.class);
-        Root<Department> departmentRoot = countCriteria.from(Department.class);
-
-        countCriteria.select(builder.count(departmentRoot))
-                .where(builder.equal(departmentRoot.get("name"), name));
-
-        TypedQuery<Long> query = entityManager.createQuery(countCriteria);
-        Long count = query.getSingleResult();
+        Long count = namedQuery("countByName", Long.class)
+                .setParameter("name", name)
+                .getSingleResult();
 
         return count > 0;
     }
@@ -99,17 +177,9 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return a list of active {@link Department} entities
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Department> findAllActive() {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Department> criteria = builder.createQuery(Department.class);
-        Root<Department> departmentRoot = criteria.from(Department.class);
-
-        criteria.select(departmentRoot)
-                .where(builder.isTrue(departmentRoot.get("isActive")))
-                .orderBy(builder.asc(departmentRoot.get("name")));
-
-        TypedQuery<Department> query = entityManager.createQuery(criteria);
-        return query.getResultList();
+        return namedQuery("findAllActive", Department.class).getResultList();
     }
 
     /**
@@ -118,13 +188,9 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return a list of {@link Department} entities with no staff
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Department> findDepartmentsWithNoStaff() {
-        String jpql = "SELECT d FROM Department d " +
-                "WHERE NOT EXISTS (SELECT u FROM User u WHERE u.departmentId = d.id) " +
-                "ORDER BY d.name";
-
-        TypedQuery<Department> query = entityManager.createQuery(jpql, Department.class);
-        return query.getResultList();
+        return namedQuery("findWithNoStaff", Department.class).getResultList();
     }
 
     /**
@@ -134,13 +200,11 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return the number of staff members in the department
      */
     @Override
+    @Transactional(readOnly = true)
     public long countStaffInDepartment(UUID departmentId) {
-        String jpql = "SELECT COUNT(u) FROM User u WHERE u.departmentId = :deptId";
-
-        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
-        query.setParameter("deptId", departmentId);
-
-        return query.getSingleResult();
+        return namedQuery("countStaff", Long.class)
+                .setParameter("deptId", departmentId)
+                .getSingleResult();
     }
 
     /**
@@ -150,21 +214,15 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return a list of {@link Department} entities matching the IDs
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Department> findByIds(List<UUID> ids) {
         if (ids == null || ids.isEmpty()) {
             return new ArrayList<>();
         }
 
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Department> criteria = builder.createQuery(Department.class);
-        Root<Department> departmentRoot = criteria.from(Department.class);
-
-        criteria.select(departmentRoot)
-                .where(departmentRoot.get("id").in(ids))
-                .orderBy(builder.asc(departmentRoot.get("name")));
-
-        TypedQuery<Department> query = entityManager.createQuery(criteria);
-        return query.getResultList();
+        return namedQuery("findByIds", Department.class)
+                .setParameter("ids", ids)
+                .getResultList();
     }
 
     /**
@@ -175,41 +233,153 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      * @return a list of matching {@link Department} entities
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Department> search(String searchTerm) {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Department> criteria = builder.createQuery(Department.class);
-        Root<Department> departmentRoot = criteria.from(Department.class);
+        return namedQuery("search", Department.class)
+                .setParameter("pattern", "%" + searchTerm.toLowerCase() + "%")
+                .setMaxResults(50) // Limit results for performance
+                .getResultList();
+    }
+
+    /**
+     * Finds a department's ancestors, top-level first.
+     *
+     * @param departmentId the department
+     * @return its ancestors, empty for a top-level department
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Department> findAncestors(UUID departmentId) {
+        return namedQuery("findAncestors", Department.class)
+                .setParameter("id", departmentId)
+                .getResultList();
+    }
+
+    /**
+     * Finds every department nested under a department.
+     *
+     * @param departmentId the root of the subtree
+     * @return its descendants, nearest first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Department> findDescendants(UUID departmentId) {
+        return namedQuery("findDescendants", Department.class)
+                .setParameter("id", departmentId)
+                .getResultList();
+    }
+
+    /**
+     * Counts staff across a department's subtree with one join of the closure
+     * table to users.
+     *
+     * @param departmentId the root of the subtree
+     * @return the number of staff in the department and every department under it
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countStaffInSubtree(UUID departmentId) {
+        return namedQuery("countStaffInSubtree", Long.class)
+                .setParameter("id", departmentId)
+                .getSingleResult();
+    }
 
-        String pattern = "%" + searchTerm.toLowerCase() + "%";
+    /**
+     * Checks ancestry with a single primary-key lookup on the closure table.
+     *
+     * @param departmentId the candidate descendant
+     * @param ancestorId   the candidate ancestor
+     * @return true if a path exists, including when the two are the same department
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isInSubtree(UUID departmentId, UUID ancestorId) {
+        return namedQuery("countClosure", Long.class)
+                .setParameter("ancestorId", ancestorId)
+                .setParameter("descendantId", departmentId)
+                .getSingleResult() > 0;
+    }
 
-        Predicate namePredicate = builder.like(builder.lower(departmentRoot.get("name")), pattern);
-        Predicate descriptionPredicate = builder.like(builder.lower(departmentRoot.get("description")), pattern);
+    /**
+     * Updates the single row of {@code department_hierarchy_lock}; the row
+     * lock is held until the transaction ends.
+     */
+    @Override
+    @Transactional
+    public void lockHierarchy() {
+        entityManager.createNativeQuery(LOCK_HIERARCHY_SQL).executeUpdate();
+    }
 
-        criteria.select(departmentRoot)
-                .where(builder.or(namePredicate, descriptionPredicate))
-                .orderBy(builder.asc(departmentRoot.get("name")));
+    /**
+     * Moves a subtree under a new parent and rewrites its closure paths with
+     * two set-based statements, whatever the size of the subtree. Takes the
+     * hierarchy lock first, so the subtree check can't race another move.
+     *
+     * @param departmentId the department to move
+     * @param newParentId  the new parent, or null for the top level
+     * @throws RuntimeException if the move would put the department inside its own subtree
+     */
+    @Override
+    @Transactional
+    public void move(UUID departmentId, UUID newParentId) {
+        lockHierarchy();
+        if (newParentId != null && isInSubtree(newParentId, departmentId)) {
+            throw new RuntimeException("Cannot move a department under itself or its descendants");
+        }
 
-        TypedQuery<Department> query = entityManager.createQuery(criteria);
-        query.setMaxResults(50); // Limit results for performance
+        namedStatement("detachSubtree")
+                .setParameter("id", departmentId)
+                .executeUpdate();
+        if (newParentId != null) {
+            namedStatement("attachSubtree")
+                    .setParameter("parentId", newParentId)
+                    .setParameter("id", departmentId)
+                    .executeUpdate();
+        }
+        namedStatement("setParent")
+                .setParameter("parentId", newParentId)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", departmentId)
+                .executeUpdate();
+        findById(departmentId).ifPresent(department -> {
+            entityManager.refresh(department);
+            publish(department, EntityChangeEvent.ChangeType.UPDATED);
+        });
+        bumpVersion();
+    }
 
-        return query.getResultList();
+    /**
+     * Returns every department's id, parent, name and active flag.
+     *
+     * @return one row per department, columns as in {@link DepartmentDao#TREE_COLUMNS}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Object[]> findTreeRows() {
+        return namedQuery("treeRows", Object[].class).getResultList();
     }
 
     /**
      * Saves a department while enforcing the business rule that department names
-     * must be unique.
+     * must be unique. A new department also gets its closure paths: itself,
+     * and every ancestor through {@code parentId} if set.
      *
      * @param department the {@link Department} entity to save
      * @return the saved {@link Department} entity
      * @throws RuntimeException if a department with the same name already exists
      */
     @Override
+    @Transactional
     public Department save(Department department) {
-        if (department.getId() == null) { // New department
+        boolean isNew = department.getId() == null;
+        if (isNew) { // New department
             if (existsByName(department.getName())) {
                 throw new RuntimeException("Department with name '" +
                         department.getName() + "' already exists");
             }
+            if (department.getParentId() != null && findById(department.getParentId()).isEmpty()) {
+                throw new RuntimeException("Parent department does not exist");
+            }
         } else { // Updating existing department
             Optional<Department> existing = findByName(department.getName());
             if (existing.isPresent() && !existing.get().getId().equals(department.getId())) {
@@ -217,15 +387,44 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
             }
         }
 
-        return super.save(department);
+        Department saved = super.save(department);
+        if (isNew) {
+            entityManager.flush(); // The closure inserts select the new row
+            namedStatement("insertSelfPath")
+                    .setParameter("id", saved.getId())
+                    .executeUpdate();
+            if (saved.getParentId() != null) {
+                lockHierarchy(); // The parent's paths must not move while they are copied
+                namedStatement("insertAncestorPaths")
+                        .setParameter("parentId", saved.getParentId())
+                        .setParameter("id", saved.getId())
+                        .executeUpdate();
+            }
+        }
+        bumpVersion();
+        return saved;
+    }
+
+    /**
+     * Updates a department and bumps the version counter.
+     *
+     * @param department the {@link Department} entity to update
+     * @return the updated {@link Department} entity
+     */
+    @Override
+    public Department update(Department department) {
+        Department updated = super.update(department);
+        bumpVersion();
+        return updated;
     }
 
     /**
      * Soft deletes a department by marking it inactive.
-     * Prevents deletion if the department has staff assigned.
+     * Prevents deletion if the department has staff assigned or active
+     * departments nested under it.
      *
      * @param department the {@link Department} entity to delete
-     * @throws RuntimeException if the department has staff members assigned
+     * @throws RuntimeException if the department has staff members or active sub-departments
      */
     @Override
     public void delete(Department department) {
@@ -238,8 +437,18 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
             );
         }
 
+        long activeChildren = namedQuery("countActiveChildren", Long.class)
+                .setParameter("id", department.getId())
+                .getSingleResult();
+        if (activeChildren > 0) {
+            throw new RuntimeException(
+                "Cannot delete department with " + activeChildren +
+                " active sub-departments. Please move or delete them first."
+            );
+        }
+
         department.setIsActive(false);
-        super.update(department);
+        update(department);
     }
 
     /**
@@ -260,7 +469,60 @@ public class DepartmentDaoImpl extends AbstractBaseDaoImpl<Department, UUID> imp
      *
      * @param department the {@link Department} entity to hard delete
      */
+    @Transactional
     public void hardDelete(Department department) {
+        long children = namedQuery("countChildren", Long.class)
+                .setParameter("id", department.getId())
+                .getSingleResult();
+        if (children > 0) {
+            throw new RuntimeException("Cannot delete department with " + children + " sub-departments");
+        }
+
+        namedStatement("deletePaths")
+                .setParameter("id", department.getId())
+                .executeUpdate();
         super.delete(department);
+        bumpVersion();
+    }
+
+    /**
+     * Streams every department as a row of plain column values, ordered by name.
+     *
+     * @param rowHandler receives each row, columns as in {@link DepartmentDao#EXPORT_COLUMNS}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Consumer<Object[]> rowHandler) {
+        scrollNamedQuery("exportRows", rowHandler);
+    }
+
+    /**
+     * Returns the current department version.
+     *
+     * @return a counter that changes after every committed department write
+     */
+    @Override
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Bumps the version once the surrounding transaction completes.
+     * <p>
+     * Bumping before commit would let a concurrent reader pair the new
+     * version with the old rows and cache stale data under it.
+     * </p>
+     */
+    private void bumpVersion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                version.incrementAndGet();
+            }
+        });
     }
 }
\ No newline at end of file
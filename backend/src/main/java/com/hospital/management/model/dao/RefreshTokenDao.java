@@ -2,7 +2,9 @@ package com.hospital.management.model.dao;
 
 import com.hospital.management.model.dao.base.AbstractBaseDao;
 import com.hospital.management.model.domain.RefreshToken;
+import com.hospital.management.model.dto.auth.SessionResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,11 +30,34 @@ public interface RefreshTokenDao extends AbstractBaseDao<RefreshToken, UUID> {
      */
     List<RefreshToken> findActiveByUserId(UUID userId);
 
+    /**
+     * Lists a user's active sessions, newest first, as a column projection.
+     */
+    List<SessionResponse> findActiveSessionsByUserId(UUID userId);
+
+    /**
+     * Returns the ids of a user's active tokens, newest first — used to enforce
+     * the per-user session cap.
+     */
+    List<UUID> findActiveIdsByUserId(UUID userId);
+
+    /**
+     * Revokes the given tokens, provided they belong to the user. Returns the
+     * number of tokens revoked.
+     */
+    int revokeByIds(UUID userId, Collection<UUID> tokenIds);
+
     /**
      * Revokes all tokens for a user — triggered on password change, MFA enable, or
-     * admin lockout.
+     * admin lockout. Returns the number of tokens revoked.
+     */
+    int revokeAllForUser(UUID userId);
+
+    /**
+     * Revokes all tokens of several users with one bulk update — used when
+     * staff are reassigned en masse. Returns the number of tokens revoked.
      */
-    void revokeAllForUser(UUID userId);
+    int revokeAllForUsers(Collection<UUID> userIds);
 
     /**
      * Deletes tokens that are both expired and revoked — run by a scheduled cleanup
@@ -2,13 +2,13 @@ package com.hospital.management.model.dao;
 
 import com.hospital.management.model.dao.base.AbstractBaseDaoImpl;
 import com.hospital.management.model.domain.RefreshToken;
+import com.hospital.management.model.dto.auth.SessionResponse;
 import jakarta.persistence.NoResultException;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +25,38 @@ import java.util.UUID;
 public class RefreshTokenDaoImpl extends AbstractBaseDaoImpl<RefreshToken, UUID>
         implements RefreshTokenDao {
 
+    @Override
+    protected void defineNamedQueries() {
+        registerNamedQuery("findActiveByTokenHash",
+                "SELECT t FROM RefreshToken t " +
+                        "WHERE t.tokenHash = :tokenHash AND t.revoked = false AND t.expiresAt > :now");
+        registerNamedQuery("findActiveByUserId",
+                "SELECT t FROM RefreshToken t " +
+                        "WHERE t.userId = :userId AND t.revoked = false AND t.expiresAt > :now " +
+                        "ORDER BY t.createdAt DESC");
+        registerNamedQuery("findActiveSessionsByUserId",
+                "SELECT new com.hospital.management.model.dto.auth.SessionResponse(" +
+                        "t.id, t.deviceInfo, t.ipAddress, t.createdAt, t.expiresAt) " +
+                        "FROM RefreshToken t " +
+                        "WHERE t.userId = :userId AND t.revoked = false AND t.expiresAt > :now " +
+                        "ORDER BY t.createdAt DESC");
+        registerNamedQuery("findActiveIdsByUserId",
+                "SELECT t.id FROM RefreshToken t " +
+                        "WHERE t.userId = :userId AND t.revoked = false AND t.expiresAt > :now " +
+                        "ORDER BY t.createdAt DESC");
+        registerNamedQuery("revokeByIds",
+                "UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now " +
+                        "WHERE t.userId = :userId AND t.id IN :ids AND t.revoked = false");
+        registerNamedQuery("revokeAllForUser",
+                "UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now " +
+                        "WHERE t.userId = :userId AND t.revoked = false");
+        registerNamedQuery("revokeAllForUsers",
+                "UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now " +
+                        "WHERE t.userId IN :userIds AND t.revoked = false");
+        registerNamedQuery("deleteExpiredAndRevoked",
+                "DELETE FROM RefreshToken t WHERE t.revoked = true AND t.expiresAt < :now");
+    }
+
     /**
      * Finds an active (non-revoked, non-expired) refresh token by its hash.
      *
@@ -32,19 +64,13 @@ public class RefreshTokenDaoImpl extends AbstractBaseDaoImpl<RefreshToken, UUID>
      * @return an Optional containing the token if found and valid, otherwise empty
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<RefreshToken> findActiveByTokenHash(String tokenHash) {
         try {
-            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-            CriteriaQuery<RefreshToken> criteria = builder.createQuery(RefreshToken.class);
-            Root<RefreshToken> root = criteria.from(RefreshToken.class);
-
-            Predicate hashMatch = builder.equal(root.get("tokenHash"), tokenHash);
-            Predicate notRevoked = builder.isFalse(root.get("revoked"));
-            Predicate notExpired = builder.greaterThan(root.get("expiresAt"), LocalDateTime.now());
-
-            criteria.select(root).where(builder.and(hashMatch, notRevoked, notExpired));
-
-            RefreshToken token = entityManager.createQuery(criteria).getSingleResult();
+            RefreshToken token = namedQuery("findActiveByTokenHash", RefreshToken.class)
+                    .setParameter("tokenHash", tokenHash)
+                    .setParameter("now", LocalDateTime.now())
+                    .getSingleResult();
             return Optional.ofNullable(token);
         } catch (NoResultException e) {
             return Optional.empty();
@@ -59,21 +85,72 @@ public class RefreshTokenDaoImpl extends AbstractBaseDaoImpl<RefreshToken, UUID>
      * @return a list of active {@link RefreshToken} entities
      */
     @Override
+    @Transactional(readOnly = true)
     public List<RefreshToken> findActiveByUserId(UUID userId) {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<RefreshToken> criteria = builder.createQuery(RefreshToken.class);
-        Root<RefreshToken> root = criteria.from(RefreshToken.class);
+        return namedQuery("findActiveByUserId", RefreshToken.class)
+                .setParameter("userId", userId)
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+    }
+
+    /**
+     * Lists a user's active sessions, newest first.
+     * <p>
+     * Selects only the columns covered by {@code idx_refresh_tokens_user_active},
+     * and filters on the literal {@code revoked = false} so SQL Server can match
+     * the filtered index — the query is an index-only seek.
+     * </p>
+     *
+     * @param userId the UUID of the user
+     * @return the active sessions, possibly empty
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionResponse> findActiveSessionsByUserId(UUID userId) {
+        return namedQuery("findActiveSessionsByUserId", SessionResponse.class)
+                .setParameter("userId", userId)
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+    }
 
-        Predicate userMatch = builder.equal(root.get("userId"), userId);
-        Predicate notRevoked = builder.isFalse(root.get("revoked"));
-        Predicate notExpired = builder.greaterThan(root.get("expiresAt"), LocalDateTime.now());
+    /**
+     * Returns the ids of a user's active tokens, newest first.
+     *
+     * @param userId the UUID of the user
+     * @return the active token ids, possibly empty
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findActiveIdsByUserId(UUID userId) {
+        return namedQuery("findActiveIdsByUserId", UUID.class)
+                .setParameter("userId", userId)
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+    }
 
-        criteria.select(root)
-                .where(builder.and(userMatch, notRevoked, notExpired))
-                .orderBy(builder.desc(root.get("createdAt")));
+    /**
+     * Revokes specific tokens belonging to a user in a single bulk update.
+     * <p>
+     * The user id is part of the predicate so a caller can never revoke
+     * another user's session by guessing its id.
+     * </p>
+     *
+     * @param userId   the owner of the tokens
+     * @param tokenIds the token ids to revoke
+     * @return the number of tokens revoked
+     */
+    @Override
+    @Transactional
+    public int revokeByIds(UUID userId, Collection<UUID> tokenIds) {
+        if (tokenIds == null || tokenIds.isEmpty()) {
+            return 0;
+        }
 
-        TypedQuery<RefreshToken> query = entityManager.createQuery(criteria);
-        return query.getResultList();
+        return namedStatement("revokeByIds")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("userId", userId)
+                .setParameter("ids", tokenIds)
+                .executeUpdate();
     }
 
     /**
@@ -84,19 +161,36 @@ public class RefreshTokenDaoImpl extends AbstractBaseDaoImpl<RefreshToken, UUID>
      * </p>
      *
      * @param userId the UUID of the user whose tokens should be revoked
+     * @return the number of tokens revoked
      */
     @Override
     @Transactional
-    public void revokeAllForUser(UUID userId) {
-        String jpql = "UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now " +
-                "WHERE t.userId = :userId AND t.revoked = false";
-
-        entityManager.createQuery(jpql)
+    public int revokeAllForUser(UUID userId) {
+        return namedStatement("revokeAllForUser")
                 .setParameter("now", LocalDateTime.now())
                 .setParameter("userId", userId)
                 .executeUpdate();
     }
 
+    /**
+     * Revokes all refresh tokens for a set of users in a single bulk update.
+     *
+     * @param userIds the users whose tokens should be revoked
+     * @return the number of tokens revoked
+     */
+    @Override
+    @Transactional
+    public int revokeAllForUsers(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        return namedStatement("revokeAllForUsers")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("userIds", userIds)
+                .executeUpdate();
+    }
+
     /**
      * Deletes all tokens that are both expired and revoked.
      * <p>
@@ -107,10 +201,7 @@ public class RefreshTokenDaoImpl extends AbstractBaseDaoImpl<RefreshToken, UUID>
     @Override
     @Transactional
     public void deleteExpiredAndRevoked() {
-        String jpql = "DELETE FROM RefreshToken t " +
-                "WHERE t.revoked = true AND t.expiresAt < :now";
-
-        entityManager.createQuery(jpql)
+        namedStatement("deleteExpiredAndRevoked")
                 .setParameter("now", LocalDateTime.now())
                 .executeUpdate();
     }
@@ -0,0 +1,12 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.model.dao.base.AbstractBaseDao;
+import com.hospital.management.model.domain.Reminder;
+
+import java.util.UUID;
+
+/**
+ * Data Access Object interface for {@link Reminder} entities.
+ */
+public interface ReminderDao extends AbstractBaseDao<Reminder, UUID> {
+}
@@ -0,0 +1,16 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.model.dao.base.AbstractBaseDaoImpl;
+import com.hospital.management.model.domain.Reminder;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Implementation of {@link ReminderDao} for accessing {@link Reminder}
+ * entities. Delivery state is claimed and updated in bulk by
+ * {@code ReminderDispatcher}.
+ */
+@Repository
+public class ReminderDaoImpl extends AbstractBaseDaoImpl<Reminder, UUID> implements ReminderDao {
+}
@@ -1,10 +1,16 @@
 package com.hospital.management.model.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import com.hospital.management.constants.Role;
 import com.hospital.management.model.dao.base.AbstractBaseDao;
 import com.hospital.management.model.domain.User;
+import com.hospital.management.model.dto.auth.UserCursor;
+import com.hospital.management.model.dto.auth.UserResponse;
 
 /**
  * Data Access Object (DAO) interface for {@link User} entities.
@@ -35,4 +41,68 @@ public interface UserDao extends AbstractBaseDao<User, UUID> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Returns one page of users ordered by last name, first name and ID,
+     * optionally filtered. Pages are keyset-based: each starts strictly after
+     * the {@code after} cursor, so the cost does not grow with the page number.
+     *
+     * @param role         role filter, or null
+     * @param departmentId department filter, or null
+     * @param isActive     active-flag filter, or null
+     * @param after        sort key of the last row of the previous page, or null for the first page
+     * @param limit        maximum rows to return
+     * @return the page, projected straight into {@link UserResponse}
+     */
+    List<UserResponse> findPage(Role role, UUID departmentId, Boolean isActive, UserCursor after, int limit);
+
+    /**
+     * Column names of the rows passed to {@link #forEachExportRow(Consumer)}, in order.
+     */
+    List<String> EXPORT_COLUMNS = List.of(
+            "id", "email", "first_name", "last_name", "role", "department_id", "phone", "is_active",
+            "created_at", "updated_at");
+
+    /**
+     * Streams every user as a row of plain column values (no password hash),
+     * ordered by ID, without loading entities.
+     *
+     * @param rowHandler receives each row, columns as in {@link #EXPORT_COLUMNS}
+     */
+    void forEachExportRow(Consumer<Object[]> rowHandler);
+
+    /**
+     * Returns the given users as rows of plain column values, without loading
+     * entities.
+     *
+     * @param ids the users to load; missing IDs are skipped
+     * @return one row per user found, columns as in {@link #EXPORT_COLUMNS}
+     */
+    List<Object[]> findExportRowsByIds(Collection<UUID> ids);
+
+    /**
+     * Returns up to {@code limit} IDs of users in a department, in ID order,
+     * starting after {@code afterId}.
+     *
+     * @param departmentId the department
+     * @param afterId      last ID of the previous chunk, or null for the first chunk
+     * @param limit        maximum IDs to return
+     * @return the IDs, possibly empty
+     */
+    List<UUID> findIdsByDepartment(UUID departmentId, UUID afterId, int limit);
+
+    /**
+     * Moves the given users to a department with one bulk update. Users that
+     * are already in the target department are not touched.
+     * <p>
+     * Bypasses the persistence context and publishes no
+     * {@code EntityChangeEvent}s; callers must refresh anything that mirrors
+     * user rows.
+     * </p>
+     *
+     * @param ids                the users to move
+     * @param targetDepartmentId the department to move them to
+     * @return the number of users moved
+     */
+    int reassignDepartment(Collection<UUID> ids, UUID targetDepartmentId);
 }
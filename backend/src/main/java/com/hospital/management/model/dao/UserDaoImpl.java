@@ -1,15 +1,24 @@
 package com.hospital.management.model.dao;
 
+import com.hospital.management.constants.Role;
 import com.hospital.management.model.domain.User;
 import com.hospital.management.model.dao.base.AbstractBaseDaoImpl;
+import com.hospital.management.model.dao.base.EntityBulkChangeEvent;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import com.hospital.management.model.dto.auth.UserCursor;
+import com.hospital.management.model.dto.auth.UserResponse;
 import jakarta.persistence.NoResultException;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Root;
+import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link UserDao} for accessing {@link User} entities.
@@ -17,10 +26,73 @@ import java.util.UUID;
  * Extends {@link AbstractBaseDaoImpl} to provide generic CRUD operations
  * and adds user-specific queries such as finding by email and checking email existence.
  * </p>
+ * <p>
+ * The paginated listing is registered as one query per combination of
+ * filters (and with or without a cursor) rather than a single query with
+ * {@code :param IS NULL OR ...} guards. Each variant has only the
+ * predicates it needs, so SQL Server plans it as a seek on the matching
+ * composite index instead of one catch-all plan that scans.
+ * </p>
  */
 @Repository
 public class UserDaoImpl extends AbstractBaseDaoImpl<User, UUID> implements UserDao{
-    
+
+    @Override
+    protected void defineNamedQueries() {
+        registerNamedQuery("findByEmail", "SELECT u FROM User u WHERE u.email = :email");
+        registerNamedQuery("countByEmail", "SELECT COUNT(u) FROM User u WHERE u.email = :email");
+        registerNamedQuery("exportRows",
+                "SELECT u.id, u.email, u.firstName, u.lastName, u.role, u.departmentId, u.phone, u.isActive, " +
+                        "u.createdAt, u.updatedAt FROM User u ORDER BY u.id");
+        registerNamedQuery("exportRowsByIds",
+                "SELECT u.id, u.email, u.firstName, u.lastName, u.role, u.departmentId, u.phone, u.isActive, " +
+                        "u.createdAt, u.updatedAt FROM User u WHERE u.id IN :ids");
+        registerNamedQuery("findIdsByDepartment",
+                "SELECT u.id FROM User u WHERE u.departmentId = :departmentId ORDER BY u.id");
+        registerNamedQuery("findIdsByDepartmentAfter",
+                "SELECT u.id FROM User u WHERE u.departmentId = :departmentId AND u.id > :afterId ORDER BY u.id");
+        registerNamedQuery("reassignDepartment",
+                "UPDATE User u SET u.departmentId = :departmentId, u.updatedAt = :now " +
+                        "WHERE u.id IN :ids AND (u.departmentId IS NULL OR u.departmentId <> :departmentId)");
+
+        for (int filters = 0; filters < 8; filters++) {
+            registerNamedQuery(pageQueryName(filters, false), pageQuery(filters, false));
+            registerNamedQuery(pageQueryName(filters, true), pageQuery(filters, true));
+        }
+    }
+
+    private static final int ROLE_FILTER = 1;
+    private static final int DEPARTMENT_FILTER = 2;
+    private static final int ACTIVE_FILTER = 4;
+
+    private static String pageQueryName(int filters, boolean afterCursor) {
+        return "findPage." + filters + (afterCursor ? ".after" : "");
+    }
+
+    private static String pageQuery(int filters, boolean afterCursor) {
+        List<String> predicates = new ArrayList<>();
+        if ((filters & ROLE_FILTER) != 0) {
+            predicates.add("u.role = :role");
+        }
+        if ((filters & DEPARTMENT_FILTER) != 0) {
+            predicates.add("u.departmentId = :departmentId");
+        }
+        if ((filters & ACTIVE_FILTER) != 0) {
+            predicates.add("u.isActive = :isActive");
+        }
+        if (afterCursor) {
+            // The leading >= is implied by the OR below but gives the optimizer a seek range
+            predicates.add("u.lastName >= :lastName AND (u.lastName > :lastName OR " +
+                    "(u.lastName = :lastName AND (u.firstName > :firstName OR " +
+                    "(u.firstName = :firstName AND u.id > :id))))");
+        }
+        return "SELECT new com.hospital.management.model.dto.auth.UserResponse(" +
+                "u.id, u.firstName, u.lastName, u.email, u.role, u.phone, u.departmentId, u.isActive, u.createdAt) " +
+                "FROM User u" +
+                (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates)) +
+                " ORDER BY u.lastName, u.firstName, u.id";
+    }
+
     /**
      * Finds a user by their email address.
      *
@@ -28,14 +100,12 @@ public class UserDaoImpl extends AbstractBaseDaoImpl<User, UUID> implements User
      * @return an Optional containing the user if found, otherwise empty
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         try{
-            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-            CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
-            Root<User> userRoot =  query.from(User.class);
-            query.select(userRoot).where(criteriaBuilder.equal(userRoot.get("email"), email));
-
-            User user = entityManager.createQuery(query).getSingleResult();
+            User user = namedQuery("findByEmail", User.class)
+                    .setParameter("email", email)
+                    .getSingleResult();
             return Optional.ofNullable(user);
         } catch (NoResultException e) {
             return Optional.empty();
@@ -49,13 +119,120 @@ public class UserDaoImpl extends AbstractBaseDaoImpl<User, UUID> implements User
      * @return true if a user with the email exists, false otherwise
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
-        Root<User> userRoot = countQuery.from(User.class);
-        countQuery.select(criteriaBuilder.count(userRoot)).where(criteriaBuilder.equal(userRoot.get("email"), email));
-
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
+        Long count = namedQuery("countByEmail", Long.class)
+                .setParameter("email", email)
+                .getSingleResult();
         return count > 0;
     }
+
+    /**
+     * Returns one page of users in name order, filtered by whichever of
+     * role, department and active flag are given.
+     *
+     * @param role         role filter, or null
+     * @param departmentId department filter, or null
+     * @param isActive     active-flag filter, or null
+     * @param after        cursor from the previous page, or null for the first page
+     * @param limit        maximum rows to return
+     * @return the page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponse> findPage(Role role, UUID departmentId, Boolean isActive, UserCursor after, int limit) {
+        int filters = (role != null ? ROLE_FILTER : 0)
+                | (departmentId != null ? DEPARTMENT_FILTER : 0)
+                | (isActive != null ? ACTIVE_FILTER : 0);
+        TypedQuery<UserResponse> query = namedQuery(pageQueryName(filters, after != null), UserResponse.class);
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (departmentId != null) {
+            query.setParameter("departmentId", departmentId);
+        }
+        if (isActive != null) {
+            query.setParameter("isActive", isActive);
+        }
+        if (after != null) {
+            query.setParameter("lastName", after.getLastName())
+                    .setParameter("firstName", after.getFirstName())
+                    .setParameter("id", after.getId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Streams every user as a row of plain column values, ordered by ID.
+     *
+     * @param rowHandler receives each row, columns as in {@link UserDao#EXPORT_COLUMNS}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Consumer<Object[]> rowHandler) {
+        scrollNamedQuery("exportRows", rowHandler);
+    }
+
+    /**
+     * Loads the given users as export rows.
+     *
+     * @param ids the users to load
+     * @return one row per user found, columns as in {@link UserDao#EXPORT_COLUMNS}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Object[]> findExportRowsByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedQuery("exportRowsByIds", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Returns the next chunk of user IDs in a department, keyed on ID so each
+     * chunk is a seek rather than an offset scan.
+     *
+     * @param departmentId the department
+     * @param afterId      last ID of the previous chunk, or null
+     * @param limit        maximum IDs to return
+     * @return the IDs, possibly empty
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findIdsByDepartment(UUID departmentId, UUID afterId, int limit) {
+        TypedQuery<UUID> query = afterId == null
+                ? namedQuery("findIdsByDepartment", UUID.class)
+                : namedQuery("findIdsByDepartmentAfter", UUID.class).setParameter("afterId", afterId);
+        return query.setParameter("departmentId", departmentId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Moves users to a department in a single bulk update, stamping
+     * {@code updatedAt} explicitly since no entity lifecycle callbacks run.
+     * Publishes an {@link EntityBulkChangeEvent} for the ids if any row moved.
+     *
+     * @param ids                the users to move
+     * @param targetDepartmentId the department to move them to
+     * @return the number of users moved
+     */
+    @Override
+    @Transactional
+    public int reassignDepartment(Collection<UUID> ids, UUID targetDepartmentId) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int moved = namedStatement("reassignDepartment")
+                .setParameter("departmentId", targetDepartmentId)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+        if (moved > 0) {
+            publishBulk(ids, EntityChangeEvent.ChangeType.UPDATED);
+        }
+        return moved;
+    }
 }
@@ -1,15 +1,26 @@
 package com.hospital.management.model.dao.base;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Abstract implementation of the {@link AbstractBaseDao} interface using JPA.
@@ -24,15 +35,36 @@ import java.util.Optional;
  * Subclasses can extend this class to inherit standard DAO functionality
  * without repeating common persistence logic.
  * </p>
+ * <p>
+ * Queries are declared once, at startup, as named JPQL queries (see
+ * {@link #defineNamedQueries()}). Hibernate parses and validates each one
+ * when it is registered — an invalid query fails the application on boot
+ * rather than on first use — and executions reuse the cached interpretation
+ * instead of rebuilding a Criteria object graph and its SQL plan per call.
+ * </p>
+ * <p>
+ * {@link #save}, {@link #update} and {@link #delete} publish an
+ * {@link EntityChangeEvent} so in-memory views of the data can follow
+ * writes without polling.
+ * </p>
  *
  * @param <T>  the type of the entity
  * @param <ID> the type of the entity's identifier, must be Serializable
  */
 public class AbstractBaseDaoImpl<T, ID extends Serializable> implements AbstractBaseDao<T, ID> {
 
+    /** Rows fetched per database round trip when scrolling. */
+    protected static final int SCROLL_FETCH_SIZE = 1_000;
+
     @PersistenceContext
     protected EntityManager entityManager;
 
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private Class<T> entityClass;
 
     @SuppressWarnings("unchecked")
@@ -42,37 +74,146 @@ public class AbstractBaseDaoImpl<T, ID extends Serializable> implements Abstract
                 .getActualTypeArguments()[0];
     }
 
+    /**
+     * Registers this DAO's named queries. Runs once, after injection.
+     */
+    @PostConstruct
+    void registerNamedQueries() {
+        String entityName = entityClass.getSimpleName();
+        registerNamedQuery("findAll", "SELECT e FROM " + entityName + " e");
+        registerNamedQuery("count", "SELECT COUNT(e) FROM " + entityName + " e");
+        defineNamedQueries();
+    }
+
+    /**
+     * Hook for subclasses to declare their queries via
+     * {@link #registerNamedQuery(String, String)}.
+     */
+    protected void defineNamedQueries() {
+    }
+
+    /**
+     * Parses, validates and registers a named JPQL query scoped to this
+     * DAO's entity (registered as {@code <Entity>.<name>}).
+     *
+     * @param name short query name, unique within this DAO
+     * @param jpql the JPQL statement, with named parameters
+     * @throws IllegalArgumentException if the JPQL is invalid
+     */
+    protected void registerNamedQuery(String name, String jpql) {
+        EntityManager validationManager = entityManagerFactory.createEntityManager();
+        try {
+            Query query = validationManager.createQuery(jpql);
+            entityManagerFactory.addNamedQuery(qualifiedName(name), query);
+        } finally {
+            validationManager.close();
+        }
+    }
+
+    /**
+     * Creates a typed query from a registered named query.
+     *
+     * @param name       the short name passed to {@link #registerNamedQuery(String, String)}
+     * @param resultType the query's result type
+     * @return a fresh query bound to the current persistence context
+     */
+    protected <R> TypedQuery<R> namedQuery(String name, Class<R> resultType) {
+        return entityManager.createNamedQuery(qualifiedName(name), resultType);
+    }
+
+    /**
+     * Creates an update or delete statement from a registered named query.
+     *
+     * @param name the short name passed to {@link #registerNamedQuery(String, String)}
+     * @return a fresh query bound to the current persistence context
+     */
+    protected Query namedStatement(String name) {
+        return entityManager.createNamedQuery(qualifiedName(name));
+    }
+
+    /**
+     * Streams the rows of a named projection query to a handler, one at a time.
+     * <p>
+     * Uses a forward-only cursor with {@link #SCROLL_FETCH_SIZE} rows per
+     * round trip, so memory stays flat however many rows match. Queries must
+     * select scalar columns, not entities: nothing is attached to the
+     * persistence context, and the second-level cache is bypassed. Must run
+     * inside a transaction, which stays open until the last row is handled.
+     * </p>
+     *
+     * @param name       the short name passed to {@link #registerNamedQuery(String, String)}
+     * @param rowHandler receives each row's columns in select order
+     */
+    @SuppressWarnings("unchecked")
+    protected void scrollNamedQuery(String name, Consumer<Object[]> rowHandler) {
+        org.hibernate.query.Query<Object[]> query = entityManager
+                .createNamedQuery(qualifiedName(name), Object[].class)
+                .unwrap(org.hibernate.query.Query.class);
+        query.setFetchSize(SCROLL_FETCH_SIZE);
+        query.setReadOnly(true);
+        query.setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                rowHandler.accept(rows.get());
+            }
+        }
+    }
+
+    /**
+     * Publishes a change event for an entity. Subclasses call this after a
+     * targeted JPQL update of a single row, which would otherwise go unseen.
+     */
+    protected void publish(T entity, EntityChangeEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityChangeEvent<>(entity, entityClass, changeType));
+    }
+
+    /**
+     * Publishes one event for the rows a bulk JPQL statement changed.
+     * Subclasses call this after a statement that targets many rows.
+     */
+    protected void publishBulk(Collection<UUID> ids, EntityChangeEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new EntityBulkChangeEvent(entityClass, List.copyOf(ids), changeType));
+    }
+
+    private String qualifiedName(String name) {
+        return entityClass.getSimpleName() + "." + name;
+    }
+
     @Override
     @Transactional
     public T save(T entity) {
         entityManager.persist(entity);
+        publish(entity, EntityChangeEvent.ChangeType.CREATED);
         return entity;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<T> findById(ID id) {
         T entity = entityManager.find(entityClass, id);
         return Optional.ofNullable(entity);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAll() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityClass);
-        query.select(query.from(entityClass));
-        return entityManager.createQuery(query).getResultList();
+        return namedQuery("findAll", entityClass).getResultList();
     }
 
     @Override
     @Transactional
     public T update(T entity) {
-        return entityManager.merge(entity);
+        T merged = entityManager.merge(entity);
+        publish(merged, EntityChangeEvent.ChangeType.UPDATED);
+        return merged;
     }
 
     @Override
     @Transactional
     public void delete(T entity) {
         entityManager.remove(entity);
+        publish(entity, EntityChangeEvent.ChangeType.DELETED);
     }
 
     @Override
@@ -82,14 +223,13 @@ public class AbstractBaseDaoImpl<T, ID extends Serializable> implements Abstract
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long count() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
-        countQuery.select(criteriaBuilder.count(countQuery.from(entityClass)));
-        return entityManager.createQuery(countQuery).getSingleResult();
+        return namedQuery("count", Long.class).getSingleResult();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(ID id) {
         return findById(id).isPresent();
     }
@@ -0,0 +1,30 @@
+package com.hospital.management.model.dao.base;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application event published by a DAO after a bulk JPQL statement that
+ * changed many rows of one entity type, which no {@link EntityChangeEvent}
+ * reports.
+ * <p>
+ * Carries only the ids the statement targeted; the entities are not
+ * loaded. Like {@link EntityChangeEvent} it is published inside the writing
+ * transaction, so listeners should use {@code @TransactionalEventListener}.
+ * </p>
+ */
+@Getter
+public class EntityBulkChangeEvent {
+
+    private final Class<?> entityClass;
+    private final List<UUID> ids;
+    private final EntityChangeEvent.ChangeType changeType;
+
+    public EntityBulkChangeEvent(Class<?> entityClass, List<UUID> ids, EntityChangeEvent.ChangeType changeType) {
+        this.entityClass = entityClass;
+        this.ids = ids;
+        this.changeType = changeType;
+    }
+}
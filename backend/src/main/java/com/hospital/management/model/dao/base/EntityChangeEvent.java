@@ -0,0 +1,53 @@
+package com.hospital.management.model.dao.base;
+
+import lombok.Getter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Application event published by {@link AbstractBaseDaoImpl} whenever an
+ * entity is saved, updated or deleted through a DAO.
+ * <p>
+ * The event is published inside the writing transaction. Listeners that
+ * mirror database state (caches, in-memory indexes) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ * The generic type is resolvable, so a listener can subscribe to a single
+ * entity type with {@code EntityChangeEvent<User>}.
+ * </p>
+ * <p>
+ * Bulk JPQL statements bypass the DAO's entity methods and publish nothing,
+ * unless the DAO publishes explicitly: this event for a statement that
+ * targets a single row (a department move, an admission discharge), or an
+ * {@link EntityBulkChangeEvent} for one that targets many (a department
+ * reassignment of users).
+ * </p>
+ *
+ * @param <T> the entity type
+ */
+@Getter
+public class EntityChangeEvent<T> implements ResolvableTypeProvider {
+
+    /**
+     * Kind of write that produced the event.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final T entity;
+    private final Class<T> entityClass;
+    private final ChangeType changeType;
+
+    public EntityChangeEvent(T entity, Class<T> entityClass, ChangeType changeType) {
+        this.entity = entity;
+        this.entityClass = entityClass;
+        this.changeType = changeType;
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forClass(entityClass));
+    }
+}
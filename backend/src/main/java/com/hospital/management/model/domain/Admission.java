@@ -0,0 +1,51 @@
+package com.hospital.management.model.domain;
+
+import com.hospital.management.model.domain.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents one inpatient stay, from admission to discharge.
+ * <p>
+ * An admission occupies a bed in its department until it is discharged.
+ * A transfer moves the stay to another department instead of closing it,
+ * so {@code departmentId} is always where the patient is now.
+ * </p>
+ */
+@Entity
+@Table(name = "admissions")
+@Getter
+@Setter
+public class Admission extends BaseEntity {
+
+    /**
+     * Identifier of the patient in the patient administration system (e.g. the MRN).
+     */
+    @Column(name = "patient_reference", nullable = false, length = 64)
+    private String patientReference;
+
+    /**
+     * The department (ward) the patient currently occupies a bed in.
+     */
+    @Column(name = "department_id", nullable = false)
+    private UUID departmentId;
+
+    /**
+     * Optional bed or bay label within the department.
+     */
+    @Column(name = "bed_label", length = 32)
+    private String bedLabel;
+
+    @Column(name = "admitted_at", nullable = false)
+    private LocalDateTime admittedAt;
+
+    /**
+     * When the patient was discharged; null while the admission is open.
+     */
+    @Column(name = "discharged_at")
+    private LocalDateTime dischargedAt;
+}
@@ -2,10 +2,12 @@ package com.hospital.management.model.domain;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import com.hospital.management.model.domain.base.BaseEntity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,9 +24,14 @@ import lombok.Setter;
  * It also maintains a list of staff members (e.g., doctors, nurses) associated
  * with the department.
  * </p>
+ * <p>
+ * Updates write only the columns that changed, so renaming or deactivating
+ * a department does not rewrite (or first load) its description.
+ * </p>
  */
 @Entity
 @Table(name = "departments")
+@DynamicUpdate
 @Getter
 @Setter
 public class Department extends BaseEntity {
@@ -38,7 +45,11 @@ public class Department extends BaseEntity {
 
     /**
      * Optional description providing additional information about the department.
+     * Unbounded ({@code NVARCHAR(MAX)}), so it is fetched lazily: entity queries
+     * leave it out and it is loaded on first access. Requires bytecode
+     * enhancement (see the {@code bytecode-enhancement} profile in the pom).
      */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description")
     private String description;
 
@@ -49,6 +60,14 @@ public class Department extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * The department this one is nested under (e.g. ICU under Emergency),
+     * or null for a top-level department. Change it only through
+     * {@code DepartmentDao.move}, which keeps the closure table in step.
+     */
+    @Column(name = "parent_id", updatable = false)
+    private UUID parentId;
+
     /**
      * List of staff members associated with this department (e.g., doctors,nurses).
      * One department can have many users.
@@ -0,0 +1,54 @@
+package com.hospital.management.model.domain;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One ancestor/descendant pair of the department hierarchy.
+ * <p>
+ * The closure holds a row for every pair of departments where one is an
+ * ancestor of the other, plus each department paired with itself at depth
+ * 0. Rows are only written by {@code DepartmentDaoImpl}, with bulk
+ * statements, when a department is created or moved.
+ * </p>
+ */
+@Entity
+@Table(name = "department_closure")
+@IdClass(DepartmentClosure.Key.class)
+@Getter
+@Setter
+public class DepartmentClosure {
+
+    @Id
+    @Column(name = "ancestor_id", nullable = false)
+    private UUID ancestorId;
+
+    @Id
+    @Column(name = "descendant_id", nullable = false)
+    private UUID descendantId;
+
+    /**
+     * Number of edges between the two departments; 0 for the self row, 1 for
+     * a direct child.
+     */
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    /**
+     * Composite primary key.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID ancestorId;
+        private UUID descendantId;
+    }
+}
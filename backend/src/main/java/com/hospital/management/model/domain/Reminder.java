@@ -0,0 +1,74 @@
+package com.hospital.management.model.domain;
+
+import com.hospital.management.constants.ReminderKind;
+import com.hospital.management.constants.ReminderStatus;
+import com.hospital.management.model.domain.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification to send at a set time, such as an appointment tomorrow or
+ * a medication dose due.
+ * <p>
+ * Delivery is driven by {@code ReminderDispatcher}, which updates the
+ * status and claim columns with plain JDBC; this entity is used to create
+ * and read reminders.
+ * </p>
+ */
+@Entity
+@Table(name = "reminders")
+@Getter
+@Setter
+public class Reminder extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 32)
+    private ReminderKind kind;
+
+    /**
+     * Where the reminder goes, in the delivery channel's terms (user id,
+     * phone number, device token).
+     */
+    @Column(name = "recipient", nullable = false, length = 255)
+    private String recipient;
+
+    /**
+     * Identifier of the patient the reminder concerns, if any.
+     */
+    @Column(name = "patient_reference", length = 64)
+    private String patientReference;
+
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ReminderStatus status = ReminderStatus.PENDING;
+
+    /**
+     * Delivery attempts made so far.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Node holding the reminder while it is {@link ReminderStatus#CLAIMED}.
+     */
+    @Column(name = "claimed_by", length = 255)
+    private String claimedBy;
+
+    /**
+     * When the claim lapses and another node may take the reminder over.
+     */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+}
@@ -0,0 +1,21 @@
+package com.hospital.management.model.dto.admission;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response payload describing an admission.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class AdmissionResponse {
+    private UUID id;
+    private String patientReference;
+    private UUID departmentId;
+    private String bedLabel;
+    private LocalDateTime admittedAt;
+    private LocalDateTime dischargedAt;
+}
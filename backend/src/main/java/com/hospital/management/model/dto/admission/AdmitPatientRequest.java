@@ -0,0 +1,28 @@
+package com.hospital.management.model.dto.admission;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Request payload for admitting a patient to a department.
+ */
+@Getter
+@Setter
+public class AdmitPatientRequest {
+
+    @NotBlank(message = "Patient reference is required")
+    @Size(max = 64, message = "Patient reference must be at most 64 characters")
+    private String patientReference;
+
+    @NotNull(message = "Department is required")
+    private UUID departmentId;
+
+    /** Optional bed or bay label. */
+    @Size(max = 32, message = "Bed label must be at most 32 characters")
+    private String bedLabel;
+}
@@ -0,0 +1,23 @@
+package com.hospital.management.model.dto.admission;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Request payload for transferring an admitted patient to another department.
+ */
+@Getter
+@Setter
+public class TransferPatientRequest {
+
+    @NotNull(message = "Department is required")
+    private UUID departmentId;
+
+    /** Optional bed or bay label in the receiving department. */
+    @Size(max = 32, message = "Bed label must be at most 32 characters")
+    private String bedLabel;
+}
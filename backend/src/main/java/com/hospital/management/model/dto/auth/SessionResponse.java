@@ -0,0 +1,26 @@
+package com.hospital.management.model.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An active login session, backed by a non-revoked refresh token.
+ * <p>
+ * Never exposes the token hash. The constructor is used directly by a JPQL
+ * projection so listing sessions does not load {@code RefreshToken} entities.
+ * </p>
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SessionResponse {
+    private UUID id;
+    private String deviceInfo;
+    private String ipAddress;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
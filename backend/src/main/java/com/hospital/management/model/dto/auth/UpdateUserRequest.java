@@ -0,0 +1,32 @@
+package com.hospital.management.model.dto.auth;
+
+import com.hospital.management.constants.Role;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Request payload for updating a user's profile.
+ * <p>
+ * Only accessible to ADMIN users. Every field is optional; omitted fields
+ * keep their current value. Email and password are not changed here.
+ * </p>
+ */
+@Getter
+@Setter
+public class UpdateUserRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    private String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    private String lastName;
+
+    private Role role;
+
+    private UUID departmentId;
+
+    private String phone;
+}
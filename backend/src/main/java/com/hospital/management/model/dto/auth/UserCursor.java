@@ -0,0 +1,49 @@
+package com.hospital.management.model.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the user listing: the sort key of the last row returned.
+ * <p>
+ * Sent to clients as an opaque URL-safe token, so the listing's sort order
+ * can change without breaking their contract.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class UserCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String lastName;
+    private final String firstName;
+    private final UUID id;
+
+    public static UserCursor of(UserResponse user) {
+        return new UserCursor(user.getLastName(), user.getFirstName(), user.getId());
+    }
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static UserCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new UserCursor(parts[0], parts[1], UUID.fromString(parts[2]));
+    }
+}
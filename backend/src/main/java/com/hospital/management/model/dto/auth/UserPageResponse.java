@@ -0,0 +1,18 @@
+package com.hospital.management.model.dto.auth;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the user listing.
+ */
+@Getter
+@Builder
+public class UserPageResponse {
+    private List<UserResponse> items;
+
+    /** Pass as {@code cursor} to fetch the next page; null on the last page. */
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package com.hospital.management.model.dto.auth;
 
 import com.hospital.management.constants.Role;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,11 +11,13 @@ import java.util.UUID;
 /**
  * Response payload returned after creating or retrieving a user.
  * <p>
- * Never exposes the password hash.
+ * Never exposes the password hash. The constructor is used directly by the
+ * user listing's JPQL projection, so its parameter order is the field order.
  * </p>
  */
 @Getter
 @Builder
+@AllArgsConstructor
 public class UserResponse {
     private UUID id;
     private String firstName;
@@ -0,0 +1,18 @@
+package com.hospital.management.model.dto.department;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A department in the hierarchy, with the departments nested under it.
+ */
+@Getter
+@Builder
+public class DepartmentNodeResponse {
+    private UUID id;
+    private String name;
+    private List<DepartmentNodeResponse> children;
+}
@@ -0,0 +1,27 @@
+package com.hospital.management.model.dto.department;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response payload describing a department. List and search results omit
+ * the description; fetch a single department to get it.
+ */
+@Getter
+@Builder
+public class DepartmentResponse {
+    private UUID id;
+    private String name;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+
+    private UUID parentId;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
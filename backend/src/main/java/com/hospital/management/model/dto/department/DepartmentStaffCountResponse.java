@@ -0,0 +1,21 @@
+package com.hospital.management.model.dto.department;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Staff headcount of a department.
+ */
+@Getter
+@Builder
+public class DepartmentStaffCountResponse {
+    private UUID departmentId;
+
+    /** Staff assigned directly to the department. */
+    private long staff;
+
+    /** Staff in the department and every department nested under it. */
+    private long subtreeStaff;
+}
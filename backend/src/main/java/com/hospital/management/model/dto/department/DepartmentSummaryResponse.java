@@ -0,0 +1,19 @@
+package com.hospital.management.model.dto.department;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A department's identity and position, as listed in ancestor and
+ * descendant lookups.
+ */
+@Getter
+@Builder
+public class DepartmentSummaryResponse {
+    private UUID id;
+    private UUID parentId;
+    private String name;
+    private Boolean isActive;
+}
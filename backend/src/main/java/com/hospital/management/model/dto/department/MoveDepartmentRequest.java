@@ -0,0 +1,17 @@
+package com.hospital.management.model.dto.department;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Request payload for moving a department within the hierarchy.
+ */
+@Getter
+@Setter
+public class MoveDepartmentRequest {
+
+    /** The new parent department; null moves the department to the top level. */
+    private UUID parentId;
+}
@@ -0,0 +1,22 @@
+package com.hospital.management.model.dto.event;
+
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Payload of a change feed event. Carries no entity fields: clients
+ * refetch the entity through the regular endpoints, which apply their own
+ * access rules.
+ */
+@Getter
+@Builder
+public class ChangeNotification {
+
+    /** Entity type, e.g. {@code department}. */
+    private String type;
+    private UUID id;
+    private EntityChangeEvent.ChangeType change;
+}
@@ -0,0 +1,17 @@
+package com.hospital.management.model.dto.lab;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A bundle entry that was not stored, and why.
+ */
+@Getter
+@Builder
+public class LabIngestionError {
+    /** Zero-based position of the entry in the bundle. */
+    private int entry;
+    /** The resource's id, if it had one. */
+    private String resourceId;
+    private String message;
+}
@@ -0,0 +1,30 @@
+package com.hospital.management.model.dto.lab;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response payload summarising one lab result upload.
+ */
+@Getter
+@Builder
+public class LabIngestionResponse {
+    /** Groups the stored rows of this upload. */
+    private UUID ingestionId;
+    /** False if the upload was cut short by malformed JSON or a dropped connection. */
+    private boolean complete;
+    /** Why the upload was cut short; null when complete. */
+    private String failure;
+    /** Bundle entries read. */
+    private int received;
+    private int stored;
+    /** Entries that are not Observations. */
+    private int skipped;
+    private int rejected;
+    /** The first rejected entries, up to the configured limit. */
+    private List<LabIngestionError> errors;
+    private long elapsedMs;
+}
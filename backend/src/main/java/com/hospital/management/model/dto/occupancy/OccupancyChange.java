@@ -0,0 +1,21 @@
+package com.hospital.management.model.dto.occupancy;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * One department's entry in a pushed occupancy event.
+ */
+@Getter
+@Builder
+public class OccupancyChange {
+    private UUID departmentId;
+
+    /** Occupied beds now. */
+    private long occupied;
+
+    /** Net change since the previous event on the same stream; 0 in the first event. */
+    private long change;
+}
@@ -0,0 +1,22 @@
+package com.hospital.management.model.dto.occupancy;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Occupied beds of a department.
+ */
+@Getter
+@Builder
+public class OccupancyResponse {
+    private UUID departmentId;
+    private String name;
+
+    /** Patients admitted to the department itself. */
+    private long occupied;
+
+    /** Patients in the department and every department nested under it. */
+    private long subtreeOccupied;
+}
@@ -0,0 +1,37 @@
+package com.hospital.management.model.dto.reminder;
+
+import com.hospital.management.constants.ReminderKind;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request payload for scheduling a reminder.
+ */
+@Getter
+@Setter
+public class CreateReminderRequest {
+
+    @NotNull(message = "Kind is required")
+    private ReminderKind kind;
+
+    @NotBlank(message = "Recipient is required")
+    @Size(max = 255, message = "Recipient must be at most 255 characters")
+    private String recipient;
+
+    /** Optional patient the reminder concerns. */
+    @Size(max = 64, message = "Patient reference must be at most 64 characters")
+    private String patientReference;
+
+    @NotBlank(message = "Message is required")
+    @Size(max = 500, message = "Message must be at most 500 characters")
+    private String message;
+
+    /** When to send the reminder; a time in the past sends it at once. */
+    @NotNull(message = "Due time is required")
+    private LocalDateTime dueAt;
+}
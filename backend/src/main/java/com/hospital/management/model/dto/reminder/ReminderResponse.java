@@ -0,0 +1,26 @@
+package com.hospital.management.model.dto.reminder;
+
+import com.hospital.management.constants.ReminderKind;
+import com.hospital.management.constants.ReminderStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response payload describing a reminder and its delivery state.
+ */
+@Getter
+@Builder
+public class ReminderResponse {
+    private UUID id;
+    private ReminderKind kind;
+    private String recipient;
+    private String patientReference;
+    private String message;
+    private LocalDateTime dueAt;
+    private ReminderStatus status;
+    private int attempts;
+    private LocalDateTime deliveredAt;
+}
@@ -0,0 +1,36 @@
+package com.hospital.management.model.dto.staff;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request payload for moving staff to another department.
+ * <p>
+ * Selects the users either by explicit ID list or by their current
+ * department — exactly one of the two must be given.
+ * </p>
+ */
+@Getter
+@Setter
+public class StaffReassignmentRequest {
+
+    @Size(max = 10_000, message = "At most 10000 user IDs per request")
+    private List<UUID> userIds;
+
+    private UUID sourceDepartmentId;
+
+    @NotNull(message = "Target department is required")
+    private UUID targetDepartmentId;
+
+    @AssertTrue(message = "Specify either userIds or sourceDepartmentId")
+    public boolean isSelectionValid() {
+        boolean byIds = userIds != null && !userIds.isEmpty();
+        return byIds != (sourceDepartmentId != null);
+    }
+}
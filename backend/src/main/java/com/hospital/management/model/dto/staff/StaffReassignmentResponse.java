@@ -0,0 +1,21 @@
+package com.hospital.management.model.dto.staff;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Outcome of a bulk staff reassignment.
+ */
+@Getter
+@Builder
+public class StaffReassignmentResponse {
+
+    /** Users moved to the target department. */
+    private int usersReassigned;
+
+    /** Refresh tokens revoked across the moved users. */
+    private int sessionsRevoked;
+
+    /** Transactions the work was split into. */
+    private int chunks;
+}
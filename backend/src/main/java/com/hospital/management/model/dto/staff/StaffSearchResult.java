@@ -0,0 +1,22 @@
+package com.hospital.management.model.dto.staff;
+
+import com.hospital.management.constants.Role;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * One match of a staff directory search.
+ */
+@Getter
+@Builder
+public class StaffSearchResult {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private Role role;
+    private UUID departmentId;
+}
@@ -0,0 +1,298 @@
+package com.hospital.management.occupancy;
+
+import com.hospital.management.model.dto.occupancy.OccupancyChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes occupancy changes to subscribed clients over Server-Sent Events.
+ * <p>
+ * A single daemon thread wakes every {@code app.occupancy.push-interval-ms},
+ * takes the departments whose count changed from {@link OccupancyTracker},
+ * and adds them to each stream's pending set. A stream is written to at
+ * most once per its minimum event interval; everything that changed in
+ * between goes out as one event carrying the latest counts, so a burst of
+ * admissions costs one small write per client rather than one per movement.
+ * </p>
+ * <p>
+ * The push thread never writes to a socket itself: it hands each event to a
+ * small pool of sender threads. While a stream's previous write is still
+ * in flight, its changes keep accumulating and go out together in the next
+ * event once the write finishes. A stream stuck on one write for longer
+ * than {@code app.occupancy.send-timeout-ms} is closed, so a slow client
+ * costs at most one sender thread for a bounded time and never delays the
+ * others.
+ * </p>
+ * <p>
+ * The first event on a stream is a snapshot of every department in scope.
+ * Idle streams get a comment line every heartbeat interval so connections
+ * the client has dropped are noticed and released.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OccupancyBroadcaster implements SmartLifecycle {
+
+    static final String EVENT_NAME = "occupancy";
+
+    /**
+     * One open stream. Apart from {@code emitter} and the in-flight write
+     * its state is only touched by the push thread.
+     */
+    private static final class Subscription {
+        final SseEmitter emitter;
+        /** Departments the client watches; null for all. */
+        final Set<UUID> scope;
+        final long minIntervalMs;
+        final Set<UUID> pending = new HashSet<>();
+        final Map<UUID, Long> lastSent = new HashMap<>();
+        boolean snapshotSent;
+        long lastWriteAt;
+        /** Set while a sender thread is writing to this stream. */
+        final AtomicBoolean sending = new AtomicBoolean();
+        /** Set on eviction; the write in flight completes the stream when it returns. */
+        volatile boolean evicted;
+
+        Subscription(SseEmitter emitter, Set<UUID> scope, long minIntervalMs) {
+            this.emitter = emitter;
+            this.scope = scope;
+            this.minIntervalMs = minIntervalMs;
+        }
+    }
+
+    private final OccupancyTracker tracker;
+    private final OccupancyProperties properties;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Counter eventCounter;
+    private final Counter evictedCounter;
+
+    private volatile boolean running;
+    private Thread thread;
+    private ExecutorService senders;
+
+    public OccupancyBroadcaster(OccupancyTracker tracker, OccupancyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.properties = properties;
+        this.eventCounter = Counter.builder("occupancy.events.sent")
+                .description("Occupancy events written to subscribed streams")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("occupancy.subscribers.evicted")
+                .description("Occupancy streams closed for a write that did not finish in time")
+                .register(meterRegistry);
+        Gauge.builder("occupancy.subscribers", subscriptions, Set::size)
+                .description("Open occupancy streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of occupancy events.
+     *
+     * @param scope         departments to report, or null for all
+     * @param minIntervalMs requested gap between events; raised to the configured minimum
+     * @return the stream, or empty if this node already serves the maximum number of streams
+     */
+    public Optional<SseEmitter> subscribe(Set<UUID> scope, long minIntervalMs) {
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = createEmitter();
+        Subscription subscription = new Subscription(emitter, scope,
+                Math.max(minIntervalMs, properties.getMinEventIntervalMs()));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Creates the emitter for a new stream.
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getStreamTimeoutMs());
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread sender = new Thread(runnable, "occupancy-send-" + threadNumber.incrementAndGet());
+            sender.setDaemon(true);
+            return sender;
+        });
+        running = true;
+        thread = new Thread(this::run, "occupancy-push");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops pushing and closes every open stream.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+        }
+        subscriptions.clear();
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getPushIntervalMs());
+                push(tracker.drainChanged(), System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                // Interrupted by stop()
+            } catch (RuntimeException e) {
+                log.error("Occupancy push iteration failed", e);
+            }
+        }
+    }
+
+    private void push(Set<UUID> changed, long now) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.snapshotSent) {
+                for (UUID id : changed) {
+                    if (subscription.scope == null || subscription.scope.contains(id)) {
+                        subscription.pending.add(id);
+                    }
+                }
+            }
+            if (subscription.sending.get()) {
+                if (now - subscription.lastWriteAt > properties.getSendTimeoutMs()) {
+                    evict(subscription);
+                }
+                continue;
+            }
+            if (!subscription.snapshotSent) {
+                sendSnapshot(subscription, now);
+                continue;
+            }
+            long sinceLastWrite = now - subscription.lastWriteAt;
+            if (!subscription.pending.isEmpty() && sinceLastWrite >= subscription.minIntervalMs) {
+                sendChanges(subscription, now);
+            } else if (sinceLastWrite >= properties.getHeartbeatIntervalMs()) {
+                write(subscription, SseEmitter.event().comment("heartbeat"), now);
+            }
+        }
+    }
+
+    private void sendSnapshot(Subscription subscription, long now) {
+        Set<UUID> departments = subscription.scope != null
+                ? subscription.scope
+                : tracker.snapshot().keySet();
+        List<OccupancyChange> changes = new ArrayList<>(departments.size());
+        for (UUID id : departments) {
+            long occupied = tracker.occupied(id);
+            subscription.lastSent.put(id, occupied);
+            changes.add(OccupancyChange.builder().departmentId(id).occupied(occupied).change(0).build());
+        }
+        subscription.snapshotSent = true;
+        write(subscription, SseEmitter.event().name(EVENT_NAME).data(changes, MediaType.APPLICATION_JSON), now);
+    }
+
+    private void sendChanges(Subscription subscription, long now) {
+        List<OccupancyChange> changes = new ArrayList<>(subscription.pending.size());
+        for (UUID id : subscription.pending) {
+            long occupied = tracker.occupied(id);
+            Long previous = subscription.lastSent.put(id, occupied);
+            long change = occupied - (previous == null ? 0 : previous);
+            if (change != 0) { // Movements that cancelled out since the last event are dropped
+                changes.add(OccupancyChange.builder().departmentId(id).occupied(occupied).change(change).build());
+            }
+        }
+        subscription.pending.clear();
+        if (!changes.isEmpty()) {
+            write(subscription, SseEmitter.event().name(EVENT_NAME).data(changes, MediaType.APPLICATION_JSON), now);
+        }
+    }
+
+    /**
+     * Hands an event to a sender thread. Only called when no write is in
+     * flight for the stream, so each stream has at most one event queued.
+     */
+    private void write(Subscription subscription, SseEmitter.SseEventBuilder event, long now) {
+        subscription.lastWriteAt = now;
+        subscription.sending.set(true);
+        try {
+            senders.execute(() -> send(subscription, event));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscription.sending.set(false);
+        }
+    }
+
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            eventCounter.increment();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.sending.set(false);
+            if (subscription.evicted) {
+                subscription.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Drops a stream whose write is overdue. Completing its emitter waits
+     * for that write, so it is left to the sender thread once the write
+     * returns; the push thread only completes it if no write is in flight.
+     */
+    private void evict(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            evictedCounter.increment();
+            subscription.evicted = true;
+            if (!subscription.sending.get()) {
+                subscription.emitter.complete();
+            }
+            log.debug("Occupancy stream closed, write took over {}ms", properties.getSendTimeoutMs());
+        }
+    }
+}
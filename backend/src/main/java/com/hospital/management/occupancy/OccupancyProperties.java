@@ -0,0 +1,52 @@
+package com.hospital.management.occupancy;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for live bed occupancy ({@code app.occupancy.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.occupancy")
+@Getter
+@Setter
+public class OccupancyProperties {
+
+    /**
+     * How often the counters are reconciled with open admissions in the
+     * database. Local admissions are counted immediately; reconciliation
+     * picks up those made on other nodes and repairs any drift.
+     */
+    private long reconcileIntervalMs = 60_000;
+
+    /** How often the push thread collects changed departments. */
+    private long pushIntervalMs = 200;
+
+    /**
+     * Minimum gap between two events on one stream. Changes arriving faster
+     * are coalesced into the next event. Clients may ask for a longer gap,
+     * never a shorter one.
+     */
+    private long minEventIntervalMs = 1_000;
+
+    /** A comment line is sent on an idle stream this often, to detect closed connections. */
+    private long heartbeatIntervalMs = 15_000;
+
+    /** Threads writing events to streams, shared by all of them. */
+    private int senderThreads = 4;
+
+    /**
+     * A stream whose write has not finished after this long is closed, so
+     * a client that stopped reading holds a sender thread for at most this
+     * long.
+     */
+    private long sendTimeoutMs = 10_000;
+
+    /** Upper bound on concurrently open streams per node. */
+    private int maxSubscribers = 500;
+
+    /** Streams are closed after this long; clients reconnect and get a fresh snapshot. */
+    private long streamTimeoutMs = 1_800_000;
+}
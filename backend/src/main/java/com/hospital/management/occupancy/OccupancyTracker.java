@@ -0,0 +1,173 @@
+package com.hospital.management.occupancy;
+
+import com.hospital.management.model.dao.AdmissionDao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live count of occupied beds per department, held in memory.
+ * <p>
+ * Admissions, discharges and transfers are counted in {@link LongAdder}s,
+ * which stripe contended updates across cells, so recording one is a
+ * lock-free add and reading occupancy never touches the database. Callers
+ * record a movement once its transaction has committed.
+ * </p>
+ * <p>
+ * The counters only see movements made on this node. A scheduled
+ * reconciliation compares them with the open admissions in the database
+ * and books the difference as a correction, which picks up movements made
+ * on other nodes and repairs any drift. A department that moved while the
+ * query ran is skipped and corrected on the next run.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OccupancyTracker {
+
+    /** Movement counters of one department. */
+    private static final class Ward {
+        final LongAdder admitted = new LongAdder();
+        final LongAdder discharged = new LongAdder();
+        final LongAdder transferredIn = new LongAdder();
+        final LongAdder transferredOut = new LongAdder();
+        /** Net adjustment booked by reconciliation. */
+        final LongAdder corrections = new LongAdder();
+
+        long occupied() {
+            return admitted.sum() - discharged.sum() + transferredIn.sum() - transferredOut.sum()
+                    + corrections.sum();
+        }
+
+        /** Total movements recorded, used to detect a change during reconciliation. */
+        long movements() {
+            return admitted.sum() + discharged.sum() + transferredIn.sum() + transferredOut.sum();
+        }
+    }
+
+    private final Map<UUID, Ward> wards = new ConcurrentHashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final AdmissionDao admissionDao;
+    private final Counter correctionCounter;
+
+    public OccupancyTracker(AdmissionDao admissionDao, MeterRegistry meterRegistry) {
+        this.admissionDao = admissionDao;
+        this.correctionCounter = Counter.builder("occupancy.reconcile.corrections")
+                .description("Departments whose live bed count disagreed with the database")
+                .register(meterRegistry);
+        Gauge.builder("occupancy.beds.occupied", this, OccupancyTracker::totalOccupied)
+                .description("Occupied beds across all departments")
+                .register(meterRegistry);
+    }
+
+    public void admitted(UUID departmentId) {
+        ward(departmentId).admitted.increment();
+        changed.add(departmentId);
+    }
+
+    public void discharged(UUID departmentId) {
+        ward(departmentId).discharged.increment();
+        changed.add(departmentId);
+    }
+
+    public void transferred(UUID fromDepartmentId, UUID toDepartmentId) {
+        ward(fromDepartmentId).transferredOut.increment();
+        ward(toDepartmentId).transferredIn.increment();
+        changed.add(fromDepartmentId);
+        changed.add(toDepartmentId);
+    }
+
+    /**
+     * Returns the number of occupied beds in a department.
+     */
+    public long occupied(UUID departmentId) {
+        Ward ward = wards.get(departmentId);
+        return ward == null ? 0 : ward.occupied();
+    }
+
+    /**
+     * Returns the occupied beds of every department that has had a patient
+     * since startup; other departments are empty.
+     */
+    public Map<UUID, Long> snapshot() {
+        Map<UUID, Long> snapshot = new HashMap<>(wards.size() * 2);
+        wards.forEach((id, ward) -> snapshot.put(id, ward.occupied()));
+        return snapshot;
+    }
+
+    /**
+     * Removes and returns the departments whose count changed since the last
+     * call. Intended for a single consumer, the push thread.
+     */
+    Set<UUID> drainChanged() {
+        Set<UUID> drained = new HashSet<>();
+        for (Iterator<UUID> it = changed.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Brings the counters in line with the open admissions in the database.
+     * Also runs at startup, which loads the initial counts.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Map<UUID, Long> movementsBefore = new HashMap<>(wards.size() * 2);
+        wards.forEach((id, ward) -> movementsBefore.put(id, ward.movements()));
+
+        Map<UUID, Long> persisted;
+        try {
+            persisted = admissionDao.countOpenByDepartment();
+        } catch (RuntimeException e) {
+            log.warn("Occupancy reconciliation failed, keeping live counts", e);
+            return;
+        }
+
+        Set<UUID> departments = new HashSet<>(wards.keySet());
+        departments.addAll(persisted.keySet());
+        int corrected = 0;
+        for (UUID id : departments) {
+            Ward ward = ward(id);
+            long occupied = ward.occupied();
+            if (ward.movements() != movementsBefore.getOrDefault(id, 0L)) {
+                continue; // Moved while the query ran; the query may or may not include it
+            }
+            long difference = persisted.getOrDefault(id, 0L) - occupied;
+            if (difference != 0) {
+                ward.corrections.add(difference);
+                changed.add(id);
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            correctionCounter.increment(corrected);
+            log.info("Occupancy reconciled [departmentsCorrected={}]", corrected);
+        }
+    }
+
+    private Ward ward(UUID departmentId) {
+        return wards.computeIfAbsent(departmentId, id -> new Ward());
+    }
+
+    private double totalOccupied() {
+        long total = 0;
+        for (Ward ward : wards.values()) {
+            total += ward.occupied();
+        }
+        return total;
+    }
+}
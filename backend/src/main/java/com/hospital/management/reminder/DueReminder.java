@@ -0,0 +1,15 @@
+package com.hospital.management.reminder;
+
+import com.hospital.management.constants.ReminderKind;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A reminder handed to a {@link ReminderSink} for delivery.
+ *
+ * @param attempts delivery attempts made before this one
+ */
+public record DueReminder(UUID id, ReminderKind kind, String recipient, String patientReference,
+        String message, LocalDateTime dueAt, int attempts) {
+}
@@ -0,0 +1,147 @@
+package com.hospital.management.reminder;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel: a ring of buckets, one per tick, each holding the
+ * items that expire in that tick.
+ * <p>
+ * Scheduling hashes the deadline's tick onto the ring; advancing visits only
+ * the buckets of the ticks that passed. An item further away than one turn
+ * of the ring stays in its bucket with a round count that each visit
+ * decrements, so as long as items are scheduled less than one turn ahead a
+ * tick touches exactly the items due in it, however many are waiting.
+ * </p>
+ * <p>
+ * {@link #schedule} may be called from any thread; items are handed over
+ * through a queue and placed by the thread calling {@link #advance}, which
+ * must always be the same one.
+ * </p>
+ *
+ * @param <T> the scheduled item
+ */
+public class HashedTimingWheel<T> {
+
+    private static final class Timeout<T> {
+        final T item;
+        final long deadlineMs;
+        long rounds;
+        Timeout<T> next;
+
+        Timeout(T item, long deadlineMs) {
+            this.item = item;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+
+    private final long tickMs;
+    private final int mask;
+    private final Timeout<T>[] heads;
+    private final long startMs;
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+
+    /** The next tick to process. */
+    private long tick;
+    private int size;
+
+    /**
+     * @param tickMs    length of a tick
+     * @param wheelSize buckets on the ring, rounded up to a power of two
+     * @param startMs   time of tick 0
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMs = tickMs;
+        this.mask = buckets - 1;
+        this.heads = new Timeout[buckets];
+        this.startMs = startMs;
+    }
+
+    /**
+     * Schedules an item. A deadline already past fires in the next tick.
+     */
+    public void schedule(T item, long deadlineMs) {
+        added.add(new Timeout<>(item, deadlineMs));
+    }
+
+    /**
+     * Fires every item whose tick has passed by {@code nowMs}.
+     *
+     * @param nowMs   the current time
+     * @param expired receives each due item, in tick order
+     * @return the number of items fired
+     */
+    public int advance(long nowMs, Consumer<T> expired) {
+        long lastTick = Math.floorDiv(nowMs - startMs, tickMs);
+        int fired = 0;
+        while (tick <= lastTick) {
+            placeAdded();
+            fired += expireBucket((int) (tick & mask), expired);
+            tick++;
+        }
+        return fired;
+    }
+
+    /**
+     * Items placed on the ring; items scheduled since the last advance are
+     * not counted yet.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long tickMs() {
+        return tickMs;
+    }
+
+    /**
+     * Length of one turn of the ring. Items scheduled closer than this are
+     * visited once, when they fire.
+     */
+    public long spanMs() {
+        return tickMs * heads.length;
+    }
+
+    private void placeAdded() {
+        Timeout<T> timeout;
+        while ((timeout = added.poll()) != null) {
+            // Rounded up so an item never fires before its deadline
+            long deadlineTick = Math.max(tick, Math.floorDiv(timeout.deadlineMs - startMs + tickMs - 1, tickMs));
+            timeout.rounds = (deadlineTick - tick) / heads.length;
+            int bucket = (int) (deadlineTick & mask);
+            timeout.next = heads[bucket];
+            heads[bucket] = timeout;
+            size++;
+        }
+    }
+
+    private int expireBucket(int bucket, Consumer<T> expired) {
+        int fired = 0;
+        Timeout<T> previous = null;
+        Timeout<T> timeout = heads[bucket];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.rounds <= 0) {
+                if (previous == null) {
+                    heads[bucket] = next;
+                } else {
+                    previous.next = next;
+                }
+                size--;
+                fired++;
+                expired.accept(timeout.item);
+            } else {
+                timeout.rounds--;
+                previous = timeout;
+            }
+            timeout = next;
+        }
+        return fired;
+    }
+}
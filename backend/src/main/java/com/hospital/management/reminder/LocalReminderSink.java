@@ -0,0 +1,31 @@
+package com.hospital.management.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sink that logs each reminder and reports it delivered. The default until
+ * a real channel is configured; select another with {@code app.reminders.sink}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.reminders", name = "sink", havingValue = "local", matchIfMissing = true)
+public class LocalReminderSink implements ReminderSink {
+
+    @Override
+    public Collection<UUID> deliver(List<DueReminder> batch) {
+        List<UUID> delivered = new ArrayList<>(batch.size());
+        for (DueReminder reminder : batch) {
+            log.debug("Reminder due [id={}, kind={}, recipient={}, dueAt={}]",
+                    reminder.id(), reminder.kind(), reminder.recipient(), reminder.dueAt());
+            delivered.add(reminder.id());
+        }
+        return delivered;
+    }
+}
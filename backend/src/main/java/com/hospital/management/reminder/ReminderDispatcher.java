@@ -0,0 +1,301 @@
+package com.hospital.management.reminder;
+
+import com.hospital.management.constants.ReminderKind;
+import com.hospital.management.scheduler.JobCoordinator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fires due reminders from an in-memory {@link HashedTimingWheel}.
+ * <p>
+ * One daemon thread runs the wheel. Whenever the loaded horizon comes within
+ * half a window of now, it claims every undelivered reminder due before the
+ * next horizon with one conditional {@code UPDATE} (status {@code CLAIMED},
+ * {@code claimed_by} this node), reads the claimed rows back and schedules
+ * them. Each tick then fires only what is due: the due reminders go to the
+ * {@link ReminderSink} in batches, and their outcome is written back with
+ * one JDBC batch update per batch. Neither a tick nor a window load scans
+ * the delivered history, so cost follows the reminders due, not the table.
+ * </p>
+ * <p>
+ * Reminders created for a time inside the loaded horizon are claimed and
+ * scheduled on creation. A claim lapses {@code claim-lease-ms} after its
+ * window, so reminders held by a node that died are claimed by the next
+ * window load elsewhere and fire late rather than never; on a clean shutdown
+ * the node releases its claims at once. Delivery is at least once: a node
+ * that dies between the sink call and the status update re-sends that batch.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ReminderDispatcher implements SmartLifecycle {
+
+    private static final String CLAIM_WINDOW_SQL = "UPDATE reminders " +
+            "SET status = 'CLAIMED', claimed_by = ?, claimed_until = ?, updated_at = ? " +
+            "WHERE due_at < ? AND (status = 'PENDING' OR (status = 'CLAIMED' AND claimed_until < ?))";
+
+    private static final String CLAIM_ONE_SQL = "UPDATE reminders " +
+            "SET status = 'CLAIMED', claimed_by = ?, claimed_until = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'PENDING'";
+
+    private static final String SELECT_CLAIMED_SQL = "SELECT id, kind, recipient, patient_reference, message, " +
+            "due_at, attempts FROM reminders WHERE claimed_by = ? AND claimed_until = ? AND status = 'CLAIMED'";
+
+    private static final String DELIVERED_SQL = "UPDATE reminders " +
+            "SET status = 'DELIVERED', delivered_at = ?, attempts = attempts + 1, " +
+            "claimed_by = NULL, claimed_until = NULL, updated_at = ? " +
+            "WHERE id = ? AND claimed_by = ?";
+
+    private static final String RETRY_SQL = "UPDATE reminders " +
+            "SET status = 'PENDING', due_at = ?, attempts = attempts + 1, " +
+            "claimed_by = NULL, claimed_until = NULL, updated_at = ? " +
+            "WHERE id = ? AND claimed_by = ?";
+
+    private static final String FAILED_SQL = "UPDATE reminders " +
+            "SET status = 'FAILED', attempts = attempts + 1, " +
+            "claimed_by = NULL, claimed_until = NULL, updated_at = ? " +
+            "WHERE id = ? AND claimed_by = ?";
+
+    private static final String RELEASE_SQL = "UPDATE reminders " +
+            "SET status = 'PENDING', claimed_by = NULL, claimed_until = NULL, updated_at = ? " +
+            "WHERE claimed_by = ? AND status = 'CLAIMED'";
+
+    private static final RowMapper<DueReminder> ROW_MAPPER = (rs, rowNum) -> new DueReminder(
+            UUID.fromString(rs.getString("id")),
+            ReminderKind.valueOf(rs.getString("kind")),
+            rs.getString("recipient"),
+            rs.getString("patient_reference"),
+            rs.getString("message"),
+            rs.getTimestamp("due_at").toLocalDateTime(),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderSink sink;
+    private final ReminderProperties properties;
+    private final String nodeId;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter claimedCounter;
+
+    private volatile HashedTimingWheel<DueReminder> wheel;
+    /** End of the claimed window; reminders due before it are this node's to claim on creation. */
+    private volatile long loadedUntil;
+    private volatile boolean running;
+    private Thread thread;
+
+    public ReminderDispatcher(JdbcTemplate jdbcTemplate, ReminderSink sink, ReminderProperties properties,
+            JobCoordinator jobCoordinator, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.properties = properties;
+        this.nodeId = jobCoordinator.getNodeId();
+        this.deliveredCounter = deliveryCounter(meterRegistry, "delivered");
+        this.retriedCounter = deliveryCounter(meterRegistry, "retried");
+        this.failedCounter = deliveryCounter(meterRegistry, "failed");
+        this.claimedCounter = Counter.builder("reminders.claimed")
+                .description("Reminders claimed into this node's timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("reminders.scheduled", this, dispatcher -> {
+                    HashedTimingWheel<DueReminder> current = dispatcher.wheel;
+                    return current == null ? 0 : current.size();
+                })
+                .description("Reminders waiting in this node's timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedules a newly created reminder if it falls due inside the window
+     * this node already loaded; later reminders are picked up by a window
+     * load. Call after the creating transaction commits.
+     */
+    public void created(DueReminder reminder) {
+        HashedTimingWheel<DueReminder> current = wheel;
+        long dueAt = Timestamp.valueOf(reminder.dueAt()).getTime();
+        if (current == null || dueAt >= loadedUntil) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try {
+            int claimed = jdbcTemplate.update(CLAIM_ONE_SQL, nodeId, claimUntil(loadedUntil), now,
+                    reminder.id().toString());
+            if (claimed == 1) {
+                claimedCounter.increment();
+                current.schedule(reminder, dueAt);
+            }
+        } catch (DataAccessException e) {
+            // Still PENDING, so the next window load claims it
+            log.warn("Could not claim new reminder [id={}]", reminder.id(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        wheel = new HashedTimingWheel<>(properties.getTickMs(), properties.getWheelSize(), now);
+        if (properties.getLoadWindowMs() >= wheel.spanMs()) {
+            log.warn("Reminder load window ({} ms) exceeds one turn of the wheel ({} ms); "
+                    + "ticks will revisit reminders not yet due", properties.getLoadWindowMs(), wheel.spanMs());
+        }
+        loadedUntil = now;
+        running = true;
+        thread = new Thread(this::run, "reminder-wheel");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the wheel and hands this node's undelivered claims back, so
+     * another node fires them without waiting for the lease to lapse.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(Duration.ofSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            int released = jdbcTemplate.update(RELEASE_SQL, new Timestamp(System.currentTimeMillis()), nodeId);
+            log.info("Reminder wheel stopped, {} claimed reminders released", released);
+        } catch (DataAccessException e) {
+            log.warn("Could not release claimed reminders; they are taken over when the lease lapses", e);
+        }
+        wheel = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long tickMs = properties.getTickMs();
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now + properties.getLoadWindowMs() / 2 >= loadedUntil) {
+                    loadWindow(now);
+                }
+                fireDue(now);
+                Thread.sleep(tickMs - System.currentTimeMillis() % tickMs);
+            } catch (InterruptedException e) {
+                // Interrupted by stop()
+            } catch (RuntimeException e) {
+                log.error("Reminder wheel iteration failed", e);
+                sleepQuietly(tickMs);
+            }
+        }
+    }
+
+    /**
+     * Claims every undelivered reminder due before the next horizon and
+     * schedules it.
+     */
+    private void loadWindow(long now) {
+        long windowEnd = Math.max(loadedUntil, now) + properties.getLoadWindowMs();
+        Timestamp claimUntil = claimUntil(windowEnd);
+        Timestamp nowAt = new Timestamp(now);
+        int claimed = jdbcTemplate.update(CLAIM_WINDOW_SQL, nodeId, claimUntil, nowAt, new Timestamp(windowEnd), nowAt);
+        if (claimed > 0) {
+            List<DueReminder> reminders = jdbcTemplate.query(SELECT_CLAIMED_SQL, ROW_MAPPER, nodeId, claimUntil);
+            for (DueReminder reminder : reminders) {
+                wheel.schedule(reminder, Timestamp.valueOf(reminder.dueAt()).getTime());
+            }
+            claimedCounter.increment(reminders.size());
+            log.debug("Claimed {} reminders due before {}", reminders.size(), claimUntil);
+        }
+        loadedUntil = windowEnd;
+    }
+
+    private void fireDue(long now) {
+        List<DueReminder> due = new ArrayList<>();
+        wheel.advance(now, due::add);
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            deliver(due.subList(from, Math.min(from + batchSize, due.size())), now);
+        }
+    }
+
+    private void deliver(List<DueReminder> batch, long now) {
+        Set<UUID> delivered;
+        try {
+            Collection<UUID> result = sink.deliver(batch);
+            delivered = result == null ? Set.of() : new HashSet<>(result);
+        } catch (RuntimeException e) {
+            log.warn("Reminder sink failed a batch of {}", batch.size(), e);
+            delivered = Set.of();
+        }
+
+        List<Object[]> deliveredRows = new ArrayList<>(delivered.size());
+        List<Object[]> retryRows = new ArrayList<>();
+        List<Object[]> failedRows = new ArrayList<>();
+        Timestamp nowAt = new Timestamp(now);
+        Timestamp retryAt = new Timestamp(now + properties.getRetryDelayMs());
+        for (DueReminder reminder : batch) {
+            if (delivered.contains(reminder.id())) {
+                deliveredRows.add(new Object[] {nowAt, nowAt, reminder.id().toString(), nodeId});
+            } else if (reminder.attempts() + 1 < properties.getMaxAttempts()) {
+                retryRows.add(new Object[] {retryAt, nowAt, reminder.id().toString(), nodeId});
+            } else {
+                failedRows.add(new Object[] {nowAt, reminder.id().toString(), nodeId});
+            }
+        }
+        if (!deliveredRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELIVERED_SQL, deliveredRows);
+            deliveredCounter.increment(deliveredRows.size());
+        }
+        if (!retryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETRY_SQL, retryRows);
+            retriedCounter.increment(retryRows.size());
+        }
+        if (!failedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(FAILED_SQL, failedRows);
+            failedCounter.increment(failedRows.size());
+            log.warn("{} reminders failed after {} attempts", failedRows.size(), properties.getMaxAttempts());
+        }
+    }
+
+    private Timestamp claimUntil(long windowEnd) {
+        return new Timestamp(windowEnd + properties.getClaimLeaseMs());
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            // Interrupted by stop(); the loop re-checks running
+        }
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reminders.delivery")
+                .description("Reminder delivery attempts, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.hospital.management.reminder;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for reminder delivery ({@code app.reminders.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reminders")
+@Getter
+@Setter
+public class ReminderProperties {
+
+    /** Runs the reminder wheel on this node. */
+    private boolean enabled = true;
+
+    /** Delivery sink: {@code local} logs reminders; other values expect a {@link ReminderSink} bean. */
+    private String sink = "local";
+
+    /** Timing wheel resolution; reminders fire up to one tick late. */
+    private long tickMs = 1000;
+
+    /** Buckets on the wheel. One turn (ticks × buckets) must exceed the load window. */
+    private int wheelSize = 512;
+
+    /** How far ahead reminders are claimed from the database at a time. */
+    private long loadWindowMs = 60_000;
+
+    /**
+     * How long past the end of its window a node's claim holds. After that,
+     * another node may take over reminders the node did not deliver.
+     */
+    private long claimLeaseMs = 120_000;
+
+    /** Reminders per sink call and per batched status update. */
+    private int batchSize = 500;
+
+    /** Attempts before a reminder is marked failed. */
+    private int maxAttempts = 5;
+
+    /** Delay before a failed delivery is retried. */
+    private long retryDelayMs = 60_000;
+}
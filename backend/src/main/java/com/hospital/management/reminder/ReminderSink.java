@@ -0,0 +1,25 @@
+package com.hospital.management.reminder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivery channel for due reminders (push, SMS, pager).
+ * <p>
+ * Called from the reminder wheel thread with one batch at a time, so an
+ * implementation should hand the batch to its channel and return rather
+ * than wait on each message.
+ * </p>
+ */
+public interface ReminderSink {
+
+    /**
+     * Delivers a batch of reminders.
+     *
+     * @param batch reminders due now, oldest first
+     * @return ids of the reminders delivered; the rest are retried later.
+     *         Throwing fails the whole batch.
+     */
+    Collection<UUID> deliver(List<DueReminder> batch);
+}
@@ -0,0 +1,40 @@
+package com.hospital.management.scheduler;
+
+import com.hospital.management.idempotency.IdempotencyStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Scheduled job that purges expired rows from {@code idempotency_keys}.
+ * <p>
+ * Runs hourly on one node, via {@link JobCoordinator}. Each node drops
+ * expired keys from its own memory separately.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    static final String JOB_NAME = "idempotency-key-cleanup";
+    static final String CRON = "0 30 * * * *";
+    private static final Duration LEASE = Duration.ofMinutes(15);
+
+    private final IdempotencyStore idempotencyStore;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * Deletes idempotency keys past their expiry. Runs at half past every hour.
+     */
+    @Scheduled(cron = CRON)
+    public void purgeExpiredKeys() {
+        jobCoordinator.runIfLeader(JOB_NAME, CRON, LEASE, () -> {
+            int deleted = idempotencyStore.deleteExpired();
+            log.info("Idempotency key cleanup complete [deleted={}]", deleted);
+        });
+    }
+}
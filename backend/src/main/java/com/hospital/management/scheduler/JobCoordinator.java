@@ -0,0 +1,199 @@
+package com.hospital.management.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs a {@code @Scheduled} job on exactly one node of the cluster per
+ * schedule slot, using a lease row in {@code scheduled_job_locks}.
+ * <p>
+ * Every node's scheduler still fires; the job body calls
+ * {@link #runIfLeader(String, String, Duration, Runnable)} and only the node
+ * whose claim succeeds runs it. The claim is one conditional {@code UPDATE}
+ * that advances the job's last slot while its lease is free, so the database
+ * row lock decides the winner and the losers return at once. Slots are
+ * computed from the cron expression, so nodes whose clocks drift a little
+ * still agree on which run they are competing for.
+ * </p>
+ * <p>
+ * The lease bounds how long a run may hold the job: if a node dies mid-run,
+ * the lock frees itself when the lease expires and the next slot runs
+ * elsewhere. Its unfinished history row is marked {@code ABANDONED} by the
+ * next winner. A run that outlives its lease is not interrupted, so leases
+ * should be generous.
+ * </p>
+ * <p>
+ * Jobs that should run on every node (local caches, pool tuning) just don't
+ * call this.
+ * </p>
+ */
+@Slf4j
+@Component
+public class JobCoordinator {
+
+    private static final String INSERT_LOCK_SQL = "INSERT INTO scheduled_job_locks " +
+            "(job_name, locked_until) VALUES (?, ?)";
+
+    private static final String CLAIM_SQL = "UPDATE scheduled_job_locks " +
+            "SET locked_by = ?, locked_at = ?, locked_until = ?, last_slot = ? " +
+            "WHERE job_name = ? AND locked_until <= ? AND (last_slot IS NULL OR last_slot < ?)";
+
+    private static final String RELEASE_SQL = "UPDATE scheduled_job_locks " +
+            "SET locked_until = ? WHERE job_name = ? AND locked_by = ?";
+
+    private static final String ABANDON_SQL = "UPDATE scheduled_job_runs " +
+            "SET status = 'ABANDONED' WHERE job_name = ? AND status = 'RUNNING'";
+
+    private static final String START_RUN_SQL = "INSERT INTO scheduled_job_runs " +
+            "(job_name, slot_at, node, status, started_at) VALUES (?, ?, ?, 'RUNNING', ?)";
+
+    private static final String FINISH_RUN_SQL = "UPDATE scheduled_job_runs " +
+            "SET status = ?, finished_at = ?, error = ? WHERE job_name = ? AND slot_at = ?";
+
+    private static final String PRUNE_RUNS_SQL = "DELETE FROM scheduled_job_runs " +
+            "WHERE job_name = ? AND started_at < ?";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobProperties properties;
+    private final String nodeId;
+
+    /** Jobs whose lock row is known to exist, so the insert is attempted once per JVM. */
+    private final Set<String> knownJobs = ConcurrentHashMap.newKeySet();
+
+    public JobCoordinator(JdbcTemplate jdbcTemplate, JobProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * Name this node records in lock tables.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs a cron-scheduled job if this node wins the current slot.
+     * <p>
+     * The slot is the latest fire time of {@code cron} (system time zone) at
+     * or before now, looking back at most {@code lease}; call this from the
+     * method annotated with the same cron.
+     * </p>
+     *
+     * @param jobName unique job name
+     * @param cron    the job's cron expression
+     * @param lease   upper bound on the job's run time
+     * @param task    the job body
+     * @return true if this node ran the job
+     */
+    public boolean runIfLeader(String jobName, String cron, Duration lease, Runnable task) {
+        return run(jobName, cronSlot(CronExpression.parse(cron), lease), lease, task);
+    }
+
+    /**
+     * Runs a fixed-interval job at most once per interval across the cluster.
+     * Slots are epoch-aligned multiples of {@code interval}.
+     *
+     * @param jobName  unique job name
+     * @param interval the job's period
+     * @param lease    upper bound on the job's run time
+     * @param task     the job body
+     * @return true if this node ran the job
+     */
+    public boolean runIfLeader(String jobName, Duration interval, Duration lease, Runnable task) {
+        long now = System.currentTimeMillis();
+        Instant slot = Instant.ofEpochMilli(now - now % interval.toMillis());
+        return run(jobName, slot, lease, task);
+    }
+
+    private boolean run(String jobName, Instant slot, Duration lease, Runnable task) {
+        Instant now = Instant.now();
+        if (!claim(jobName, slot, now, lease)) {
+            log.debug("Job {} slot {} is taken by another node", jobName, slot);
+            return false;
+        }
+
+        jdbcTemplate.update(ABANDON_SQL, jobName);
+        jdbcTemplate.update(START_RUN_SQL, jobName, Timestamp.from(slot), nodeId, Timestamp.from(now));
+        log.info("Job {} started [slot={}, node={}]", jobName, slot, nodeId);
+
+        String status = "SUCCEEDED";
+        String error = null;
+        try {
+            task.run();
+        } catch (RuntimeException | Error e) {
+            status = "FAILED";
+            error = truncate(e.toString());
+            log.error("Job {} failed [slot={}]", jobName, slot, e);
+            if (e instanceof Error fatal) {
+                throw fatal;
+            }
+        } finally {
+            Instant finished = Instant.now();
+            jdbcTemplate.update(FINISH_RUN_SQL, status, Timestamp.from(finished), error, jobName, Timestamp.from(slot));
+            jdbcTemplate.update(RELEASE_SQL, Timestamp.from(finished), jobName, nodeId);
+            jdbcTemplate.update(PRUNE_RUNS_SQL, jobName,
+                    Timestamp.from(finished.minus(properties.getHistoryRetentionDays(), ChronoUnit.DAYS)));
+            log.info("Job {} {} in {}ms", jobName, status.toLowerCase(), Duration.between(now, finished).toMillis());
+        }
+        return true;
+    }
+
+    private boolean claim(String jobName, Instant slot, Instant now, Duration lease) {
+        if (knownJobs.add(jobName)) {
+            try {
+                jdbcTemplate.update(INSERT_LOCK_SQL, jobName, Timestamp.from(now.minusSeconds(1)));
+            } catch (DuplicateKeyException e) {
+                // Created by another node or an earlier run
+            } catch (RuntimeException e) {
+                // The row may not exist; try the insert again next time
+                knownJobs.remove(jobName);
+                throw e;
+            }
+        }
+        Timestamp slotAt = Timestamp.from(slot);
+        Timestamp nowAt = Timestamp.from(now);
+        int claimed = jdbcTemplate.update(CLAIM_SQL, nodeId, nowAt, Timestamp.from(now.plus(lease)), slotAt,
+                jobName, nowAt, slotAt);
+        return claimed == 1;
+    }
+
+    /**
+     * Latest fire time of {@code cron} at or before now. A run triggered
+     * slightly late still maps to the slot it was scheduled for; outside any
+     * recent fire time (a manual call), the current second is the slot.
+     */
+    static Instant cronSlot(CronExpression cron, Duration lookBack) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+        ZonedDateTime latest = null;
+        ZonedDateTime next = cron.next(now.minus(lookBack));
+        while (next != null && !next.isAfter(now)) {
+            latest = next;
+            next = cron.next(next);
+        }
+        return (latest != null ? latest : now.truncatedTo(ChronoUnit.SECONDS)).toInstant();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hospital.management.scheduler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for cluster-wide job coordination ({@code app.jobs.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.jobs")
+@Getter
+@Setter
+public class JobProperties {
+
+    /**
+     * Name this node records in the lock table and run history. Defaults to
+     * {@code pid@hostname}.
+     */
+    private String nodeId;
+
+    /** How long run history is kept, per job. */
+    private int historyRetentionDays = 90;
+}
@@ -7,13 +7,15 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Scheduled job that purges expired and revoked refresh tokens.
  * <p>
  * Without this, the refresh_tokens table will grow indefinitely.
  * Runs nightly by default — adjust the cron for your traffic volume.
- * In a clustered deployment, use ShedLock or a similar distributed
- * locking library to prevent concurrent execution across nodes.
+ * Every node fires the schedule, but {@link JobCoordinator} lets only one
+ * of them run the delete for each night.
  * </p>
  */
 @Slf4j
@@ -22,16 +24,23 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class TokenCleanupJob {
 
+    static final String JOB_NAME = "refresh-token-cleanup";
+    static final String CRON = "0 0 2 * * *";
+    private static final Duration LEASE = Duration.ofMinutes(30);
+
     private final RefreshTokenDao refreshTokenDao;
+    private final JobCoordinator jobCoordinator;
 
     /**
      * Deletes all refresh tokens that are both revoked and past their expiry.
-     * Runs daily at 02:00 server time.
+     * Runs daily at 02:00 server time, on one node.
      */
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = CRON)
     public void purgeExpiredTokens() {
-        log.info("Starting refresh token cleanup job");
-        refreshTokenDao.deleteExpiredAndRevoked();
-        log.info("Refresh token cleanup complete");
+        jobCoordinator.runIfLeader(JOB_NAME, CRON, LEASE, () -> {
+            log.info("Starting refresh token cleanup job");
+            refreshTokenDao.deleteExpiredAndRevoked();
+            log.info("Refresh token cleanup complete");
+        });
     }
-}
\ No newline at end of file
+}
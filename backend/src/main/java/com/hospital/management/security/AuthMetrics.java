@@ -0,0 +1,155 @@
+package com.hospital.management.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the authentication pipeline.
+ * <p>
+ * Every meter is registered up front, one per tag value, and looked up by
+ * enum ordinal, so recording is an array read and an atomic add: no tag
+ * objects, meter lookups or {@code Timer.Sample}s are created per request.
+ * Callers time with {@link System#nanoTime()} and pass the elapsed nanos.
+ * </p>
+ * <p>
+ * Counters are cumulative; per-minute rates of issued and revoked tokens
+ * are derived by the monitoring system. Timer percentiles are configured
+ * under {@code management.metrics.distribution.*}.
+ * </p>
+ */
+@Component
+public class AuthMetrics {
+
+    /** Why an access token was refused. */
+    public enum JwtRejection {
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        /** Signature verified but a required claim is missing or invalid. */
+        INVALID_CLAIMS
+    }
+
+    /** Result of a login attempt. */
+    public enum LoginOutcome {
+        SUCCESS,
+        BAD_PASSWORD,
+        UNKNOWN_ACCOUNT,
+        LOCKED
+    }
+
+    /** Kind of token issued. */
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+
+    /** Why refresh tokens were revoked. */
+    public enum RevocationReason {
+        /** Consumed by a refresh. */
+        ROTATED,
+        /** Oldest sessions evicted by the per-user session cap. */
+        SESSION_CAP,
+        /** A single session revoked by its owner or an admin. */
+        SESSION_REVOKED,
+        /** Every session of a user, on logout or forced sign-out. */
+        SIGNED_OUT
+    }
+
+    /** How a refresh was answered without rotating the token again. */
+    public enum RefreshSharing {
+        /** Waited for a concurrent rotation of the same token. */
+        COALESCED,
+        /** The token was rotated moments ago; its successor was returned again. */
+        GRACE
+    }
+
+    private final Timer jwtVerification;
+    private final Counter[] jwtRejections;
+    private final Counter[] logins;
+    private final Timer passwordVerification;
+    private final Timer refreshSucceeded;
+    private final Timer refreshFailed;
+    private final Counter[] tokensIssued;
+    private final Counter[] tokensRevoked;
+    private final Counter[] refreshesShared;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.jwtVerification = Timer.builder("auth.jwt.verification")
+                .description("Access token parse and signature verification")
+                .register(meterRegistry);
+        this.jwtRejections = counters(meterRegistry, "auth.jwt.rejected", "cause",
+                "Access tokens rejected", JwtRejection.values());
+        this.logins = counters(meterRegistry, "auth.login", "outcome",
+                "Login attempts", LoginOutcome.values());
+        this.passwordVerification = Timer.builder("auth.password.verification")
+                .description("BCrypt password hash comparison")
+                .register(meterRegistry);
+        this.refreshSucceeded = refreshTimer(meterRegistry, "success");
+        this.refreshFailed = refreshTimer(meterRegistry, "failure");
+        this.tokensIssued = counters(meterRegistry, "auth.tokens.issued", "type",
+                "Tokens issued", TokenType.values());
+        this.tokensRevoked = counters(meterRegistry, "auth.tokens.revoked", "reason",
+                "Refresh tokens revoked", RevocationReason.values());
+        this.refreshesShared = counters(meterRegistry, "auth.refresh.shared", "source",
+                "Refreshes answered with another request's rotation", RefreshSharing.values());
+    }
+
+    public void recordJwtVerification(long nanos) {
+        jwtVerification.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void jwtRejected(JwtRejection cause) {
+        jwtRejections[cause.ordinal()].increment();
+    }
+
+    public void login(LoginOutcome outcome) {
+        logins[outcome.ordinal()].increment();
+    }
+
+    public void recordPasswordVerification(long nanos) {
+        passwordVerification.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRefresh(long nanos, boolean success) {
+        (success ? refreshSucceeded : refreshFailed).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void tokenIssued(TokenType type) {
+        tokensIssued[type.ordinal()].increment();
+    }
+
+    public void tokensRevoked(RevocationReason reason, int count) {
+        if (count > 0) {
+            tokensRevoked[reason.ordinal()].increment(count);
+        }
+    }
+
+    public void refreshShared(RefreshSharing source) {
+        refreshesShared[source.ordinal()].increment();
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.refresh")
+                .description("Refresh token validation and rotation")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter[] counters(MeterRegistry meterRegistry, String name, String tagKey,
+            String description, Enum<?>[] values) {
+        Counter[] counters = new Counter[values.length];
+        for (Enum<?> value : values) {
+            counters[value.ordinal()] = Counter.builder(name)
+                    .description(description)
+                    .tag(tagKey, value.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hospital.management.security;
+
+import com.hospital.management.constants.Role;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * The caller of an authenticated request, as read from their access token.
+ * <p>
+ * Set as the principal by {@link JwtAuthenticationFilter}; inject it with
+ * {@code @AuthenticationPrincipal AuthenticatedUser}. Role, department and
+ * permission checks are answered from the token alone, without a database
+ * lookup. The values are as of token issue, so a change to the user takes
+ * effect on their next refresh.
+ * </p>
+ * <p>
+ * {@link #getName()} is the user ID, which is what the audit trail and
+ * read-your-writes routing key on.
+ * </p>
+ */
+@Getter
+public final class AuthenticatedUser implements Principal {
+
+    private final UUID userId;
+    private final Role role;
+    /** The user's department, or null if they have none. */
+    private final UUID departmentId;
+    private final long permissions;
+
+    public AuthenticatedUser(UUID userId, Role role, UUID departmentId, long permissions) {
+        this.userId = userId;
+        this.role = role;
+        this.departmentId = departmentId;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Returns whether the user holds a permission.
+     */
+    public boolean has(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    /**
+     * Returns whether the user may act on records of a department: their own
+     * department, or any department with {@link Permission#ALL_DEPARTMENTS}.
+     */
+    public boolean canAccessDepartment(UUID departmentId) {
+        return has(Permission.ALL_DEPARTMENTS)
+                || (departmentId != null && departmentId.equals(this.departmentId));
+    }
+
+    @Override
+    public String getName() {
+        return userId.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
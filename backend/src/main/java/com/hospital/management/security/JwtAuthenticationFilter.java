@@ -1,7 +1,12 @@
 package com.hospital.management.security;
 
 import com.hospital.management.constants.Role;
+import com.hospital.management.timing.RequestTiming;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +14,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -16,8 +22,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 /**
  * Servlet filter that validates JWT access tokens on every incoming request.
@@ -34,13 +41,31 @@ import java.util.UUID;
  * Refresh token validation is a separate, explicit operation handled by
  * {@link RefreshTokenService}.
  * </p>
+ * <p>
+ * The principal is an {@link AuthenticatedUser} built from the token's
+ * claims, so handlers can check department and permissions in memory.
+ * </p>
+ * <p>
+ * Verification latency and rejections by cause are recorded in
+ * {@link AuthMetrics} and as the {@code jwt} {@link RequestTiming} phase.
+ * The token is parsed once per request.
+ * </p>
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
     private final JwtService jwtService;
+    private final AuthMetrics authMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -48,8 +73,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Skip filter for auth endpoints
-        if (request.getRequestURI().startsWith("/api/v1/auth/")) {
+        // Skip filter for auth endpoints — except logout, which needs the caller's identity
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/auth/") && !uri.equals("/api/v1/auth/logout")) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -57,19 +83,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = extractBearerToken(request);
 
         if (token != null) {
+            long start = System.nanoTime();
             try {
-                UUID userId = jwtService.extractUserId(token);
-                Role role = jwtService.extractRole(token);
+                Claims claims = jwtService.validateAndExtractClaims(token);
+                AuthenticatedUser principal = jwtService.extractPrincipal(claims);
+                Role role = principal.getRole();
+                authMetrics.recordJwtVerification(System.nanoTime() - start);
+                RequestTiming.record(RequestTiming.JWT, start);
+                if (role == Role.ADMIN) {
+                    RequestTiming.markAdminCaller();
+                }
 
                 // Build the authentication object with role as a granted authority
-                var authentication = new UsernamePasswordAuthenticationToken(
-                        userId,
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, AUTHORITIES.get(role));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            } catch (JwtException e) {
+            } catch (JwtException | IllegalArgumentException e) {
+                authMetrics.recordJwtVerification(System.nanoTime() - start);
+                authMetrics.jwtRejected(rejectionCause(e));
+                RequestTiming.record(RequestTiming.JWT, start);
                 log.debug("JWT rejected for request [{}]: {}", request.getRequestURI(), e.getMessage());
                 // Do not set authentication — request will be rejected by Spring Security
             }
@@ -78,6 +111,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static AuthMetrics.JwtRejection rejectionCause(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return AuthMetrics.JwtRejection.EXPIRED;
+        }
+        if (e instanceof SignatureException) {
+            return AuthMetrics.JwtRejection.BAD_SIGNATURE;
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return AuthMetrics.JwtRejection.UNSUPPORTED;
+        }
+        if (e instanceof JwtException) {
+            // MalformedJwtException, and the decoding/format errors that share its meaning
+            return AuthMetrics.JwtRejection.MALFORMED;
+        }
+        return AuthMetrics.JwtRejection.INVALID_CLAIMS;
+    }
+
     /**
      * Extracts the raw JWT from the Authorization: Bearer <token> header.
      *
@@ -86,7 +136,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private String extractBearerToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
-        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ") && header.length() > 7) {
             return header.substring(7);
         }
         return null;
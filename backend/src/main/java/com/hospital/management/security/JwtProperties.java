@@ -32,4 +32,17 @@ public class JwtProperties {
 
     /** JWT issuer claim value. */
     private String issuer;
+
+    /**
+     * Maximum concurrent sessions (active refresh tokens) per user. Issuing a
+     * token beyond this revokes the oldest sessions.
+     */
+    private int maxSessionsPerUser = 5;
+
+    /**
+     * How long a just-rotated refresh token keeps returning the successor it
+     * was exchanged for, so tabs refreshing together all succeed. 0 disables
+     * the window; concurrent refreshes are still coalesced.
+     */
+    private long refreshGracePeriodMs = 10_000;
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.hospital.management.security;
 import com.hospital.management.constants.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -16,8 +15,26 @@ import java.util.UUID;
  * Service responsible for generating and validating JWT access tokens.
  * <p>
  * Access tokens are short-lived and signed with HMAC-SHA512.
- * They embed the user's ID, role, and email as claims, so downstream
- * services can authorise requests without a database call.
+ * They embed the user's ID, role, department and permissions as claims, so
+ * this and downstream services can authorise requests without a database
+ * call.
+ * </p>
+ * <p>
+ * Claims layout, version {@value #CLAIMS_VERSION} — names are kept short
+ * because the token travels in the Authorization header of every request:
+ * </p>
+ * <ul>
+ *   <li>{@code v}: layout version</li>
+ *   <li>{@code sub}: user ID</li>
+ *   <li>{@code rol}: role name</li>
+ *   <li>{@code dep}: department ID, absent if the user has none</li>
+ *   <li>{@code prm}: {@link Permission} bitmask</li>
+ * </ul>
+ * <p>
+ * Tokens without {@code v} use the original layout ({@code userId},
+ * {@code role}, email as subject) and are still accepted until they
+ * expire; their permissions are derived from the role and the department
+ * is unknown.
  * </p>
  * <p>
  * This class is intentionally stateless — it does not touch the database.
@@ -29,35 +46,67 @@ import java.util.UUID;
  * compatible with OIDC-style tokens, making SSO/Entra integration
  * straightforward.
  * </p>
+ * <p>
+ * The signing key and the parser are built once, at startup: deriving the
+ * HMAC key and building a parser per call showed up on every authenticated
+ * request.
+ * </p>
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    /** Version written to the {@code v} claim. Bump it when the layout changes. */
+    public static final int CLAIMS_VERSION = 1;
+
+    private static final String VERSION = "v";
+    private static final String ROLE = "rol";
+    private static final String DEPARTMENT = "dep";
+    private static final String PERMISSIONS = "prm";
+
+    private static final String LEGACY_USER_ID = "userId";
+    private static final String LEGACY_ROLE = "role";
+
     private final JwtProperties jwtProperties;
+    private final AuthMetrics authMetrics;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtService(JwtProperties jwtProperties, AuthMetrics authMetrics) {
+        this.jwtProperties = jwtProperties;
+        this.authMetrics = authMetrics;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     /**
      * Generates a signed JWT access token for the given user.
      *
-     * @param userId the user's UUID
-     * @param email  the user's email (used as subject)
-     * @param role   the user's role
+     * @param userId       the user's UUID (used as subject)
+     * @param role         the user's role
+     * @param departmentId the user's department, or null
      * @return a compact, signed JWT string
      */
-    public String generateAccessToken(UUID userId, String email, Role role) {
+    public String generateAccessToken(UUID userId, Role role, UUID departmentId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.getAccessTokenExpiryMs());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .issuer(jwtProperties.getIssuer())
-                .subject(email)
-                .claim("userId", userId.toString())
-                .claim("role", role.name())
+                .subject(userId.toString())
+                .claim(VERSION, CLAIMS_VERSION)
+                .claim(ROLE, role.name())
+                .claim(PERMISSIONS, Permission.maskFor(role));
+        if (departmentId != null) {
+            builder.claim(DEPARTMENT, departmentId.toString());
+        }
+        String token = builder
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(signingKey(), Jwts.SIG.HS512)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
+        authMetrics.tokenIssued(AuthMetrics.TokenType.ACCESS);
+        return token;
     }
 
     /**
@@ -68,11 +117,31 @@ public class JwtService {
      * @throws JwtException if the token is invalid, expired, or tampered with
      */
     public Claims validateAndExtractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Builds the request principal from already validated claims.
+     *
+     * @param claims claims returned by {@link #validateAndExtractClaims(String)}
+     * @return the authenticated user
+     * @throws IllegalArgumentException if a required claim is missing or invalid,
+     *                                  or the layout version is unknown
+     */
+    public AuthenticatedUser extractPrincipal(Claims claims) {
+        UUID userId = extractUserId(claims);
+        Role role = extractRole(claims);
+        if (claims.get(VERSION) == null) {
+            return new AuthenticatedUser(userId, role, null, Permission.maskFor(role));
+        }
+
+        String departmentId = claims.get(DEPARTMENT, String.class);
+        Long permissions = claims.get(PERMISSIONS, Long.class);
+        if (permissions == null) {
+            throw new IllegalArgumentException("Missing " + PERMISSIONS + " claim");
+        }
+        return new AuthenticatedUser(userId, role,
+                departmentId == null ? null : UUID.fromString(departmentId), permissions);
     }
 
     /**
@@ -82,8 +151,22 @@ public class JwtService {
      * @return the user's UUID
      */
     public UUID extractUserId(String token) {
-        Claims claims = validateAndExtractClaims(token);
-        return UUID.fromString(claims.get("userId", String.class));
+        return extractUserId(validateAndExtractClaims(token));
+    }
+
+    /**
+     * Reads the user ID from already validated claims.
+     *
+     * @param claims claims returned by {@link #validateAndExtractClaims(String)}
+     * @return the user's UUID
+     * @throws IllegalArgumentException if the claim is missing or not a UUID
+     */
+    public UUID extractUserId(Claims claims) {
+        String userId = isLegacy(claims) ? claims.get(LEGACY_USER_ID, String.class) : claims.getSubject();
+        if (userId == null) {
+            throw new IllegalArgumentException("Missing user ID claim");
+        }
+        return UUID.fromString(userId);
     }
 
     /**
@@ -93,8 +176,38 @@ public class JwtService {
      * @return the user's {@link Role}
      */
     public Role extractRole(String token) {
-        Claims claims = validateAndExtractClaims(token);
-        return Role.valueOf(claims.get("role", String.class));
+        return extractRole(validateAndExtractClaims(token));
+    }
+
+    /**
+     * Reads the role from already validated claims.
+     *
+     * @param claims claims returned by {@link #validateAndExtractClaims(String)}
+     * @return the user's {@link Role}
+     * @throws IllegalArgumentException if the claim is missing or unknown
+     */
+    public Role extractRole(Claims claims) {
+        String role = claims.get(isLegacy(claims) ? LEGACY_ROLE : ROLE, String.class);
+        if (role == null) {
+            throw new IllegalArgumentException("Missing role claim");
+        }
+        return Role.valueOf(role);
+    }
+
+    /**
+     * Returns whether the claims use the original, unversioned layout.
+     *
+     * @throws IllegalArgumentException if the layout version is not supported
+     */
+    private static boolean isLegacy(Claims claims) {
+        Integer version = claims.get(VERSION, Integer.class);
+        if (version == null) {
+            return true;
+        }
+        if (version != CLAIMS_VERSION) {
+            throw new IllegalArgumentException("Unsupported claims version " + version);
+        }
+        return false;
     }
 
     /**
@@ -112,9 +225,4 @@ public class JwtService {
             return false;
         }
     }
-
-    private SecretKey signingKey() {
-        return Keys.hmacShaKeyFor(
-                jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.hospital.management.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for account lockout configuration ({@code app.security.lockout.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.security.lockout")
+@Getter
+@Setter
+public class LockoutProperties {
+
+    /** Failed logins within the window that trigger a lockout. */
+    private int maxFailures = 5;
+
+    /** Sliding window for counting failures, in milliseconds (default 15 min). */
+    private long windowMs = 900_000;
+
+    /** Duration of the first lockout in milliseconds; doubles on each repeat (default 1 min). */
+    private long baseLockoutMs = 60_000;
+
+    /** Upper bound on a single lockout in milliseconds (default 1 hour). */
+    private long maxLockoutMs = 3_600_000;
+
+    /** How often dirty counters are flushed to the users table, in milliseconds. */
+    private long flushIntervalMs = 30_000;
+
+    /** Cap on tracked emails that match no account, so a spray of them cannot exhaust heap. */
+    private int maxTrackedAccounts = 100_000;
+}
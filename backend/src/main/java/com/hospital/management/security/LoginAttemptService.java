@@ -0,0 +1,309 @@
+package com.hospital.management.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks failed login attempts per account and enforces temporary lockouts.
+ * <p>
+ * Failures are counted in memory over a sliding window. Reaching
+ * {@code app.security.lockout.max-failures} locks the account for a period
+ * that doubles with each consecutive lockout, capped at
+ * {@code max-lockout-ms}. Only accounts with recent failures are tracked, so
+ * the lockout check on a successful login is a single map lookup and adds no SQL.
+ * </p>
+ * <p>
+ * Emails that match no active account are locked the same way, so a lockout
+ * reveals nothing about which accounts exist, but they are tracked apart in
+ * a map capped at {@code max-tracked-accounts} that drops its least recently
+ * failed entry when full. A spray of made-up emails therefore bounds the heap
+ * without ever pushing a real account out of tracking.
+ * </p>
+ * <p>
+ * Changed counters are flushed to the users table in periodic JDBC batches
+ * and reloaded on startup, so a restart does not lift an active lockout.
+ * </p>
+ */
+@Slf4j
+@Service
+public class LoginAttemptService {
+
+    private static final String FLUSH_SQL = "UPDATE users SET failed_attempts = ?, lockout_count = ?, " +
+            "locked_until = ? WHERE email = ?";
+
+    private static final int[] FLUSH_TYPES = {Types.INTEGER, Types.INTEGER, Types.TIMESTAMP, Types.NVARCHAR};
+
+    private static final String LOAD_SQL = "SELECT email, failed_attempts, lockout_count, locked_until " +
+            "FROM users WHERE failed_attempts > 0 OR lockout_count > 0 OR locked_until > ?";
+
+    private final LockoutProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    /** Accounts that exist; bounded by the users table. */
+    private final Map<String, AttemptState> states = new ConcurrentHashMap<>();
+    /** Emails with no active account, least recently failed first; guarded by itself. */
+    private final Map<String, AttemptState> unknownStates;
+
+    public LoginAttemptService(LockoutProperties properties, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.unknownStates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AttemptState> eldest) {
+                return size() > properties.getMaxTrackedAccounts();
+            }
+        });
+    }
+
+    /**
+     * Returns whether the account is currently locked out.
+     *
+     * @param email the login email
+     * @return true if login attempts must be rejected without checking the password
+     */
+    public boolean isLocked(String email) {
+        String key = key(email);
+        AttemptState state = states.get(key);
+        if (state == null) {
+            state = unknownStates.get(key);
+        }
+        return state != null && state.isLocked(System.currentTimeMillis());
+    }
+
+    /**
+     * Records a failed login attempt.
+     *
+     * @param email        the login email
+     * @param knownAccount whether the email belongs to an active account
+     * @return true if this failure caused the account to be locked
+     */
+    public boolean recordFailure(String email, boolean knownAccount) {
+        String key = key(email);
+        long now = System.currentTimeMillis();
+        if (knownAccount) {
+            return states.computeIfAbsent(key, k -> new AttemptState(properties.getMaxFailures()))
+                    .recordFailure(now, properties);
+        }
+        synchronized (unknownStates) {
+            return unknownStates.computeIfAbsent(key, k -> new AttemptState(properties.getMaxFailures()))
+                    .recordFailure(now, properties);
+        }
+    }
+
+    /**
+     * Clears the failure history after a successful login.
+     * <p>
+     * Accounts without recent failures are not tracked, so this is a no-op
+     * lookup on the common path.
+     * </p>
+     *
+     * @param email the login email
+     */
+    public void recordSuccess(String email) {
+        AttemptState state = states.get(key(email));
+        if (state != null) {
+            state.reset();
+        }
+    }
+
+    /**
+     * Writes changed counters to the users table in one JDBC batch and evicts
+     * accounts that no longer need tracking.
+     */
+    @Scheduled(fixedDelayString = "${app.security.lockout.flush-interval-ms:30000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        synchronized (unknownStates) {
+            // Nothing to persist for emails without a row; just forget the quiet ones
+            unknownStates.values().removeIf(state -> state.isExpired(now, properties.getWindowMs()));
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        for (Map.Entry<String, AttemptState> entry : states.entrySet()) {
+            AttemptState state = entry.getValue();
+            Object[] row = state.takeDirtyRow(entry.getKey(), now, properties.getWindowMs());
+            if (row != null) {
+                keys.add(entry.getKey());
+                rows.add(row);
+            } else if (state.isIdle(now, properties.getWindowMs())) {
+                states.remove(entry.getKey(), state);
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows, FLUSH_TYPES);
+            log.debug("Flushed lockout state for {} accounts", rows.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush lockout state for {} accounts", rows.size(), e);
+            keys.forEach(key -> {
+                AttemptState state = states.get(key);
+                if (state != null) {
+                    state.markDirty();
+                }
+            });
+        }
+    }
+
+    /**
+     * Restores persisted lockouts once the schema is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersistedState() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            Timestamp lockedUntil = rs.getTimestamp("locked_until");
+            AttemptState state = new AttemptState(properties.getMaxFailures());
+            state.restore(rs.getInt("failed_attempts"), rs.getInt("lockout_count"),
+                    lockedUntil == null ? 0 : lockedUntil.getTime(), now);
+            states.put(key(rs.getString("email")), state);
+        }, new Timestamp(now));
+        log.info("Restored lockout state for {} accounts", states.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Per-account failure history: a ring of the most recent failure
+     * timestamps, sized to the lockout threshold.
+     */
+    private static final class AttemptState {
+
+        private final long[] failures;
+        private int next;
+        private int lockouts;
+        private long lockedUntil;
+        private boolean dirty;
+
+        AttemptState(int maxFailures) {
+            this.failures = new long[maxFailures];
+        }
+
+        synchronized boolean isLocked(long now) {
+            return lockedUntil > now;
+        }
+
+        synchronized boolean recordFailure(long now, LockoutProperties properties) {
+            dirty = true;
+            if (lockedUntil > now) {
+                return false;
+            }
+
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+
+            if (failuresWithin(now, properties.getWindowMs()) < failures.length) {
+                return false;
+            }
+
+            // Exponential backoff: base, 2x base, 4x base ... capped
+            int shift = Math.min(lockouts, 30);
+            long duration = Math.min(properties.getBaseLockoutMs() << shift, properties.getMaxLockoutMs());
+            lockedUntil = now + duration;
+            lockouts++;
+            Arrays.fill(failures, 0L);
+            return true;
+        }
+
+        synchronized void reset() {
+            Arrays.fill(failures, 0L);
+            lockouts = 0;
+            lockedUntil = 0;
+            dirty = true;
+        }
+
+        synchronized void restore(int failedAttempts, int lockoutCount, long lockedUntilMs, long now) {
+            int restored = Math.min(failedAttempts, failures.length - 1);
+            for (int i = 0; i < restored; i++) {
+                failures[i] = now;
+            }
+            next = restored % failures.length;
+            lockouts = lockoutCount;
+            lockedUntil = lockedUntilMs;
+        }
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+
+        synchronized Object[] takeDirtyRow(String email, long now, long windowMs) {
+            decay(now, windowMs);
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            return new Object[] {
+                    failuresWithin(now, windowMs),
+                    lockouts,
+                    lockedUntil > now ? new Timestamp(lockedUntil) : null,
+                    email
+            };
+        }
+
+        /**
+         * An account can be forgotten once its backoff has decayed, it has no
+         * failures in the window and its last state was persisted.
+         */
+        synchronized boolean isIdle(long now, long windowMs) {
+            return !dirty && lockouts == 0 && lockedUntil <= now && failuresWithin(now, windowMs) == 0;
+        }
+
+        /**
+         * Like {@link #isIdle} for state that is never persisted: true once
+         * the backoff has decayed and no failures remain in the window.
+         */
+        synchronized boolean isExpired(long now, long windowMs) {
+            decay(now, windowMs);
+            return lockouts == 0 && lockedUntil <= now && failuresWithin(now, windowMs) == 0;
+        }
+
+        /**
+         * Backoff decays once the account has stayed quiet for a full window
+         * after its last lockout.
+         */
+        private void decay(long now, long windowMs) {
+            if (lockouts > 0 && lockedUntil + windowMs <= now && failuresWithin(now, windowMs) == 0) {
+                lockouts = 0;
+                dirty = true;
+            }
+        }
+
+        private int failuresWithin(long now, long windowMs) {
+            int count = 0;
+            for (long failure : failures) {
+                if (failure > 0 && now - failure <= windowMs) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.hospital.management.security;
+
+import com.hospital.management.constants.Role;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Fine-grained permissions, carried in access tokens as a bitmask.
+ * <p>
+ * Each permission has a fixed bit rather than one derived from its ordinal:
+ * tokens outlive deployments, so reordering or inserting constants must
+ * not change what an already-issued mask means. New permissions take the
+ * next unused bit; retired bits are never reused.
+ * </p>
+ */
+public enum Permission {
+    VIEW_STAFF_DIRECTORY(0),
+    VIEW_DEPARTMENTS(1),
+    MANAGE_OWN_SESSIONS(2),
+    MANAGE_USERS(3),
+    MANAGE_DEPARTMENTS(4),
+    MANAGE_SESSIONS(5),
+    EXPORT_DATA(6),
+    /** Act on any department, not only the caller's own. */
+    ALL_DEPARTMENTS(7);
+
+    private static final Map<Role, Long> ROLE_MASKS = new EnumMap<>(Role.class);
+
+    static {
+        long staff = mask(VIEW_STAFF_DIRECTORY, VIEW_DEPARTMENTS, MANAGE_OWN_SESSIONS);
+        ROLE_MASKS.put(Role.DOCTOR, staff);
+        ROLE_MASKS.put(Role.NURSE, staff);
+        ROLE_MASKS.put(Role.RECEPTIONIST, staff);
+        long all = 0;
+        for (Permission permission : values()) {
+            all |= permission.bit();
+        }
+        ROLE_MASKS.put(Role.ADMIN, all);
+    }
+
+    private final long bit;
+
+    Permission(int position) {
+        this.bit = 1L << position;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    /**
+     * Returns the permissions granted to a role.
+     *
+     * @param role the role
+     * @return the role's permission bitmask
+     */
+    public static long maskFor(Role role) {
+        return ROLE_MASKS.get(role);
+    }
+
+    private static long mask(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+}
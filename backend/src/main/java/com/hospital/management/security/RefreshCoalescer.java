@@ -0,0 +1,129 @@
+package com.hospital.management.security;
+
+import com.hospital.management.model.dto.auth.AuthResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent refreshes of the same refresh token into one rotation.
+ * <p>
+ * Several browser tabs refresh with the same token when it expires. Without
+ * coalescing, one rotation wins and the rest fail on the revoked token,
+ * sending those tabs back through a full login. Here the first caller runs
+ * the rotation and callers arriving meanwhile wait for its result. For
+ * {@code app.jwt.refresh-grace-period-ms} afterwards the rotated token
+ * keeps returning the same successor, covering tabs that arrive just late.
+ * </p>
+ * <p>
+ * Coalescing is per node; a tab whose request reaches another node inside
+ * the window still fails as before. Revoking a user's refresh tokens (see
+ * {@link RefreshTokenService}) ends the grace window for their tokens at
+ * once, so a revoked session can't be resumed through a recent rotation.
+ * </p>
+ */
+@Component
+public class RefreshCoalescer {
+
+    /** A completed rotation, with the user it belongs to. */
+    public record Rotation(UUID userId, AuthResponse response) {
+    }
+
+    private record Recent(Rotation rotation, long expiresAt) {
+    }
+
+    private final JwtProperties jwtProperties;
+    private final AuthMetrics authMetrics;
+    private final Map<String, CompletableFuture<Rotation>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Recent> recent = new ConcurrentHashMap<>();
+
+    public RefreshCoalescer(JwtProperties jwtProperties, AuthMetrics authMetrics) {
+        this.jwtProperties = jwtProperties;
+        this.authMetrics = authMetrics;
+    }
+
+    /**
+     * Returns the result of rotating a token, running {@code rotation} only
+     * if no rotation of the token is running or recently finished.
+     *
+     * @param tokenHash hash of the presented refresh token
+     * @param rotation  rotates the token; must have committed when it returns
+     * @return the new token pair
+     */
+    public AuthResponse refresh(String tokenHash, Supplier<Rotation> rotation) {
+        Rotation shared = recentRotation(tokenHash);
+        if (shared != null) {
+            authMetrics.refreshShared(AuthMetrics.RefreshSharing.GRACE);
+            return shared.response();
+        }
+
+        CompletableFuture<Rotation> mine = new CompletableFuture<>();
+        CompletableFuture<Rotation> running = inFlight.putIfAbsent(tokenHash, mine);
+        if (running != null) {
+            authMetrics.refreshShared(AuthMetrics.RefreshSharing.COALESCED);
+            return await(running).response();
+        }
+        try {
+            // A rotation may have finished between the grace check and the claim
+            Rotation result = recentRotation(tokenHash);
+            if (result != null) {
+                authMetrics.refreshShared(AuthMetrics.RefreshSharing.GRACE);
+            } else {
+                result = rotation.get();
+                long grace = jwtProperties.getRefreshGracePeriodMs();
+                if (grace > 0) {
+                    // Published before the in-flight entry is removed, so no caller sees neither
+                    recent.put(tokenHash, new Recent(result, System.currentTimeMillis() + grace));
+                }
+            }
+            mine.complete(result);
+            return result.response();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(tokenHash, mine);
+        }
+    }
+
+    /**
+     * Ends the grace window of every token the users rotated recently.
+     */
+    public void forgetUsers(Collection<UUID> userIds) {
+        Set<UUID> users = userIds instanceof Set<UUID> set ? set : Set.copyOf(userIds);
+        recent.values().removeIf(entry -> users.contains(entry.rotation().userId()));
+    }
+
+    /**
+     * Drops rotations whose grace window has passed.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        recent.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private Rotation recentRotation(String tokenHash) {
+        Recent entry = recent.get(tokenHash);
+        return entry != null && entry.expiresAt() > System.currentTimeMillis() ? entry.rotation() : null;
+    }
+
+    private static Rotation await(CompletableFuture<Rotation> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
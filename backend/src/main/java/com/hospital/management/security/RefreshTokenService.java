@@ -2,15 +2,21 @@ package com.hospital.management.security;
 
 import com.hospital.management.model.dao.RefreshTokenDao;
 import com.hospital.management.model.domain.RefreshToken;
+import com.hospital.management.model.dto.auth.SessionResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -22,7 +28,9 @@ import java.util.UUID;
  * </p>
  * <p>
  * Handles issuance, rotation (old token revoked on use), and full
- * revocation for events like password change or MFA enforcement.
+ * revocation for events like password change or MFA enforcement. Every
+ * revocation also ends the user's refresh grace window in
+ * {@link RefreshCoalescer}.
  * </p>
  */
 @Service
@@ -31,9 +39,16 @@ public class RefreshTokenService {
 
     private final RefreshTokenDao refreshTokenDao;
     private final JwtProperties jwtProperties;
+    private final AuthMetrics authMetrics;
+    private final RefreshCoalescer refreshCoalescer;
 
     /**
      * Issues a new refresh token for the given user.
+     * <p>
+     * Enforces {@code app.jwt.max-sessions-per-user}: if the user is already at
+     * the cap, the oldest sessions are revoked with one bulk update in the same
+     * transaction as the insert.
+     * </p>
      *
      * @param userId     the user's UUID
      * @param deviceInfo optional device or user-agent string
@@ -44,6 +59,8 @@ public class RefreshTokenService {
     public String issueRefreshToken(UUID userId, String deviceInfo, String ipAddress) {
         String rawToken = UUID.randomUUID().toString() + UUID.randomUUID(); // 72 random chars
 
+        enforceSessionCap(userId);
+
         RefreshToken entity = new RefreshToken();
         entity.setUserId(userId);
         entity.setTokenHash(hash(rawToken));
@@ -54,6 +71,7 @@ public class RefreshTokenService {
         entity.setRevoked(false);
 
         refreshTokenDao.save(entity);
+        authMetrics.tokenIssued(AuthMetrics.TokenType.REFRESH);
 
         return rawToken;
     }
@@ -82,6 +100,7 @@ public class RefreshTokenService {
         existing.setRevoked(true);
         existing.setRevokedAt(LocalDateTime.now());
         refreshTokenDao.update(existing);
+        authMetrics.tokensRevoked(AuthMetrics.RevocationReason.ROTATED, 1);
 
         // Issue a fresh token for the same user
         return issueRefreshToken(existing.getUserId(), deviceInfo, ipAddress);
@@ -98,7 +117,65 @@ public class RefreshTokenService {
      */
     @Transactional
     public void revokeAllForUser(UUID userId) {
-        refreshTokenDao.revokeAllForUser(userId);
+        authMetrics.tokensRevoked(AuthMetrics.RevocationReason.SIGNED_OUT, refreshTokenDao.revokeAllForUser(userId));
+        endGraceWindows(Set.of(userId));
+    }
+
+    /**
+     * Revokes all refresh tokens of several users with one bulk update.
+     *
+     * @param userIds the users to sign out
+     * @return the number of tokens revoked
+     */
+    @Transactional
+    public int revokeAllForUsers(Collection<UUID> userIds) {
+        int revoked = refreshTokenDao.revokeAllForUsers(userIds);
+        authMetrics.tokensRevoked(AuthMetrics.RevocationReason.SIGNED_OUT, revoked);
+        endGraceWindows(userIds);
+        return revoked;
+    }
+
+    /**
+     * Lists the user's active sessions, newest first.
+     *
+     * @param userId the UUID of the user
+     * @return the active sessions, possibly empty
+     */
+    public List<SessionResponse> listActiveSessions(UUID userId) {
+        return refreshTokenDao.findActiveSessionsByUserId(userId);
+    }
+
+    /**
+     * Revokes a single session belonging to the user.
+     *
+     * @param userId    the owner of the session
+     * @param sessionId the refresh token id
+     * @return true if an active session was revoked, false if none matched
+     */
+    @Transactional
+    public boolean revokeSession(UUID userId, UUID sessionId) {
+        int revoked = refreshTokenDao.revokeByIds(userId, List.of(sessionId));
+        authMetrics.tokensRevoked(AuthMetrics.RevocationReason.SESSION_REVOKED, revoked);
+        // The coalescer doesn't know which session a rotation belongs to, so all of the user's end
+        endGraceWindows(Set.of(userId));
+        return revoked > 0;
+    }
+
+    /**
+     * Ends the users' refresh grace windows now and again once the
+     * surrounding transaction completes, in case a rotation that started
+     * before the revocation committed publishes its result in between.
+     */
+    private void endGraceWindows(Collection<UUID> userIds) {
+        refreshCoalescer.forgetUsers(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    refreshCoalescer.forgetUsers(userIds);
+                }
+            });
+        }
     }
 
     /**
@@ -114,7 +191,32 @@ public class RefreshTokenService {
                 .orElseThrow(() -> new SecurityException("Refresh token is invalid or expired"))
                 .getUserId();
     }
-    
+
+    /**
+     * Returns the hash a raw refresh token is stored under.
+     */
+    public String tokenHash(String rawToken) {
+        return hash(rawToken);
+    }
+
+    /**
+     * Makes room for one more session by revoking the oldest active ones
+     * beyond the configured maximum.
+     */
+    private void enforceSessionCap(UUID userId) {
+        int max = jwtProperties.getMaxSessionsPerUser();
+        if (max <= 0) {
+            return;
+        }
+
+        List<UUID> activeIds = refreshTokenDao.findActiveIdsByUserId(userId);
+        if (activeIds.size() >= max) {
+            // Newest first — keep the (max - 1) most recent, leaving a slot for the new token
+            int revoked = refreshTokenDao.revokeByIds(userId, activeIds.subList(max - 1, activeIds.size()));
+            authMetrics.tokensRevoked(AuthMetrics.RevocationReason.SESSION_CAP, revoked);
+        }
+    }
+
     private String hash(String raw) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -1,5 +1,6 @@
 package com.hospital.management.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,10 +52,17 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches (streamed responses) only complete a request
+                        // that was already authorized on its original dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers(
                                 "/api/v1/auth/**",
-                                "/actuator/health" // Health probe — adjust as needed
+                                "/actuator/health", // Health probe — adjust as needed
+                                // Metrics scrape; no tokens or user data, but keep the port off the public edge
+                                "/actuator/metrics",
+                                "/actuator/metrics/**"
                         ).permitAll()
 
                         // Everything else requires a valid JWT
@@ -0,0 +1,168 @@
+package com.hospital.management.service;
+
+import com.hospital.management.model.dao.AdmissionDao;
+import com.hospital.management.model.dao.DepartmentDao;
+import com.hospital.management.model.domain.Admission;
+import com.hospital.management.model.domain.Department;
+import com.hospital.management.model.dto.admission.AdmissionResponse;
+import com.hospital.management.model.dto.admission.AdmitPatientRequest;
+import com.hospital.management.model.dto.admission.TransferPatientRequest;
+import com.hospital.management.occupancy.OccupancyTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Application service for admitting, transferring and discharging patients.
+ * <p>
+ * Each movement is recorded in {@link OccupancyTracker} once its
+ * transaction commits, so live occupancy never counts a rolled-back write.
+ * Discharges and transfers are conditional updates on the state read at the
+ * start, so two concurrent requests for the same stay cannot both count.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionService {
+
+    private final AdmissionDao admissionDao;
+    private final DepartmentDao departmentDao;
+    private final OccupancyTracker occupancyTracker;
+
+    /**
+     * Finds an admission by its id.
+     *
+     * @param id the admission UUID
+     * @return the admission, or empty if it does not exist
+     */
+    public Optional<AdmissionResponse> findById(UUID id) {
+        return admissionDao.findById(id).map(AdmissionService::toResponse);
+    }
+
+    /**
+     * Admits a patient to a department.
+     *
+     * @param request the patient and department
+     * @return the new admission
+     * @throws IllegalArgumentException if the department does not exist or is
+     *                                  inactive, or the patient is already admitted
+     */
+    @Transactional
+    public AdmissionResponse admit(AdmitPatientRequest request) {
+        requireActiveDepartment(request.getDepartmentId());
+        if (admissionDao.existsOpenForPatient(request.getPatientReference())) {
+            throw new IllegalArgumentException("Patient is already admitted");
+        }
+
+        Admission admission = new Admission();
+        admission.setPatientReference(request.getPatientReference());
+        admission.setDepartmentId(request.getDepartmentId());
+        admission.setBedLabel(request.getBedLabel());
+        admission.setAdmittedAt(LocalDateTime.now());
+        Admission saved = admissionDao.save(admission);
+
+        UUID departmentId = saved.getDepartmentId();
+        afterCommit(() -> occupancyTracker.admitted(departmentId));
+        log.info("Patient admitted [admission={}, department={}]", saved.getId(), departmentId);
+        return toResponse(saved);
+    }
+
+    /**
+     * Discharges an admitted patient.
+     *
+     * @param id the admission UUID
+     * @return the discharged admission, or empty if it does not exist
+     * @throws IllegalArgumentException if the admission is already discharged
+     */
+    @Transactional
+    public Optional<AdmissionResponse> discharge(UUID id) {
+        Optional<Admission> found = admissionDao.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Admission admission = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (admission.getDischargedAt() != null || !admissionDao.discharge(id, now)) {
+            throw new IllegalArgumentException("Admission is already discharged");
+        }
+
+        UUID departmentId = admission.getDepartmentId();
+        afterCommit(() -> occupancyTracker.discharged(departmentId));
+        log.info("Patient discharged [admission={}, department={}]", id, departmentId);
+        return Optional.of(toResponse(admission).toBuilder().dischargedAt(now).build());
+    }
+
+    /**
+     * Transfers an admitted patient to another department.
+     *
+     * @param id      the admission UUID
+     * @param request the receiving department and bed
+     * @return the transferred admission, or empty if it does not exist
+     * @throws IllegalArgumentException if the admission is discharged, the
+     *                                  department is missing, inactive or unchanged,
+     *                                  or the stay was moved concurrently
+     */
+    @Transactional
+    public Optional<AdmissionResponse> transfer(UUID id, TransferPatientRequest request) {
+        Optional<Admission> found = admissionDao.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Admission admission = found.get();
+        UUID from = admission.getDepartmentId();
+        UUID to = request.getDepartmentId();
+        if (admission.getDischargedAt() != null) {
+            throw new IllegalArgumentException("Admission is already discharged");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Patient is already in this department");
+        }
+        requireActiveDepartment(to);
+        if (!admissionDao.transfer(id, from, to, request.getBedLabel())) {
+            throw new IllegalArgumentException("Admission was discharged or transferred concurrently");
+        }
+
+        afterCommit(() -> occupancyTracker.transferred(from, to));
+        log.info("Patient transferred [admission={}, from={}, to={}]", id, from, to);
+        return Optional.of(toResponse(admission).toBuilder()
+                .departmentId(to)
+                .bedLabel(request.getBedLabel())
+                .build());
+    }
+
+    private void requireActiveDepartment(UUID departmentId) {
+        Department department = departmentDao.findById(departmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Department does not exist"));
+        if (!Boolean.TRUE.equals(department.getIsActive())) {
+            throw new IllegalArgumentException("Department is not active");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static AdmissionResponse toResponse(Admission admission) {
+        return AdmissionResponse.builder()
+                .id(admission.getId())
+                .patientReference(admission.getPatientReference())
+                .departmentId(admission.getDepartmentId())
+                .bedLabel(admission.getBedLabel())
+                .admittedAt(admission.getAdmittedAt())
+                .dischargedAt(admission.getDischargedAt())
+                .build();
+    }
+}
@@ -1,18 +1,25 @@
 package com.hospital.management.service;
 
+import com.hospital.management.audit.AuditService;
+import com.hospital.management.constants.AuditEventType;
 import com.hospital.management.model.dao.UserDao;
 import com.hospital.management.model.domain.User;
 import com.hospital.management.model.dto.auth.AuthResponse;
 import com.hospital.management.model.dto.auth.LoginRequest;
 import com.hospital.management.model.dto.auth.RefreshRequest;
+import com.hospital.management.security.AuthMetrics;
 import com.hospital.management.security.JwtProperties;
 import com.hospital.management.security.JwtService;
+import com.hospital.management.security.LoginAttemptService;
+import com.hospital.management.security.RefreshCoalescer;
 import com.hospital.management.security.RefreshTokenService;
-import lombok.RequiredArgsConstructor;
+import com.hospital.management.timing.RequestTiming;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.UUID;
 
@@ -30,7 +37,6 @@ import java.util.UUID;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserDao userDao;
@@ -38,6 +44,27 @@ public class AuthService {
     private final RefreshTokenService refreshTokenService;
     private final PasswordEncoder passwordEncoder;
     private final JwtProperties jwtProperties;
+    private final AuditService auditService;
+    private final LoginAttemptService loginAttemptService;
+    private final AuthMetrics authMetrics;
+    private final RefreshCoalescer refreshCoalescer;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthService(UserDao userDao, JwtService jwtService, RefreshTokenService refreshTokenService,
+            PasswordEncoder passwordEncoder, JwtProperties jwtProperties, AuditService auditService,
+            LoginAttemptService loginAttemptService, AuthMetrics authMetrics, RefreshCoalescer refreshCoalescer,
+            PlatformTransactionManager transactionManager) {
+        this.userDao = userDao;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtProperties = jwtProperties;
+        this.auditService = auditService;
+        this.loginAttemptService = loginAttemptService;
+        this.authMetrics = authMetrics;
+        this.refreshCoalescer = refreshCoalescer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Login
@@ -46,6 +73,8 @@ public class AuthService {
      * <p>
      * On success: issues an access token and a refresh token.
      * On failure: throws a generic exception to prevent user enumeration.
+     * Repeated failures lock the account temporarily (see
+     * {@link LoginAttemptService}); while locked, the password is not checked.
      * </p>
      *
      * @param request   the login payload
@@ -54,16 +83,43 @@ public class AuthService {
      */
     @Transactional
     public AuthResponse login(LoginRequest request, String ipAddress) {
+        if (loginAttemptService.isLocked(request.getEmail())) {
+            authMetrics.login(AuthMetrics.LoginOutcome.LOCKED);
+            auditService.record(AuditEventType.LOGIN_FAILED, null, request.getEmail(), ipAddress,
+                    "Account locked");
+            throw new SecurityException("Account is temporarily locked");
+        }
+
         User user = userDao.findByEmail(request.getEmail())
                 .filter(u -> Boolean.TRUE.equals(u.getIsActive()))
-                .orElseThrow(() -> new SecurityException("Invalid credentials"));
+                .orElseThrow(() -> {
+                    authMetrics.login(AuthMetrics.LoginOutcome.UNKNOWN_ACCOUNT);
+                    auditService.record(AuditEventType.LOGIN_FAILED, null, request.getEmail(), ipAddress,
+                            "Unknown or inactive account");
+                    recordFailure(request.getEmail(), null, ipAddress);
+                    return new SecurityException("Invalid credentials");
+                });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        long passwordCheckStart = System.nanoTime();
+        boolean passwordMatches = passwordEncoder.matches(request.getPassword(), user.getPasswordHash());
+        authMetrics.recordPasswordVerification(System.nanoTime() - passwordCheckStart);
+        RequestTiming.record(RequestTiming.BCRYPT, passwordCheckStart);
+
+        if (!passwordMatches) {
+            authMetrics.login(AuthMetrics.LoginOutcome.BAD_PASSWORD);
             log.warn("Failed login attempt for email [{}] from IP [{}]", request.getEmail(), ipAddress);
+            auditService.record(AuditEventType.LOGIN_FAILED, user.getId(), request.getEmail(), ipAddress,
+                    "Bad password");
+            recordFailure(request.getEmail(), user.getId(), ipAddress);
             throw new SecurityException("Invalid credentials");
         }
 
-        return buildAuthResponse(user, request.getDeviceInfo(), ipAddress);
+        loginAttemptService.recordSuccess(request.getEmail());
+        authMetrics.login(AuthMetrics.LoginOutcome.SUCCESS);
+        AuthResponse response = buildAuthResponse(user, request.getDeviceInfo(), ipAddress);
+        auditService.recordAfterCommit(AuditEventType.LOGIN_SUCCEEDED, user.getId(), user.getEmail(), ipAddress,
+                request.getDeviceInfo());
+        return response;
     }
 
     /**
@@ -74,14 +130,33 @@ public class AuthService {
      * The old refresh token is revoked on use (rotation). The user record
      * is re-fetched to ensure the account is still active and the role is current.
      * </p>
+     * <p>
+     * Concurrent refreshes of the same token share one rotation, and for a
+     * short grace window the rotated token returns the same successor (see
+     * {@link RefreshCoalescer}). The rotation commits in its own transaction
+     * before its result is shared.
+     * </p>
      *
      * @param request    the refresh token payload
      * @param deviceInfo optional device info
      * @param ipAddress  the caller's IP address
      * @return a new {@link AuthResponse}
      */
-    @Transactional
     public AuthResponse refresh(RefreshRequest request, String deviceInfo, String ipAddress) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            AuthResponse response = refreshCoalescer.refresh(
+                    refreshTokenService.tokenHash(request.getRefreshToken()),
+                    () -> transactionTemplate.execute(status -> rotate(request, deviceInfo, ipAddress)));
+            success = true;
+            return response;
+        } finally {
+            authMetrics.recordRefresh(System.nanoTime() - start, success);
+        }
+    }
+
+    private RefreshCoalescer.Rotation rotate(RefreshRequest request, String deviceInfo, String ipAddress) {
         UUID userId = refreshTokenService.getUserIdFromRefreshToken(request.getRefreshToken());
 
         User user = userDao.findById(userId)
@@ -92,16 +167,18 @@ public class AuthService {
         String newRefreshToken = refreshTokenService.rotateRefreshToken(
                 request.getRefreshToken(), deviceInfo, ipAddress);
 
-        String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+        String accessToken = jwtService.generateAccessToken(user.getId(), user.getRole(), user.getDepartmentId());
+        auditService.recordAfterCommit(AuditEventType.TOKEN_REFRESHED, user.getId(), user.getEmail(), ipAddress,
+                deviceInfo);
 
-        return AuthResponse.builder()
+        return new RefreshCoalescer.Rotation(user.getId(), AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(newRefreshToken)
                 .accessTokenExpiresInMs(jwtProperties.getAccessTokenExpiryMs())
                 .role(user.getRole())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
-                .build();
+                .build());
     }
 
     /**
@@ -121,10 +198,18 @@ public class AuthService {
     public void logout(UUID userId) {
         refreshTokenService.revokeAllForUser(userId);
         log.info("All refresh tokens revoked for user [{}]", userId);
+        auditService.recordAfterCommit(AuditEventType.LOGOUT, userId, null, null, null);
+    }
+
+    private void recordFailure(String email, UUID userId, String ipAddress) {
+        if (loginAttemptService.recordFailure(email, userId != null)) {
+            log.warn("Account [{}] locked after repeated failed logins from IP [{}]", email, ipAddress);
+            auditService.record(AuditEventType.ACCOUNT_LOCKED, userId, email, ipAddress, null);
+        }
     }
 
     private AuthResponse buildAuthResponse(User user, String deviceInfo, String ipAddress) {
-        String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+        String accessToken = jwtService.generateAccessToken(user.getId(), user.getRole(), user.getDepartmentId());
         String refreshToken = refreshTokenService.issueRefreshToken(user.getId(), deviceInfo, ipAddress);
 
         return AuthResponse.builder()
@@ -0,0 +1,212 @@
+package com.hospital.management.service;
+
+import com.hospital.management.directory.DepartmentTree;
+import com.hospital.management.directory.DepartmentTreeCache;
+import com.hospital.management.model.dao.DepartmentDao;
+import com.hospital.management.model.domain.Department;
+import com.hospital.management.model.dto.department.DepartmentNodeResponse;
+import com.hospital.management.model.dto.department.DepartmentResponse;
+import com.hospital.management.model.dto.department.DepartmentStaffCountResponse;
+import com.hospital.management.model.dto.department.DepartmentSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Application service for reading departments and arranging their hierarchy.
+ * <p>
+ * Exposes the department version counter so the controller layer can answer
+ * conditional requests before any query runs. Tree, ancestor and descendant
+ * reads are served from {@link DepartmentTreeCache}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DepartmentService {
+
+    private final DepartmentDao departmentDao;
+    private final DepartmentTreeCache treeCache;
+
+    /**
+     * Returns the current department version (see {@link DepartmentDao#currentVersion()}).
+     */
+    public long currentVersion() {
+        return departmentDao.currentVersion();
+    }
+
+    /**
+     * Lists active departments ordered by name, without descriptions.
+     */
+    public List<DepartmentResponse> listActive() {
+        return departmentDao.findAllActive().stream()
+                .map(DepartmentService::toListResponse)
+                .toList();
+    }
+
+    /**
+     * Searches departments by name or description.
+     *
+     * @param query the search term
+     * @return up to 50 matching departments ordered by name, without descriptions
+     */
+    public List<DepartmentResponse> search(String query) {
+        return departmentDao.search(query).stream()
+                .map(DepartmentService::toListResponse)
+                .toList();
+    }
+
+    /**
+     * Finds a department by its id.
+     * <p>
+     * Transactional so the lazily fetched description is read while the
+     * session is open, whether or not the web layer keeps one open.
+     * </p>
+     *
+     * @param id the department UUID
+     * @return the department, or empty if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<DepartmentResponse> findById(UUID id) {
+        return departmentDao.findById(id).map(this::toResponse);
+    }
+
+    /**
+     * Returns the hierarchy of active departments, top-level first, each
+     * level ordered by name.
+     */
+    public List<DepartmentNodeResponse> tree() {
+        return activeNodes(treeCache.get().roots());
+    }
+
+    /**
+     * Lists a department's ancestors, top-level first.
+     *
+     * @param id the department UUID
+     * @return the ancestors, or empty if the department does not exist
+     */
+    public Optional<List<DepartmentSummaryResponse>> ancestors(UUID id) {
+        DepartmentTree tree = treeCache.get();
+        if (tree.get(id) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(tree.ancestors(id).stream().map(DepartmentService::toSummary).toList());
+    }
+
+    /**
+     * Lists every department nested under a department, nearest first.
+     *
+     * @param id the department UUID
+     * @return the descendants, or empty if the department does not exist
+     */
+    public Optional<List<DepartmentSummaryResponse>> descendants(UUID id) {
+        DepartmentTree tree = treeCache.get();
+        if (tree.get(id) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(tree.descendants(id).stream().map(DepartmentService::toSummary).toList());
+    }
+
+    /**
+     * Counts the staff of a department, directly and across its subtree.
+     *
+     * @param id the department UUID
+     * @return the counts, or empty if the department does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<DepartmentStaffCountResponse> staffCount(UUID id) {
+        if (departmentDao.findById(id).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(DepartmentStaffCountResponse.builder()
+                .departmentId(id)
+                .staff(departmentDao.countStaffInDepartment(id))
+                .subtreeStaff(departmentDao.countStaffInSubtree(id))
+                .build());
+    }
+
+    /**
+     * Moves a department, with everything nested under it, beneath a new parent.
+     *
+     * @param id          the department to move
+     * @param newParentId the new parent, or null for the top level
+     * @return the moved department, or empty if it does not exist
+     * @throws IllegalArgumentException if the parent does not exist or is inside the moved subtree
+     */
+    @Transactional
+    public Optional<DepartmentResponse> move(UUID id, UUID newParentId) {
+        // Before any read, so the checks below see every earlier move
+        departmentDao.lockHierarchy();
+        Optional<Department> department = departmentDao.findById(id);
+        if (department.isEmpty()) {
+            return Optional.empty();
+        }
+        if (Objects.equals(department.get().getParentId(), newParentId)) {
+            return department.map(this::toResponse);
+        }
+        if (newParentId != null) {
+            if (departmentDao.findById(newParentId).isEmpty()) {
+                throw new IllegalArgumentException("Parent department does not exist");
+            }
+            if (departmentDao.isInSubtree(newParentId, id)) {
+                throw new IllegalArgumentException("Cannot move a department under itself or its descendants");
+            }
+        }
+        departmentDao.move(id, newParentId);
+        log.info("Department moved [id={}, parent={}]", id, newParentId);
+        return departmentDao.findById(id).map(this::toResponse);
+    }
+
+    private static List<DepartmentNodeResponse> activeNodes(List<DepartmentTree.Node> nodes) {
+        return nodes.stream()
+                .filter(DepartmentTree.Node::active)
+                .map(node -> DepartmentNodeResponse.builder()
+                        .id(node.id())
+                        .name(node.name())
+                        .children(activeNodes(node.children()))
+                        .build())
+                .toList();
+    }
+
+    private static DepartmentSummaryResponse toSummary(DepartmentTree.Node node) {
+        return DepartmentSummaryResponse.builder()
+                .id(node.id())
+                .parentId(node.parentId())
+                .name(node.name())
+                .isActive(node.active())
+                .build();
+    }
+
+    /**
+     * Maps a department for list views. Leaves out the lazily fetched
+     * description, which would otherwise be loaded with one query per row.
+     */
+    private static DepartmentResponse toListResponse(Department department) {
+        return DepartmentResponse.builder()
+                .id(department.getId())
+                .name(department.getName())
+                .parentId(department.getParentId())
+                .isActive(department.getIsActive())
+                .createdAt(department.getCreatedAt())
+                .updatedAt(department.getUpdatedAt())
+                .build();
+    }
+
+    private DepartmentResponse toResponse(Department department) {
+        return DepartmentResponse.builder()
+                .id(department.getId())
+                .name(department.getName())
+                .description(department.getDescription())
+                .parentId(department.getParentId())
+                .isActive(department.getIsActive())
+                .createdAt(department.getCreatedAt())
+                .updatedAt(department.getUpdatedAt())
+                .build();
+    }
+}
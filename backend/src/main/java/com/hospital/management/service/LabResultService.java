@@ -0,0 +1,40 @@
+package com.hospital.management.service;
+
+import com.hospital.management.ingest.LabIngestionPipeline;
+import com.hospital.management.model.dto.lab.LabIngestionResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Application service for lab result uploads.
+ * <p>
+ * Parsing, validation and storage are done by {@link LabIngestionPipeline};
+ * each batch commits on its own, so this service opens no transaction.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LabResultService {
+
+    private final LabIngestionPipeline labIngestionPipeline;
+
+    /**
+     * Stores the Observations of a FHIR Bundle upload.
+     *
+     * @param body       the upload, streamed
+     * @param uploadedBy the admin uploading
+     * @return counts of what was stored, skipped and rejected
+     */
+    public LabIngestionResponse ingest(InputStream body, UUID uploadedBy) {
+        LabIngestionResponse response = labIngestionPipeline.ingest(body);
+        log.info("Lab results uploaded by [{}] [ingestion={}, stored={}, rejected={}, complete={}]",
+                uploadedBy, response.getIngestionId(), response.getStored(), response.getRejected(),
+                response.isComplete());
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hospital.management.service;
+
+import com.hospital.management.directory.DepartmentTree;
+import com.hospital.management.directory.DepartmentTreeCache;
+import com.hospital.management.model.dto.occupancy.OccupancyResponse;
+import com.hospital.management.occupancy.OccupancyBroadcaster;
+import com.hospital.management.occupancy.OccupancyTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Application service for reading live bed occupancy.
+ * <p>
+ * Counts come from {@link OccupancyTracker} and are rolled up the
+ * department tree from {@link DepartmentTreeCache}, so no read queries the
+ * database.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OccupancyService {
+
+    private final OccupancyTracker tracker;
+    private final OccupancyBroadcaster broadcaster;
+    private final DepartmentTreeCache treeCache;
+
+    /**
+     * Returns the occupancy of every active department, in tree order.
+     */
+    public List<OccupancyResponse> all() {
+        Map<UUID, Long> occupied = tracker.snapshot();
+        List<OccupancyResponse> responses = new ArrayList<>();
+        for (DepartmentTree.Node root : treeCache.get().roots()) {
+            rollUp(root, occupied, responses);
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the occupancy of one department.
+     *
+     * @param id the department UUID
+     * @return the occupancy, or empty if the department does not exist
+     */
+    public Optional<OccupancyResponse> forDepartment(UUID id) {
+        DepartmentTree tree = treeCache.get();
+        DepartmentTree.Node node = tree.get(id);
+        if (node == null) {
+            return Optional.empty();
+        }
+        long subtree = tracker.occupied(id);
+        for (DepartmentTree.Node descendant : tree.descendants(id)) {
+            subtree += tracker.occupied(descendant.id());
+        }
+        return Optional.of(OccupancyResponse.builder()
+                .departmentId(id)
+                .name(node.name())
+                .occupied(tracker.occupied(id))
+                .subtreeOccupied(subtree)
+                .build());
+    }
+
+    /**
+     * Opens a stream of occupancy changes.
+     *
+     * @param departmentId  report this department and those nested under it; null for all
+     * @param minIntervalMs requested minimum gap between events
+     * @return the stream, or empty if the department does not exist
+     * @throws IllegalStateException if this node already serves the maximum number of streams
+     */
+    public Optional<SseEmitter> subscribe(UUID departmentId, long minIntervalMs) {
+        Set<UUID> scope = null;
+        if (departmentId != null) {
+            DepartmentTree tree = treeCache.get();
+            if (tree.get(departmentId) == null) {
+                return Optional.empty();
+            }
+            scope = new HashSet<>();
+            scope.add(departmentId);
+            for (DepartmentTree.Node descendant : tree.descendants(departmentId)) {
+                scope.add(descendant.id());
+            }
+        }
+        return Optional.of(broadcaster.subscribe(scope, minIntervalMs)
+                .orElseThrow(() -> new IllegalStateException("Too many occupancy streams")));
+    }
+
+    /**
+     * Adds a node and its active descendants to {@code out}, parent first,
+     * and returns the occupancy of its whole subtree.
+     */
+    private static long rollUp(DepartmentTree.Node node, Map<UUID, Long> occupied, List<OccupancyResponse> out) {
+        long own = occupied.getOrDefault(node.id(), 0L);
+        int position = out.size();
+        if (node.active()) {
+            out.add(null); // Placeholder until the subtree total is known
+        }
+        long subtree = own;
+        for (DepartmentTree.Node child : node.children()) {
+            subtree += rollUp(child, occupied, out);
+        }
+        if (node.active()) {
+            out.set(position, OccupancyResponse.builder()
+                    .departmentId(node.id())
+                    .name(node.name())
+                    .occupied(own)
+                    .subtreeOccupied(subtree)
+                    .build());
+        }
+        return subtree;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hospital.management.service;
+
+import com.hospital.management.model.dao.ReminderDao;
+import com.hospital.management.model.domain.Reminder;
+import com.hospital.management.model.dto.reminder.CreateReminderRequest;
+import com.hospital.management.model.dto.reminder.ReminderResponse;
+import com.hospital.management.reminder.DueReminder;
+import com.hospital.management.reminder.ReminderDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Application service for scheduling appointment and medication reminders.
+ * <p>
+ * A new reminder is stored as pending; once its transaction commits,
+ * {@link ReminderDispatcher} claims it at once if it is due inside the window
+ * this node has loaded, and otherwise a later window load picks it up.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReminderService {
+
+    private final ReminderDao reminderDao;
+    private final ReminderDispatcher reminderDispatcher;
+
+    /**
+     * Finds a reminder by its id.
+     *
+     * @param id the reminder UUID
+     * @return the reminder, or empty if it does not exist
+     */
+    public Optional<ReminderResponse> findById(UUID id) {
+        return reminderDao.findById(id).map(ReminderService::toResponse);
+    }
+
+    /**
+     * Schedules a reminder.
+     *
+     * @param request what to send, to whom and when
+     * @return the pending reminder
+     */
+    @Transactional
+    public ReminderResponse create(CreateReminderRequest request) {
+        Reminder reminder = new Reminder();
+        reminder.setKind(request.getKind());
+        reminder.setRecipient(request.getRecipient());
+        reminder.setPatientReference(request.getPatientReference());
+        reminder.setMessage(request.getMessage());
+        reminder.setDueAt(request.getDueAt());
+        Reminder saved = reminderDao.save(reminder);
+
+        DueReminder due = new DueReminder(saved.getId(), saved.getKind(), saved.getRecipient(),
+                saved.getPatientReference(), saved.getMessage(), saved.getDueAt(), 0);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reminderDispatcher.created(due);
+            }
+        });
+        log.debug("Reminder scheduled [id={}, kind={}, dueAt={}]", saved.getId(), saved.getKind(), saved.getDueAt());
+        return toResponse(saved);
+    }
+
+    private static ReminderResponse toResponse(Reminder reminder) {
+        return ReminderResponse.builder()
+                .id(reminder.getId())
+                .kind(reminder.getKind())
+                .recipient(reminder.getRecipient())
+                .patientReference(reminder.getPatientReference())
+                .message(reminder.getMessage())
+                .dueAt(reminder.getDueAt())
+                .status(reminder.getStatus())
+                .attempts(reminder.getAttempts())
+                .deliveredAt(reminder.getDeliveredAt())
+                .build();
+    }
+}
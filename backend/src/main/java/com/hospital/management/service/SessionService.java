@@ -0,0 +1,69 @@
+package com.hospital.management.service;
+
+import com.hospital.management.audit.AuditService;
+import com.hospital.management.constants.AuditEventType;
+import com.hospital.management.model.dto.auth.SessionResponse;
+import com.hospital.management.security.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application service for viewing and revoking a user's active sessions.
+ * <p>
+ * A session is a non-revoked, unexpired refresh token. Revoking one forces
+ * that device to log in again once its current access token expires.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    private final RefreshTokenService refreshTokenService;
+    private final AuditService auditService;
+
+    /**
+     * Lists the user's active sessions, newest first.
+     *
+     * @param userId the UUID of the user
+     * @return the active sessions, possibly empty
+     */
+    public List<SessionResponse> listActiveSessions(UUID userId) {
+        return refreshTokenService.listActiveSessions(userId);
+    }
+
+    /**
+     * Revokes one of the user's sessions.
+     *
+     * @param userId    the owner of the session
+     * @param sessionId the session to revoke
+     * @return true if the session was revoked, false if no active session matched
+     */
+    @Transactional
+    public boolean revokeSession(UUID userId, UUID sessionId) {
+        boolean revoked = refreshTokenService.revokeSession(userId, sessionId);
+        if (revoked) {
+            log.info("Session [{}] revoked for user [{}]", sessionId, userId);
+            auditService.recordAfterCommit(AuditEventType.SESSION_REVOKED, userId, null, null,
+                    "session=" + sessionId);
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes every active session of the user.
+     *
+     * @param userId the UUID of the user
+     */
+    @Transactional
+    public void revokeAllSessions(UUID userId) {
+        refreshTokenService.revokeAllForUser(userId);
+        log.info("All sessions revoked for user [{}]", userId);
+        auditService.recordAfterCommit(AuditEventType.SESSION_REVOKED, userId, null, null, "all");
+    }
+}
@@ -1,8 +1,14 @@
 package com.hospital.management.service;
 
+import com.hospital.management.audit.AuditService;
+import com.hospital.management.constants.AuditEventType;
+import com.hospital.management.constants.Role;
 import com.hospital.management.model.dao.UserDao;
 import com.hospital.management.model.domain.User;
 import com.hospital.management.model.dto.auth.CreateUserRequest;
+import com.hospital.management.model.dto.auth.UpdateUserRequest;
+import com.hospital.management.model.dto.auth.UserCursor;
+import com.hospital.management.model.dto.auth.UserPageResponse;
 import com.hospital.management.model.dto.auth.UserResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,10 +16,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 /**
  * Application service for user management operations.
  * <p>
- * Handles admin-initiated account creation. Password hashing,
+ * Handles admin-initiated account creation, profile updates and
+ * deactivation. Password hashing,
  * duplicate email checks, and entity mapping are all encapsulated
  * here so the controller layer stays thin.
  * </p>
@@ -23,8 +34,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
 
+    /** Upper bound on the page size a client may request. */
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final UserDao userDao;
     private final PasswordEncoder passwordEncoder;
+    private final AuditService auditService;
+    private final SessionService sessionService;
 
     /**
      * Creates a new user account.
@@ -56,10 +72,96 @@ public class UserService {
         User saved = userDao.save(user);
         log.info("User created [id={}, email={}, role={}]",
                 saved.getId(), saved.getEmail(), saved.getRole());
+        auditService.recordAfterCommit(AuditEventType.USER_CREATED, saved.getId(), saved.getEmail(), null,
+                "role=" + saved.getRole());
 
         return toResponse(saved);
     }
 
+    /**
+     * Applies a partial profile update. Null fields are left unchanged.
+     *
+     * @param userId  the user to update
+     * @param request the fields to change
+     * @return the updated user, or empty if no user has that ID
+     */
+    @Transactional
+    public Optional<UserResponse> updateUser(UUID userId, UpdateUserRequest request) {
+        return userDao.findById(userId).map(user -> {
+            if (request.getFirstName() != null) {
+                user.setFirstName(request.getFirstName());
+            }
+            if (request.getLastName() != null) {
+                user.setLastName(request.getLastName());
+            }
+            if (request.getRole() != null) {
+                user.setRole(request.getRole());
+            }
+            if (request.getDepartmentId() != null) {
+                user.setDepartmentId(request.getDepartmentId());
+            }
+            if (request.getPhone() != null) {
+                user.setPhone(request.getPhone());
+            }
+
+            User updated = userDao.update(user);
+            log.info("User updated [id={}]", updated.getId());
+            auditService.recordAfterCommit(AuditEventType.USER_UPDATED, updated.getId(), updated.getEmail(), null,
+                    "role=" + updated.getRole());
+            return toResponse(updated);
+        });
+    }
+
+    /**
+     * Deactivates a user account and signs it out everywhere.
+     * <p>
+     * The row is kept (soft delete) so audit history and foreign keys stay
+     * intact; a deactivated user can no longer log in or refresh.
+     * </p>
+     *
+     * @param userId the user to deactivate
+     * @return the deactivated user, or empty if no user has that ID
+     */
+    @Transactional
+    public Optional<UserResponse> deactivateUser(UUID userId) {
+        return userDao.findById(userId).map(user -> {
+            user.setIsActive(false);
+            User updated = userDao.update(user);
+            sessionService.revokeAllSessions(userId);
+            log.info("User deactivated [id={}]", userId);
+            auditService.recordAfterCommit(AuditEventType.USER_DEACTIVATED, userId, updated.getEmail(), null,
+                    null);
+            return toResponse(updated);
+        });
+    }
+
+    /**
+     * Lists users in name order, one page at a time.
+     *
+     * @param role         role filter, or null
+     * @param departmentId department filter, or null
+     * @param isActive     active-flag filter, or null
+     * @param cursor       {@code nextCursor} of the previous page, or null for the first page
+     * @param limit        page size, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse listUsers(Role role, UUID departmentId, Boolean isActive, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        UserCursor after = cursor == null || cursor.isEmpty() ? null : UserCursor.decode(cursor);
+
+        // One extra row tells us whether a next page exists without a COUNT
+        List<UserResponse> rows = userDao.findPage(role, departmentId, isActive, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<UserResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return UserPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? UserCursor.of(items.get(pageSize - 1)).encode() : null)
+                .build();
+    }
+
     private UserResponse toResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -0,0 +1,28 @@
+package com.hospital.management.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Keeps lazy initialization ({@code spring.main.lazy-initialization=true})
+ * from deferring work that should fail a node before it reports ready.
+ * <p>
+ * The entity manager factory stays eager, which also keeps Flyway eager since
+ * it runs before the factory is built. Otherwise the first login would pay for
+ * migrations and Hibernate bootstrap, and a broken schema would only surface
+ * under traffic. Beans with {@code @Scheduled} methods are already kept eager
+ * by Spring Boot.
+ * </p>
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                EntityManagerFactory.class, AbstractEntityManagerFactoryBean.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.hospital.management.startup;
+
+import com.hospital.management.model.domain.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Skips Hibernate's {@code ddl-auto: validate} pass when nothing it checks
+ * can have changed.
+ * <p>
+ * Validation compares every mapped entity against the live schema, which is
+ * a noticeable share of startup. Since the schema is owned by Flyway, and
+ * Flyway refuses to start if an applied script's checksum changed, a schema
+ * built from the same migrations matches the same entities as last time. The
+ * fingerprint therefore covers the migration scripts and the compiled entity
+ * classes; when it equals the stamp written by the last successful
+ * validation, validation is switched off for this run.
+ * </p>
+ * <p>
+ * The stamp is written once the entity manager factory has been built with
+ * validation on, so a failed validation never produces one. Changes made to
+ * the database by hand, outside Flyway, are not detected — delete the stamp
+ * file to force a full check.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SchemaValidationStamp implements HibernatePropertiesCustomizer, SmartInitializingSingleton {
+
+    private static final String ENTITY_CLASSES = "classpath*:"
+            + ClassUtils.convertClassNameToResourcePath(User.class.getPackageName()) + "/**/*.class";
+
+    private final StartupProperties properties;
+    private final ObjectProvider<FlywayProperties> flywayProperties;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    /** Fingerprint to record once validation has passed; null when nothing is to be written. */
+    private volatile String pendingFingerprint;
+
+    public SchemaValidationStamp(StartupProperties properties,
+            ObjectProvider<FlywayProperties> flywayProperties,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.properties = properties;
+        this.flywayProperties = flywayProperties;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        if (!properties.isSkipUnchangedSchemaValidation()
+                || !"validate".equals(String.valueOf(hibernateProperties.get(AvailableSettings.HBM2DDL_AUTO)))) {
+            return;
+        }
+
+        String fingerprint;
+        try {
+            fingerprint = fingerprint();
+        } catch (IOException e) {
+            log.warn("Could not fingerprint schema sources, validating as usual: {}", e.getMessage());
+            return;
+        }
+
+        if (fingerprint.equals(readStamp())) {
+            hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            log.info("Migrations and entities unchanged since last validation ({}), skipping schema validation",
+                    fingerprint);
+        } else {
+            pendingFingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Runs after every eager singleton, including the entity manager factory,
+     * has been created, so reaching this point means validation passed.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        String fingerprint = pendingFingerprint;
+        if (fingerprint == null || entityManagerFactory.getIfAvailable() == null) {
+            return;
+        }
+
+        try {
+            Files.writeString(Path.of(properties.getSchemaStampFile()), fingerprint, StandardCharsets.UTF_8);
+            log.info("Schema validated, recorded fingerprint {}", fingerprint);
+        } catch (IOException e) {
+            log.warn("Could not write schema stamp {}: {}", properties.getSchemaStampFile(), e.getMessage());
+        }
+        pendingFingerprint = null;
+    }
+
+    private String readStamp() {
+        Path stamp = Path.of(properties.getSchemaStampFile());
+        try {
+            return Files.isRegularFile(stamp) ? Files.readString(stamp, StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * CRC32 over the names and contents of every migration script and entity
+     * class file, in a stable order.
+     */
+    private String fingerprint() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> sources = new ArrayList<>();
+        for (String location : migrationLocations()) {
+            sources.addAll(List.of(resolver.getResources(location)));
+        }
+        sources.addAll(List.of(resolver.getResources(ENTITY_CLASSES)));
+        sources.sort(Comparator.comparing(r -> String.valueOf(r.getFilename())));
+
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        for (Resource source : sources) {
+            crc.update(String.valueOf(source.getFilename()).getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = source.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+        }
+        return sources.size() + "-" + Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Translates Flyway locations ({@code classpath:db/migrations},
+     * {@code filesystem:/sql}) into resource patterns for the SQL scripts.
+     */
+    private List<String> migrationLocations() {
+        FlywayProperties flyway = flywayProperties.getIfAvailable();
+        List<String> locations = flyway != null ? flyway.getLocations() : List.of("classpath:db/migration");
+
+        List<String> patterns = new ArrayList<>();
+        for (String location : locations) {
+            if (location.startsWith("filesystem:")) {
+                patterns.add("file:" + location.substring("filesystem:".length()) + "/**/*.sql");
+            } else {
+                String path = location.startsWith("classpath:") ? location.substring("classpath:".length()) : location;
+                patterns.add("classpath*:" + path + "/**/*.sql");
+            }
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hospital.management.startup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for startup tuning ({@code app.startup.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.startup")
+@Getter
+@Setter
+public class StartupProperties {
+
+    /**
+     * Skip Hibernate schema validation when the migrations and entity classes
+     * are identical to the last run that validated successfully. Off by
+     * default; the {@code faststart} profile turns it on.
+     */
+    private boolean skipUnchangedSchemaValidation = false;
+
+    /** File recording the fingerprint of the last successful validation. */
+    private String schemaStampFile = "schema-validated.stamp";
+}
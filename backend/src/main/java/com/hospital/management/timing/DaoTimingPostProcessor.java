@@ -0,0 +1,72 @@
+package com.hospital.management.timing;
+
+import com.hospital.management.model.dao.base.AbstractBaseDao;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public DAO method as a {@link RequestTiming} phase named
+ * {@code dao.<Dao>.<method>}, e.g. {@code dao.UserDao.findByEmail}.
+ * <p>
+ * The interceptor is added ahead of the transaction advice on each DAO's
+ * existing proxy, so a phase includes acquiring the connection and
+ * committing. Phase names are built once per method and cached; outside a
+ * request the interceptor only checks that timing is inactive.
+ * </p>
+ */
+@Component
+public class DaoTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public DaoTimingPostProcessor() {
+        StaticMethodMatcherPointcut daoMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return AbstractBaseDao.class.isAssignableFrom(targetClass)
+                        && method.getDeclaringClass() != Object.class;
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(daoMethods, new TimingInterceptor());
+        setBeforeExistingAdvisors(true);
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        /** Keyed by DAO class, then method: inherited base methods are shared between DAOs. */
+        private final Map<Class<?>, Map<Method, String>> phaseNames = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (!RequestTiming.current().isActive()) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                RequestTiming.record(phaseName(invocation), start);
+            }
+        }
+
+        private String phaseName(MethodInvocation invocation) {
+            Class<?> target = invocation.getThis().getClass();
+            Method method = invocation.getMethod();
+            Map<Method, String> names = phaseNames.get(target);
+            String name = names != null ? names.get(method) : null;
+            if (name == null) {
+                String dao = ClassUtils.getUserClass(target).getSimpleName().replaceFirst("Impl$", "");
+                name = phaseNames.computeIfAbsent(target, t -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(method, m -> "dao." + dao + "." + m.getName());
+            }
+            return name;
+        }
+    }
+}
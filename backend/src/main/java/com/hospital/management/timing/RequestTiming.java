@@ -0,0 +1,188 @@
+package com.hospital.management.timing;
+
+import java.util.Locale;
+
+/**
+ * Named phase timings of the request running on the current thread.
+ * <p>
+ * One instance per thread, reused across requests: phase names, durations
+ * and call counts live in arrays sized once by
+ * {@link ServerTimingProperties#getMaxPhases()}, so recording a phase is a
+ * thread-local read, a short identity scan and two array writes. Phase names
+ * must be constants (or otherwise cached strings): a repeated phase is found
+ * by reference and its durations are summed.
+ * </p>
+ * <p>
+ * Outside a request — scheduled jobs, background writers — the context is
+ * inactive and every call returns immediately.
+ * </p>
+ *
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * ... work ...
+ * RequestTiming.record(RequestTiming.JWT, start);
+ * }</pre>
+ */
+public final class RequestTiming {
+
+    public static final String JWT = "jwt";
+    public static final String BCRYPT = "bcrypt";
+    public static final String SERIALIZE = "serialize";
+    public static final String TOTAL = "total";
+
+    private static final int DEFAULT_MAX_PHASES = 32;
+    private static volatile int maxPhases = DEFAULT_MAX_PHASES;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    private final String[] names;
+    private final long[] nanos;
+    private final int[] counts;
+    private final StringBuilder buffer = new StringBuilder(512);
+    private int size;
+    private int dropped;
+    private boolean active;
+    private boolean adminCaller;
+    private long requestStart;
+
+    /** Phase in progress when the header had to be written, e.g. serialization itself. */
+    private String openPhase;
+    private long openStart;
+
+    private RequestTiming() {
+        int capacity = maxPhases;
+        this.names = new String[capacity];
+        this.nanos = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    static void configure(int phases) {
+        maxPhases = Math.max(1, phases);
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds the time since {@code startNanos} to a phase of the current request.
+     *
+     * @param phase      constant phase name, a valid HTTP token
+     * @param startNanos {@link System#nanoTime()} at the start of the phase
+     */
+    public static void record(String phase, long startNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Marks the start of a phase that may still be running when the response
+     * is committed; {@link #closePhase()} ends it.
+     */
+    public static void openPhase(String phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.openPhase = phase;
+            timing.openStart = System.nanoTime();
+        }
+    }
+
+    public static void closePhase() {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active && timing.openPhase != null) {
+            timing.add(timing.openPhase, System.nanoTime() - timing.openStart);
+            timing.openPhase = null;
+        }
+    }
+
+    /**
+     * Notes that the caller authenticated as an admin, which allows an
+     * on-demand {@code Server-Timing} header.
+     */
+    public static void markAdminCaller() {
+        RequestTiming timing = CURRENT.get();
+        if (timing.active) {
+            timing.adminCaller = true;
+        }
+    }
+
+    void begin(long startNanos) {
+        size = 0;
+        dropped = 0;
+        adminCaller = false;
+        openPhase = null;
+        requestStart = startNanos;
+        active = true;
+    }
+
+    void end() {
+        active = false;
+        openPhase = null;
+        for (int i = 0; i < size; i++) {
+            names[i] = null;
+        }
+        size = 0;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    boolean isAdminCaller() {
+        return adminCaller;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - requestStart;
+    }
+
+    private void add(String phase, long elapsed) {
+        for (int i = 0; i < size; i++) {
+            if (names[i] == phase) {
+                nanos[i] += elapsed;
+                counts[i]++;
+                return;
+            }
+        }
+        if (size == names.length) {
+            dropped++;
+            return;
+        }
+        names[size] = phase;
+        nanos[size] = elapsed;
+        counts[size] = 1;
+        size++;
+    }
+
+    /**
+     * Formats the phases recorded so far as a {@code Server-Timing} value:
+     * {@code total;dur=12.40, jwt;dur=0.31, dao.UserDao.findByEmail;dur=2.02;desc="2 calls"}.
+     * A phase still open is included up to now.
+     */
+    String toHeaderValue() {
+        StringBuilder out = buffer;
+        out.setLength(0);
+        appendMetric(out, TOTAL, elapsedNanos(), 1);
+        for (int i = 0; i < size; i++) {
+            out.append(", ");
+            appendMetric(out, names[i], nanos[i], counts[i]);
+        }
+        if (openPhase != null) {
+            out.append(", ");
+            appendMetric(out, openPhase, System.nanoTime() - openStart, 1);
+        }
+        if (dropped > 0) {
+            out.append(", dropped;desc=\"").append(dropped).append(" phases\"");
+        }
+        return out.toString();
+    }
+
+    private static void appendMetric(StringBuilder out, String name, long elapsedNanos, int count) {
+        out.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", elapsedNanos / 1e6));
+        if (count > 1) {
+            out.append(";desc=\"").append(count).append(" calls\"");
+        }
+    }
+}
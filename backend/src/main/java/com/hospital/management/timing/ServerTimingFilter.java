@@ -0,0 +1,94 @@
+package com.hospital.management.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens a {@link RequestTiming} context around every request and reports it.
+ * <p>
+ * Runs first, so {@code total} covers the security chain as well. Admin
+ * requests that send the {@code X-Server-Timing} header get a
+ * {@code Server-Timing} response header, which browser dev tools show in the
+ * network timing panel. Nobody else gets it: the phases would tell an
+ * anonymous caller which DAO calls ran, and on login whether the password
+ * was checked at all, i.e. whether the account exists. For the same reason
+ * it is never sent on {@code /api/v1/auth/**}.
+ * </p>
+ * <p>
+ * Sampled requests ({@code app.server-timing.sample-rate}) and requests
+ * over {@code app.server-timing.slow-request-threshold-ms} are logged with
+ * the breakdown instead.
+ * </p>
+ * <p>
+ * For async requests (streamed exports) the breakdown covers the initial
+ * dispatch, up to the handler returning.
+ * </p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+        RequestTiming.configure(properties.getMaxPhases());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestTiming timing = RequestTiming.current();
+        timing.begin(System.nanoTime());
+        try {
+            TimingResponseWrapper wrapper = null;
+            if (request.getHeader(properties.getRequestHeader()) != null
+                    && !request.getRequestURI().startsWith(AUTH_PATH)) {
+                wrapper = new TimingResponseWrapper(response, timing);
+            }
+
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+
+            if (wrapper != null) {
+                // Bodiless responses (204, 304) never triggered the wrapper
+                wrapper.emit();
+            }
+            long thresholdMs = properties.getSlowRequestThresholdMs();
+            if (thresholdMs > 0 && timing.elapsedNanos() > thresholdMs * 1_000_000) {
+                log.warn("Slow request {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toHeaderValue());
+            } else if (sampled()) {
+                log.info("Sampled request {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toHeaderValue());
+            }
+        } finally {
+            timing.end();
+        }
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
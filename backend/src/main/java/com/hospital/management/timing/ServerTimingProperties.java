@@ -0,0 +1,34 @@
+package com.hospital.management.timing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Typed binding for per-request phase timing ({@code app.server-timing.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.server-timing")
+@Getter
+@Setter
+public class ServerTimingProperties {
+
+    /** Records phase timings for every request. Off means no per-request work at all. */
+    private boolean enabled = true;
+
+    /** Fraction of requests (0–1) whose breakdown is logged. Never sent to the caller. */
+    private double sampleRate = 0.0;
+
+    /**
+     * Request header that asks for a {@code Server-Timing} response; honoured
+     * only when the caller authenticates as an admin.
+     */
+    private String requestHeader = "X-Server-Timing";
+
+    /** Requests slower than this are logged with their full breakdown; 0 disables the log. */
+    private long slowRequestThresholdMs = 1000;
+
+    /** Distinct phases kept per request; further phases are counted but dropped. */
+    private int maxPhases = 32;
+}
@@ -0,0 +1,129 @@
+package com.hospital.management.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the {@code Server-Timing} header at the last moment it can still be
+ * set: just before the first body byte is written, the buffer is flushed,
+ * or an error or redirect commits the response.
+ * <p>
+ * Only wrapped around requests that asked for the header, so other requests
+ * pay nothing for it. The header is set only if the security chain marked
+ * the caller as an admin.
+ * </p>
+ */
+class TimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String HEADER = "Server-Timing";
+
+    private final RequestTiming timing;
+    private boolean emitted;
+    private ServletOutputStream outputStream;
+
+    TimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    /**
+     * Sets the header from the phases recorded so far, once, if the response
+     * is not committed yet.
+     */
+    void emit() {
+        if (emitted) {
+            return;
+        }
+        emitted = true;
+        if (!isCommitted() && timing.isAdminCaller()) {
+            setHeader(HEADER, timing.toHeaderValue());
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new EmittingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        // Writers are used for short error and text bodies; emit up front
+        emit();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        emit();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        emit();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        emit();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        emit();
+        super.sendRedirect(location);
+    }
+
+    private final class EmittingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        EmittingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            emit();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            emit();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            emit();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            emit();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
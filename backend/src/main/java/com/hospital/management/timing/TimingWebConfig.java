@@ -0,0 +1,54 @@
+package com.hospital.management.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Records JSON response serialization as the {@code serialize} phase.
+ * <p>
+ * Replaces Spring MVC's Jackson converter with a subclass that opens the
+ * phase around the write. Small bodies reach the servlet stream only when
+ * Jackson flushes at the end, so the {@code Server-Timing} header, written
+ * at that first byte, still includes most of the serialization time.
+ * </p>
+ */
+@Configuration
+public class TimingWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && jackson.getClass() == MappingJackson2HttpMessageConverter.class) {
+                converters.set(i, new TimedJacksonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+
+    private static final class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            RequestTiming.openPhase(RequestTiming.SERIALIZE);
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTiming.closePhase();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- One row per inpatient stay. An open admission (discharged_at IS NULL)
+-- occupies a bed in its department; a transfer moves the row to another
+-- department rather than closing it.
+CREATE TABLE admissions (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    patient_reference NVARCHAR(64) NOT NULL,
+    department_id UNIQUEIDENTIFIER NOT NULL,
+    bed_label NVARCHAR(32) NULL,
+    admitted_at DATETIME2 NOT NULL,
+    discharged_at DATETIME2 NULL,
+    created_at DATETIME2 DEFAULT GETDATE(),
+    updated_at DATETIME2 DEFAULT GETDATE(),
+    CONSTRAINT fk_admissions_department FOREIGN KEY (department_id) REFERENCES departments(id)
+);
+
+-- Occupancy reconciliation groups open admissions by department; the filter
+-- keeps discharged history out of the index
+CREATE INDEX idx_admissions_open_department ON admissions(department_id)
+    WHERE discharged_at IS NULL;
+
+-- At most one open admission per patient
+CREATE UNIQUE INDEX uq_admissions_open_patient ON admissions(patient_reference)
+    WHERE discharged_at IS NULL;
@@ -0,0 +1,18 @@
+-- Responses to requests sent with an Idempotency-Key header, so a retry that
+-- lands on another node is answered from here instead of running again.
+-- key_hash is SHA-256 of the caller and key; request_fingerprint is SHA-256
+-- of the method, path and body. response_status is NULL while the first
+-- request is still running.
+CREATE TABLE idempotency_keys (
+    key_hash CHAR(64) PRIMARY KEY,
+    request_fingerprint CHAR(64) NOT NULL,
+    response_status INT NULL,
+    content_type NVARCHAR(255) NULL,
+    location NVARCHAR(2048) NULL,
+    response_body VARBINARY(MAX) NULL,
+    created_at DATETIME2 NOT NULL,
+    expires_at DATETIME2 NOT NULL
+);
+
+-- Purge seeks on expiry
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,25 @@
+-- Appointment and medication reminders. Each node claims the reminders due
+-- in its next load window (status CLAIMED, claimed_by = node) and fires them
+-- from an in-memory timing wheel. A claim expires at claimed_until, so the
+-- reminders of a node that died are claimed again by another node.
+CREATE TABLE reminders (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    kind NVARCHAR(32) NOT NULL,
+    recipient NVARCHAR(255) NOT NULL,
+    patient_reference NVARCHAR(64) NULL,
+    message NVARCHAR(500) NOT NULL,
+    due_at DATETIME2 NOT NULL,
+    status NVARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    claimed_by NVARCHAR(255) NULL,
+    claimed_until DATETIME2 NULL,
+    delivered_at DATETIME2 NULL,
+    created_at DATETIME2 DEFAULT GETDATE(),
+    updated_at DATETIME2 DEFAULT GETDATE()
+);
+
+-- Window claims seek on due_at over undelivered rows only, so their cost
+-- follows the reminders due rather than the table's delivered history
+CREATE INDEX idx_reminders_undelivered_due ON reminders(due_at)
+    INCLUDE (status, claimed_by, claimed_until)
+    WHERE status IN ('PENDING', 'CLAIMED');
@@ -0,0 +1,22 @@
+-- Lab results ingested from FHIR Observation bundles. Rows are written only
+-- by the ingestion pipeline, in JDBC batches; ingestion_id groups the rows
+-- of one upload. Sequential ids keep batch inserts appending to the end of
+-- the clustered index instead of splitting pages across it.
+CREATE TABLE lab_results (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWSEQUENTIALID(),
+    ingestion_id UNIQUEIDENTIFIER NOT NULL,
+    source_id NVARCHAR(64) NULL,
+    patient_reference NVARCHAR(64) NOT NULL,
+    code_system NVARCHAR(255) NULL,
+    code NVARCHAR(64) NOT NULL,
+    display NVARCHAR(255) NULL,
+    status NVARCHAR(20) NOT NULL,
+    value_numeric DECIMAL(19, 6) NULL,
+    value_text NVARCHAR(1000) NULL,
+    unit NVARCHAR(32) NULL,
+    effective_at DATETIME2 NOT NULL,
+    created_at DATETIME2 DEFAULT GETDATE()
+);
+
+-- A patient's results over time
+CREATE INDEX idx_lab_results_patient ON lab_results(patient_reference, effective_at);
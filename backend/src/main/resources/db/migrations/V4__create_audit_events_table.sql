@@ -0,0 +1,18 @@
+-- Create audit events table (append-only, written in batches by AuditWriter)
+CREATE TABLE audit_events (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    event_type NVARCHAR(40) NOT NULL,
+    user_id UNIQUEIDENTIFIER,
+    principal NVARCHAR(255),
+    actor NVARCHAR(255),
+    ip_address NVARCHAR(50),
+    detail NVARCHAR(500),
+    occurred_at DATETIME2 NOT NULL,
+    recorded_at DATETIME2 DEFAULT GETDATE()
+);
+
+-- Create index on user_id for per-user audit history
+CREATE INDEX idx_audit_events_user_id ON audit_events(user_id, occurred_at);
+
+-- Create index on occurred_at for time-range compliance reports
+CREATE INDEX idx_audit_events_occurred_at ON audit_events(occurred_at);
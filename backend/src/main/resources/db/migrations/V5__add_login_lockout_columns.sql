@@ -0,0 +1,4 @@
+-- Add lockout state to users (flushed periodically by LoginAttemptService)
+ALTER TABLE users ADD failed_attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD lockout_count INT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD locked_until DATETIME2;
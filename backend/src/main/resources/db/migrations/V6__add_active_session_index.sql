@@ -0,0 +1,6 @@
+-- Covering filtered index for active-session listing and the per-user session cap.
+-- Only non-revoked rows are indexed, and every column the session queries read is
+-- present, so both are index-only seeks on user_id.
+CREATE INDEX idx_refresh_tokens_user_active ON refresh_tokens(user_id, created_at DESC)
+    INCLUDE (expires_at, device_info, ip_address)
+    WHERE revoked = 0;
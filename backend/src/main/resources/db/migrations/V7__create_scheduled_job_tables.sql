@@ -0,0 +1,25 @@
+-- One row per named cluster-wide job. A node runs a schedule slot only if it
+-- moves last_slot forward while the lease (locked_until) is free, in a single
+-- UPDATE, so exactly one node wins each slot.
+CREATE TABLE scheduled_job_locks (
+    job_name NVARCHAR(100) PRIMARY KEY,
+    locked_by NVARCHAR(255),
+    locked_at DATETIME2,
+    locked_until DATETIME2 NOT NULL,
+    last_slot DATETIME2
+);
+
+-- Run history: one row per job per slot, written by the node that ran it
+CREATE TABLE scheduled_job_runs (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    job_name NVARCHAR(100) NOT NULL,
+    slot_at DATETIME2 NOT NULL,
+    node NVARCHAR(255) NOT NULL,
+    status NVARCHAR(20) NOT NULL,
+    started_at DATETIME2 NOT NULL,
+    finished_at DATETIME2,
+    error NVARCHAR(500),
+    CONSTRAINT uq_scheduled_job_runs_slot UNIQUE (job_name, slot_at)
+);
+
+CREATE INDEX idx_scheduled_job_runs_started_at ON scheduled_job_runs(job_name, started_at);
@@ -0,0 +1,31 @@
+-- Composite indexes for the paginated user listing (GET /api/v1/users).
+-- Each index leads with its filter column, then the sort key (last_name,
+-- first_name; id is the clustered key and rides along), so every filter
+-- combination is a seek plus one range scan already in page order that
+-- stops after one page. INCLUDE makes them covering for the listing's
+-- column projection.
+--
+-- is_active is deliberately not in the role and department keys: there a
+-- role-only or department-only listing would read two ranges, one per
+-- is_active value, each in name order but not together, and SQL Server
+-- would sort the whole match before taking a page. An is_active or role
+-- filter on top is a residual predicate on the included columns; listing
+-- inactive users of a role can seek idx_users_active_name instead.
+
+-- role [+ is_active]; supersedes idx_users_role
+CREATE INDEX idx_users_role_name ON users(role, last_name, first_name)
+    INCLUDE (email, phone, department_id, is_active, created_at);
+
+-- department_id [+ is_active] [+ role]
+CREATE INDEX idx_users_department_name ON users(department_id, last_name, first_name)
+    INCLUDE (email, phone, role, is_active, created_at);
+
+-- is_active alone
+CREATE INDEX idx_users_active_name ON users(is_active, last_name, first_name)
+    INCLUDE (email, phone, role, department_id, created_at);
+
+-- No filter
+CREATE INDEX idx_users_name ON users(last_name, first_name)
+    INCLUDE (email, phone, role, department_id, is_active, created_at);
+
+DROP INDEX idx_users_role ON users;
@@ -0,0 +1,39 @@
+-- Departments nest (ICU under Emergency, Paediatric Cardiology under
+-- Cardiology). parent_id is the source of truth for the tree;
+-- department_closure stores every ancestor/descendant pair, including each
+-- department paired with itself at depth 0, so ancestry, subtree and
+-- subtree-wide queries are single joins instead of recursive CTEs.
+ALTER TABLE departments ADD parent_id UNIQUEIDENTIFIER NULL
+    CONSTRAINT fk_departments_parent REFERENCES departments(id);
+
+CREATE INDEX idx_departments_parent ON departments(parent_id);
+
+CREATE TABLE department_closure (
+    ancestor_id UNIQUEIDENTIFIER NOT NULL,
+    descendant_id UNIQUEIDENTIFIER NOT NULL,
+    depth INT NOT NULL,
+    CONSTRAINT pk_department_closure PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_department_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES departments(id),
+    CONSTRAINT fk_department_closure_descendant FOREIGN KEY (descendant_id) REFERENCES departments(id)
+);
+
+-- Ancestor lookups seek on the descendant
+CREATE INDEX idx_department_closure_descendant ON department_closure(descendant_id, depth) INCLUDE (ancestor_id);
+
+-- Every existing department is a root
+INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM departments;
+
+-- One-row lock that serializes changes to the hierarchy. A move checks that
+-- the new parent is outside the moved subtree, then rewrites the closure
+-- paths; two moves checking before either rewrites can each pass and
+-- together create a cycle. Every move (and every insert of a nested
+-- department, which copies its parent's paths) first updates this row, so
+-- the check and the rewrite run under an exclusive lock held to commit.
+-- Plain UPDATE rather than sp_getapplock, so the H2 mirror locks the same way.
+CREATE TABLE department_hierarchy_lock (
+    id INT PRIMARY KEY,
+    locked_at DATETIME2 NULL
+);
+
+INSERT INTO department_hierarchy_lock (id, locked_at) VALUES (1, NULL);
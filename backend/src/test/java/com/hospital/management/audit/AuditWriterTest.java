@@ -0,0 +1,104 @@
+package com.hospital.management.audit;
+
+import com.hospital.management.constants.AuditEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes audit events into H2: over-long values are truncated on record, a
+ * batch holding a row the database refuses still writes the other rows and
+ * quarantines the bad one, and a spill file holding such a row is replayed
+ * to completion instead of failing on every retry.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:audit;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.audit.spill-file=target/audit-writer-test/spill.log",
+        "app.audit.flush-interval-ms=50",
+})
+@ActiveProfiles("loadtest")
+class AuditWriterTest {
+
+    private static final Path QUARANTINE = Path.of("target/audit-writer-test/spill.log.rejected");
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private AuditSpillFile spillFile;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void truncatesOverlongValuesOnRecord() throws InterruptedException {
+        String principal = "long-" + UUID.randomUUID() + "x".repeat(1_000);
+        auditService.record(AuditEventType.LOGIN_FAILED, null, principal, "10.0.0.1", "d".repeat(1_000));
+
+        String stored = principal.substring(0, 255);
+        awaitTrue(() -> count("principal = ?", stored) == 1);
+        assertEquals(500, jdbcTemplate.queryForObject(
+                "SELECT LENGTH(detail) FROM audit_events WHERE principal = ?", Integer.class, stored));
+    }
+
+    @Test
+    void batchWithARejectedRowWritesTheOthers() throws IOException {
+        String marker = "batch-" + UUID.randomUUID();
+        long quarantinedBefore = quarantinedLines();
+
+        List<AuditEvent> unwritten = auditWriter.write(List.of(
+                event(marker, "ok"),
+                event(marker, "x".repeat(600)),
+                event(marker, "ok")));
+
+        assertTrue(unwritten.isEmpty());
+        assertEquals(2, count("principal = ?", marker));
+        assertEquals(quarantinedBefore + 1, quarantinedLines());
+    }
+
+    @Test
+    void spillHoldingARejectedRowIsReplayed() throws InterruptedException {
+        String marker = "spill-" + UUID.randomUUID();
+        assertTrue(spillFile.append(List.of(event(marker, "y".repeat(600)), event(marker, "ok"))));
+
+        awaitTrue(() -> !spillFile.hasPending());
+        assertEquals(1, count("principal = ?", marker));
+    }
+
+    private int count(String where, Object arg) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_events WHERE " + where, Integer.class, arg);
+    }
+
+    private static long quarantinedLines() throws IOException {
+        return Files.exists(QUARANTINE) ? Files.readAllLines(QUARANTINE, StandardCharsets.UTF_8).size() : 0;
+    }
+
+    private static AuditEvent event(String principal, String detail) {
+        return new AuditEvent(AuditEventType.LOGIN_FAILED, null, principal, null, null, detail, Instant.now());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hospital.management.controller;
+
+import com.hospital.management.model.dao.AdmissionDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Admissions over HTTP: receptionists may look up an admission but not
+ * admit, discharge or transfer patients, and an admission that loses a race
+ * with another for the same patient is refused like any duplicate.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:admissioncontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class AdmissionControllerTest {
+
+    private static final String RECEPTIONIST_EMAIL = "admissions.reception@hospital.com";
+    private static final String RECEPTIONIST_PASSWORD = "Reception1234!";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private AdmissionDao admissionDao;
+
+    private HttpHeaders admin;
+    private HttpHeaders receptionist;
+
+    @BeforeEach
+    void logIn() {
+        admin = bearer("admin@hospital.com", "Admin1234!");
+        // Already there from an earlier test in this context when the create answers 409
+        rest.postForEntity("/api/v1/users", new HttpEntity<>(Map.of(
+                "firstName", "Rhea",
+                "lastName", "Reception",
+                "email", RECEPTIONIST_EMAIL,
+                "password", RECEPTIONIST_PASSWORD,
+                "role", "RECEPTIONIST"), admin), String.class);
+        receptionist = bearer(RECEPTIONIST_EMAIL, RECEPTIONIST_PASSWORD);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void receptionistCannotMovePatients() {
+        UUID cardiology = department("Cardiology");
+        Map<String, Object> admission = rest.postForObject("/api/v1/admissions", new HttpEntity<>(
+                Map.of("patientReference", "MRN-ROLE", "departmentId", cardiology), admin), Map.class);
+        String id = (String) admission.get("id");
+
+        assertEquals(HttpStatus.FORBIDDEN, post("/api/v1/admissions",
+                Map.of("patientReference", "MRN-DESK", "departmentId", cardiology)));
+        assertEquals(HttpStatus.FORBIDDEN, post("/api/v1/admissions/" + id + "/transfer",
+                Map.of("departmentId", department("Pediatrics"))));
+        assertEquals(HttpStatus.FORBIDDEN, post("/api/v1/admissions/" + id + "/discharge", null));
+        assertEquals(HttpStatus.OK, rest.exchange("/api/v1/admissions/" + id, HttpMethod.GET,
+                new HttpEntity<>(receptionist), String.class).getStatusCode());
+    }
+
+    @Test
+    void admissionThatLosesTheRaceIsABadRequest() {
+        // Both requests pass the open-stay check, as when they run concurrently
+        doReturn(false).when(admissionDao).existsOpenForPatient("MRN-RACE");
+        Map<String, Object> admit = Map.of("patientReference", "MRN-RACE", "departmentId", department("Radiology"));
+
+        assertEquals(HttpStatus.CREATED, rest.exchange("/api/v1/admissions", HttpMethod.POST,
+                new HttpEntity<>(admit, admin), String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, rest.exchange("/api/v1/admissions", HttpMethod.POST,
+                new HttpEntity<>(admit, admin), String.class).getStatusCode());
+    }
+
+    private HttpStatusCode post(String url, Object body) {
+        return rest.exchange(url, HttpMethod.POST, new HttpEntity<>(body, receptionist), String.class)
+                .getStatusCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpHeaders bearer(String email, String password) {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", email, "password", password), Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) session.get("accessToken"));
+        return headers;
+    }
+
+    private UUID department(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM departments WHERE name = ?", UUID.class, name);
+    }
+}
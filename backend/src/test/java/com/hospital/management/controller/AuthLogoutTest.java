@@ -0,0 +1,55 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Logout over HTTP: the caller is identified from the access token and
+ * their refresh tokens stop working; without a token the call is refused.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:authlogout;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.jwt.refresh-grace-period-ms=0",
+})
+@ActiveProfiles("loadtest")
+class AuthLogoutTest {
+
+    private static final Map<String, String> ADMIN = Map.of("email", "admin@hospital.com", "password", "Admin1234!");
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void logoutRevokesTheCallersRefreshTokens() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login", ADMIN, Map.class);
+        HttpHeaders bearer = new HttpHeaders();
+        bearer.setBearerAuth((String) session.get("accessToken"));
+
+        ResponseEntity<Void> logout = rest.postForEntity("/api/v1/auth/logout", new HttpEntity<>(bearer), Void.class);
+        ResponseEntity<String> refresh = rest.postForEntity("/api/v1/auth/refresh",
+                Map.of("refreshToken", session.get("refreshToken")), String.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, logout.getStatusCode());
+        assertTrue(refresh.getStatusCode().is4xxClientError(), refresh.getStatusCode().toString());
+    }
+
+    @Test
+    void logoutWithoutATokenIsUnauthorized() {
+        ResponseEntity<Void> logout = rest.postForEntity("/api/v1/auth/logout", null, Void.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, logout.getStatusCode());
+    }
+}
@@ -0,0 +1,100 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Department reads over HTTP: a matching {@code If-None-Match} on the list
+ * gets 304 with no body, a department write makes the old tag stale, and a
+ * single department comes with its lazily loaded description.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:departmentcontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        // No session held open for the view, so lazy attributes must be read inside the service
+        "spring.jpa.open-in-view=false",
+})
+@ActiveProfiles("loadtest")
+class DepartmentControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpHeaders admin;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+    }
+
+    @Test
+    void answersAMatchingTagWithNotModified() {
+        String etag = list(null).getHeaders().getETag();
+        ResponseEntity<List> conditional = list(etag);
+
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getStatusCode());
+        assertNull(conditional.getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aDepartmentWriteMakesTheTagStale() {
+        ResponseEntity<List> before = list(null);
+        List<Map<String, Object>> departments = before.getBody();
+        ResponseEntity<String> move = rest.exchange("/api/v1/departments/" + departments.get(0).get("id") + "/parent",
+                HttpMethod.PUT, new HttpEntity<>(Map.of("parentId", departments.get(1).get("id")), admin), String.class);
+
+        ResponseEntity<List> after = list(before.getHeaders().getETag());
+
+        assertEquals(HttpStatus.OK, move.getStatusCode());
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertNotEquals(before.getHeaders().getETag(), after.getHeaders().getETag());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void singleDepartmentIncludesItsDescription() {
+        Object cardiology = jdbcTemplate.queryForObject("SELECT id FROM departments WHERE name = 'Cardiology'",
+                Object.class);
+
+        ResponseEntity<Map> department = rest.exchange("/api/v1/departments/" + cardiology, HttpMethod.GET,
+                new HttpEntity<>(admin), Map.class);
+
+        assertEquals(HttpStatus.OK, department.getStatusCode());
+        assertEquals("Heart and cardiovascular services", department.getBody().get("description"));
+    }
+
+    private ResponseEntity<List> list(String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(admin);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return rest.exchange("/api/v1/departments", HttpMethod.GET, new HttpEntity<>(headers), List.class);
+    }
+}
@@ -0,0 +1,175 @@
+package com.hospital.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The change feed over HTTP: every stream gets the committed writes of the
+ * types it asked for, named by type, id and kind of change, with event ids
+ * increasing across types; a bulk reassignment reports every user it moved.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventcontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        // Headers go out with the first write, so a heartbeat opens the stream promptly
+        "app.events.heartbeat-interval-ms=100",
+})
+@ActiveProfiles("loadtest")
+class EventControllerTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** One received event: its id and JSON body. */
+    private record Event(long id, JsonNode body) {
+    }
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpHeaders admin;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamsCommittedChangesOfTheRequestedTypes() throws Exception {
+        UUID cardiology = department("Cardiology");
+
+        BlockingQueue<Event> filtered = new LinkedBlockingQueue<>();
+        BlockingQueue<Event> all = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> filteredStream = subscribe("?types=Department,admission", filtered);
+        HttpResponse<Stream<String>> allStream = subscribe("", all);
+        try {
+            Map<String, Object> user = rest.postForObject("/api/v1/users", new HttpEntity<>(Map.of(
+                    "firstName", "Eve", "lastName", "Feed", "email", "eve.feed@hospital.com",
+                    "password", "Nurse1234!", "role", "NURSE"), admin), Map.class);
+            Map<String, Object> admission = rest.postForObject("/api/v1/admissions", new HttpEntity<>(
+                    Map.of("patientReference", "MRN-FEED", "departmentId", cardiology), admin), Map.class);
+
+            List<Event> received = take(all, 2);
+            Event onlyAdmission = take(filtered, 1).get(0);
+
+            assertEquals("user", received.get(0).body().get("type").asText());
+            assertEquals(user.get("id"), received.get(0).body().get("id").asText());
+            assertEquals("CREATED", received.get(0).body().get("change").asText());
+            assertEquals("admission", received.get(1).body().get("type").asText());
+            assertEquals(admission.get("id"), received.get(1).body().get("id").asText());
+            assertTrue(received.get(0).id() < received.get(1).id());
+            assertEquals(received.get(1), onlyAdmission);
+        } finally {
+            filteredStream.body().close();
+            allStream.body().close();
+        }
+    }
+
+    @Test
+    void bulkReassignmentReportsEveryUserMoved() throws Exception {
+        UUID radiology = department("Radiology");
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO users (email, password_hash, first_name, last_name, role, department_id) "
+                    + "VALUES (?, 'x', 'Bulk', 'Moved', 'NURSE', ?)", "bulk" + i + "@hospital.com", radiology);
+        }
+        Set<String> moved = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT CAST(id AS VARCHAR) FROM users WHERE department_id = ?", String.class, radiology));
+
+        BlockingQueue<Event> users = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> stream = subscribe("?types=user", users);
+        try {
+            assertEquals(HttpStatus.OK, rest.postForEntity("/api/v1/users/department-reassignments",
+                    new HttpEntity<>(Map.of("sourceDepartmentId", radiology,
+                            "targetDepartmentId", department("Pharmacy")), admin), String.class).getStatusCode());
+
+            List<Event> received = take(users, moved.size());
+
+            assertEquals(moved, new HashSet<>(received.stream().map(e -> e.body().get("id").asText()).toList()));
+            assertTrue(received.stream().allMatch(e -> "UPDATED".equals(e.body().get("change").asText())));
+        } finally {
+            stream.body().close();
+        }
+    }
+
+    private UUID department(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM departments WHERE name = ?", UUID.class, name);
+    }
+
+    /**
+     * Opens a stream and returns once its headers have arrived, by which
+     * time the subscription is registered.
+     */
+    private HttpResponse<Stream<String>> subscribe(String query, BlockingQueue<Event> events) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(rest.getRootUri() + "/api/v1/events" + query))
+                .header(HttpHeaders.AUTHORIZATION, admin.getFirst(HttpHeaders.AUTHORIZATION))
+                .build();
+        HttpResponse<Stream<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        Thread reader = new Thread(() -> {
+            long[] id = new long[1];
+            response.body().forEach(line -> {
+                if (line.startsWith("id:")) {
+                    id[0] = Long.parseLong(line.substring(3).trim());
+                } else if (line.startsWith("data:")) {
+                    try {
+                        events.add(new Event(id[0], JSON.readTree(line.substring(5))));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return response;
+    }
+
+    private static List<Event> take(BlockingQueue<Event> events, int count) throws InterruptedException {
+        List<Event> taken = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event, "no change event within 10s");
+            taken.add(event);
+        }
+        return taken;
+    }
+}
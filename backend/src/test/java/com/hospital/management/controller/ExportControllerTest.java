@@ -0,0 +1,92 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming exports over HTTP: CSV and NDJSON bodies, gzip when accepted,
+ * and 400 for an unknown format.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportcontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class ExportControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private HttpHeaders admin;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+    }
+
+    @Test
+    void exportsUsersAsCsv() {
+        ResponseEntity<String> csv = rest.exchange("/api/v1/exports/users?format=csv", HttpMethod.GET,
+                new HttpEntity<>(admin), String.class);
+
+        String[] lines = csv.getBody().split("\r\n");
+        assertEquals(HttpStatus.OK, csv.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", csv.getHeaders().getContentType().toString());
+        assertTrue(csv.getHeaders().getContentDisposition().getFilename().endsWith(".csv"));
+        assertEquals("id,email,first_name,last_name,role,department_id,phone,is_active,created_at,updated_at",
+                lines[0]);
+        assertTrue(lines[1].contains(",admin@hospital.com,System,Admin,ADMIN,"), lines[1]);
+    }
+
+    @Test
+    void exportsDepartmentsAsNdjson() {
+        ResponseEntity<String> ndjson = rest.exchange("/api/v1/exports/departments?format=ndjson", HttpMethod.GET,
+                new HttpEntity<>(admin), String.class);
+
+        assertEquals(HttpStatus.OK, ndjson.getStatusCode());
+        assertEquals(6, ndjson.getBody().lines().filter(line -> line.startsWith("{\"id\":")).count());
+    }
+
+    @Test
+    void compressesWhenTheClientAcceptsGzip() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(admin);
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> gzip = rest.exchange("/api/v1/exports/users", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).startsWith("id,email,"));
+        }
+    }
+
+    @Test
+    void rejectsAnUnknownFormat() {
+        ResponseEntity<String> xml = rest.exchange("/api/v1/exports/users?format=xml", HttpMethod.GET,
+                new HttpEntity<>(admin), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, xml.getStatusCode());
+    }
+}
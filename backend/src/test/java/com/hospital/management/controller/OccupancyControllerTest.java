@@ -0,0 +1,170 @@
+package com.hospital.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.occupancy.OccupancyTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Bed occupancy over HTTP: admissions, transfers and discharges move the
+ * live counts, invalid movements are refused, reconciliation picks up an
+ * admission made elsewhere, and a subscribed stream gets a snapshot and
+ * then the changes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:occupancycontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.occupancy.push-interval-ms=50",
+        "app.occupancy.min-event-interval-ms=100",
+})
+@ActiveProfiles("loadtest")
+class OccupancyControllerTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private OccupancyTracker occupancyTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpHeaders admin;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+    }
+
+    @Test
+    void movementsUpdateTheCountsAndInvalidOnesAreRefused() {
+        UUID cardiology = department("Cardiology");
+        UUID pediatrics = department("Pediatrics");
+        String first = admit("MRN-1", cardiology);
+        String second = admit("MRN-2", cardiology);
+        admit("MRN-3", cardiology);
+
+        assertEquals(HttpStatus.OK, post("/api/v1/admissions/" + first + "/transfer",
+                Map.of("departmentId", pediatrics)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, post("/api/v1/admissions/" + first + "/transfer",
+                Map.of("departmentId", pediatrics)).getStatusCode());
+        assertEquals(HttpStatus.OK, post("/api/v1/admissions/" + second + "/discharge", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, post("/api/v1/admissions/" + second + "/discharge", null).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, post("/api/v1/admissions/" + UUID.randomUUID() + "/discharge", null)
+                .getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, post("/api/v1/admissions",
+                Map.of("patientReference", "MRN-3", "departmentId", pediatrics)).getStatusCode());
+
+        assertEquals(1, occupied(cardiology));
+        assertEquals(1, occupied(pediatrics));
+    }
+
+    @Test
+    void reconciliationPicksUpAdmissionsMadeElsewhere() {
+        UUID radiology = department("Radiology");
+        jdbcTemplate.update("INSERT INTO admissions (patient_reference, department_id, admitted_at) "
+                + "VALUES ('OTHER-NODE', ?, CURRENT_TIMESTAMP)", radiology);
+
+        occupancyTracker.reconcile();
+
+        assertEquals(1, occupied(radiology));
+    }
+
+    @Test
+    void streamSendsASnapshotAndThenTheChanges() throws Exception {
+        UUID emergency = department("Emergency");
+        BlockingQueue<String> data = new LinkedBlockingQueue<>();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(rest.getRootUri()
+                        + "/api/v1/occupancy/stream?departmentId=" + emergency))
+                .header(HttpHeaders.AUTHORIZATION, admin.getFirst(HttpHeaders.AUTHORIZATION))
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> stream = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        try {
+            stream.thenAccept(response -> response.body()
+                    .filter(line -> line.startsWith("data:"))
+                    .forEach(line -> data.add(line.substring(5))));
+
+            JsonNode snapshot = next(data).get(0);
+            admit("MRN-E1", emergency);
+            admit("MRN-E2", emergency);
+            // The two admissions may go out in one event or two, depending on timing
+            long occupied = snapshot.get("occupied").asLong();
+            long changes = 0;
+            while (occupied < snapshot.get("occupied").asLong() + 2) {
+                JsonNode change = next(data).get(0);
+                occupied = change.get("occupied").asLong();
+                changes += change.get("change").asLong();
+            }
+
+            assertEquals(emergency.toString(), snapshot.get("departmentId").asText());
+            assertEquals(0, snapshot.get("change").asLong());
+            assertEquals(2, changes);
+        } finally {
+            if (stream.isDone()) {
+                stream.join().body().close();
+            } else {
+                stream.cancel(true);
+            }
+        }
+    }
+
+    private static JsonNode next(BlockingQueue<String> data) throws InterruptedException, IOException {
+        String event = data.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event, "no occupancy event within 10s");
+        return JSON.readTree(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String admit(String patient, UUID departmentId) {
+        return (String) rest.postForObject("/api/v1/admissions", new HttpEntity<>(
+                Map.of("patientReference", patient, "departmentId", departmentId), admin), Map.class).get("id");
+    }
+
+    private ResponseEntity<String> post(String url, Object body) {
+        return rest.exchange(url, HttpMethod.POST, new HttpEntity<>(body, admin), String.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long occupied(UUID departmentId) {
+        Map<String, Object> occupancy = rest.exchange("/api/v1/occupancy/" + departmentId, HttpMethod.GET,
+                new HttpEntity<>(admin), Map.class).getBody();
+        return ((Number) occupancy.get("occupied")).longValue();
+    }
+
+    private UUID department(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM departments WHERE name = ?", UUID.class, name);
+    }
+}
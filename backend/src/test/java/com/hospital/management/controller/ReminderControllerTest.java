@@ -0,0 +1,91 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Role checks on the reminder endpoints: receptionists handle appointment
+ * reminders only, clinical roles handle both kinds.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:remindercontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class ReminderControllerTest {
+
+    private static final Map<String, String> ADMIN = Map.of("email", "admin@hospital.com", "password", "Admin1234!");
+    private static final String RECEPTIONIST_EMAIL = "reminders.reception@hospital.com";
+    private static final String RECEPTIONIST_PASSWORD = "Reception1234!";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private HttpHeaders admin;
+    private HttpHeaders receptionist;
+
+    @BeforeEach
+    void logIn() {
+        admin = bearer(ADMIN);
+        // Already there from an earlier test in this context when the create answers 409
+        rest.postForEntity("/api/v1/users", new HttpEntity<>(Map.of(
+                "firstName", "Rita",
+                "lastName", "Reception",
+                "email", RECEPTIONIST_EMAIL,
+                "password", RECEPTIONIST_PASSWORD,
+                "role", "RECEPTIONIST"), admin), String.class);
+        receptionist = bearer(Map.of("email", RECEPTIONIST_EMAIL, "password", RECEPTIONIST_PASSWORD));
+    }
+
+    @Test
+    void receptionistSchedulesAppointmentReminders() {
+        ResponseEntity<Map> created = create("APPOINTMENT", receptionist);
+
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals(HttpStatus.OK, get(created.getBody().get("id"), receptionist).getStatusCode());
+    }
+
+    @Test
+    void receptionistCannotScheduleOrReadMedicationReminders() {
+        ResponseEntity<Map> refused = create("MEDICATION", receptionist);
+        ResponseEntity<Map> created = create("MEDICATION", admin);
+
+        assertEquals(HttpStatus.FORBIDDEN, refused.getStatusCode());
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, get(created.getBody().get("id"), receptionist).getStatusCode());
+        assertEquals(HttpStatus.OK, get(created.getBody().get("id"), admin).getStatusCode());
+    }
+
+    private ResponseEntity<Map> create(String kind, HttpHeaders headers) {
+        return rest.postForEntity("/api/v1/reminders", new HttpEntity<>(Map.of(
+                "kind", kind,
+                "recipient", "+15550100",
+                "message", "Reminder",
+                "dueAt", LocalDateTime.now().plusDays(1).toString()), headers), Map.class);
+    }
+
+    private ResponseEntity<Map> get(Object id, HttpHeaders headers) {
+        return rest.exchange("/api/v1/reminders/" + id, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpHeaders bearer(Map<String, String> credentials) {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login", credentials, Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) session.get("accessToken"));
+        return headers;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The caller's own sessions over HTTP: logging in beyond the per-user cap
+ * revokes the oldest session, the listing shows the rest newest first, and
+ * a listed session can be revoked once.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sessioncontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.jwt.max-sessions-per-user=2",
+        "app.jwt.refresh-grace-period-ms=0",
+})
+@ActiveProfiles("loadtest")
+class SessionControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void capsListsAndRevokesSessions() {
+        Map<String, Object> first = login("tab-1");
+        login("tab-2");
+        Map<String, Object> third = login("tab-3");
+        HttpHeaders bearer = new HttpHeaders();
+        bearer.setBearerAuth((String) third.get("accessToken"));
+
+        List<Map<String, Object>> sessions = rest.exchange("/api/v1/sessions", HttpMethod.GET,
+                new HttpEntity<>(bearer), List.class).getBody();
+        ResponseEntity<String> evicted = rest.postForEntity("/api/v1/auth/refresh",
+                Map.of("refreshToken", first.get("refreshToken")), String.class);
+
+        assertEquals(List.of("tab-3", "tab-2"), sessions.stream().map(s -> s.get("deviceInfo")).toList());
+        assertTrue(evicted.getStatusCode().is4xxClientError(), evicted.getStatusCode().toString());
+
+        String tab2 = "/api/v1/sessions/" + sessions.get(1).get("id");
+        assertEquals(HttpStatus.NO_CONTENT,
+                rest.exchange(tab2, HttpMethod.DELETE, new HttpEntity<>(bearer), Void.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND,
+                rest.exchange(tab2, HttpMethod.DELETE, new HttpEntity<>(bearer), Void.class).getStatusCode());
+        assertEquals(1, rest.exchange("/api/v1/sessions", HttpMethod.GET,
+                new HttpEntity<>(bearer), List.class).getBody().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> login(String device) {
+        return rest.postForObject("/api/v1/auth/login", Map.of(
+                "email", "admin@hospital.com", "password", "Admin1234!", "deviceInfo", device), Map.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Staff search over HTTP follows user writes: a created user is found as
+ * soon as the create returns, and a deactivated one no longer is.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:staffcontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class StaffControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchFollowsUserWrites() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        HttpHeaders admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+
+        Map<String, Object> created = rest.postForObject("/api/v1/users", new HttpEntity<>(Map.of(
+                "firstName", "Zoë",
+                "lastName", "Müller-Smith",
+                "email", "zoe.muller@hospital.com",
+                "password", "Doctor1234!",
+                "role", "DOCTOR",
+                "phone", "+27 82 555 0101"), admin), Map.class);
+
+        assertEquals(List.of(created.get("id")), searchIds("zoe mul", admin));
+        assertEquals(List.of(created.get("id")), searchIds("082 555", admin));
+
+        assertEquals(HttpStatus.OK, rest.exchange("/api/v1/users/" + created.get("id") + "/deactivate",
+                HttpMethod.POST, new HttpEntity<>(admin), Void.class).getStatusCode());
+
+        assertEquals(List.of(), searchIds("zoe mul", admin));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> searchIds(String query, HttpHeaders headers) {
+        List<Map<String, Object>> results = rest.exchange("/api/v1/staff/search?q={q}", HttpMethod.GET,
+                new HttpEntity<>(headers), List.class, query).getBody();
+        return results.stream().map(result -> result.get("id")).toList();
+    }
+}
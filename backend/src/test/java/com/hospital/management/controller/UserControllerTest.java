@@ -0,0 +1,89 @@
+package com.hospital.management.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Cursor pagination of the user listing over HTTP: following
+ * {@code nextCursor} returns every matching user once, in name order,
+ * across pages that split runs of equal names; a bad cursor is a 400.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:usercontroller;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class UserControllerTest {
+
+    private static final int NURSES = 7;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpHeaders admin;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", "admin@hospital.com", "password", "Admin1234!"), Map.class);
+        admin = new HttpHeaders();
+        admin.setBearerAuth((String) session.get("accessToken"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void followingTheCursorReturnsEveryUserOnceInNameOrder() {
+        // Equal last and first names, so pages must break ties on the id
+        List<Object[]> nurses = new ArrayList<>();
+        for (int i = 0; i < NURSES; i++) {
+            nurses.add(new Object[] {"page" + i + "@hospital.com", i < 4 ? "Same" : "Other" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password_hash, first_name, last_name, role) "
+                + "VALUES (?, 'x', 'Pat', ?, 'NURSE')", nurses);
+
+        List<Map<String, Object>> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Map<String, Object> page = rest.exchange("/api/v1/users?role=NURSE&limit=2"
+                            + (cursor == null ? "" : "&cursor=" + cursor),
+                    HttpMethod.GET, new HttpEntity<>(admin), Map.class).getBody();
+            seen.addAll((List<Map<String, Object>>) page.get("items"));
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null && pages < NURSES);
+
+        assertNull(cursor);
+        assertEquals(4, pages);
+        assertEquals(NURSES, seen.size());
+        assertEquals(NURSES, new HashSet<>(seen.stream().map(user -> user.get("id")).toList()).size());
+        List<String> lastNames = seen.stream().map(user -> (String) user.get("lastName")).toList();
+        assertEquals(lastNames.stream().sorted().toList(), lastNames);
+    }
+
+    @Test
+    void rejectsAnInvalidCursor() {
+        assertEquals(HttpStatus.BAD_REQUEST, rest.exchange("/api/v1/users?cursor=YWJj", HttpMethod.GET,
+                new HttpEntity<>(admin), String.class).getStatusCode());
+    }
+}
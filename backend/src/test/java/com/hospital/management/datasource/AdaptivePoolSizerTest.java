@@ -0,0 +1,116 @@
+package com.hospital.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a small H2 pool with more concurrent workers than connections and
+ * checks the sizer's response: the pool grows to the workers' demand, which
+ * brings the mean acquire time down, and shrinks back to its minimum once
+ * the load stops.
+ */
+class AdaptivePoolSizerTest {
+
+    private static final int WORKERS = 8;
+    private static final long HOLD_MS = 20;
+    private static final long PHASE_MS = 400;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource dataSource;
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:adaptive-pool;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName("adaptive");
+        dataSource.setMinimumIdle(2);
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        AdaptivePoolProperties properties = new AdaptivePoolProperties();
+        properties.setMinSize(2);
+        properties.setMaxSize(WORKERS);
+        properties.setStep(2);
+        properties.setTargetAcquireMs(5);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("dataSource", dataSource));
+        sizer = new AdaptivePoolSizer(properties, beans.getBeanProvider(HikariDataSource.class), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void growsUnderContentionAndShrinksWhenIdle() throws Exception {
+        dataSource.getConnection().close(); // Starts the pool, registering its meters
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        for (int i = 0; i < WORKERS; i++) {
+            workers.execute(() -> {
+                while (running.get()) {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(HOLD_MS);
+                    } catch (SQLException | InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        try {
+            Thread.sleep(PHASE_MS);
+            double starvedMs = meanAcquireMsOver(PHASE_MS);
+            for (int i = 0; i < 10 && dataSource.getMaximumPoolSize() < WORKERS; i++) {
+                sizer.evaluate();
+                Thread.sleep(PHASE_MS / 4);
+            }
+            assertEquals(WORKERS, dataSource.getMaximumPoolSize());
+
+            Thread.sleep(PHASE_MS);
+            double resizedMs = meanAcquireMsOver(PHASE_MS);
+            assertTrue(resizedMs * 4 < starvedMs, () -> "mean acquire " + starvedMs + " ms -> " + resizedMs + " ms");
+        } finally {
+            running.set(false);
+            workers.shutdown();
+            assertTrue(workers.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        for (int i = 0; i < 5 && dataSource.getMaximumPoolSize() > 2; i++) {
+            sizer.evaluate();
+        }
+        assertEquals(2, dataSource.getMaximumPoolSize());
+    }
+
+    /**
+     * Mean acquire time over the next {@code millis}, from the deltas of the
+     * same timer the sizer reads.
+     */
+    private double meanAcquireMsOver(long millis) throws InterruptedException {
+        Timer timer = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "adaptive").timer();
+        long count = timer.count();
+        double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+        Thread.sleep(millis);
+        return (timer.totalTime(TimeUnit.MILLISECONDS) - totalMs) / Math.max(1, timer.count() - count);
+    }
+}
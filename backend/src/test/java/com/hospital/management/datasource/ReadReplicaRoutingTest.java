@@ -0,0 +1,125 @@
+package com.hospital.management.datasource;
+
+import com.hospital.management.model.dao.DepartmentDao;
+import com.hospital.management.model.domain.Department;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs routing against two H2 databases with the same schema: read-only
+ * DAO calls see rows that exist only on the replica, writes land only on the
+ * primary, and a caller who just wrote reads from the primary.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.driver-class-name=org.h2.Driver",
+})
+@ActiveProfiles("loadtest")
+class ReadReplicaRoutingTest {
+
+    @TestConfiguration
+    static class ReplicaSchema {
+        /** Gives the replica the schema and seed data that spring.sql.init puts on the primary. */
+        @Bean
+        static BeanPostProcessor replicaSchemaInitializer() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("replicaDataSource".equals(beanName)) {
+                        new ResourceDatabasePopulator(new ClassPathResource("db/loadtest/schema.sql"),
+                                new ClassPathResource("db/loadtest/data.sql")).execute((DataSource) bean);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private DepartmentDao departmentDao;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplica() {
+        String replicaOnly = "Replica only " + UUID.randomUUID().toString().substring(0, 8);
+        String primaryOnly = "Primary only " + UUID.randomUUID().toString().substring(0, 8);
+        insertDepartment(replicaDataSource, replicaOnly);
+        insertDepartment(primaryDataSource, primaryOnly);
+
+        assertTrue(departmentDao.findByName(replicaOnly).isPresent());
+        assertTrue(departmentDao.findByName(primaryOnly).isEmpty());
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        String name = "Written " + UUID.randomUUID().toString().substring(0, 8);
+        departmentDao.save(department(name));
+
+        assertEquals(1, countByName(primaryDataSource, name));
+        assertEquals(0, countByName(replicaDataSource, name));
+        // Anonymous callers are not tracked, so the read still goes to the replica
+        assertTrue(departmentDao.findByName(name).isEmpty());
+    }
+
+    @Test
+    void callerWhoJustWroteReadsThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer-" + UUID.randomUUID(), null, List.of()));
+        String name = "Read back " + UUID.randomUUID().toString().substring(0, 8);
+        departmentDao.save(department(name));
+
+        assertTrue(departmentDao.findByName(name).isPresent());
+        assertEquals(0, countByName(replicaDataSource, name));
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        department.setIsActive(true);
+        return department;
+    }
+
+    private static void insertDepartment(DataSource dataSource, String name) {
+        new JdbcTemplate(dataSource).update(
+                "INSERT INTO departments (name, is_active) VALUES (?, TRUE)", name);
+    }
+
+    private static int countByName(DataSource dataSource, String name) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM departments WHERE name = ?", Integer.class, name);
+    }
+}
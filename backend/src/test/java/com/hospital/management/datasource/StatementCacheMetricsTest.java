@@ -0,0 +1,100 @@
+package com.hospital.management.datasource;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Samples the driver's statement cache: a SQL Server pool reports entries,
+ * capacity and discarded handles, a busy pool is left alone, and a pool on
+ * another driver is tried only once.
+ */
+class StatementCacheMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reportsTheSampledConnectionsCache() throws SQLException {
+        HikariDataSource dataSource = pool("primary", 1);
+        ISQLServerConnection driver = mock(ISQLServerConnection.class);
+        when(driver.getStatementHandleCacheEntryCount()).thenReturn(42);
+        when(driver.isStatementPoolingEnabled()).thenReturn(true);
+        when(driver.getStatementPoolingCacheSize()).thenReturn(256);
+        when(driver.getDiscardedServerPreparedStatementCount()).thenReturn(3);
+        Connection connection = connection(driver);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        metrics(dataSource).sample();
+
+        assertEquals(42, gauge("jdbc.statement.cache.entries", "primary"));
+        assertEquals(256, gauge("jdbc.statement.cache.capacity", "primary"));
+        assertEquals(3, gauge("jdbc.statement.cache.discarded", "primary"));
+        verify(connection).close();
+    }
+
+    @Test
+    void busyPoolIsNotBorrowedFrom() throws SQLException {
+        HikariDataSource dataSource = pool("busy", 0);
+
+        metrics(dataSource).sample();
+
+        verify(dataSource, never()).getConnection();
+        assertNull(meterRegistry.find("jdbc.statement.cache.entries").tag("pool", "busy").gauge());
+    }
+
+    @Test
+    void otherDriverIsSampledOnce() throws SQLException {
+        HikariDataSource dataSource = pool("h2", 1);
+        Connection connection = connection(null);
+        when(dataSource.getConnection()).thenReturn(connection);
+        StatementCacheMetrics metrics = metrics(dataSource);
+
+        metrics.sample();
+        metrics.sample();
+
+        verify(dataSource, times(1)).getConnection();
+        assertNull(meterRegistry.find("jdbc.statement.cache.entries").tag("pool", "h2").gauge());
+    }
+
+    private StatementCacheMetrics metrics(HikariDataSource dataSource) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("dataSource", dataSource));
+        return new StatementCacheMetrics(beans.getBeanProvider(HikariDataSource.class), meterRegistry);
+    }
+
+    private double gauge(String name, String pool) {
+        return meterRegistry.get(name).tag("pool", pool).gauge().value();
+    }
+
+    private static HikariDataSource pool(String name, int idle) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getIdleConnections()).thenReturn(idle);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getPoolName()).thenReturn(name);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+
+    /** A pooled connection wrapping {@code driver}, or a non-SQL Server one if null. */
+    private static Connection connection(ISQLServerConnection driver) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isWrapperFor(ISQLServerConnection.class)).thenReturn(driver != null);
+        when(connection.unwrap(ISQLServerConnection.class)).thenReturn(driver);
+        return connection;
+    }
+}
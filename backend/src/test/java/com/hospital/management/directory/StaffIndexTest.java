@@ -0,0 +1,99 @@
+package com.hospital.management.directory;
+
+import com.hospital.management.constants.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prefix search over the staff index: accent-folded name, email and phone
+ * prefixes, exact words first, role and department filters, and updates
+ * replacing what a user was found under.
+ */
+class StaffIndexTest {
+
+    private static final UUID CARDIOLOGY = UUID.randomUUID();
+    private static final UUID RADIOLOGY = UUID.randomUUID();
+
+    private final StaffIndex index = new StaffIndex();
+
+    private StaffIndex.Entry zoe;
+    private StaffIndex.Entry ann;
+    private StaffIndex.Entry anna;
+
+    @BeforeEach
+    void populate() {
+        zoe = entry("Zoë", "Müller-Smith", "zoe.muller@hospital.com", "+27 82 555 0101", Role.DOCTOR, CARDIOLOGY);
+        ann = entry("Ann", "Lee", "ann.lee@hospital.com", null, Role.NURSE, CARDIOLOGY);
+        anna = entry("Anna", "Bell", "anna.bell@hospital.com", null, Role.NURSE, RADIOLOGY);
+        for (StaffIndex.Entry entry : List.of(zoe, ann, anna)) {
+            index.put(entry);
+        }
+        for (int i = 0; i < 50; i++) {
+            index.put(entry("Annabel", "Nurse" + i, "annabel" + i + "@hospital.com", null, Role.NURSE, RADIOLOGY));
+        }
+    }
+
+    @Test
+    void matchesAccentFoldedNamePrefixes() {
+        assertEquals(List.of(zoe), search("zoe"));
+        assertEquals(List.of(zoe), search("MUL"));
+        assertEquals(List.of(zoe), search("smi zo"));
+        assertEquals(List.of(zoe), search("zoe.mu"));
+    }
+
+    @Test
+    void matchesEmailAndPhonePrefixes() {
+        assertEquals(List.of(zoe), search("zoe.muller@hosp"));
+        assertEquals(List.of(zoe), search("082 555"));
+        assertEquals(List.of(zoe), search("8255"));
+        assertTrue(search("zoe@x").isEmpty());
+        assertTrue(search("xyz").isEmpty());
+    }
+
+    @Test
+    void returnsExactWordMatchesFirstUpToTheLimit() {
+        List<StaffIndex.Entry> results = index.search("ann", null, null, 3);
+
+        assertEquals(3, results.size());
+        assertEquals(ann, results.get(0));
+        assertEquals(anna, results.get(1));
+    }
+
+    @Test
+    void filtersByRoleAndDepartment() {
+        assertEquals(List.of(ann), index.search("ann", null, CARDIOLOGY, 10));
+        assertEquals(List.of(zoe), index.search("zoe", Role.DOCTOR, null, 10));
+        assertTrue(index.search("zoe", Role.NURSE, null, 10).isEmpty());
+        assertTrue(index.search("zoe", null, UUID.randomUUID(), 10).isEmpty());
+    }
+
+    @Test
+    void updatesReplaceTheWordsAUserIsFoundUnder() {
+        index.put(new StaffIndex.Entry(zoe.id(), "Zoë", "Evans", zoe.email(), zoe.phone(), zoe.role(),
+                RADIOLOGY));
+
+        assertTrue(search("muller-smith").isEmpty());
+        assertEquals(zoe.id(), search("evans").get(0).id());
+        assertTrue(index.search("zoe", null, CARDIOLOGY, 10).isEmpty());
+
+        index.remove(zoe.id());
+
+        assertTrue(search("zoe").isEmpty());
+        assertEquals(52, index.size());
+    }
+
+    private List<StaffIndex.Entry> search(String query) {
+        return index.search(query, null, null, 10);
+    }
+
+    private static StaffIndex.Entry entry(String firstName, String lastName, String email, String phone, Role role,
+            UUID departmentId) {
+        return new StaffIndex.Entry(UUID.randomUUID(), firstName, lastName, email, phone, role, departmentId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hospital.management.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.management.model.dao.base.EntityChangeEvent;
+import com.hospital.management.model.domain.Department;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Evicting a subscriber whose write is stuck: publishing carries on without
+ * waiting for the socket, and the stream is completed on a sender thread
+ * once the write returns.
+ */
+class ChangeFeedTest {
+
+    /**
+     * An emitter whose writes block until released. Like Spring's, sending
+     * and completing share one lock.
+     */
+    private static final class StuckEmitter extends SseEmitter {
+        final ReentrantLock writeLock = new ReentrantLock();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Thread completedOn;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            writeLock.lock();
+            try {
+                writing.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void complete() {
+            writeLock.lock();
+            try {
+                completedOn = Thread.currentThread();
+                completed.countDown();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Test
+    void evictingAStuckSubscriberDoesNotWaitForItsWrite() throws InterruptedException {
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setBufferSize(2);
+        properties.setSenderThreads(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StuckEmitter emitter = new StuckEmitter();
+        ChangeFeed changeFeed = new ChangeFeed(properties, new ObjectMapper(), registry) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitter;
+            }
+        };
+        changeFeed.start();
+        try {
+            changeFeed.subscribe(null);
+            changeFeed.onEntityChanged(departmentUpdated());
+            assertTrue(emitter.writing.await(5, TimeUnit.SECONDS));
+
+            // Two fill the buffer behind the stuck write, the third overflows it
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                for (int i = 0; i < 3; i++) {
+                    changeFeed.onEntityChanged(departmentUpdated());
+                }
+            });
+
+            assertEquals(0, registry.get("events.subscribers").gauge().value());
+            assertEquals(1, registry.get("events.subscribers.evicted").counter().count());
+            assertEquals(1, emitter.completed.getCount());
+
+            emitter.release.countDown();
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+            assertTrue(emitter.completedOn.getName().startsWith("change-feed-"));
+        } finally {
+            emitter.release.countDown();
+            changeFeed.stop();
+        }
+    }
+
+    private static EntityChangeEvent<Department> departmentUpdated() {
+        Department department = new Department();
+        department.setId(UUID.randomUUID());
+        return new EntityChangeEvent<>(department, Department.class, EntityChangeEvent.ChangeType.UPDATED);
+    }
+}
@@ -0,0 +1,51 @@
+package com.hospital.management.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Encoding of export rows: CSV quoting and the formula guard, and NDJSON
+ * value types.
+ */
+class RowWriterTest {
+
+    private static final List<String> COLUMNS = List.of("name", "note", "count", "active");
+
+    @Test
+    void csvQuotesWhereNeededAndDefusesFormulas() throws IOException {
+        String csv = write(ExportFormat.CSV,
+                new Object[] {"Zoë Müller", "says \"hi\", twice", 3, true},
+                new Object[] {"=SUM(A1)", null, 4, false});
+
+        assertEquals("name,note,count,active\r\n"
+                + "Zoë Müller,\"says \"\"hi\"\", twice\",3,true\r\n"
+                + "'=SUM(A1),,4,false\r\n", csv);
+    }
+
+    @Test
+    void ndjsonWritesOneTypedObjectPerLine() throws IOException {
+        String ndjson = write(ExportFormat.NDJSON,
+                new Object[] {"Zoë", "line\nbreak", 3, true},
+                new Object[] {"Ann", null, 2.5, false});
+
+        assertEquals("{\"name\":\"Zoë\",\"note\":\"line\\nbreak\",\"count\":3,\"active\":true}\n"
+                + "{\"name\":\"Ann\",\"note\":null,\"count\":2.5,\"active\":false}\n", ndjson);
+    }
+
+    private static String write(ExportFormat format, Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowWriter writer = format.open(out, COLUMNS)) {
+            for (Object[] row : rows) {
+                writer.write(row);
+            }
+            assertEquals(rows.length, writer.getRowCount());
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hospital.management.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requests with an {@code Idempotency-Key} over HTTP, against a probe
+ * controller that counts how often it runs: a repeat is replayed, a key
+ * reused for another body gets 422, a repeat during the first run gets 409,
+ * and a 5xx releases the key so the retry runs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencyfilter;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+@Import(IdempotencyFilterTest.Probe.class)
+class IdempotencyFilterTest {
+
+    @RestController
+    @RequestMapping("/api/v1/idempotency-probe")
+    static class Probe {
+        static final AtomicInteger RUNS = new AtomicInteger();
+        static final AtomicInteger FAILURES_LEFT = new AtomicInteger();
+        static volatile CountDownLatch entered = new CountDownLatch(0);
+        static volatile CountDownLatch proceed = new CountDownLatch(0);
+
+        @PostMapping
+        ResponseEntity<Map<String, Object>> run(@RequestBody Map<String, Object> body) throws InterruptedException {
+            int run = RUNS.incrementAndGet();
+            entered.countDown();
+            proceed.await(10, TimeUnit.SECONDS);
+            if (FAILURES_LEFT.getAndDecrement() > 0) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("run", run, "echo", body));
+        }
+    }
+
+    private static final Map<String, String> ADMIN = Map.of("email", "admin@hospital.com", "password", "Admin1234!");
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private String accessToken;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void reset() {
+        Probe.RUNS.set(0);
+        Probe.FAILURES_LEFT.set(0);
+        Probe.entered = new CountDownLatch(0);
+        Probe.proceed = new CountDownLatch(0);
+        accessToken = (String) rest.postForObject("/api/v1/auth/login", ADMIN, Map.class).get("accessToken");
+    }
+
+    @Test
+    void repeatIsReplayedWithoutRunningAgain() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<String> first = post(key, Map.of("name", "a"));
+        ResponseEntity<String> repeat = post(key, Map.of("name", "a"));
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, repeat.getStatusCode());
+        assertEquals("true", repeat.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getBody(), repeat.getBody());
+        assertEquals(1, Probe.RUNS.get());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+
+        post(key, Map.of("name", "a"));
+        ResponseEntity<String> other = post(key, Map.of("name", "b"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, other.getStatusCode());
+        assertEquals(1, Probe.RUNS.get());
+    }
+
+    @Test
+    void repeatWhileTheFirstIsRunningConflicts() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Probe.entered = new CountDownLatch(1);
+        Probe.proceed = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> post(key, Map.of("name", "a")));
+        assertTrue(Probe.entered.await(10, TimeUnit.SECONDS), "first request did not reach the handler");
+        ResponseEntity<String> repeat = post(key, Map.of("name", "a"));
+        Probe.proceed.countDown();
+
+        assertEquals(HttpStatus.CONFLICT, repeat.getStatusCode());
+        assertEquals(HttpStatus.CREATED, first.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(1, Probe.RUNS.get());
+    }
+
+    @Test
+    void serverErrorReleasesTheKey() {
+        String key = UUID.randomUUID().toString();
+        Probe.FAILURES_LEFT.set(1);
+
+        ResponseEntity<String> failed = post(key, Map.of("name", "a"));
+        ResponseEntity<String> retry = post(key, Map.of("name", "a"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getStatusCode());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, Probe.RUNS.get());
+    }
+
+    private ResponseEntity<String> post(String key, Map<String, String> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.set(IdempotencyFilter.HEADER, key);
+        return rest.postForEntity("/api/v1/idempotency-probe", new HttpEntity<>(body, headers), String.class);
+    }
+}
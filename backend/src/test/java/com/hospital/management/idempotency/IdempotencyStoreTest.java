@@ -0,0 +1,111 @@
+package com.hospital.management.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two store instances sharing the H2 key table stand in for two nodes: a
+ * response saved on one is replayed on the other, a pending claim blocks
+ * the other node until it is abandoned, and then the other node takes it
+ * over. Also checks that the in-memory map stays within its byte limit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencystore;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class IdempotencyStoreTest {
+
+    /** Fingerprints are SHA-256 hex, which fills the CHAR(64) column exactly. */
+    private static final String FP = "a".repeat(64);
+    private static final String OTHER = "b".repeat(64);
+
+    private static final IdempotencyStore.SavedResponse CREATED = new IdempotencyStore.SavedResponse(
+            201, "application/json", null, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void responseSavedOnOneNodeIsReplayedOnAnother() {
+        IdempotencyStore first = node(60_000);
+        IdempotencyStore second = node(60_000);
+        String key = key();
+
+        assertEquals(IdempotencyStore.Outcome.STARTED, first.begin(key, FP, true).outcome());
+        first.complete(key, FP, CREATED, true);
+        IdempotencyStore.Claim replay = second.begin(key, FP, true);
+
+        assertEquals(IdempotencyStore.Outcome.REPLAY, replay.outcome());
+        assertArrayEquals(CREATED.body(), replay.response().body());
+        assertEquals(IdempotencyStore.Outcome.MISMATCH, second.begin(key, OTHER, true).outcome());
+    }
+
+    @Test
+    void abandonedClaimIsTakenOverByAnotherNode() throws InterruptedException {
+        IdempotencyStore crashed = node(200);
+        IdempotencyStore survivor = node(200);
+        String key = key();
+
+        assertEquals(IdempotencyStore.Outcome.STARTED, crashed.begin(key, FP, true).outcome());
+        assertEquals(IdempotencyStore.Outcome.IN_PROGRESS, survivor.begin(key, FP, true).outcome());
+        Thread.sleep(300);
+
+        assertEquals(IdempotencyStore.Outcome.STARTED, survivor.begin(key, FP, true).outcome());
+        survivor.complete(key, FP, CREATED, true);
+        assertEquals(201, jdbcTemplate.queryForObject(
+                "SELECT response_status FROM idempotency_keys WHERE key_hash = ?", Integer.class, key));
+    }
+
+    @Test
+    void releasedClaimCanBeStartedAgain() {
+        IdempotencyStore store = node(60_000);
+        String key = key();
+
+        store.begin(key, FP, true);
+        store.release(key, FP, true);
+
+        assertEquals(IdempotencyStore.Outcome.STARTED, node(60_000).begin(key, FP, true).outcome());
+    }
+
+    @Test
+    void memoryStaysWithinTheByteLimit() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxMemoryBytes(64 * 1024);
+        IdempotencyStore store = new IdempotencyStore(jdbcTemplate, properties);
+        IdempotencyStore.SavedResponse large = new IdempotencyStore.SavedResponse(
+                200, "application/json", null, new byte[16 * 1024]);
+
+        String firstKey = key();
+        store.begin(firstKey, FP, false);
+        store.complete(firstKey, FP, large, false);
+        for (int i = 0; i < 20; i++) {
+            String key = key();
+            store.begin(key, FP, false);
+            store.complete(key, FP, large, false);
+            assertTrue(store.memoryBytes() <= properties.getMaxMemoryBytes(), store.memoryBytes() + " bytes held");
+        }
+
+        // The eldest key was dropped, so a memory-only repeat runs again
+        assertEquals(IdempotencyStore.Outcome.STARTED, store.begin(firstKey, FP, false).outcome());
+    }
+
+    private IdempotencyStore node(long pendingTimeoutMs) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setPendingTimeoutMs(pendingTimeoutMs);
+        return new IdempotencyStore(jdbcTemplate, properties);
+    }
+
+    private static String key() {
+        return (UUID.randomUUID().toString() + UUID.randomUUID()).replace("-", "");
+    }
+}
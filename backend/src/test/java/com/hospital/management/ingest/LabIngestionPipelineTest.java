@@ -0,0 +1,214 @@
+package com.hospital.management.ingest;
+
+import com.hospital.management.model.dto.lab.LabIngestionError;
+import com.hospital.management.model.dto.lab.LabIngestionResponse;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams generated FHIR bundles through the pipeline into H2 with small
+ * batches and a small in-flight limit, so reading waits on writes many
+ * times per upload: every valid Observation is stored once, invalid ones
+ * are rejected with their entry index, other resources are skipped, and a
+ * truncated or unclosed upload keeps the batches written before the break,
+ * as does one still being read when the pipeline stops.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:labingest;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.lab-ingest.worker-threads=3",
+        "app.lab-ingest.queue-capacity=16",
+        "app.lab-ingest.max-in-flight-per-upload=64",
+        "app.lab-ingest.batch-size=50",
+        "app.lab-ingest.max-reported-errors=10",
+})
+@ActiveProfiles("loadtest")
+class LabIngestionPipelineTest {
+
+    private static final int ENTRIES = 5_000;
+
+    @Autowired
+    private LabIngestionPipeline pipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LabIngestionProperties properties;
+
+    @Test
+    void storesValidObservationsAndReportsTheRest() {
+        LabIngestionResponse response = pipeline.ingest(stream(bundle(ENTRIES, true)));
+
+        int invalid = ENTRIES / 100;
+        int skipped = ENTRIES / 50 - invalid;
+        assertTrue(response.isComplete(), response.getFailure());
+        assertEquals(ENTRIES, response.getReceived());
+        assertEquals(invalid, response.getRejected());
+        assertEquals(skipped, response.getSkipped());
+        assertEquals(ENTRIES - invalid - skipped, response.getStored());
+        assertEquals(10, response.getErrors().size());
+        assertEquals(0, response.getErrors().stream().mapToInt(e -> e.getEntry() % 100).max().orElseThrow());
+
+        assertEquals(response.getStored(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lab_results WHERE ingestion_id = ?", Integer.class,
+                response.getIngestionId().toString()));
+        assertEquals(response.getStored(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT source_id) FROM lab_results WHERE ingestion_id = ?", Integer.class,
+                response.getIngestionId().toString()));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM lab_results WHERE ingestion_id = ? AND source_id = 'obs-1'",
+                response.getIngestionId().toString());
+        assertEquals("p-1", row.get("PATIENT_REFERENCE"));
+        assertEquals("2345-7", row.get("CODE"));
+        assertEquals(0, new BigDecimal("5.1").compareTo((BigDecimal) row.get("VALUE_NUMERIC")));
+        assertEquals("mmol/L", row.get("UNIT"));
+    }
+
+    @Test
+    void truncatedUploadKeepsWhatWasWritten() {
+        String bundle = bundle(1_000, false);
+        LabIngestionResponse response = pipeline.ingest(stream(bundle.substring(0, bundle.length() / 2)));
+
+        assertFalse(response.isComplete());
+        assertNotNull(response.getFailure());
+        assertTrue(response.getStored() > 0);
+        assertEquals(response.getReceived(), response.getStored());
+        assertEquals(response.getStored(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lab_results WHERE ingestion_id = ?", Integer.class,
+                response.getIngestionId().toString()));
+    }
+
+    @Test
+    void rejectsEntriesThatAreNotObjectsAndKeepsReading() {
+        LabIngestionResponse response = pipeline.ingest(stream("{\"resourceType\":\"Bundle\",\"entry\":["
+                + observation(1) + ",null,7,\"text\",[{\"resource\":{}}]," + observation(6) + "]}"));
+
+        assertTrue(response.isComplete(), response.getFailure());
+        assertEquals(6, response.getReceived());
+        assertEquals(2, response.getStored());
+        assertEquals(4, response.getRejected());
+        assertEquals(List.of(1, 2, 3, 4), response.getErrors().stream().map(LabIngestionError::getEntry).sorted().toList());
+    }
+
+    @Test
+    void failsAnUploadWhoseStructureIsNotClosed() {
+        LabIngestionResponse unclosedBundle = pipeline.ingest(stream(
+                "{\"resourceType\":\"Bundle\",\"entry\":[" + observation(1) + "]"));
+        LabIngestionResponse unclosedEntries = pipeline.ingest(stream(
+                "{\"resourceType\":\"Bundle\",\"entry\":[" + observation(1) + ","));
+        LabIngestionResponse entryNotAnArray = pipeline.ingest(stream(
+                "{\"resourceType\":\"Bundle\",\"entry\":" + observation(1) + "}"));
+
+        assertFalse(unclosedBundle.isComplete());
+        assertEquals(1, unclosedBundle.getStored());
+        assertFalse(unclosedEntries.isComplete());
+        assertEquals(1, unclosedEntries.getStored());
+        assertFalse(entryNotAnArray.isComplete());
+        assertEquals(0, entryNotAnArray.getReceived());
+    }
+
+    @Test
+    void uploadStillBeingReadEndsWhenThePipelineStops() {
+        // A pipeline of its own, so stopping it leaves the shared one running
+        LabIngestionPipeline stopping = new LabIngestionPipeline(objectMapper, jdbcTemplate, transactionManager,
+                properties, new SimpleMeterRegistry());
+        stopping.start();
+        byte[] bundle = bundle(2_000, false).getBytes(StandardCharsets.UTF_8);
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(bundle)) {
+            private int read;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (read > bundle.length / 2 && stopping.isRunning()) {
+                    stopping.stop();
+                }
+                int n = super.read(b, off, len);
+                read += Math.max(n, 0);
+                return n;
+            }
+        };
+
+        LabIngestionResponse response = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> stopping.ingest(in));
+
+        assertFalse(response.isComplete());
+        assertEquals("Lab ingestion is shutting down", response.getFailure());
+        assertTrue(response.getReceived() < 2_000);
+        assertEquals(response.getReceived(), response.getStored());
+    }
+
+    @Test
+    void rejectsAnythingButABundle() {
+        LabIngestionResponse response = pipeline.ingest(stream("{\"resourceType\":\"Observation\",\"entry\":[]}"));
+
+        assertFalse(response.isComplete());
+        assertEquals(0, response.getReceived());
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Every 100th entry lacks a subject, every 50th otherwise is a Patient,
+     * the rest are glucose results.
+     */
+    private static String bundle(int entries, boolean withInvalid) {
+        StringBuilder json = new StringBuilder("{\"resourceType\":\"Bundle\",\"type\":\"collection\",")
+                .append("\"meta\":{\"tag\":[{\"code\":\"ignored\"}]},\"entry\":[");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            if (withInvalid && i % 100 == 0) {
+                json.append("{\"resource\":{\"resourceType\":\"Observation\",\"id\":\"bad-").append(i)
+                        .append("\",\"status\":\"final\",\"code\":{\"coding\":[{\"code\":\"2345-7\"}]},")
+                        .append("\"effectiveDateTime\":\"2026-03-01T08:00:00Z\"}}");
+            } else if (withInvalid && i % 50 == 0) {
+                json.append("{\"resource\":{\"resourceType\":\"Patient\",\"id\":\"p-").append(i).append("\"}}");
+            } else {
+                json.append(observation(i));
+            }
+        }
+        return json.append("]}").toString();
+    }
+
+    /** A valid glucose result entry. */
+    private static String observation(int i) {
+        return "{\"fullUrl\":\"urn:uuid:" + i + "\",\"resource\":{"
+                + "\"resourceType\":\"Observation\",\"id\":\"obs-" + i + "\","
+                + "\"status\":\"final\",\"code\":{\"coding\":[{\"system\":\"http://loinc.org\","
+                + "\"code\":\"2345-7\",\"display\":\"Glucose\"}]},"
+                + "\"subject\":{\"reference\":\"Patient/p-" + i + "\"},"
+                + "\"effectiveDateTime\":\"2026-03-01T08:00:00+02:00\","
+                + "\"valueQuantity\":{\"value\":5.1,\"unit\":\"mmol/L\"}}}";
+    }
+}
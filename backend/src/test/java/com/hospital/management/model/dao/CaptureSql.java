@@ -0,0 +1,45 @@
+package com.hospital.management.model.dao;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Records the last SELECT Hibernate sends, for tests that check the SQL a
+ * DAO call generates. {@code @Import} it into the test, call
+ * {@link #clear()} before the DAO call and read {@link #lastSelect()} after.
+ */
+@TestConfiguration
+class CaptureSql {
+
+    private static final RecordingInspector INSPECTOR = new RecordingInspector();
+
+    @Bean
+    HibernatePropertiesCustomizer statementInspector() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", INSPECTOR);
+    }
+
+    static void clear() {
+        INSPECTOR.lastSelect = null;
+    }
+
+    /**
+     * @return the last SELECT since {@link #clear()}, or null if none ran
+     */
+    static String lastSelect() {
+        return INSPECTOR.lastSelect;
+    }
+
+    private static final class RecordingInspector implements StatementInspector {
+        private volatile String lastSelect;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                lastSelect = sql;
+            }
+            return sql;
+        }
+    }
+}
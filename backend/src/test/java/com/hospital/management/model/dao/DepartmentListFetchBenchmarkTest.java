@@ -0,0 +1,184 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.model.domain.Department;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.h2.tools.Server;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures what lazy fetching of {@code Department.description} saves on a
+ * list query, against a query selecting every column — what an unenhanced
+ * build fetches. The baseline is a projection, so it carries no entity or
+ * persistence-context overhead and the heap comparison understates the saving.
+ * <p>
+ * Asserts, per query: the columns selected, the result payload (characters
+ * of every value in the result set, at two bytes each as NVARCHAR travels
+ * over TDS), and the heap allocated by the calling thread, median of
+ * {@value #RUNS} runs; the numbers go to the test report. Skipped when the
+ * entities were compiled without bytecode enhancement
+ * ({@code -Dhibernate.enhance.skip}). Takes about half a minute, so it is
+ * tagged {@code benchmark}: run with {@code mvn -Pbenchmark test}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+@Import(CaptureSql.class)
+@Tag("benchmark")
+class DepartmentListFetchBenchmarkTest {
+
+    /**
+     * The database is reached over H2's TCP server: an embedded H2 hands back
+     * the stored strings without copying, which would hide the cost of
+     * fetching them from a real server.
+     */
+    private static final Server H2_SERVER = startServer();
+
+    private static final int DEPARTMENTS = 300;
+    private static final int DESCRIPTION_LENGTH = 16_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int RUNS = 20;
+
+    private static final String EAGER_JPQL =
+            "SELECT d.id, d.name, d.description, d.isActive, d.parentId, d.createdAt, d.updatedAt " +
+                    "FROM Department d WHERE d.isActive = true ORDER BY d.name";
+
+    private record Measurement(String sql, long payloadBytes, long allocatedBytes) {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:tcp://localhost:" + H2_SERVER.getPort()
+                + "/mem:departmentfetch;MODE=MSSQLServer;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        H2_SERVER.stop();
+    }
+
+    @Autowired
+    private DepartmentDao departmentDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM departments WHERE name LIKE 'Bench %'", Long.class) > 0) {
+            return;
+        }
+        String description = "x".repeat(DESCRIPTION_LENGTH);
+        List<Object[]> rows = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            rows.add(new Object[] {String.format("Bench %04d", i), description});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO departments (name, description, is_active) VALUES (?, ?, TRUE)", rows);
+    }
+
+    @Test
+    void listQueryLeavesDescriptionsInTheDatabase(TestReporter reporter) {
+        assumeTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Department.class),
+                "Department is not bytecode-enhanced; build without -Dhibernate.enhance.skip");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Measurement lazy = measure(() -> departmentDao.findAllActive().size());
+        Measurement eager = measure(() -> readOnly.execute(status ->
+                entityManager.createQuery(EAGER_JPQL, Object[].class).getResultList().size()));
+
+        reporter.publishEntry(Map.of(
+                "lazy.payloadBytes", Long.toString(lazy.payloadBytes()),
+                "lazy.heapBytes", Long.toString(lazy.allocatedBytes()),
+                "eager.payloadBytes", Long.toString(eager.payloadBytes()),
+                "eager.heapBytes", Long.toString(eager.allocatedBytes())));
+
+        assertFalse(lazy.sql().contains("description"), lazy.sql());
+        assertTrue(eager.sql().contains("description"), eager.sql());
+        assertTrue(lazy.payloadBytes() * 10 < eager.payloadBytes(),
+                () -> "payload " + lazy.payloadBytes() + " vs " + eager.payloadBytes());
+        assertTrue(lazy.allocatedBytes() * 2 < eager.allocatedBytes(),
+                () -> "heap " + lazy.allocatedBytes() + " vs " + eager.allocatedBytes());
+    }
+
+    private Measurement measure(Supplier<Integer> query) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        CaptureSql.clear();
+        long[] allocated = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            int size = query.get();
+            allocated[i] = threads.getThreadAllocatedBytes(thread) - before;
+            assertTrue(size >= DEPARTMENTS);
+        }
+        Arrays.sort(allocated);
+
+        String sql = CaptureSql.lastSelect();
+        return new Measurement(sql, payloadBytes(sql), allocated[RUNS / 2]);
+    }
+
+    private static Server startServer() {
+        try {
+            return Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not start the H2 TCP server", e);
+        }
+    }
+
+    /**
+     * Re-runs the captured SQL over plain JDBC and totals the characters of
+     * every value returned.
+     */
+    private long payloadBytes(String sql) {
+        return jdbcTemplate.query(sql, rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            long chars = 0;
+            while (rs.next()) {
+                for (int column = 1; column <= meta.getColumnCount(); column++) {
+                    String value = rs.getString(column);
+                    chars += value == null ? 0 : value.length();
+                }
+            }
+            return chars * 2;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.ManagementApplication;
+import com.hospital.management.model.domain.Department;
+import com.hospital.management.model.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the DAO lookups before and after they moved to named
+ * queries: each pair runs the same query, once built with the Criteria API
+ * per call as the DAOs used to, once from the query registered at startup.
+ * Run with the GC profiler for allocation per operation; see
+ * {@link NamedQueryAllocationBenchmarkTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedQueryAllocationBenchmark {
+
+    static final String EMAIL = "admin@hospital.com";
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("loadtest")
+                .properties("spring.datasource.url=jdbc:h2:mem:namedquerybench;MODE=MSSQLServer;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "logging.level.root=WARN")
+                .run();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public User findByEmailCriteria() {
+        entityManager.clear(); // Every call starts from an empty persistence context
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
+        Root<User> userRoot = query.from(User.class);
+        query.select(userRoot).where(criteriaBuilder.equal(userRoot.get("email"), EMAIL));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Benchmark
+    public User findByEmailNamed() {
+        entityManager.clear();
+        return entityManager.createNamedQuery("User.findByEmail", User.class)
+                .setParameter("email", EMAIL)
+                .getSingleResult();
+    }
+
+    @Benchmark
+    public long countCriteria() {
+        entityManager.clear();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
+        countQuery.select(criteriaBuilder.count(countQuery.from(Department.class)));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    @Benchmark
+    public long countNamed() {
+        entityManager.clear();
+        return entityManager.createNamedQuery("Department.count", Long.class).getSingleResult();
+    }
+
+    @Benchmark
+    public List<Department> findAllCriteria() {
+        entityManager.clear();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Department> query = criteriaBuilder.createQuery(Department.class);
+        query.select(query.from(Department.class));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Benchmark
+    public List<Department> findAllNamed() {
+        entityManager.clear();
+        return entityManager.createNamedQuery("Department.findAll", Department.class).getResultList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hospital.management.model.dao;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link NamedQueryAllocationBenchmark} with the GC profiler and checks
+ * that every named query allocates less per call than its Criteria
+ * equivalent. Takes a few minutes; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class NamedQueryAllocationBenchmarkTest {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    @Test
+    void namedQueriesAllocateLessThanCriteria() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(NamedQueryAllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        Map<String, Double> bytesPerCall = new TreeMap<>();
+        for (RunResult result : results) {
+            String method = result.getParams().getBenchmark();
+            Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+            bytesPerCall.put(method.substring(method.lastIndexOf('.') + 1), allocation.getScore());
+        }
+
+        for (String query : new String[] {"findByEmail", "count", "findAll"}) {
+            double criteria = bytesPerCall.get(query + "Criteria");
+            double named = bytesPerCall.get(query + "Named");
+            assertTrue(named < criteria, () -> String.format(Locale.ROOT,
+                    "%s: named %.0f B/op, criteria %.0f B/op", query, named, criteria));
+        }
+    }
+}
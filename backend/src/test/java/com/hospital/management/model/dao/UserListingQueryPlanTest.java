@@ -0,0 +1,117 @@
+package com.hospital.management.model.dao;
+
+import com.hospital.management.constants.Role;
+import com.hospital.management.model.dto.auth.UserCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every variant of the user listing query is answered from one
+ * of the composite indexes added in V8 rather than a table scan, and
+ * that the index returns the filtered rows in name order, so no sort step is
+ * needed before the page is cut.
+ * <p>
+ * Runs against H2 with the loadtest schema, which has the same index key
+ * columns as the SQL Server migration. The SQL Hibernate actually generates
+ * is captured and passed to {@code EXPLAIN}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+@Import(CaptureSql.class)
+class UserListingQueryPlanTest {
+
+    private static final UserCursor CURSOR = new UserCursor("Smith", "Anna", UUID.randomUUID());
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CaptureSql.clear();
+    }
+
+    @Test
+    void unfilteredListingUsesNameIndex() {
+        assertPlanUses("idx_users_name", null, null, null);
+    }
+
+    @Test
+    void roleFilterSeeksRoleIndex() {
+        assertPlanUses("idx_users_role_name", Role.DOCTOR, null, null);
+        assertPlanUses("idx_users_role_name", Role.DOCTOR, null, true);
+    }
+
+    @Test
+    void departmentFilterSeeksDepartmentIndex() {
+        assertPlanUses("idx_users_department_name", null, UUID.randomUUID(), null);
+        assertPlanUses("idx_users_department_name", null, UUID.randomUUID(), false);
+    }
+
+    @Test
+    void activeFilterSeeksActiveIndex() {
+        assertPlanUses("idx_users_active_name", null, null, true);
+    }
+
+    private void assertPlanUses(String index, Role role, UUID departmentId, Boolean isActive) {
+        for (UserCursor after : new UserCursor[] {null, CURSOR}) {
+            userDao.findPage(role, departmentId, isActive, after, 51);
+            String sql = CaptureSql.lastSelect();
+            assertNotNull(sql, "listing query was not captured");
+
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+            assertTrue(plan.contains(index),
+                    () -> "expected " + index + " for role=" + role + ", departmentId=" + departmentId
+                            + ", isActive=" + isActive + ", cursor=" + (after != null) + " but got:\n" + plan);
+        }
+        assertReadsInNameOrder(index, role, departmentId, isActive);
+    }
+
+    /**
+     * H2 reports {@code index sorted} only when the ORDER BY columns lead the
+     * index, so it can't show that an equality seek avoids the sort. Checks
+     * the index shape instead: once the columns pinned by equality filters
+     * are skipped, the key must continue with the sort key, or the seek
+     * range is not in name order and SQL Server sorts it.
+     */
+    private void assertReadsInNameOrder(String index, Role role, UUID departmentId, Boolean isActive) {
+        List<String> key = jdbcTemplate.queryForList(
+                "SELECT LOWER(column_name) FROM information_schema.index_columns " +
+                        "WHERE LOWER(index_name) = ? ORDER BY ordinal_position", String.class, index);
+        Set<String> pinned = new HashSet<>();
+        if (role != null) {
+            pinned.add("role");
+        }
+        if (departmentId != null) {
+            pinned.add("department_id");
+        }
+        if (isActive != null) {
+            pinned.add("is_active");
+        }
+        int first = 0;
+        while (first < key.size() && pinned.contains(key.get(first))) {
+            first++;
+        }
+        List<String> rest = key.subList(first, key.size());
+        assertTrue(rest.size() >= 2 && rest.subList(0, 2).equals(List.of("last_name", "first_name")),
+                () -> index + " " + key + " does not return role=" + role + ", departmentId=" + departmentId
+                        + ", isActive=" + isActive + " in name order, so the listing would be sorted");
+    }
+}
@@ -0,0 +1,112 @@
+package com.hospital.management.occupancy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closing a stream whose write is overdue: the push thread carries on
+ * serving the other streams, and the stuck stream is completed once its
+ * write returns.
+ */
+class OccupancyBroadcasterTest {
+
+    /**
+     * An emitter whose writes block until released. Like Spring's, sending
+     * and completing share one lock.
+     */
+    private static final class StuckEmitter extends SseEmitter {
+        final ReentrantLock writeLock = new ReentrantLock();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder event) {
+            writeLock.lock();
+            try {
+                writing.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void complete() {
+            writeLock.lock();
+            try {
+                completed.countDown();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /** An emitter that records what it is sent. */
+    private static final class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder event) {
+            sent.add(event);
+        }
+    }
+
+    @Test
+    void closingAStuckStreamDoesNotStallTheOthers() throws InterruptedException {
+        OccupancyProperties properties = new OccupancyProperties();
+        properties.setPushIntervalMs(20);
+        properties.setMinEventIntervalMs(0);
+        properties.setSendTimeoutMs(100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OccupancyTracker tracker = new OccupancyTracker(null, registry);
+        StuckEmitter stuck = new StuckEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        Iterator<SseEmitter> emitters = List.<SseEmitter>of(stuck, healthy).iterator();
+        OccupancyBroadcaster broadcaster = new OccupancyBroadcaster(tracker, properties, registry) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.next();
+            }
+        };
+        broadcaster.subscribe(null, 0);
+        broadcaster.subscribe(null, 0);
+        broadcaster.start();
+        try {
+            assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+            assertNotNull(healthy.sent.poll(5, TimeUnit.SECONDS), "no snapshot");
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (registry.get("occupancy.subscribers.evicted").counter().count() == 0) {
+                assertTrue(System.currentTimeMillis() < deadline, "stuck stream was not closed");
+                Thread.sleep(20);
+            }
+
+            tracker.admitted(UUID.randomUUID());
+
+            assertNotNull(healthy.sent.poll(5, TimeUnit.SECONDS), "push thread stalled");
+            assertEquals(1, registry.get("occupancy.subscribers").gauge().value());
+            assertEquals(1, stuck.completed.getCount());
+            stuck.release.countDown();
+            assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            stuck.release.countDown();
+            broadcaster.stop();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hospital.management.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the wheel fires items in the tick of their deadline, never
+ * before it, including items more than one turn of the ring ahead.
+ */
+class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    void firesEachItemInTheTickOfItsDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("b", 250);
+        wheel.schedule("a", 100);
+        wheel.schedule("c", 300);
+
+        assertEquals(List.of(), advance(wheel, 99));
+        assertEquals(List.of("a"), advance(wheel, 100));
+        assertEquals(List.of(), advance(wheel, 299));
+        assertEquals(List.of("b", "c"), sorted(advance(wheel, 300)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        advance(wheel, 1_000);
+        wheel.schedule("late", 10);
+
+        assertEquals(List.of(), advance(wheel, 1_099));
+        assertEquals(List.of("late"), advance(wheel, 1_100));
+    }
+
+    @Test
+    void itemsBeyondOneTurnWaitForTheirRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK_MS, WHEEL_SIZE, 0);
+        long span = wheel.spanMs();
+        wheel.schedule("near", 200);
+        wheel.schedule("far", 200 + 2 * span);
+
+        assertEquals(List.of("near"), advance(wheel, 200));
+        assertEquals(List.of(), advance(wheel, 200 + 2 * span - 1));
+        assertEquals(List.of("far"), advance(wheel, 200 + 2 * span));
+    }
+
+    @Test
+    void tickFiresOnlyItemsDueInIt() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(1, 1 << 16, 0);
+        for (int i = 0; i < 50_000; i++) {
+            wheel.schedule(i, 1_000 + i);
+        }
+
+        assertEquals(0, wheel.advance(999, item -> { }));
+        assertEquals(50_000, wheel.size());
+        List<Integer> fired = new ArrayList<>();
+        assertEquals(10, wheel.advance(1_009, fired::add));
+        assertTrue(fired.stream().allMatch(i -> i < 10), fired::toString);
+    }
+
+    private static List<String> advance(HashedTimingWheel<String> wheel, long now) {
+        List<String> fired = new ArrayList<>();
+        wheel.advance(now, fired::add);
+        return fired;
+    }
+
+    private static List<String> sorted(List<String> items) {
+        items.sort(null);
+        return items;
+    }
+}
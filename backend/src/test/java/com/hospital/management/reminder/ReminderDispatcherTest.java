@@ -0,0 +1,139 @@
+package com.hospital.management.reminder;
+
+import com.hospital.management.constants.ReminderKind;
+import com.hospital.management.constants.ReminderStatus;
+import com.hospital.management.model.dto.reminder.CreateReminderRequest;
+import com.hospital.management.model.dto.reminder.ReminderResponse;
+import com.hospital.management.service.ReminderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the reminder wheel against H2 with a stub sink: reminders already
+ * due and due shortly are claimed, delivered in batches and marked
+ * delivered; a recipient the sink always rejects is retried and then marked
+ * failed; a reminder created through the service inside the loaded window
+ * fires without waiting for the next window load.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminders;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.reminders.sink=stub",
+        "app.reminders.tick-ms=50",
+        "app.reminders.load-window-ms=2000",
+        "app.reminders.batch-size=100",
+        "app.reminders.max-attempts=2",
+        "app.reminders.retry-delay-ms=100",
+})
+@ActiveProfiles("loadtest")
+class ReminderDispatcherTest {
+
+    private static final String UNREACHABLE = "unreachable";
+    private static final int DUE = 1_000;
+
+    @TestConfiguration
+    static class Stub {
+        @Bean
+        StubSink stubSink() {
+            return new StubSink();
+        }
+    }
+
+    /** Delivers everything except reminders for {@link #UNREACHABLE}. */
+    static class StubSink implements ReminderSink {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final Map<UUID, Integer> deliveries = new ConcurrentHashMap<>();
+
+        @Override
+        public Collection<UUID> deliver(List<DueReminder> batch) {
+            batchSizes.add(batch.size());
+            List<UUID> delivered = new ArrayList<>(batch.size());
+            for (DueReminder reminder : batch) {
+                if (!UNREACHABLE.equals(reminder.recipient())) {
+                    deliveries.merge(reminder.id(), 1, Integer::sum);
+                    delivered.add(reminder.id());
+                }
+            }
+            return delivered;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StubSink sink;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Test
+    void deliversDueRemindersOnceAndRecordsOutcome() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < DUE; i++) {
+            // Half overdue, half due within the next second
+            LocalDateTime dueAt = i % 2 == 0 ? now.minusMinutes(5) : now.plusNanos(i * 1_000_000L);
+            rows.add(new Object[] {"MEDICATION", "nurse-" + i, "Dose due", Timestamp.valueOf(dueAt), "PENDING"});
+        }
+        rows.add(new Object[] {"APPOINTMENT", UNREACHABLE, "Clinic tomorrow", Timestamp.valueOf(now), "PENDING"});
+        // History that a tick must not touch
+        for (int i = 0; i < 2_000; i++) {
+            rows.add(new Object[] {"APPOINTMENT", "old-" + i, "Done", Timestamp.valueOf(now.minusDays(1)), "DELIVERED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO reminders (kind, recipient, message, due_at, status) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+
+        CreateReminderRequest request = new CreateReminderRequest();
+        request.setKind(ReminderKind.APPOINTMENT);
+        request.setRecipient("doctor-1");
+        request.setMessage("Ward round");
+        request.setDueAt(LocalDateTime.now().plusNanos(300_000_000L));
+        ReminderResponse created = reminderService.create(request);
+
+        awaitTrue(() -> countByStatus().getOrDefault("DELIVERED", 0L) == 2_000 + DUE + 1
+                && countByStatus().getOrDefault("FAILED", 0L) == 1);
+
+        assertEquals(DUE + 1, sink.deliveries.size());
+        assertTrue(sink.deliveries.values().stream().allMatch(count -> count == 1), "a reminder was sent twice");
+        assertTrue(sink.deliveries.containsKey(created.getId()));
+        assertTrue(sink.batchSizes.stream().allMatch(size -> size <= 100), sink.batchSizes::toString);
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM reminders WHERE recipient = ?", Integer.class, UNREACHABLE));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reminders WHERE claimed_by IS NOT NULL", Integer.class));
+        assertEquals(ReminderStatus.DELIVERED, reminderService.findById(created.getId()).orElseThrow().getStatus());
+    }
+
+    private Map<String, Long> countByStatus() {
+        return jdbcTemplate.queryForList("SELECT status, COUNT(*) AS n FROM reminders GROUP BY status").stream()
+                .collect(Collectors.toMap(row -> (String) row.get("STATUS"), row -> ((Number) row.get("N")).longValue()));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for deliveries");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hospital.management.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs jobs through the lease table in H2: one node wins each slot, a job
+ * that throws is recorded as failed whether it threw an exception or an
+ * error, and a lock row whose insert failed is inserted again on the next
+ * run instead of leaving the job unclaimable.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:jobcoordinator;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class JobCoordinatorTest {
+
+    private static final Duration INTERVAL = Duration.ofHours(1);
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runsEachSlotOnOneNodeOnly() {
+        String job = jobName();
+        AtomicInteger runs = new AtomicInteger();
+        JobCoordinator first = coordinator("node-a", jdbcTemplate);
+        JobCoordinator second = coordinator("node-b", jdbcTemplate);
+
+        assertTrue(first.runIfLeader(job, INTERVAL, LEASE, runs::incrementAndGet));
+        assertFalse(second.runIfLeader(job, INTERVAL, LEASE, runs::incrementAndGet));
+        assertFalse(first.runIfLeader(job, INTERVAL, LEASE, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        assertEquals("SUCCEEDED", lastStatus(job));
+    }
+
+    @Test
+    void recordsAnExceptionAsFailed() {
+        String job = jobName();
+
+        assertTrue(coordinator("node-a", jdbcTemplate).runIfLeader(job, INTERVAL, LEASE, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("FAILED", lastStatus(job));
+    }
+
+    @Test
+    void recordsAnErrorAsFailedAndRethrowsIt() {
+        String job = jobName();
+        JobCoordinator coordinator = coordinator("node-a", jdbcTemplate);
+
+        assertThrows(AssertionError.class, () -> coordinator.runIfLeader(job, INTERVAL, LEASE, () -> {
+            throw new AssertionError("boom");
+        }));
+
+        assertEquals("FAILED", lastStatus(job));
+        assertEquals("java.lang.AssertionError: boom", jdbcTemplate.queryForObject(
+                "SELECT error FROM scheduled_job_runs WHERE job_name = ?", String.class, job));
+    }
+
+    @Test
+    void retriesTheLockInsertAfterItFailed() {
+        String job = jobName();
+        AtomicBoolean failInsert = new AtomicBoolean(true);
+        JdbcTemplate flaky = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (sql.startsWith("INSERT INTO scheduled_job_locks") && failInsert.getAndSet(false)) {
+                    throw new DataAccessResourceFailureException("connection reset");
+                }
+                return super.update(sql, args);
+            }
+        };
+        JobCoordinator coordinator = coordinator("node-a", flaky);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> coordinator.runIfLeader(job, INTERVAL, LEASE, runs::incrementAndGet));
+        assertTrue(coordinator.runIfLeader(job, INTERVAL, LEASE, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+    }
+
+    private static JobCoordinator coordinator(String nodeId, JdbcTemplate jdbcTemplate) {
+        JobProperties properties = new JobProperties();
+        properties.setNodeId(nodeId);
+        return new JobCoordinator(jdbcTemplate, properties);
+    }
+
+    private String lastStatus(String job) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM scheduled_job_runs WHERE job_name = ?", String.class, job);
+    }
+
+    private static String jobName() {
+        return "test-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hospital.management.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Authentication metrics recorded over HTTP: login outcomes, tokens issued
+ * and rotated, refresh timings, and access tokens rejected by cause.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:authmetrics;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class AuthMetricsTest {
+
+    private static final String ADMIN_EMAIL = "admin@hospital.com";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsLoginOutcomesIssuedTokensAndRefreshes() {
+        double success = counter("auth.login", "outcome", "success");
+        double badPassword = counter("auth.login", "outcome", "bad_password");
+        double unknown = counter("auth.login", "outcome", "unknown_account");
+        double access = counter("auth.tokens.issued", "type", "access");
+        double rotated = counter("auth.tokens.revoked", "reason", "rotated");
+        long passwordChecks = meterRegistry.get("auth.password.verification").timer().count();
+        long refreshes = meterRegistry.get("auth.refresh").tag("outcome", "success").timer().count();
+
+        Map<String, Object> session = rest.postForObject("/api/v1/auth/login",
+                Map.of("email", ADMIN_EMAIL, "password", "Admin1234!"), Map.class);
+        rest.postForEntity("/api/v1/auth/login", Map.of("email", ADMIN_EMAIL, "password", "wrong"), String.class);
+        rest.postForEntity("/api/v1/auth/login", Map.of("email", "nobody@hospital.com", "password", "x"), String.class);
+        rest.postForEntity("/api/v1/auth/refresh", Map.of("refreshToken", session.get("refreshToken")), String.class);
+
+        assertEquals(success + 1, counter("auth.login", "outcome", "success"));
+        assertEquals(badPassword + 1, counter("auth.login", "outcome", "bad_password"));
+        assertEquals(unknown + 1, counter("auth.login", "outcome", "unknown_account"));
+        assertEquals(access + 2, counter("auth.tokens.issued", "type", "access"));
+        assertEquals(rotated + 1, counter("auth.tokens.revoked", "reason", "rotated"));
+        assertEquals(passwordChecks + 2, meterRegistry.get("auth.password.verification").timer().count());
+        assertEquals(refreshes + 1, meterRegistry.get("auth.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsRejectedAccessTokensByCause() {
+        String valid = (String) rest.postForObject("/api/v1/auth/login",
+                Map.of("email", ADMIN_EMAIL, "password", "Admin1234!"), Map.class).get("accessToken");
+        int signature = valid.lastIndexOf('.') + 10;
+        String tampered = valid.substring(0, signature)
+                + (valid.charAt(signature) == 'A' ? 'B' : 'A') + valid.substring(signature + 1);
+        String expired = Jwts.builder()
+                .subject(ADMIN_EMAIL)
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)),
+                        Jwts.SIG.HS512)
+                .compact();
+        double malformed = counter("auth.jwt.rejected", "cause", "malformed");
+        double badSignature = counter("auth.jwt.rejected", "cause", "bad_signature");
+        double expiredCount = counter("auth.jwt.rejected", "cause", "expired");
+
+        for (String token : new String[] {"abc", tampered, expired}) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(token);
+            rest.exchange("/api/v1/sessions", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        }
+
+        assertEquals(malformed + 1, counter("auth.jwt.rejected", "cause", "malformed"));
+        assertEquals(badSignature + 1, counter("auth.jwt.rejected", "cause", "bad_signature"));
+        assertEquals(expiredCount + 1, counter("auth.jwt.rejected", "cause", "expired"));
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hospital.management.security;
+
+import com.hospital.management.constants.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Access token claims: the compact versioned layout round-trips, tokens in
+ * the original unversioned layout are still accepted, and an unknown
+ * version or a missing permission mask is refused.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "jwt-service-test-secret-key-that-is-long-enough-for-hmac-sha512-0123456789";
+
+    private final JwtService jwtService = new JwtService(properties(), new AuthMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void roundTripsTheCompactClaims() {
+        UUID userId = UUID.randomUUID();
+        UUID departmentId = UUID.randomUUID();
+
+        AuthenticatedUser nurse = principal(jwtService.generateAccessToken(userId, Role.NURSE, departmentId));
+
+        assertEquals(userId, nurse.getUserId());
+        assertEquals(Role.NURSE, nurse.getRole());
+        assertEquals(departmentId, nurse.getDepartmentId());
+        assertEquals(Permission.maskFor(Role.NURSE), nurse.getPermissions());
+        assertTrue(nurse.canAccessDepartment(departmentId));
+        assertFalse(nurse.canAccessDepartment(UUID.randomUUID()));
+        assertFalse(nurse.has(Permission.MANAGE_USERS));
+    }
+
+    @Test
+    void acceptsTheUnversionedLayout() {
+        UUID userId = UUID.randomUUID();
+
+        AuthenticatedUser admin = principal(sign(Map.of("userId", userId.toString(), "role", "ADMIN"), "a@b.c"));
+
+        assertEquals(userId, admin.getUserId());
+        assertEquals(Role.ADMIN, admin.getRole());
+        assertNull(admin.getDepartmentId());
+        assertEquals(Permission.maskFor(Role.ADMIN), admin.getPermissions());
+    }
+
+    @Test
+    void refusesAnUnknownVersionOrMissingPermissions() {
+        String subject = UUID.randomUUID().toString();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> principal(sign(Map.of("v", 9, "rol", "ADMIN", "prm", 255), subject)));
+        assertThrows(IllegalArgumentException.class,
+                () -> principal(sign(Map.of("v", JwtService.CLAIMS_VERSION, "rol", "ADMIN"), subject)));
+    }
+
+    private AuthenticatedUser principal(String token) {
+        return jwtService.extractPrincipal(jwtService.validateAndExtractClaims(token));
+    }
+
+    private static String sign(Map<String, Object> claims, String subject) {
+        return Jwts.builder()
+                .subject(subject)
+                .claims(claims)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+    }
+
+    private static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer("hospital-management");
+        properties.setAccessTokenExpiryMs(60_000);
+        return properties;
+    }
+}
@@ -0,0 +1,114 @@
+package com.hospital.management.security;
+
+import com.hospital.management.model.dto.auth.LoginRequest;
+import com.hospital.management.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Account lockout through {@link AuthService#login}: the configured number
+ * of bad passwords locks the account so even the right one is refused, the
+ * lockout reaches the users table on flush, a successful login clears
+ * the failures counted so far, and a spray of made-up emails neither grows
+ * tracking without bound nor stops a real account from locking.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loginlockout;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.security.lockout.max-failures=3",
+        "app.security.lockout.max-tracked-accounts=10",
+})
+@ActiveProfiles("loadtest")
+class LoginLockoutTest {
+
+    private static final String PASSWORD = "Correct1234!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void locksTheAccountAfterRepeatedFailures() {
+        String email = createUser("locked");
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Invalid credentials", failLogin(email, "wrong").getMessage());
+        }
+
+        assertEquals("Account is temporarily locked", failLogin(email, PASSWORD).getMessage());
+
+        loginAttemptService.flush();
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT lockout_count, locked_until FROM users WHERE email = ?", email);
+        assertEquals(1, row.get("LOCKOUT_COUNT"));
+        assertNotNull(row.get("LOCKED_UNTIL"));
+    }
+
+    @Test
+    void successfulLoginClearsEarlierFailures() {
+        String email = createUser("recovered");
+        failLogin(email, "wrong");
+        failLogin(email, "wrong");
+        authService.login(request(email, PASSWORD), "10.0.0.1");
+        failLogin(email, "wrong");
+        failLogin(email, "wrong");
+
+        assertNotNull(authService.login(request(email, PASSWORD), "10.0.0.1").getAccessToken());
+    }
+
+    @Test
+    void unknownEmailsCannotCrowdOutRealAccounts() {
+        String email = createUser("sprayed");
+        String madeUp = "nobody@lockout.test";
+        for (int i = 0; i < 3; i++) {
+            failLogin(madeUp, "wrong");
+        }
+        assertTrue(loginAttemptService.isLocked(madeUp));
+
+        for (int i = 0; i < 50; i++) {
+            failLogin("spray" + i + "@lockout.test", "wrong");
+        }
+        for (int i = 0; i < 3; i++) {
+            failLogin(email, "wrong");
+        }
+
+        assertFalse(loginAttemptService.isLocked(madeUp));
+        assertEquals("Account is temporarily locked", failLogin(email, PASSWORD).getMessage());
+    }
+
+    private SecurityException failLogin(String email, String password) {
+        return assertThrows(SecurityException.class, () -> authService.login(request(email, password), "10.0.0.1"));
+    }
+
+    private String createUser(String name) {
+        String email = name + "@lockout.test";
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, first_name, last_name, role) "
+                + "VALUES (?, ?, 'Lock', 'Out', 'NURSE')", email, passwordEncoder.encode(PASSWORD));
+        return email;
+    }
+
+    private static LoginRequest request(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
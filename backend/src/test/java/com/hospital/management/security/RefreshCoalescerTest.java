@@ -0,0 +1,108 @@
+package com.hospital.management.security;
+
+import com.hospital.management.model.dto.auth.AuthResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent refreshes of one token share a rotation, late ones get the same
+ * result inside the grace window but not after it, and ending a user's
+ * grace window makes the next refresh rotate again.
+ */
+class RefreshCoalescerTest {
+
+    private static final String TOKEN = "token-hash";
+
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    @Test
+    void concurrentRefreshesShareOneRotation() throws Exception {
+        RefreshCoalescer coalescer = coalescer(10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        CompletableFuture<AuthResponse> first = CompletableFuture.supplyAsync(() -> coalescer.refresh(TOKEN, () -> {
+            started.countDown();
+            await(finish);
+            return rotate();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<AuthResponse> second = CompletableFuture.supplyAsync(
+                () -> coalescer.refresh(TOKEN, this::rotate));
+        Thread.sleep(50);
+        finish.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    void lateRefreshInsideTheGraceWindowGetsTheSameResult() {
+        RefreshCoalescer coalescer = coalescer(10_000);
+
+        AuthResponse first = coalescer.refresh(TOKEN, this::rotate);
+        AuthResponse late = coalescer.refresh(TOKEN, this::rotate);
+
+        assertSame(first, late);
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    void refreshAfterTheGraceWindowRotatesAgain() throws InterruptedException {
+        RefreshCoalescer coalescer = coalescer(50);
+
+        AuthResponse first = coalescer.refresh(TOKEN, this::rotate);
+        Thread.sleep(100);
+        AuthResponse late = coalescer.refresh(TOKEN, this::rotate);
+
+        assertNotSame(first, late);
+        assertEquals(2, rotations.get());
+    }
+
+    @Test
+    void revokingTheUserEndsTheGraceWindow() {
+        RefreshCoalescer coalescer = coalescer(10_000);
+
+        AuthResponse first = coalescer.refresh(TOKEN, this::rotate);
+        coalescer.forgetUsers(List.of(UUID.randomUUID()));
+        assertSame(first, coalescer.refresh(TOKEN, this::rotate));
+        coalescer.forgetUsers(List.of(userId));
+        AuthResponse afterRevoke = coalescer.refresh(TOKEN, this::rotate);
+
+        assertNotSame(first, afterRevoke);
+        assertEquals(2, rotations.get());
+    }
+
+    private RefreshCoalescer coalescer(long graceMs) {
+        JwtProperties properties = new JwtProperties();
+        properties.setRefreshGracePeriodMs(graceMs);
+        return new RefreshCoalescer(properties, new AuthMetrics(new SimpleMeterRegistry()));
+    }
+
+    private RefreshCoalescer.Rotation rotate() {
+        rotations.incrementAndGet();
+        return new RefreshCoalescer.Rotation(userId,
+                AuthResponse.builder().refreshToken("token-" + rotations.get()).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
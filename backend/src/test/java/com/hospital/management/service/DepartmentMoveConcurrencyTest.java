@@ -0,0 +1,85 @@
+package com.hospital.management.service;
+
+import com.hospital.management.model.dao.DepartmentDao;
+import com.hospital.management.model.domain.Department;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Two departments moved under each other at the same time: the hierarchy
+ * lock makes the second move see the first, so exactly one succeeds and the
+ * closure never holds a cycle.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:departmentmove;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class DepartmentMoveConcurrencyTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentDao departmentDao;
+
+    @Test
+    void concurrentMovesUnderEachOtherNeverCreateACycle() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                UUID a = create("Move A " + round, null);
+                UUID b = create("Move B " + round, null);
+                UUID underA = create("Move A child " + round, a);
+                UUID underB = create("Move B child " + round, b);
+                CyclicBarrier start = new CyclicBarrier(2);
+
+                List<Future<Boolean>> moves = new ArrayList<>();
+                moves.add(executor.submit(() -> move(start, a, underB)));
+                moves.add(executor.submit(() -> move(start, b, underA)));
+                int succeeded = 0;
+                for (Future<Boolean> move : moves) {
+                    succeeded += move.get(30, TimeUnit.SECONDS) ? 1 : 0;
+                }
+
+                assertEquals(1, succeeded, "round " + round);
+                assertFalse(departmentDao.isInSubtree(a, b) && departmentDao.isInSubtree(b, a),
+                        "cycle between " + a + " and " + b + " in round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean move(CyclicBarrier start, UUID id, UUID newParentId) throws Exception {
+        start.await(10, TimeUnit.SECONDS);
+        try {
+            departmentService.move(id, newParentId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private UUID create(String name, UUID parentId) {
+        Department department = new Department();
+        department.setName(name);
+        department.setParentId(parentId);
+        return departmentDao.save(department).getId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hospital.management.service;
+
+import com.hospital.management.directory.StaffDirectory;
+import com.hospital.management.model.dto.staff.StaffReassignmentRequest;
+import com.hospital.management.model.dto.staff.StaffReassignmentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Bulk reassignment against H2: a department larger than one chunk is
+ * moved whole with every session revoked and the staff directory updated;
+ * an ID list is de-duplicated; an unknown or unchanged target is refused.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:staffreassignment;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+})
+@ActiveProfiles("loadtest")
+class StaffReassignmentServiceTest {
+
+    private static final int WARD_SIZE = StaffReassignmentService.CHUNK_SIZE * 2 + 100;
+
+    @Autowired
+    private StaffReassignmentService staffReassignmentService;
+
+    @Autowired
+    private StaffDirectory staffDirectory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesAWholeDepartmentInChunksAndRevokesItsSessions() {
+        UUID ward = department("Radiology");
+        UUID merged = department("Pharmacy");
+        List<Object[]> staff = new ArrayList<>(WARD_SIZE);
+        for (int i = 0; i < WARD_SIZE; i++) {
+            staff.add(new Object[] {"ward" + i + "@hospital.com", "Wardnurse" + i, ward});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password_hash, first_name, last_name, role, department_id) "
+                + "VALUES (?, 'x', 'Pat', ?, 'NURSE', ?)", staff);
+        jdbcTemplate.update("INSERT INTO refresh_tokens (user_id, token_hash, expires_at) "
+                + "SELECT id, CONCAT('ward-', email), DATEADD('DAY', 1, CURRENT_TIMESTAMP) FROM users "
+                + "WHERE department_id = ?", ward);
+
+        StaffReassignmentRequest request = new StaffReassignmentRequest();
+        request.setSourceDepartmentId(ward);
+        request.setTargetDepartmentId(merged);
+        StaffReassignmentResponse response = staffReassignmentService.reassign(request);
+
+        assertEquals(WARD_SIZE, response.getUsersReassigned());
+        assertEquals(WARD_SIZE, response.getSessionsRevoked());
+        assertEquals(3, response.getChunks());
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE department_id = ?", ward));
+        assertEquals(WARD_SIZE, count("SELECT COUNT(*) FROM users WHERE department_id = ?", merged));
+        assertEquals(0, count("SELECT COUNT(*) FROM refresh_tokens t JOIN users u ON u.id = t.user_id "
+                + "WHERE u.department_id = ? AND t.revoked = FALSE", merged));
+        assertEquals(5, staffDirectory.search("wardnurse", null, merged, 5).size());
+    }
+
+    @Test
+    void movesListedUsersOnce() {
+        UUID target = department("Cardiology");
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, first_name, last_name, role) "
+                + "VALUES ('listed@hospital.com', 'x', 'Lis', 'Ted', 'DOCTOR')");
+        UUID id = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'listed@hospital.com'", UUID.class);
+
+        StaffReassignmentRequest request = new StaffReassignmentRequest();
+        request.setUserIds(List.of(id, id));
+        request.setTargetDepartmentId(target);
+        StaffReassignmentResponse response = staffReassignmentService.reassign(request);
+
+        assertEquals(1, response.getUsersReassigned());
+        assertEquals(target, jdbcTemplate.queryForObject(
+                "SELECT department_id FROM users WHERE id = ?", UUID.class, id));
+    }
+
+    @Test
+    void refusesAnUnknownOrUnchangedTarget() {
+        UUID source = department("Emergency");
+        StaffReassignmentRequest same = new StaffReassignmentRequest();
+        same.setSourceDepartmentId(source);
+        same.setTargetDepartmentId(source);
+        StaffReassignmentRequest unknown = new StaffReassignmentRequest();
+        unknown.setSourceDepartmentId(source);
+        unknown.setTargetDepartmentId(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> staffReassignmentService.reassign(same));
+        assertThrows(IllegalArgumentException.class, () -> staffReassignmentService.reassign(unknown));
+    }
+
+    private UUID department(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM departments WHERE name = ?", UUID.class, name);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
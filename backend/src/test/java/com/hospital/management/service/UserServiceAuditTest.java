@@ -0,0 +1,76 @@
+package com.hospital.management.service;
+
+import com.hospital.management.constants.Role;
+import com.hospital.management.model.dto.auth.CreateUserRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Audit events for user changes are recorded only when the change commits:
+ * a create whose transaction rolls back leaves no {@code USER_CREATED} row.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:userserviceaudit;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.audit.flush-interval-ms=50",
+})
+@ActiveProfiles("loadtest")
+class UserServiceAuditTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rolledBackCreateIsNotAudited() throws InterruptedException {
+        String rolledBack = "rolled.back." + UUID.randomUUID() + "@hospital.com";
+        String committed = "committed." + UUID.randomUUID() + "@hospital.com";
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            userService.createUser(request(rolledBack));
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> userService.createUser(request(committed)));
+
+        // Events are written in order, so the rolled-back one would be there by now
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (created(committed) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "committed create was not audited");
+            Thread.sleep(20);
+        }
+        assertEquals(0, created(rolledBack));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, rolledBack));
+    }
+
+    private int created(String email) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_events WHERE event_type = 'USER_CREATED' AND principal = ?",
+                Integer.class, email);
+    }
+
+    private static CreateUserRequest request(String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setFirstName("Audit");
+        request.setLastName("Check");
+        request.setEmail(email);
+        request.setPassword("Audit1234!");
+        request.setRole(Role.NURSE);
+        return request;
+    }
+}
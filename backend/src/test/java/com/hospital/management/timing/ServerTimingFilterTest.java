@@ -0,0 +1,92 @@
+package com.hospital.management.timing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The {@code Server-Timing} header goes only to admins who ask for it, and
+ * never on the auth endpoints, even with every request sampled.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:servertiming;MODE=MSSQLServer;DB_CLOSE_DELAY=-1",
+        "app.server-timing.sample-rate=1",
+})
+@ActiveProfiles("loadtest")
+class ServerTimingFilterTest {
+
+    private static final Map<String, String> ADMIN = Map.of("email", "admin@hospital.com", "password", "Admin1234!");
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private String accessToken;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void logIn() {
+        accessToken = (String) rest.postForObject("/api/v1/auth/login", ADMIN, Map.class).get("accessToken");
+    }
+
+    @Test
+    void adminAskingForTheHeaderGetsIt() {
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/api/v1/users", true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(TimingResponseWrapper.HEADER));
+    }
+
+    @Test
+    void sampledRequestsDoNotGetTheHeader() {
+        ResponseEntity<String> response = exchange(HttpMethod.GET, "/api/v1/users", false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(TimingResponseWrapper.HEADER));
+    }
+
+    @Test
+    void anonymousLoginNeverGetsTheHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Server-Timing", "1");
+
+        ResponseEntity<String> known = rest.postForEntity("/api/v1/auth/login",
+                new HttpEntity<>(ADMIN, headers), String.class);
+        ResponseEntity<String> unknown = rest.postForEntity("/api/v1/auth/login",
+                new HttpEntity<>(Map.of("email", "nobody@hospital.com", "password", "Admin1234!"), headers),
+                String.class);
+
+        assertNull(known.getHeaders().getFirst(TimingResponseWrapper.HEADER));
+        assertNull(unknown.getHeaders().getFirst(TimingResponseWrapper.HEADER));
+    }
+
+    @Test
+    void authEndpointsNeverGetTheHeaderEvenForAdmins() {
+        ResponseEntity<String> response = exchange(HttpMethod.POST, "/api/v1/auth/logout", true);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(TimingResponseWrapper.HEADER));
+    }
+
+    private ResponseEntity<String> exchange(HttpMethod method, String path, boolean askForTiming) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        if (askForTiming) {
+            headers.set("X-Server-Timing", "1");
+        }
+        return rest.exchange(path, method, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,15 @@
+-- Seed data for the loadtest profile. Admin password: Admin1234!
+INSERT INTO users (email, password_hash, first_name, last_name, role, is_active)
+VALUES ('admin@hospital.com', '$2a$12$F0XuHUQ3n7/dfQ70.P5N/eoJX/Hc9RrifeW7.AaYtflNEJrlsqDQ.', 'System', 'Admin', 'ADMIN', TRUE);
+
+INSERT INTO departments (name, description, is_active) VALUES
+    ('General Practice', 'General medical consultations', TRUE),
+    ('Emergency', 'Emergency and urgent care', TRUE),
+    ('Cardiology', 'Heart and cardiovascular services', TRUE),
+    ('Pediatrics', 'Child healthcare', TRUE),
+    ('Radiology', 'X-rays and imaging services', TRUE),
+    ('Pharmacy', 'Medication dispensing', TRUE);
+
+-- Closure rows for the seeded departments, all roots (see V9)
+INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM departments;
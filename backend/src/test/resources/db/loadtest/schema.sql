@@ -0,0 +1,175 @@
+-- H2 equivalent of db/migrations for the loadtest profile.
+-- Keep in step with new migrations; ddl-auto=validate catches entity drift.
+
+CREATE TABLE users (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    role VARCHAR(20) NOT NULL,
+    department_id UUID,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    failed_attempts INT NOT NULL DEFAULT 0,
+    lockout_count INT NOT NULL DEFAULT 0,
+    locked_until TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_users_email ON users(email);
+-- H2 has no INCLUDE columns; the key columns match V8
+CREATE INDEX idx_users_role_name ON users(role, last_name, first_name);
+CREATE INDEX idx_users_department_name ON users(department_id, last_name, first_name);
+CREATE INDEX idx_users_active_name ON users(is_active, last_name, first_name);
+CREATE INDEX idx_users_name ON users(last_name, first_name);
+
+CREATE TABLE departments (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description VARCHAR(1000000), -- NVARCHAR(MAX) in SQL Server
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    parent_id UUID,
+    CONSTRAINT fk_departments_parent FOREIGN KEY (parent_id) REFERENCES departments(id)
+);
+CREATE INDEX idx_departments_name ON departments(name);
+CREATE INDEX idx_departments_parent ON departments(parent_id);
+
+CREATE TABLE department_closure (
+    ancestor_id UUID NOT NULL,
+    descendant_id UUID NOT NULL,
+    depth INT NOT NULL,
+    CONSTRAINT pk_department_closure PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_department_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES departments(id),
+    CONSTRAINT fk_department_closure_descendant FOREIGN KEY (descendant_id) REFERENCES departments(id)
+);
+CREATE INDEX idx_department_closure_descendant ON department_closure(descendant_id, depth, ancestor_id);
+
+CREATE TABLE department_hierarchy_lock (
+    id INT PRIMARY KEY,
+    locked_at TIMESTAMP
+);
+INSERT INTO department_hierarchy_lock (id, locked_at) VALUES (1, NULL);
+
+CREATE TABLE refresh_tokens (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    user_id UUID NOT NULL,
+    token_hash VARCHAR(255) NOT NULL UNIQUE,
+    device_info VARCHAR(500),
+    ip_address VARCHAR(50),
+    expires_at TIMESTAMP NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+-- H2 has no filtered indexes; a plain composite index stands in for idx_refresh_tokens_user_active
+CREATE INDEX idx_refresh_tokens_user_active ON refresh_tokens(user_id, revoked, created_at DESC);
+
+CREATE TABLE audit_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    user_id UUID,
+    principal VARCHAR(255),
+    actor VARCHAR(255),
+    ip_address VARCHAR(50),
+    detail VARCHAR(500),
+    occurred_at TIMESTAMP NOT NULL,
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_audit_events_user_id ON audit_events(user_id, occurred_at);
+CREATE INDEX idx_audit_events_occurred_at ON audit_events(occurred_at);
+
+CREATE TABLE scheduled_job_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP,
+    locked_until TIMESTAMP NOT NULL,
+    last_slot TIMESTAMP
+);
+
+CREATE TABLE scheduled_job_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    slot_at TIMESTAMP NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    error VARCHAR(500),
+    CONSTRAINT uq_scheduled_job_runs_slot UNIQUE (job_name, slot_at)
+);
+CREATE INDEX idx_scheduled_job_runs_started_at ON scheduled_job_runs(job_name, started_at);
+
+CREATE TABLE admissions (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    patient_reference VARCHAR(64) NOT NULL,
+    department_id UUID NOT NULL,
+    bed_label VARCHAR(32),
+    admitted_at TIMESTAMP NOT NULL,
+    discharged_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- The patient while the stay is open, else NULL; see uq_admissions_open_patient
+    open_patient_reference VARCHAR(64) GENERATED ALWAYS AS
+        (CASE WHEN discharged_at IS NULL THEN patient_reference END),
+    CONSTRAINT fk_admissions_department FOREIGN KEY (department_id) REFERENCES departments(id)
+);
+-- H2 has no filtered indexes: a plain composite stands in for idx_admissions_open_department,
+-- and a unique index on the generated column enforces uq_admissions_open_patient
+CREATE INDEX idx_admissions_open_department ON admissions(department_id, discharged_at);
+CREATE INDEX idx_admissions_patient ON admissions(patient_reference, discharged_at);
+CREATE UNIQUE INDEX uq_admissions_open_patient ON admissions(open_patient_reference);
+
+CREATE TABLE idempotency_keys (
+    key_hash CHAR(64) PRIMARY KEY,
+    request_fingerprint CHAR(64) NOT NULL,
+    response_status INT,
+    content_type VARCHAR(255),
+    location VARCHAR(2048),
+    response_body VARBINARY(1048576),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+CREATE TABLE reminders (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    kind VARCHAR(32) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    patient_reference VARCHAR(64),
+    message VARCHAR(500) NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    status VARCHAR(16) DEFAULT 'PENDING' NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    claimed_by VARCHAR(255),
+    claimed_until TIMESTAMP,
+    delivered_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+-- H2 has no filtered indexes; a composite stands in for idx_reminders_undelivered_due
+CREATE INDEX idx_reminders_undelivered_due ON reminders(status, due_at);
+
+CREATE TABLE lab_results (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    ingestion_id UUID NOT NULL,
+    source_id VARCHAR(64),
+    patient_reference VARCHAR(64) NOT NULL,
+    code_system VARCHAR(255),
+    code VARCHAR(64) NOT NULL,
+    display VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    value_numeric DECIMAL(19, 6),
+    value_text VARCHAR(1000),
+    unit VARCHAR(32),
+    effective_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_lab_results_patient ON lab_results(patient_reference, effective_at);
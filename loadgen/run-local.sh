@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+#
+# Starts the backend on embedded H2 (loadtest profile), runs the load
+# generator against it, and stops the backend again.
+#
+# Usage: loadgen/run-local.sh [loadgen options, e.g. --rate=100 --duration=120]
+#
+# Results land in loadgen/results/<time>-<commit>.json. For numbers that are
+# comparable across commits keep the machine, options and seed the same, and
+# pass --baseline=results/<earlier>.json to print the deltas.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+PORT=${PORT:-8080}
+LOG="$ROOT/backend/target/loadtest-backend.log"
+
+MVN="sh $ROOT/backend/mvnw -B -q"
+
+$MVN -f "$ROOT/loadgen/pom.xml" package
+
+# Plain java rather than spring-boot:run: no Maven process in between and no
+# devtools restart classloader, so numbers reflect the application itself.
+cd "$ROOT/backend"
+$MVN test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test \
+    -Dmdep.excludeArtifactIds=spring-boot-devtools \
+    -Dmdep.outputFile=target/loadtest.classpath
+java -cp "target/test-classes:target/classes:$(cat target/loadtest.classpath)" \
+    com.hospital.management.ManagementApplication \
+    --spring.profiles.active=loadtest --server.port="$PORT" > "$LOG" 2>&1 &
+BACKEND=$!
+trap 'kill $BACKEND 2> /dev/null; wait $BACKEND 2> /dev/null || true' EXIT
+
+echo "Waiting for backend on port $PORT (log: $LOG)..."
+until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    if ! kill -0 $BACKEND 2> /dev/null; then
+        echo "Backend exited during startup, see $LOG" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+cd "$ROOT/loadgen"
+java -jar target/loadgen.jar --base-url="http://localhost:$PORT" "$@"
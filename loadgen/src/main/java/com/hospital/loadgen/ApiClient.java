@@ -0,0 +1,94 @@
+package com.hospital.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds and sends the backend's auth and user requests.
+ * <p>
+ * Bodies are small and fixed-shape, so JSON is written and read with string
+ * templates and a field regex instead of pulling in a JSON library.
+ * </p>
+ */
+public class ApiClient {
+
+    private static final Pattern STRING_FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        // HTTP/1.1 explicitly: the default would try an h2c upgrade on every new connection
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> login(String email, String password) {
+        return send(post("/api/v1/auth/login", null,
+                "{\"email\":\"" + escape(email) + "\",\"password\":\"" + escape(password)
+                        + "\",\"deviceInfo\":\"loadgen\"}"));
+    }
+
+    public CompletableFuture<HttpResponse<String>> refresh(String refreshToken) {
+        return send(post("/api/v1/auth/refresh", null,
+                "{\"refreshToken\":\"" + escape(refreshToken) + "\"}"));
+    }
+
+    public CompletableFuture<HttpResponse<String>> logout(String accessToken) {
+        return send(post("/api/v1/auth/logout", accessToken, ""));
+    }
+
+    public CompletableFuture<HttpResponse<String>> createUser(String adminToken, String email, String password) {
+        return send(post("/api/v1/users", adminToken,
+                "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + escape(email)
+                        + "\",\"password\":\"" + escape(password) + "\",\"role\":\"NURSE\"}"));
+    }
+
+    /**
+     * Extracts a top-level string field from a JSON body.
+     *
+     * @return the unescaped value, or null if absent
+     */
+    public static String field(String json, String name) {
+        if (json == null) {
+            return null;
+        }
+        Matcher m = STRING_FIELD.matcher(json);
+        while (m.find()) {
+            if (m.group(1).equals(name)) {
+                return m.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+            }
+        }
+        return null;
+    }
+
+    private HttpRequest post(String path, String bearerToken, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(body.isEmpty() ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        return builder.build();
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,101 @@
+package com.hospital.loadgen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram.
+ * <p>
+ * Values are recorded in microseconds. The first {@value #SUB_BUCKETS}
+ * values get a bucket each; above that, every power-of-two range is split
+ * into {@value #SUB_BUCKETS}/2 equal buckets, so any recorded value is
+ * reported within about 0.1% of its true value, from one microsecond up to
+ * an hour, in a fixed ~25k-slot array.
+ * </p>
+ * <p>
+ * Recording is lock-free and safe from any thread — response callbacks
+ * record straight into it.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final long MAX_VALUE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE_MICROS) + 1);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos latency in nanoseconds; clamped to [1 µs, 1 h]
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.min(MAX_VALUE_MICROS, Math.max(1, nanos / 1_000));
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public double meanMillis() {
+        long n = count();
+        return n == 0 ? 0 : totalMicros.sum() / (double) n / 1_000.0;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * @param percentile in [0, 100]
+     * @return latency in milliseconds, or 0 when nothing was recorded
+     */
+    public double percentileMillis(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(valueOf(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    /** Maps a value to its bucket. */
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        int sub = (int) (micros >>> shift); // in [HALF, SUB_BUCKETS)
+        return SUB_BUCKETS + (shift - 1) * HALF + (sub - HALF);
+    }
+
+    /** Maps a bucket back to the midpoint of the values it holds. */
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return (sub << shift) + (1L << (shift - 1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.hospital.loadgen;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}.
+ * <p>
+ * Defaults target the backend started with the {@code loadtest} profile on
+ * localhost, with the seeded admin account.
+ * </p>
+ */
+public class LoadConfig {
+
+    /** How request start times are spaced. */
+    public enum Arrival {
+        /** Exponential gaps — independent users arriving at random. */
+        POISSON,
+        /** Evenly spaced starts. */
+        CONSTANT
+    }
+
+    String baseUrl = "http://localhost:8080";
+    double rate = 50;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(15);
+    Arrival arrival = Arrival.POISSON;
+    OperationMix mix = OperationMix.parse("refresh=70,login=20,logout=8,create=2");
+    int users = 50;
+    long seed = 42;
+    String adminEmail = "admin@hospital.com";
+    String adminPassword = "Admin1234!";
+    String userPassword = "LoadTest1234!";
+    int sessionsPerUser = 4;
+    int maxInFlight = 2_000;
+    Duration requestTimeout = Duration.ofSeconds(30);
+    String resultsDir = "results";
+    String baseline;
+    String label;
+
+    static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                usage();
+                System.exit(0);
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got '" + arg + "'");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadConfig config = new LoadConfig();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = option.getValue();
+            switch (option.getKey()) {
+                case "base-url" -> config.baseUrl = value.replaceAll("/+$", "");
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "arrival" -> config.arrival = Arrival.valueOf(value.toUpperCase());
+                case "mix" -> config.mix = OperationMix.parse(value);
+                case "users" -> config.users = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "admin-email" -> config.adminEmail = value;
+                case "admin-password" -> config.adminPassword = value;
+                case "user-password" -> config.userPassword = value;
+                case "sessions-per-user" -> config.sessionsPerUser = Integer.parseInt(value);
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> config.requestTimeout = Duration.ofSeconds(Long.parseLong(value));
+                case "results-dir" -> config.resultsDir = value;
+                case "baseline" -> config.baseline = value;
+                case "label" -> config.label = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + option.getKey());
+            }
+        }
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return config;
+    }
+
+    static void usage() {
+        System.out.println("""
+                Usage: java -jar loadgen.jar [--name=value ...]
+
+                  --base-url=URL            backend to target (http://localhost:8080)
+                  --rate=N                  requests started per second, open model (50)
+                  --duration=S              measured seconds (60)
+                  --warmup=S                unmeasured seconds at full rate first (15)
+                  --arrival=poisson|constant  spacing of request starts (poisson)
+                  --mix=op=w,...            weights of refresh, login, logout, create
+                                            (refresh=70,login=20,logout=8,create=2)
+                  --users=N                 accounts created before the run (50)
+                  --seed=N                  seed for arrivals, mix and account choice (42)
+                  --admin-email / --admin-password   admin used for user creation
+                  --sessions-per-user=N     sessions held per account; one below the
+                                            server's cap leaves room for in-flight logins (4)
+                  --max-in-flight=N         outstanding requests before starts are shed (2000)
+                  --timeout=S               per-request timeout (30)
+                  --results-dir=DIR         where the JSON result is written (results)
+                  --baseline=FILE           earlier result to print deltas against
+                  --label=TEXT              free-form tag stored with the result
+                """);
+    }
+}
@@ -0,0 +1,257 @@
+package com.hospital.loadgen;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-model load generator for the auth and user endpoints.
+ * <p>
+ * Request starts follow a fixed arrival schedule at {@code --rate} per
+ * second, whether or not earlier requests have completed — the way
+ * independent clients behave. A closed loop of "send, wait, send" would slow
+ * down exactly when the server does and hide the stall from the numbers.
+ * </p>
+ * <p>
+ * Latency is measured from each request's <em>intended</em> start time, not
+ * the moment it was actually sent. If the generator itself falls behind (GC,
+ * a saturated client), the delay still counts against the request, which
+ * corrects for coordinated omission. The reported send lag shows how far
+ * behind the generator got.
+ * </p>
+ * <p>
+ * Requests are sent with {@code HttpClient.sendAsync}, so one scheduler
+ * thread can keep thousands in flight without a thread per request.
+ * </p>
+ */
+public final class LoadGenerator {
+
+    private final LoadConfig config;
+    private final ApiClient api;
+    private final SessionPool pool;
+    private final RunReport report = new RunReport();
+    private final Random random;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong usersCreated = new AtomicLong();
+    private final AtomicBoolean adminLoginPending = new AtomicBoolean();
+    private volatile String adminToken;
+
+    /** Requests intended to start before this nanoTime belong to the warm-up and are not recorded. */
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private long maxSendLagNanos;
+
+    private LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.api = new ApiClient(config.baseUrl, config.requestTimeout);
+        this.pool = new SessionPool(config.sessionsPerUser);
+        this.random = new Random(config.seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            LoadConfig.usage();
+            System.exit(2);
+            return;
+        }
+        System.exit(new LoadGenerator(config).run());
+    }
+
+    private int run() throws Exception {
+        if (!setUp()) {
+            return 1;
+        }
+
+        System.out.printf("Running %s at %.1f req/s (%s): %ds warm-up, %ds measured%n",
+                config.mix, config.rate, config.arrival.name().toLowerCase(),
+                config.warmup.toSeconds(), config.duration.toSeconds());
+
+        long start = System.nanoTime();
+        measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        schedule(start, end);
+        drain();
+
+        long measuredNanos = end - measureFrom;
+        report.print(config, measuredNanos, maxSendLagNanos);
+        Path file = report.write(config, measuredNanos);
+        System.out.println("\nResult written to " + file);
+        return 0;
+    }
+
+    /**
+     * Logs in as admin and creates the accounts the run logs in as.
+     */
+    private boolean setUp() {
+        HttpResponse<String> admin = api.login(config.adminEmail, config.adminPassword).join();
+        if (admin.statusCode() != 200) {
+            System.err.println("Admin login failed with HTTP " + admin.statusCode() + ": " + admin.body());
+            return false;
+        }
+        adminToken = ApiClient.field(admin.body(), "accessToken");
+
+        System.out.printf("Creating %d accounts...%n", config.users);
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < config.users; i++) {
+            String email = "lg-" + runId + "-u" + i + "@load.test";
+            emails.add(email);
+            pending.add(api.createUser(adminToken, email, config.userPassword));
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            HttpResponse<String> response = pending.get(i).join();
+            if (response.statusCode() == 201) {
+                pool.addAccount(emails.get(i));
+            } else {
+                System.err.println("Could not create " + emails.get(i) + ": HTTP " + response.statusCode());
+            }
+        }
+        if (pool.accountCount() == 0) {
+            System.err.println("No accounts available, aborting");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Issues request starts on the arrival schedule until {@code end}.
+     */
+    private void schedule(long start, long end) {
+        double gapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+        long intended = start;
+        while (intended < end) {
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            if (intended >= measureFrom) {
+                maxSendLagNanos = Math.max(maxSendLagNanos, now - intended);
+            }
+
+            issue(config.mix.next(random), intended);
+
+            intended += config.arrival == LoadConfig.Arrival.POISSON
+                    ? (long) (-Math.log(1 - random.nextDouble()) * gapNanos)
+                    : (long) gapNanos;
+        }
+    }
+
+    private void issue(Operation operation, long intended) {
+        if (inFlight.get() >= config.maxInFlight) {
+            if (intended >= measureFrom) {
+                report.of(operation).record(System.nanoTime() - intended, RunReport.SHED, false);
+            }
+            return;
+        }
+
+        switch (operation) {
+            case LOGIN -> login(intended);
+            case REFRESH -> {
+                SessionPool.Session session = pool.take();
+                if (session == null) {
+                    login(intended); // Nothing to refresh yet
+                } else {
+                    refresh(session, intended);
+                }
+            }
+            case LOGOUT -> {
+                SessionPool.Session session = pool.take();
+                if (session == null) {
+                    login(intended);
+                } else {
+                    logout(session, intended);
+                }
+            }
+            case CREATE_USER -> createUser(intended);
+        }
+    }
+
+    private void login(long intended) {
+        String email = pool.randomAccount(random);
+        track(Operation.LOGIN, intended, 200, api.login(email, config.userPassword), body ->
+                pool.put(new SessionPool.Session(email,
+                        ApiClient.field(body, "accessToken"), ApiClient.field(body, "refreshToken"))));
+    }
+
+    private void refresh(SessionPool.Session session, long intended) {
+        track(Operation.REFRESH, intended, 200, api.refresh(session.refreshToken()), body ->
+                pool.put(new SessionPool.Session(session.email(),
+                        ApiClient.field(body, "accessToken"), ApiClient.field(body, "refreshToken"))));
+    }
+
+    private void logout(SessionPool.Session session, long intended) {
+        track(Operation.LOGOUT, intended, 204, api.logout(session.accessToken()), body ->
+                pool.removeUser(session.email()));
+    }
+
+    private void createUser(long intended) {
+        String email = "lg-" + runId + "-c" + usersCreated.incrementAndGet() + "@load.test";
+        CompletableFuture<HttpResponse<String>> future = api.createUser(adminToken, email, config.userPassword);
+        track(Operation.CREATE_USER, intended, 201, future, body -> pool.addAccount(email));
+        future.thenAccept(response -> {
+            if (response.statusCode() == 401 || response.statusCode() == 403) {
+                renewAdminToken();
+            }
+        });
+    }
+
+    /**
+     * Records the outcome of a request and applies its effect on the session
+     * pool when it returned the expected status.
+     */
+    private void track(Operation operation, long intended, int expectedStatus,
+            CompletableFuture<HttpResponse<String>> future, Consumer<String> onSuccess) {
+        inFlight.incrementAndGet();
+        future.whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+            int status = error != null ? RunReport.TRANSPORT_ERROR : response.statusCode();
+            boolean success = status == expectedStatus;
+            if (success) {
+                onSuccess.accept(response.body());
+            }
+            if (intended >= measureFrom) {
+                report.of(operation).record(latency, status, success);
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void renewAdminToken() {
+        if (!adminLoginPending.compareAndSet(false, true)) {
+            return;
+        }
+        api.login(config.adminEmail, config.adminPassword).whenComplete((response, error) -> {
+            if (error == null && response.statusCode() == 200) {
+                adminToken = ApiClient.field(response.body(), "accessToken");
+            }
+            adminLoginPending.set(false);
+        });
+    }
+
+    /**
+     * Waits for outstanding requests, at most one request timeout.
+     */
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + config.requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        if (inFlight.get() > 0) {
+            System.err.println(inFlight.get() + " requests still outstanding after the timeout");
+        }
+    }
+}
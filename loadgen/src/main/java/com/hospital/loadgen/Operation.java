@@ -0,0 +1,39 @@
+package com.hospital.loadgen;
+
+/**
+ * The endpoints exercised by the load generator.
+ */
+public enum Operation {
+
+    /** {@code POST /api/v1/auth/login} — BCrypt-bound, the most expensive call. */
+    LOGIN("login"),
+
+    /** {@code POST /api/v1/auth/refresh} — rotates a session's refresh token. */
+    REFRESH("refresh"),
+
+    /** {@code POST /api/v1/auth/logout} — revokes every session of the user. */
+    LOGOUT("logout"),
+
+    /** {@code POST /api/v1/users} as admin — creates a user that later logins can pick. */
+    CREATE_USER("create");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /** Short name used in {@code --mix} and in reports. */
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
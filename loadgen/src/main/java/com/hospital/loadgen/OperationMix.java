@@ -0,0 +1,78 @@
+package com.hospital.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice between operations, e.g. {@code refresh=70,login=20,logout=8,create=2}.
+ * <p>
+ * Draws come from the run's seeded {@link Random}, so two runs with the same
+ * seed issue the same sequence of operations.
+ * </p>
+ */
+public class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        operations = new Operation[weights.size()];
+        cumulative = new int[weights.size()];
+        int sum = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulative[i] = sum;
+            i++;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Operation mix needs at least one positive weight");
+        }
+        total = sum;
+    }
+
+    /**
+     * Parses {@code op=weight} pairs separated by commas.
+     */
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', expected op=weight");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(pair[0].trim()), weight);
+            }
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next(Random random) {
+        int draw = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(operations[i].key()).append('=').append(cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,226 @@
+package com.hospital.loadgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-operation results of the measured phase, printed as a table and saved
+ * as JSON.
+ * <p>
+ * Each result records the git commit it was measured on, the full
+ * configuration and the seed, so two files can be compared knowing they ran
+ * the same workload. {@code --baseline} prints the percentile deltas against
+ * an earlier file.
+ * </p>
+ */
+public class RunReport {
+
+    /** Status recorded when a request failed without an HTTP response (timeout, refused connection). */
+    public static final int TRANSPORT_ERROR = -1;
+
+    /** Status recorded when a start was shed because {@code --max-in-flight} was reached. */
+    public static final int SHED = 0;
+
+    private static final Pattern BASELINE_LINE = Pattern.compile(
+            "\"op\":\"(\\w+)\".*\"p50_ms\":([\\d.]+).*\"p90_ms\":([\\d.]+).*\"p99_ms\":([\\d.]+).*\"p999_ms\":([\\d.]+)");
+
+    /** Latencies and outcomes of one operation. */
+    public static class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder failures = new LongAdder();
+        final Map<Integer, LongAdder> failuresByStatus = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status, boolean success) {
+            latency.recordNanos(latencyNanos);
+            if (!success) {
+                failures.increment();
+                failuresByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    public RunReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public OperationStats of(Operation operation) {
+        return stats.get(operation);
+    }
+
+    /**
+     * Prints the results table, plus deltas if a baseline is configured.
+     */
+    public void print(LoadConfig config, long measuredNanos, long maxSendLagNanos) {
+        double seconds = measuredNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%n%-8s %8s %8s %9s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            LatencyHistogram h = entry.getValue().latency;
+            if (h.count() == 0) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-8s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().key(), h.count(), entry.getValue().failures.sum(), h.count() / seconds,
+                    h.meanMillis(), h.percentileMillis(50), h.percentileMillis(90), h.percentileMillis(99),
+                    h.percentileMillis(99.9), h.maxMillis());
+            if (!entry.getValue().failuresByStatus.isEmpty()) {
+                System.out.printf("         failures by status: %s%n", describe(entry.getValue().failuresByStatus));
+            }
+        }
+        System.out.printf(Locale.ROOT, "%nMax send lag %.2f ms (generator falling behind its schedule if large)%n",
+                maxSendLagNanos / 1e6);
+
+        if (config.baseline != null) {
+            printBaselineDeltas(Path.of(config.baseline));
+        }
+    }
+
+    /**
+     * Writes the result as JSON, one operation per line.
+     *
+     * @return the file written
+     */
+    public Path write(LoadConfig config, long measuredNanos) throws IOException {
+        String commit = gitCommit();
+        Instant now = Instant.now();
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(now);
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"timestamp\":\"").append(now).append("\",\n");
+        json.append("  \"commit\":\"").append(commit).append("\",\n");
+        json.append("  \"label\":").append(config.label == null ? "null" : "\"" + config.label + "\"").append(",\n");
+        json.append(String.format(Locale.ROOT,
+                "  \"config\":{\"base_url\":\"%s\",\"rate\":%s,\"arrival\":\"%s\",\"mix\":\"%s\",\"duration_s\":%d,"
+                        + "\"warmup_s\":%d,\"users\":%d,\"seed\":%d,\"sessions_per_user\":%d,\"max_in_flight\":%d},%n",
+                config.baseUrl, config.rate, config.arrival, config.mix, config.duration.toSeconds(),
+                config.warmup.toSeconds(), config.users, config.seed, config.sessionsPerUser, config.maxInFlight));
+        json.append(String.format(Locale.ROOT, "  \"measured_s\":%.3f,%n", measuredNanos / 1e9));
+        json.append("  \"operations\":[\n");
+        boolean first = true;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            LatencyHistogram h = entry.getValue().latency;
+            if (h.count() == 0) {
+                continue;
+            }
+            if (!first) {
+                json.append(",\n");
+            }
+            first = false;
+            json.append(String.format(Locale.ROOT,
+                    "    {\"op\":\"%s\",\"count\":%d,\"errors\":%d,\"throughput\":%.2f,\"mean_ms\":%.3f,"
+                            + "\"p50_ms\":%.3f,\"p90_ms\":%.3f,\"p99_ms\":%.3f,\"p999_ms\":%.3f,\"max_ms\":%.3f}",
+                    entry.getKey().key(), h.count(), entry.getValue().failures.sum(),
+                    h.count() / (measuredNanos / 1e9), h.meanMillis(), h.percentileMillis(50),
+                    h.percentileMillis(90), h.percentileMillis(99), h.percentileMillis(99.9), h.maxMillis()));
+        }
+        json.append("\n  ]\n}\n");
+
+        Path dir = Path.of(config.resultsDir);
+        Files.createDirectories(dir);
+        Path file = dir.resolve(stamp + "-" + commit + ".json");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private void printBaselineDeltas(Path baseline) {
+        Map<String, double[]> previous;
+        try {
+            previous = readBaseline(baseline);
+        } catch (IOException e) {
+            System.err.println("Could not read baseline " + baseline + ": " + e.getMessage());
+            return;
+        }
+
+        System.out.printf("%nChange vs %s%n", baseline.getFileName());
+        System.out.printf("%-8s %9s %9s %9s %9s%n", "op", "p50", "p90", "p99", "p99.9");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            double[] before = previous.get(entry.getKey().key());
+            LatencyHistogram h = entry.getValue().latency;
+            if (before == null || h.count() == 0) {
+                continue;
+            }
+            double[] now = {h.percentileMillis(50), h.percentileMillis(90), h.percentileMillis(99),
+                    h.percentileMillis(99.9)};
+            StringBuilder row = new StringBuilder(String.format("%-8s", entry.getKey().key()));
+            for (int i = 0; i < now.length; i++) {
+                row.append(String.format(Locale.ROOT, " %+8.1f%%",
+                        before[i] == 0 ? 0 : (now[i] - before[i]) / before[i] * 100));
+            }
+            System.out.println(row);
+        }
+    }
+
+    /**
+     * Reads the p50, p90, p99 and p99.9 of each operation from a result
+     * written by {@link #write}.
+     *
+     * @return the four percentiles in milliseconds, by operation key
+     */
+    static Map<String, double[]> readBaseline(Path baseline) throws IOException {
+        Map<String, double[]> previous = new HashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            Matcher m = BASELINE_LINE.matcher(line);
+            if (m.find()) {
+                previous.put(m.group(1), new double[] {
+                        Double.parseDouble(m.group(2)), Double.parseDouble(m.group(3)),
+                        Double.parseDouble(m.group(4)), Double.parseDouble(m.group(5))});
+            }
+        }
+        return previous;
+    }
+
+    private static String describe(Map<Integer, LongAdder> byStatus) {
+        Map<String, Long> readable = new TreeMap<>();
+        byStatus.forEach((status, count) -> readable.put(
+                status == TRANSPORT_ERROR ? "transport" : status == SHED ? "shed" : String.valueOf(status),
+                count.sum()));
+        return readable.toString();
+    }
+
+    /**
+     * Short hash of the checked-out commit, suffixed {@code -dirty} when the
+     * tree has local changes, or {@code unknown} outside a git checkout.
+     */
+    private static String gitCommit() {
+        try {
+            String head = run("git", "rev-parse", "--short", "HEAD");
+            if (head.isEmpty()) {
+                return "unknown";
+            }
+            return run("git", "status", "--porcelain", "--untracked-files=no").isEmpty() ? head : head + "-dirty";
+        } catch (IOException | InterruptedException e) {
+            return "unknown";
+        }
+    }
+
+    private static String run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (InputStream in = process.getInputStream()) {
+            String output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                return "";
+            }
+            return output;
+        }
+    }
+}
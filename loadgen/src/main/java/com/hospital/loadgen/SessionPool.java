@@ -0,0 +1,86 @@
+package com.hospital.loadgen;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Accounts the run can log in as, and the sessions currently held.
+ * <p>
+ * A session is taken out while a refresh or logout is in flight, so the
+ * same refresh token is never rotated twice concurrently. Per-user sessions
+ * are kept under the server's session cap; otherwise the server would evict
+ * sessions the generator still holds and later refreshes would fail for
+ * reasons unrelated to performance.
+ * </p>
+ */
+public class SessionPool {
+
+    /** A logged-in session. */
+    public record Session(String email, String accessToken, String refreshToken) {
+    }
+
+    private final int sessionsPerUser;
+    private final List<String> accounts = new ArrayList<>();
+    private final Deque<Session> sessions = new ArrayDeque<>();
+    private final Map<String, Integer> sessionsByUser = new HashMap<>();
+
+    public SessionPool(int sessionsPerUser) {
+        this.sessionsPerUser = sessionsPerUser;
+    }
+
+    public synchronized void addAccount(String email) {
+        accounts.add(email);
+    }
+
+    public synchronized int accountCount() {
+        return accounts.size();
+    }
+
+    public synchronized String randomAccount(Random random) {
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+
+    /**
+     * Takes the least recently used session, or null if none is held.
+     */
+    public synchronized Session take() {
+        Session session = sessions.pollFirst();
+        if (session != null) {
+            sessionsByUser.merge(session.email(), -1, Integer::sum);
+        }
+        return session;
+    }
+
+    /**
+     * Adds a new or rotated session, dropping the user's least recently used
+     * one if the cap would be exceeded.
+     */
+    public synchronized void put(Session session) {
+        int held = sessionsByUser.merge(session.email(), 1, Integer::sum);
+        if (held > sessionsPerUser) {
+            Iterator<Session> it = sessions.iterator();
+            while (it.hasNext()) {
+                if (it.next().email().equals(session.email())) {
+                    it.remove();
+                    sessionsByUser.merge(session.email(), -1, Integer::sum);
+                    break;
+                }
+            }
+        }
+        sessions.addLast(session);
+    }
+
+    /**
+     * Forgets every session of a user, after a logout revoked them server-side.
+     */
+    public synchronized void removeUser(String email) {
+        sessions.removeIf(s -> s.email().equals(email));
+        sessionsByUser.remove(email);
+    }
+}
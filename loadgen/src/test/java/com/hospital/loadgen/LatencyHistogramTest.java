@@ -0,0 +1,66 @@
+package com.hospital.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsHoldTheirValuesWithinOneThousandth() {
+        int previous = -1;
+        for (long micros = 1; micros <= TimeUnit.HOURS.toMicros(1); micros = micros * 3 / 2 + 1) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertTrue(index >= previous, "buckets are ordered");
+            previous = index;
+            long value = LatencyHistogram.valueOf(index);
+            assertTrue(Math.abs(value - micros) <= Math.max(1, micros / 1_000),
+                    micros + " us reported as " + value + " us");
+        }
+    }
+
+    @Test
+    void percentilesOfAUniformSpread() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1_000; millis++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(1_000, histogram.count());
+        assertEquals(500.5, histogram.meanMillis(), 0.01);
+        assertEquals(500, histogram.percentileMillis(50), 0.5);
+        assertEquals(990, histogram.percentileMillis(99), 1);
+        assertEquals(1_000, histogram.percentileMillis(100), 1);
+        assertEquals(1_000, histogram.maxMillis());
+    }
+
+    @Test
+    void percentileNeverExceedsTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // Bottom of a two-value bucket, whose midpoint lies above it
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(4_096));
+
+        assertEquals(4.096, histogram.percentileMillis(99.9));
+    }
+
+    @Test
+    void clampsToTheRecordableRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(0);
+        histogram.recordNanos(TimeUnit.HOURS.toNanos(2));
+
+        assertEquals(0.001, histogram.percentileMillis(50));
+        assertEquals(TimeUnit.HOURS.toMillis(1), histogram.maxMillis());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.percentileMillis(99));
+        assertEquals(0, histogram.meanMillis());
+    }
+}
@@ -0,0 +1,42 @@
+package com.hospital.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadConfigTest {
+
+    @Test
+    void parsesOptions() {
+        LoadConfig config = LoadConfig.parse(new String[] {
+                "--base-url=http://host:9000/", "--rate=120.5", "--duration=30", "--arrival=constant",
+                "--mix=login=1", "--seed=9", "--label=with=equals"});
+
+        assertEquals("http://host:9000", config.baseUrl);
+        assertEquals(120.5, config.rate);
+        assertEquals(Duration.ofSeconds(30), config.duration);
+        assertEquals(LoadConfig.Arrival.CONSTANT, config.arrival);
+        assertEquals("login=1", config.mix.toString());
+        assertEquals(9, config.seed);
+        assertEquals("with=equals", config.label);
+    }
+
+    @Test
+    void defaultsTargetTheLocalLoadtestProfile() {
+        LoadConfig config = LoadConfig.parse(new String[0]);
+
+        assertEquals("http://localhost:8080", config.baseUrl);
+        assertEquals(LoadConfig.Arrival.POISSON, config.arrival);
+        assertEquals("admin@hospital.com", config.adminEmail);
+    }
+
+    @Test
+    void rejectsBadOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--rate"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--rates=5"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--rate=0"}));
+    }
+}
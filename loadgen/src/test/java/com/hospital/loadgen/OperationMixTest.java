@@ -0,0 +1,58 @@
+package com.hospital.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMixTest {
+
+    @Test
+    void drawsFollowTheWeights() {
+        OperationMix mix = OperationMix.parse("refresh=70, login=20, logout=8, create=2");
+        Random random = new Random(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(0.70, counts.get(Operation.REFRESH) / (double) draws, 0.01);
+        assertEquals(0.20, counts.get(Operation.LOGIN) / (double) draws, 0.01);
+        assertEquals(0.08, counts.get(Operation.LOGOUT) / (double) draws, 0.01);
+        assertEquals(0.02, counts.get(Operation.CREATE_USER) / (double) draws, 0.005);
+    }
+
+    @Test
+    void sameSeedSameSequence() {
+        OperationMix mix = OperationMix.parse("refresh=1,login=1");
+        Random first = new Random(7);
+        Random second = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(mix.next(first), mix.next(second));
+        }
+    }
+
+    @Test
+    void zeroWeightsAreLeftOut() {
+        OperationMix mix = OperationMix.parse("login=0,refresh=5");
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Operation.REFRESH, mix.next(random));
+        }
+        assertEquals("refresh=5", mix.toString());
+        assertFalse(mix.toString().contains("login"));
+    }
+
+    @Test
+    void rejectsMalformedSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("refresh"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("fetch=3"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("login=0"));
+    }
+}
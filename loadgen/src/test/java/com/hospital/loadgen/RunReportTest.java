@@ -0,0 +1,35 @@
+package com.hospital.loadgen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunReportTest {
+
+    @TempDir
+    Path resultsDir;
+
+    @Test
+    void writtenResultReadsBackAsABaseline() throws IOException {
+        RunReport report = new RunReport();
+        for (int millis = 1; millis <= 100; millis++) {
+            report.of(Operation.LOGIN).record(TimeUnit.MILLISECONDS.toNanos(millis), 200, true);
+        }
+        report.of(Operation.REFRESH).record(TimeUnit.MILLISECONDS.toNanos(5), 403, false);
+        LoadConfig config = LoadConfig.parse(new String[] {"--results-dir=" + resultsDir});
+
+        Path file = report.write(config, TimeUnit.SECONDS.toNanos(10));
+        Map<String, double[]> baseline = RunReport.readBaseline(file);
+
+        assertEquals(2, baseline.size());
+        assertArrayEquals(new double[] {50, 90, 99, 100}, baseline.get("login"), 0.1);
+        assertArrayEquals(new double[] {5, 5, 5, 5}, baseline.get("refresh"), 0.01);
+    }
+}
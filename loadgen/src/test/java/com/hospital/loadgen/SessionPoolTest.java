@@ -0,0 +1,62 @@
+package com.hospital.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SessionPoolTest {
+
+    @Test
+    void takesSessionsLeastRecentlyUsedFirst() {
+        SessionPool pool = new SessionPool(4);
+        pool.put(session("a", 1));
+        pool.put(session("b", 1));
+
+        assertEquals("a", pool.take().email());
+        assertEquals("b", pool.take().email());
+        assertNull(pool.take());
+    }
+
+    @Test
+    void keepsEachUserUnderTheCap() {
+        SessionPool pool = new SessionPool(2);
+        pool.put(session("a", 1));
+        pool.put(session("a", 2));
+        pool.put(session("b", 1));
+        pool.put(session("a", 3));
+
+        // a's oldest session was dropped to make room
+        assertEquals("a2", pool.take().refreshToken());
+        assertEquals("b1", pool.take().refreshToken());
+        assertEquals("a3", pool.take().refreshToken());
+        assertNull(pool.take());
+    }
+
+    @Test
+    void sessionInFlightDoesNotCountAgainstTheCap() {
+        SessionPool pool = new SessionPool(1);
+        pool.put(session("a", 1));
+        SessionPool.Session taken = pool.take();
+        pool.put(session("a", 2)); // rotated successor of the taken session
+
+        assertEquals("a1", taken.refreshToken());
+        assertEquals("a2", pool.take().refreshToken());
+    }
+
+    @Test
+    void removeUserForgetsEverySession() {
+        SessionPool pool = new SessionPool(4);
+        pool.put(session("a", 1));
+        pool.put(session("b", 1));
+        pool.put(session("a", 2));
+        pool.removeUser("a");
+
+        assertEquals("b", pool.take().email());
+        assertNull(pool.take());
+    }
+
+    private static SessionPool.Session session(String email, int n) {
+        return new SessionPool.Session(email, "access-" + email + n, email + n);
+    }
+}